@@ -1,8 +1,9 @@
 package uk.gov.companieshouse.charges.data.repository;
 
-import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static uk.gov.companieshouse.charges.data.repository.ChargesRepository.ALL_CHARGES;
+import static uk.gov.companieshouse.charges.data.repository.ChargesRepository.OUTSTANDING_ONLY;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -14,6 +15,7 @@ import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.Assertions;
@@ -25,9 +27,12 @@ import org.springframework.util.ResourceUtils;
 import uk.gov.companieshouse.api.charges.ChargeApi;
 import uk.gov.companieshouse.api.charges.InternalChargeApi;
 import uk.gov.companieshouse.charges.data.AbstractIntegrationTest;
-import uk.gov.companieshouse.charges.data.model.ChargesAggregate;
+import uk.gov.companieshouse.charges.data.model.ChargeCounts;
+import uk.gov.companieshouse.charges.data.model.ChargeCountsDocument;
 import uk.gov.companieshouse.charges.data.model.ChargesDocument;
 import uk.gov.companieshouse.charges.data.model.ChargesDocument.Updated;
+import uk.gov.companieshouse.charges.data.model.ChargesUpsertResult;
+import uk.gov.companieshouse.charges.data.util.SortKeyUtils;
 
 class ChargesRepositoryITest extends AbstractIntegrationTest {
 
@@ -95,16 +100,49 @@ class ChargesRepositoryITest extends AbstractIntegrationTest {
                 "charge-api-request-data-1.json");
         chargesOutstanding.getData().setStatus(ChargeApi.StatusEnum.OUTSTANDING);
 
-        chargesRepository.saveAll(
+        saveAllWithSortKeys(
                 Arrays.asList(chargesFullySatisfied, chargesSatisfied,
                         chargesPartSatisfied, chargesOutstanding));
 
         // when
-        ChargesAggregate chargesAggregate = chargesRepository.findCharges(
-                "00006400", emptyList(), 0, 4);
+        List<ChargesDocument> chargesDocuments = chargesRepository.findCharges(
+                "00006400", ALL_CHARGES, 0, 4);
 
         // then
-        assertEquals(4, chargesAggregate.getChargesDocuments().size());
+        assertEquals(4, chargesDocuments.size());
+    }
+
+    @DisplayName("Repository counts a company's charges by status")
+    @Test
+    void countChargesByStatus() throws IOException {
+        // given
+        ChargesDocument chargesFullySatisfied = createChargesDocument("00006400", UUID.randomUUID().toString(),
+                "charge-api-request-data-1.json");
+        chargesFullySatisfied.getData().setStatus(ChargeApi.StatusEnum.FULLY_SATISFIED);
+        ChargesDocument chargesSatisfied = createChargesDocument("00006400", UUID.randomUUID().toString(),
+                "charge-api-request-data-1.json");
+        chargesSatisfied.getData().setStatus(ChargeApi.StatusEnum.SATISFIED);
+        ChargesDocument chargesPartSatisfied = createChargesDocument("00006400", UUID.randomUUID().toString(),
+                "charge-api-request-data-1.json");
+        chargesPartSatisfied.getData().setStatus(ChargeApi.StatusEnum.PART_SATISFIED);
+        ChargesDocument chargesOtherCompany = createChargesDocument("00006401", UUID.randomUUID().toString(),
+                "charge-api-request-data-1.json");
+        chargesOtherCompany.getData().setStatus(ChargeApi.StatusEnum.OUTSTANDING);
+        saveAllWithSortKeys(
+                Arrays.asList(chargesFullySatisfied, chargesSatisfied,
+                        chargesPartSatisfied, chargesOtherCompany));
+
+        // when
+        ChargeCountsDocument counts = chargesRepository.countChargesByStatus("00006400").orElseThrow();
+
+        // then
+        assertEquals("00006400", counts.getId());
+        assertEquals(3, counts.getTotalCount());
+        assertEquals(1, counts.getOutstandingCount());
+        assertEquals(2, counts.getSatisfiedCount());
+        assertEquals(1, counts.getPartSatisfiedCount());
+        assertEquals(2, chargesRepository.countAllChargesByStatus().count());
+        assertThat(chargesRepository.countChargesByStatus("00006402")).isEmpty();
     }
 
     @DisplayName("Repository returns outstanding and part-satisfied charges when filter specified")
@@ -123,20 +161,20 @@ class ChargesRepositoryITest extends AbstractIntegrationTest {
         ChargesDocument chargesOutstanding = createChargesDocument("00006400", UUID.randomUUID().toString(),
                 "charge-api-request-data-1.json");
         chargesOutstanding.getData().setStatus(ChargeApi.StatusEnum.OUTSTANDING);
-        chargesRepository.saveAll(
+        saveAllWithSortKeys(
                 Arrays.asList(chargesFullySatisfied, chargesSatisfied,
                         chargesPartSatisfied, chargesOutstanding));
 
         // when
-        ChargesAggregate chargesAggregate = chargesRepository.findCharges(
-                "00006400", Arrays.asList(ChargeApi.StatusEnum.SATISFIED.toString(), ChargeApi.StatusEnum.FULLY_SATISFIED.toString()), 0, 4);
+        List<ChargesDocument> chargesDocuments = chargesRepository.findCharges(
+                "00006400", OUTSTANDING_ONLY, 0, 4);
 
         // then
-        assertEquals(2, chargesAggregate.getChargesDocuments().size());
-        assertEquals(chargesPartSatisfied.getId(), chargesAggregate.getChargesDocuments().getFirst().getId());
-        assertEquals(chargesPartSatisfied.getData().getStatus(), chargesAggregate.getChargesDocuments().getFirst().getData().getStatus());
-        assertEquals(chargesOutstanding.getId(), chargesAggregate.getChargesDocuments().get(1).getId());
-        assertEquals(chargesOutstanding.getData().getStatus(), chargesAggregate.getChargesDocuments().get(1).getData().getStatus());
+        assertEquals(2, chargesDocuments.size());
+        assertEquals(chargesPartSatisfied.getId(), chargesDocuments.getFirst().getId());
+        assertEquals(chargesPartSatisfied.getData().getStatus(), chargesDocuments.getFirst().getData().getStatus());
+        assertEquals(chargesOutstanding.getId(), chargesDocuments.get(1).getId());
+        assertEquals(chargesOutstanding.getData().getStatus(), chargesDocuments.get(1).getData().getStatus());
     }
 
     @DisplayName("Repository returns charges in order with correct page size")
@@ -155,20 +193,19 @@ class ChargesRepositoryITest extends AbstractIntegrationTest {
         ChargesDocument chargeFour = createChargesDocument("00006400", UUID.randomUUID().toString(),
                 "charge-api-request-data-1.json");
         chargeFour.getData().chargeNumber(1).createdOn(LocalDate.of(2017, 10, 10));
-        chargesRepository.saveAll(
+        saveAllWithSortKeys(
                 Arrays.asList(chargeOne, chargeTwo,
                         chargeThree, chargeFour));
 
         // when
-        ChargesAggregate chargesAggregate = chargesRepository.findCharges("00006400",
-                emptyList(), 0, 3);
+        List<ChargesDocument> chargesDocuments = chargesRepository.findCharges("00006400",
+                ALL_CHARGES, 0, 3);
 
         // then
-        assertEquals(4L, chargesAggregate.getTotalCharges().getFirst().getCount());
-        assertEquals(3, chargesAggregate.getChargesDocuments().size());
-        assertEquals(chargeThree.getId(), chargesAggregate.getChargesDocuments().getFirst().getId());
-        assertEquals(chargeFour.getId(), chargesAggregate.getChargesDocuments().get(1).getId());
-        assertEquals(chargeTwo.getId(), chargesAggregate.getChargesDocuments().get(2).getId());
+        assertEquals(3, chargesDocuments.size());
+        assertEquals(chargeThree.getId(), chargesDocuments.getFirst().getId());
+        assertEquals(chargeFour.getId(), chargesDocuments.get(1).getId());
+        assertEquals(chargeTwo.getId(), chargesDocuments.get(2).getId());
     }
 
     @DisplayName("Repository returns charges in order with start index")
@@ -187,19 +224,18 @@ class ChargesRepositoryITest extends AbstractIntegrationTest {
         ChargesDocument chargeFour = createChargesDocument("00006400", UUID.randomUUID().toString(),
                 "charge-api-request-data-1.json");
         chargeFour.getData().chargeNumber(1).createdOn(LocalDate.of(2017, 10, 10));
-        chargesRepository.saveAll(
+        saveAllWithSortKeys(
                 Arrays.asList(chargeOne, chargeTwo,
                         chargeThree, chargeFour));
 
         // when
-        ChargesAggregate chargesAggregate = chargesRepository.findCharges("00006400",
-                emptyList(), 2, 3);
+        List<ChargesDocument> chargesDocuments = chargesRepository.findCharges("00006400",
+                ALL_CHARGES, 2, 3);
 
         // then
-        assertEquals(4L, chargesAggregate.getTotalCharges().getFirst().getCount());
-        assertEquals(2, chargesAggregate.getChargesDocuments().size());
-        assertEquals(chargeTwo.getId(), chargesAggregate.getChargesDocuments().getFirst().getId());
-        assertEquals(chargeOne.getId(), chargesAggregate.getChargesDocuments().get(1).getId());
+        assertEquals(2, chargesDocuments.size());
+        assertEquals(chargeTwo.getId(), chargesDocuments.getFirst().getId());
+        assertEquals(chargeOne.getId(), chargesDocuments.get(1).getId());
     }
 
     @DisplayName("Repository returns charges first sorted by created_on and second sorted by charge_number")
@@ -218,20 +254,20 @@ class ChargesRepositoryITest extends AbstractIntegrationTest {
         ChargesDocument chargeFour = createChargesDocument("00006400", UUID.randomUUID().toString(),
                 "charge-api-request-data-1.json");
         chargeFour.getData().chargeNumber(1).createdOn(LocalDate.of(2017, 10, 10));
-        chargesRepository.saveAll(
+        saveAllWithSortKeys(
                 Arrays.asList(chargeOne, chargeTwo,
                         chargeThree, chargeFour));
 
         // when
-        ChargesAggregate chargesAggregate = chargesRepository.findCharges("00006400",
-                emptyList(), 0, 4);
+        List<ChargesDocument> chargesDocuments = chargesRepository.findCharges("00006400",
+                ALL_CHARGES, 0, 4);
 
         // then
-        assertEquals(4, chargesAggregate.getChargesDocuments().size());
-        assertEquals(chargeThree.getId(), chargesAggregate.getChargesDocuments().getFirst().getId());
-        assertEquals(chargeFour.getId(), chargesAggregate.getChargesDocuments().get(1).getId());
-        assertEquals(chargeTwo.getId(), chargesAggregate.getChargesDocuments().get(2).getId());
-        assertEquals(chargeOne.getId(), chargesAggregate.getChargesDocuments().get(3).getId());
+        assertEquals(4, chargesDocuments.size());
+        assertEquals(chargeThree.getId(), chargesDocuments.getFirst().getId());
+        assertEquals(chargeFour.getId(), chargesDocuments.get(1).getId());
+        assertEquals(chargeTwo.getId(), chargesDocuments.get(2).getId());
+        assertEquals(chargeOne.getId(), chargesDocuments.get(3).getId());
     }
 
     @DisplayName("Repository returns filtered charges first sorted by created_on or delivered_on if null and second sorted by charge_number")
@@ -259,36 +295,89 @@ class ChargesRepositoryITest extends AbstractIntegrationTest {
         chargeFour.getData().chargeNumber(1).deliveredOn(LocalDate.of(2017, 10, 10));
         chargeFour.getData().setStatus(ChargeApi.StatusEnum.OUTSTANDING);
 
-        chargesRepository.saveAll(
+        saveAllWithSortKeys(
                 Arrays.asList(chargeOne, chargeTwo,
                         chargeThree, chargeFour));
 
-        List<String> filter = Arrays.asList(ChargeApi.StatusEnum.SATISFIED.toString(), ChargeApi.StatusEnum.FULLY_SATISFIED.toString());
+        List<Boolean> filter = OUTSTANDING_ONLY;
 
         // when
 
-        ChargesAggregate chargesAggregate = chargesRepository.findCharges("00006400", filter, 0, 4);
+        List<ChargesDocument> chargesDocuments = chargesRepository.findCharges("00006400", filter, 0, 4);
 
         // then
-        assertEquals(3, chargesAggregate.getChargesDocuments().size());
-        assertEquals(chargeThree.getId(), chargesAggregate.getChargesDocuments().getFirst().getId());
-        assertEquals(chargeFour.getId(), chargesAggregate.getChargesDocuments().get(1).getId());
-        assertEquals(chargeTwo.getId(), chargesAggregate.getChargesDocuments().get(2).getId());
+        assertEquals(3, chargesDocuments.size());
+        assertEquals(chargeThree.getId(), chargesDocuments.getFirst().getId());
+        assertEquals(chargeFour.getId(), chargesDocuments.get(1).getId());
+        assertEquals(chargeTwo.getId(), chargesDocuments.get(2).getId());
+    }
+
+    @DisplayName("Repository returns charges after the cursor position in the same order as start index paging")
+    @Test
+    void findChargesAfterCursor() throws IOException {
+        // given
+        ChargesDocument chargeOne = createChargesDocument("00006400", "A", "charge-api-request-data-1.json");
+        chargeOne.getData().chargeNumber(1).createdOn(LocalDate.of(2017, 7, 10));
+        ChargesDocument chargeTwo = createChargesDocument("00006400", "B", "charge-api-request-data-1.json");
+        chargeTwo.getData().chargeNumber(1).createdOn(LocalDate.of(2017, 7, 10));
+        ChargesDocument chargeThree = createChargesDocument("00006400", "C", "charge-api-request-data-1.json");
+        chargeThree.getData().chargeNumber(1).createdOn(LocalDate.of(2018, 7, 10));
+        saveAllWithSortKeys(Arrays.asList(chargeOne, chargeTwo, chargeThree));
+
+        // when
+        List<ChargesDocument> firstPage = chargesRepository.findCharges("00006400", ALL_CHARGES, 0, 2);
+        ChargesDocument lastOnFirstPage = firstPage.getLast();
+        List<ChargesDocument> secondPage = chargesRepository.findChargesAfter("00006400", ALL_CHARGES,
+                lastOnFirstPage.getSortKey(), lastOnFirstPage.getId(), 2);
+
+        // then
+        assertEquals(List.of("C", "B"), firstPage.stream().map(ChargesDocument::getId).toList());
+        assertEquals(List.of("A"), secondPage.stream().map(ChargesDocument::getId).toList());
+        assertEquals(3L, chargesRepository.countCharges("00006400", ALL_CHARGES));
+    }
+
+    @DisplayName("Repository filters charges stored before the outstanding flag on their status")
+    @Test
+    void findChargesWithoutOutstandingFlag() throws IOException {
+        // given
+        ChargesDocument outstanding = createChargesDocument("00006400", UUID.randomUUID().toString(),
+                "charge-api-request-data-1.json");
+        outstanding.getData().chargeNumber(1).createdOn(LocalDate.of(2017, 7, 10))
+                .status(ChargeApi.StatusEnum.OUTSTANDING);
+        outstanding.setSortKey(SortKeyUtils.buildSortKey(outstanding.getData()));
+        ChargesDocument satisfied = createChargesDocument("00006400", UUID.randomUUID().toString(),
+                "charge-api-request-data-1.json");
+        satisfied.getData().chargeNumber(2).createdOn(LocalDate.of(2018, 7, 10))
+                .status(ChargeApi.StatusEnum.SATISFIED);
+        satisfied.setSortKey(SortKeyUtils.buildSortKey(satisfied.getData()));
+        chargesRepository.saveAll(List.of(outstanding, satisfied));
+
+        // when
+        List<ChargesDocument> unfiltered = chargesRepository.findCharges("00006400", ALL_CHARGES, 0, 4);
+        List<ChargesDocument> filtered = chargesRepository.findCharges("00006400", OUTSTANDING_ONLY, 0, 4);
+        List<ChargesDocument> filteredAfter = chargesRepository.findChargesAfter("00006400", OUTSTANDING_ONLY,
+                satisfied.getSortKey(), satisfied.getId(), 4);
+
+        // then
+        assertEquals(2, unfiltered.size());
+        assertEquals(List.of(outstanding.getId()), filtered.stream().map(ChargesDocument::getId).toList());
+        assertEquals(List.of(outstanding.getId()), filteredAfter.stream().map(ChargesDocument::getId).toList());
+        assertEquals(2L, chargesRepository.countCharges("00006400", ALL_CHARGES));
+        assertEquals(1L, chargesRepository.countCharges("00006400", OUTSTANDING_ONLY));
     }
 
     @DisplayName("Repository returns no charges when filtered and there are no matches")
     @Test
     void findChargesNoResultsWithFilter() {
         // given
-        List<String> filter = Arrays.asList(ChargeApi.StatusEnum.SATISFIED.toString(), ChargeApi.StatusEnum.FULLY_SATISFIED.toString());
+        List<Boolean> filter = OUTSTANDING_ONLY;
 
         // when
 
-        ChargesAggregate chargesAggregate = chargesRepository.findCharges("00006400", filter, 0, 4);
+        List<ChargesDocument> chargesDocuments = chargesRepository.findCharges("00006400", filter, 0, 4);
 
         // then
-        assertEquals(0, chargesAggregate.getChargesDocuments().size());
-        assertEquals(0, chargesAggregate.getTotalCharges().size());
+        assertEquals(0, chargesDocuments.size());
     }
 
     @DisplayName("Repository returns no charges when there are no matches")
@@ -297,11 +386,189 @@ class ChargesRepositoryITest extends AbstractIntegrationTest {
         // given
         // when
 
-        ChargesAggregate chargesAggregate = chargesRepository.findCharges("00006400", emptyList(), 0, 4);
+        List<ChargesDocument> chargesDocuments = chargesRepository.findCharges("00006400", ALL_CHARGES, 0, 4);
+
+        // then
+        assertEquals(0, chargesDocuments.size());
+    }
+
+    @DisplayName("Repository inserts a new charge and replaces it unless the delta is stale")
+    @Test
+    void upsertIfNotStale() throws IOException {
+        // given
+        String chargeId = UUID.randomUUID().toString();
+        OffsetDateTime deltaAt = OffsetDateTime.parse("2023-11-06T15:30:00.000Z");
+        ChargesDocument chargesDocument = createChargesDocument("00006400", chargeId,
+                "charge-api-request-data-1.json").setDeltaAt(deltaAt);
+        chargesDocument.getData().setStatus(ChargeApi.StatusEnum.OUTSTANDING);
+
+        // when
+        ChargesUpsertResult inserted = chargesRepository.upsertIfNotStale(chargesDocument);
+        chargesDocument.getData().setStatus(ChargeApi.StatusEnum.SATISFIED);
+        ChargesUpsertResult sameDelta = chargesRepository.upsertIfNotStale(chargesDocument);
+        ChargesUpsertResult stale = chargesRepository.upsertIfNotStale(
+                chargesDocument.setDeltaAt(deltaAt.minusDays(1)));
+
+        // then
+        assertEquals(ChargesUpsertResult.Outcome.INSERTED, inserted.outcome());
+        assertEquals(ChargesUpsertResult.Outcome.UPDATED, sameDelta.outcome());
+        assertEquals(ChargeApi.StatusEnum.OUTSTANDING, sameDelta.previousCharge().getStatus());
+        assertEquals(ChargesUpsertResult.Outcome.STALE, stale.outcome());
+        ChargesDocument stored = chargesRepository.findById(chargeId).orElseThrow();
+        assertEquals(ChargeApi.StatusEnum.SATISFIED, stored.getData().getStatus());
+        assertThat(stored.getDeltaAt()).isEqualTo(deltaAt);
+    }
+
+    @DisplayName("Repository upserts a charge for a transaction only when the delta is not stale")
+    @Test
+    void upsertIfNotStaleInTransaction() throws IOException {
+        // given
+        String chargeId = UUID.randomUUID().toString();
+        OffsetDateTime deltaAt = OffsetDateTime.parse("2023-11-06T15:30:00.000Z");
+        ChargesDocument chargesDocument = createChargesDocument("00006400", chargeId,
+                "charge-api-request-data-1.json").setDeltaAt(deltaAt);
+        chargesDocument.getData().setStatus(ChargeApi.StatusEnum.OUTSTANDING);
+
+        // when
+        ChargesUpsertResult inserted = chargesRepository.upsertIfNotStaleInTransaction(chargesDocument);
+        chargesDocument.getData().setStatus(ChargeApi.StatusEnum.SATISFIED);
+        ChargesUpsertResult sameDelta = chargesRepository.upsertIfNotStaleInTransaction(chargesDocument);
+        ChargesUpsertResult stale = chargesRepository.upsertIfNotStaleInTransaction(
+                chargesDocument.setDeltaAt(deltaAt.minusDays(1)));
 
         // then
-        assertEquals(0, chargesAggregate.getChargesDocuments().size());
-        assertEquals(0, chargesAggregate.getTotalCharges().size());
+        assertEquals(ChargesUpsertResult.Outcome.INSERTED, inserted.outcome());
+        assertEquals(ChargesUpsertResult.Outcome.UPDATED, sameDelta.outcome());
+        assertEquals(ChargeApi.StatusEnum.OUTSTANDING, sameDelta.previousCharge().getStatus());
+        assertEquals(ChargesUpsertResult.Outcome.STALE, stale.outcome());
+        assertThat(chargesRepository.findById(chargeId).orElseThrow().getDeltaAt()).isEqualTo(deltaAt);
+    }
+
+    @DisplayName("Repository reports a charge replaced with identical content as unchanged")
+    @Test
+    void upsertUnchangedCharge() throws IOException {
+        // given
+        String chargeId = UUID.randomUUID().toString();
+        OffsetDateTime deltaAt = OffsetDateTime.parse("2023-11-06T15:30:00.000Z");
+        chargesRepository.save(createChargesDocument("00006400", chargeId, "charge-api-request-data-1.json")
+                .setDeltaAt(deltaAt).setContentHash("hash"));
+
+        // when
+        ChargesUpsertResult stale = chargesRepository.upsertIfNotStale(createChargesDocument("00006400", chargeId,
+                "charge-api-request-data-1.json").setDeltaAt(deltaAt.minusDays(1)).setContentHash("hash"));
+        ChargesUpsertResult unchanged = chargesRepository.upsertIfNotStale(createChargesDocument("00006400",
+                chargeId, "charge-api-request-data-1.json").setDeltaAt(deltaAt.plusDays(1)).setContentHash("hash"));
+        ChargesUpsertResult changed = chargesRepository.upsertIfNotStale(createChargesDocument("00006400", chargeId,
+                "charge-api-request-data-1.json").setDeltaAt(deltaAt.plusDays(2)).setContentHash("other"));
+
+        // then
+        assertEquals(ChargesUpsertResult.Outcome.STALE, stale.outcome());
+        assertEquals(ChargesUpsertResult.Outcome.UNCHANGED, unchanged.outcome());
+        assertEquals(ChargesUpsertResult.Outcome.UPDATED, changed.outcome());
+        assertThat(chargesRepository.findById(chargeId).orElseThrow().getDeltaAt()).isEqualTo(deltaAt.plusDays(2));
+    }
+
+    @DisplayName("Repository only advances delta_at of a charge with identical content")
+    @Test
+    void upsertUnchangedChargeDoesNotRewriteCharge() throws IOException {
+        // given
+        String chargeId = UUID.randomUUID().toString();
+        String bulkChargeId = UUID.randomUUID().toString();
+        OffsetDateTime deltaAt = OffsetDateTime.parse("2023-11-06T15:30:00.000Z");
+        ChargesDocument stored = createChargesDocument("00006400", chargeId, "charge-api-request-data-1.json")
+                .setDeltaAt(deltaAt).setContentHash("hash");
+        stored.getData().setStatus(ChargeApi.StatusEnum.OUTSTANDING);
+        ChargesDocument bulkStored = createChargesDocument("00006400", bulkChargeId,
+                "charge-api-request-data-1.json").setDeltaAt(deltaAt).setContentHash("hash");
+        bulkStored.getData().setStatus(ChargeApi.StatusEnum.OUTSTANDING);
+        chargesRepository.saveAll(List.of(stored, bulkStored));
+
+        // the same content hash with different data shows whether the data was rewritten
+        ChargesDocument identical = createChargesDocument("00006400", chargeId, "charge-api-request-data-1.json")
+                .setDeltaAt(deltaAt.plusDays(1)).setContentHash("hash");
+        identical.getData().setStatus(ChargeApi.StatusEnum.SATISFIED);
+        ChargesDocument bulkIdentical = createChargesDocument("00006400", bulkChargeId,
+                "charge-api-request-data-1.json").setDeltaAt(deltaAt.plusDays(1)).setContentHash("hash");
+        bulkIdentical.getData().setStatus(ChargeApi.StatusEnum.SATISFIED);
+
+        // when
+        ChargesUpsertResult result = chargesRepository.upsertIfNotStale(identical);
+        List<ChargesUpsertResult> bulkResults = chargesRepository.bulkUpsertIfNotStale(List.of(bulkIdentical));
+
+        // then
+        assertEquals(ChargesUpsertResult.Outcome.UNCHANGED, result.outcome());
+        assertThat(bulkResults).extracting(ChargesUpsertResult::outcome)
+                .containsExactly(ChargesUpsertResult.Outcome.UNCHANGED);
+        for (String id : List.of(chargeId, bulkChargeId)) {
+            ChargesDocument actual = chargesRepository.findById(id).orElseThrow();
+            assertThat(actual.getDeltaAt()).isEqualTo(deltaAt.plusDays(1));
+            assertEquals(ChargeApi.StatusEnum.OUTSTANDING, actual.getData().getStatus());
+        }
+    }
+
+    @DisplayName("Repository upserts charges in bulk only when each delta is not stale")
+    @Test
+    void bulkUpsertIfNotStale() throws IOException {
+        // given
+        OffsetDateTime deltaAt = OffsetDateTime.parse("2023-11-06T15:30:00.000Z");
+        ChargesDocument existing = createChargesDocument("00006400", UUID.randomUUID().toString(),
+                "charge-api-request-data-1.json").setDeltaAt(deltaAt);
+        existing.getData().setStatus(ChargeApi.StatusEnum.OUTSTANDING);
+        ChargesDocument newer = createChargesDocument("00006400", UUID.randomUUID().toString(),
+                "charge-api-request-data-1.json").setDeltaAt(deltaAt);
+        chargesRepository.saveAll(List.of(existing, newer));
+
+        ChargesDocument inserted = createChargesDocument("00006401", UUID.randomUUID().toString(),
+                "charge-api-request-data-1.json").setDeltaAt(deltaAt);
+        ChargesDocument updated = createChargesDocument("00006400", existing.getId(),
+                "charge-api-request-data-1.json").setDeltaAt(deltaAt.plusDays(1));
+        updated.getData().setStatus(ChargeApi.StatusEnum.SATISFIED);
+        ChargesDocument stale = createChargesDocument("00006400", newer.getId(),
+                "charge-api-request-data-1.json").setDeltaAt(deltaAt.minusDays(1));
+
+        // when
+        List<ChargesUpsertResult> results = chargesRepository.bulkUpsertIfNotStale(
+                List.of(inserted, updated, stale));
+
+        // then
+        assertThat(results).extracting(ChargesUpsertResult::outcome).containsExactly(
+                ChargesUpsertResult.Outcome.INSERTED, ChargesUpsertResult.Outcome.UPDATED,
+                ChargesUpsertResult.Outcome.STALE);
+        assertEquals(ChargeApi.StatusEnum.OUTSTANDING, results.get(1).previousCharge().getStatus());
+        assertThat(chargesRepository.findById(inserted.getId())).isPresent();
+        assertThat(chargesRepository.findById(existing.getId()).orElseThrow().getDeltaAt())
+                .isEqualTo(deltaAt.plusDays(1));
+        assertThat(chargesRepository.findById(newer.getId()).orElseThrow().getDeltaAt()).isEqualTo(deltaAt);
+    }
+
+    @DisplayName("Repository deletes a charge only when the delta is not stale")
+    @Test
+    void deleteIfNotStale() throws IOException {
+        // given
+        String chargeId = UUID.randomUUID().toString();
+        OffsetDateTime deltaAt = OffsetDateTime.parse("2023-11-06T15:30:00.000Z");
+        chargesRepository.save(createChargesDocument("00006400", chargeId, "charge-api-request-data-1.json")
+                .setDeltaAt(deltaAt));
+
+        // when
+        Optional<ChargesDocument> stale = chargesRepository.deleteIfNotStale(chargeId, deltaAt.minusDays(1));
+        Optional<ChargesDocument> probe = chargesRepository.findDeltaAtById(chargeId);
+        Optional<ChargesDocument> deleted = chargesRepository.deleteIfNotStale(chargeId, deltaAt);
+
+        // then
+        assertThat(stale).isEmpty();
+        assertThat(probe).isPresent();
+        assertThat(probe.get().getDeltaAt()).isEqualTo(deltaAt);
+        assertThat(probe.get().getData()).isNull();
+        assertThat(deleted).isPresent();
+        assertThat(deleted.get().getData()).isNotNull();
+        assertThat(chargesRepository.findById(chargeId)).isEmpty();
+    }
+
+    private void saveAllWithSortKeys(List<ChargesDocument> chargesDocuments) {
+        chargesDocuments.forEach(document -> document.setSortKey(SortKeyUtils.buildSortKey(document.getData()))
+                .setOutstanding(ChargeCounts.isOutstanding(document.getData().getStatus())));
+        chargesRepository.saveAll(chargesDocuments);
     }
 
     private ChargesDocument createChargesDocument(String companyNumber, String chargeId, String filename) throws IOException {
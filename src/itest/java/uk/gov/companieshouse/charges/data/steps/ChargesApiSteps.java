@@ -49,7 +49,10 @@ import uk.gov.companieshouse.charges.data.config.AbstractMongoConfig;
 import uk.gov.companieshouse.charges.data.config.CucumberContext;
 import uk.gov.companieshouse.charges.data.config.WiremockTestConfig;
 import uk.gov.companieshouse.charges.data.model.ChargesDocument;
+import uk.gov.companieshouse.charges.data.model.RequestCriteria;
+import uk.gov.companieshouse.charges.data.repository.ChargeCountsRepository;
 import uk.gov.companieshouse.charges.data.repository.ChargesRepository;
+import uk.gov.companieshouse.charges.data.util.EtagUtils;
 
 public class ChargesApiSteps {
 
@@ -62,6 +65,9 @@ public class ChargesApiSteps {
     @Autowired
     private ChargesRepository chargesRepository;
 
+    @Autowired
+    private ChargeCountsRepository chargeCountsRepository;
+
     private static final String COMPANY_NUMBER = "08124207";
     private static final String CHARGE_ID = "AbRiNTU3NjNjZWI1Y2YxMzkzYWY3MzQ0YzVlOTg4ZGVhZTBkYWI4Ng==";
     private static final String INSOLVENCY_CASES_HAPPY_PATH_INPUT = "Insolvency_cases_Happy_Path_input";
@@ -82,6 +88,7 @@ public class ChargesApiSteps {
     public void after_each() {
         try {
             chargesRepository.deleteAll();
+            chargeCountsRepository.deleteAll();
         } catch (Exception ignored) {
             // MongoDB may have been stopped intentionally in this scenario
         }
@@ -244,7 +251,9 @@ public class ChargesApiSteps {
         assertThat(actual.getTotalCount()).isEqualTo(expectedDocument.getTotalCount());
         assertThat(actual.getUnfilteredCount()).isEqualTo(expectedDocument.getUnfilteredCount());
         assertThat(actual.getPartSatisfiedCount()).isEqualTo(expectedDocument.getPartSatisfiedCount());
-        assertThat(actual.getEtag()).isEqualTo(expectedDocument.getEtag());
+        // the list is requested without paging parameters
+        assertThat(actual.getEtag()).isEqualTo(EtagUtils.buildPageEtag(expectedDocument.getEtag(),
+                new RequestCriteria()));
         verify(moreThanOrExactly(1), getRequestedFor(urlEqualTo(String.format("/company/%s/metrics", companyNumber))));
     }
 
@@ -0,0 +1,65 @@
+package uk.gov.companieshouse.charges.data.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.companieshouse.api.charges.ChargeApi;
+import uk.gov.companieshouse.charges.data.config.ChargesApplicationConfig;
+import uk.gov.companieshouse.charges.data.converter.ChargeApiCodec;
+import uk.gov.companieshouse.charges.data.converter.ChargeApiReadConverter;
+import uk.gov.companieshouse.charges.data.converter.ChargeApiWriteConverter;
+
+/**
+ * Writing a charge to and reading it from its stored BSON form, as done for every charge saved
+ * and every charge read without a stored response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChargeApiConverterBenchmark {
+
+    @Param({ChargeFixtures.SIMPLE, ChargeFixtures.MULTI_TRANSACTION, ChargeFixtures.INSOLVENCY_CASES,
+            ChargeFixtures.LARGE})
+    public String fixture;
+
+    private ChargeApiWriteConverter writeConverter;
+    private ChargeApiReadConverter readConverter;
+    private ChargeApi charge;
+    private Document document;
+
+    @Setup
+    public void setUp() {
+        ChargeApiCodec chargeApiCodec = new ChargeApiCodec(ChargesApplicationConfig.mongoDbObjectMapper());
+        writeConverter = new ChargeApiWriteConverter(chargeApiCodec);
+        readConverter = new ChargeApiReadConverter(chargeApiCodec);
+        charge = ChargeFixtures.charge(fixture);
+        RawBsonDocument stored = writeConverter.convert(charge);
+        document = new DocumentCodec().decode(stored.asBsonReader(), DecoderContext.builder().build());
+    }
+
+    @Benchmark
+    public RawBsonDocument write() {
+        return writeConverter.convert(charge);
+    }
+
+    @Benchmark
+    public ChargeApi read() {
+        return readConverter.convert(document);
+    }
+}
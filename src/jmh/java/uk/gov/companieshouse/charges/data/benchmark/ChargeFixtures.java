@@ -0,0 +1,98 @@
+package uk.gov.companieshouse.charges.data.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import uk.gov.companieshouse.api.charges.ChargeApi;
+import uk.gov.companieshouse.api.charges.InternalChargeApi;
+import uk.gov.companieshouse.charges.data.config.ChargesApplicationConfig;
+
+/**
+ * Charge payloads for the benchmarks, read from the integration test request payloads.
+ */
+final class ChargeFixtures {
+
+    /**
+     * A single transaction charge.
+     */
+    static final String SIMPLE = "simple";
+
+    /**
+     * A charge with several transactions and additional notices.
+     */
+    static final String MULTI_TRANSACTION = "multi-transaction";
+
+    /**
+     * A charge with insolvency cases.
+     */
+    static final String INSOLVENCY_CASES = "insolvency-cases";
+
+    /**
+     * The insolvency cases charge with its transactions and insolvency cases repeated, as for a
+     * long-running charge of a company that has been through several insolvencies.
+     */
+    static final String LARGE = "large";
+
+    private static final String PAYLOAD_PATH = "/payload/input/%s";
+    private static final int LARGE_REPEATS = 25;
+
+    static final ObjectMapper OBJECT_MAPPER = new ChargesApplicationConfig().objectMapper();
+
+    private ChargeFixtures() {
+    }
+
+    /**
+     * Read the request of a fixture, as received by the upsert endpoint.
+     *
+     * @param fixture the fixture name.
+     * @return the charge request.
+     */
+    static InternalChargeApi request(String fixture) {
+        return switch (fixture) {
+            case SIMPLE -> read("floating_charge_input.json");
+            case MULTI_TRANSACTION -> read("Additional_notices_Happy_Path_input.json");
+            case INSOLVENCY_CASES -> read("Insolvency_cases_Happy_Path_input.json");
+            case LARGE -> large();
+            default -> throw new IllegalArgumentException("Unknown fixture " + fixture);
+        };
+    }
+
+    /**
+     * Read the charge of a fixture.
+     *
+     * @param fixture the fixture name.
+     * @return the charge.
+     */
+    static ChargeApi charge(String fixture) {
+        return request(fixture).getExternalData();
+    }
+
+    private static InternalChargeApi large() {
+        InternalChargeApi request = read("Insolvency_cases_Happy_Path_input.json");
+        ChargeApi charge = request.getExternalData();
+        List<ChargeApi> copies = new ArrayList<>();
+        for (int i = 1; i < LARGE_REPEATS; i++) {
+            copies.add(read("Insolvency_cases_Happy_Path_input.json").getExternalData());
+        }
+        copies.forEach(copy -> {
+            charge.getTransactions().addAll(copy.getTransactions());
+            charge.getInsolvencyCases().addAll(copy.getInsolvencyCases());
+            charge.getPersonsEntitled().addAll(copy.getPersonsEntitled());
+        });
+        return request;
+    }
+
+    private static InternalChargeApi read(String filename) {
+        try (InputStream inputStream = ChargeFixtures.class.getResourceAsStream(PAYLOAD_PATH.formatted(filename))) {
+            if (inputStream == null) {
+                throw new IllegalStateException("Missing payload " + filename);
+            }
+            return OBJECT_MAPPER.readValue(inputStream, InternalChargeApi.class);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
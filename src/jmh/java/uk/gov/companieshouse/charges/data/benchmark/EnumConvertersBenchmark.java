@@ -0,0 +1,43 @@
+package uk.gov.companieshouse.charges.data.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.convert.TypeDescriptor;
+import uk.gov.companieshouse.api.charges.ChargeApi.StatusEnum;
+import uk.gov.companieshouse.charges.data.converter.EnumConverters;
+
+/**
+ * Converting enum fields of mapped documents to and from their stored values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnumConvertersBenchmark {
+
+    private static final TypeDescriptor STRING_TYPE = TypeDescriptor.valueOf(String.class);
+    private static final TypeDescriptor STATUS_TYPE = TypeDescriptor.valueOf(StatusEnum.class);
+
+    private final EnumConverters.StringToEnum stringToEnum = new EnumConverters.StringToEnum();
+    private final EnumConverters.EnumToString enumToString = new EnumConverters.EnumToString();
+
+    @Benchmark
+    public Object stringToEnum() {
+        return stringToEnum.convert(StatusEnum.FULLY_SATISFIED.toString(), STRING_TYPE, STATUS_TYPE);
+    }
+
+    @Benchmark
+    public Object enumToString() {
+        return enumToString.convert(StatusEnum.FULLY_SATISFIED, STATUS_TYPE, STRING_TYPE);
+    }
+}
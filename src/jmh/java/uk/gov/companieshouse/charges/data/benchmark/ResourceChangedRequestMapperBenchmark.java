@@ -0,0 +1,67 @@
+package uk.gov.companieshouse.charges.data.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.companieshouse.api.chskafka.ChangedResource;
+import uk.gov.companieshouse.charges.data.model.ResourceChangedRequest;
+import uk.gov.companieshouse.charges.data.transform.ResourceChangedRequestMapper;
+
+/**
+ * Building the resource changed events sent for upserts and deletes. The deleted event carries
+ * the charge as a map tree; the string round trip it was previously built with is kept as a
+ * baseline to compare against.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResourceChangedRequestMapperBenchmark {
+
+    private static final String COMPANY_NUMBER = "08124207";
+    private static final String CHARGE_ID = "AbRiNTU3NjNjZWI1Y2YxMzkzYWY3MzQ0YzVlOTg4ZGVhZTBkYWI4Ng==";
+
+    @Param({ChargeFixtures.SIMPLE, ChargeFixtures.MULTI_TRANSACTION, ChargeFixtures.INSOLVENCY_CASES,
+            ChargeFixtures.LARGE})
+    public String fixture;
+
+    private final ObjectMapper objectMapper = ChargeFixtures.OBJECT_MAPPER;
+    private ResourceChangedRequestMapper resourceChangedRequestMapper;
+    private ResourceChangedRequest resourceChangedRequest;
+
+    @Setup
+    public void setUp() {
+        resourceChangedRequestMapper = new ResourceChangedRequestMapper(Instant::now, objectMapper);
+        resourceChangedRequest = new ResourceChangedRequest("context-id", CHARGE_ID, COMPANY_NUMBER,
+                ChargeFixtures.charge(fixture), true);
+    }
+
+    @Benchmark
+    public ChangedResource mapChangedEvent() {
+        return resourceChangedRequestMapper.mapChangedEvent(resourceChangedRequest);
+    }
+
+    @Benchmark
+    public ChangedResource mapDeletedEvent() {
+        return resourceChangedRequestMapper.mapDeletedEvent(resourceChangedRequest);
+    }
+
+    @Benchmark
+    public Object deletedDataStringRoundTrip() throws JsonProcessingException {
+        return objectMapper.readValue(objectMapper.writeValueAsString(resourceChangedRequest.data()), Object.class);
+    }
+}
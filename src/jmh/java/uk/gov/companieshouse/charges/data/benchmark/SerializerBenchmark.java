@@ -0,0 +1,75 @@
+package uk.gov.companieshouse.charges.data.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.companieshouse.api.charges.ChargeApi;
+import uk.gov.companieshouse.api.charges.ScottishAlterationsApi;
+import uk.gov.companieshouse.charges.data.config.ChargesApplicationConfig;
+
+/**
+ * The custom serializers registered on the Mongo DB object mapper: the not-null-field serializer
+ * used for scottish alterations and transaction links, and the date deserializer used for every
+ * date of a charge.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializerBenchmark {
+
+    private static final byte[] DATE_JSON = "\"2017-07-10T00:00:00Z\"".getBytes(StandardCharsets.UTF_8);
+
+    @Param({ChargeFixtures.SIMPLE, ChargeFixtures.MULTI_TRANSACTION, ChargeFixtures.INSOLVENCY_CASES,
+            ChargeFixtures.LARGE})
+    public String fixture;
+
+    private ObjectMapper objectMapper;
+    private ChargeApi charge;
+    private ScottishAlterationsApi scottishAlterations;
+    private byte[] chargeJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = ChargesApplicationConfig.mongoDbObjectMapper();
+        charge = ChargeFixtures.charge(fixture);
+        scottishAlterations = charge.getScottishAlterations();
+        chargeJson = objectMapper.writeValueAsBytes(charge);
+    }
+
+    @Benchmark
+    public byte[] serializeCharge() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(charge);
+    }
+
+    @Benchmark
+    public byte[] serializeScottishAlterations() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(scottishAlterations);
+    }
+
+    @Benchmark
+    public ChargeApi deserializeCharge() throws IOException {
+        return objectMapper.readValue(chargeJson, ChargeApi.class);
+    }
+
+    @Benchmark
+    public LocalDate deserializeDate() throws IOException {
+        return objectMapper.readValue(DATE_JSON, LocalDate.class);
+    }
+}
@@ -0,0 +1,55 @@
+package uk.gov.companieshouse.charges.data.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+import uk.gov.companieshouse.api.charges.InternalChargeApi;
+import uk.gov.companieshouse.charges.data.model.ChargesDocument;
+import uk.gov.companieshouse.charges.data.transform.ChargesTransformer;
+
+/**
+ * Turning an upsert request into the stored charge document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransformerBenchmark {
+
+    private static final String COMPANY_NUMBER = "08124207";
+    private static final String CHARGE_ID = "AbRiNTU3NjNjZWI1Y2YxMzkzYWY3MzQ0YzVlOTg4ZGVhZTBkYWI4Ng==";
+
+    @Param({ChargeFixtures.SIMPLE, ChargeFixtures.MULTI_TRANSACTION, ChargeFixtures.INSOLVENCY_CASES,
+            ChargeFixtures.LARGE})
+    public String fixture;
+
+    @Param({"false", "true"})
+    public boolean storedResponsesEnabled;
+
+    private ChargesTransformer chargesTransformer;
+    private InternalChargeApi request;
+
+    @Setup
+    public void setUp() {
+        chargesTransformer = new ChargesTransformer(ChargeFixtures.OBJECT_MAPPER, new JsonMapper(),
+                storedResponsesEnabled);
+        request = ChargeFixtures.request(fixture);
+    }
+
+    @Benchmark
+    public ChargesDocument transform() {
+        return chargesTransformer.transform(COMPANY_NUMBER, CHARGE_ID, request);
+    }
+}
@@ -1,33 +1,30 @@
 package uk.gov.companieshouse.charges.data.api;
 
+import java.util.function.Function;
 import uk.gov.companieshouse.api.InternalApiClient;
-import uk.gov.companieshouse.api.http.ApiKeyHttpClient;
 import uk.gov.companieshouse.api.http.HttpClient;
-import uk.gov.companieshouse.charges.data.logging.DataMapHolder;
 
 public class ApiClientServiceImpl implements ApiClientService {
 
-    private final String apiKey;
-
-    private final String internalApiUrl;
-
-    public ApiClientServiceImpl(String apiKey, String internalApiUrl) {
-        this.apiKey = apiKey;
-        this.internalApiUrl = internalApiUrl;
+    private final InternalApiClient internalApiClient;
+
+    /**
+     * ApiClientServiceImpl constructor. The client is built once and shared between requests.
+     *
+     * @param apiKey            the API key.
+     * @param internalApiUrl    the API URL.
+     * @param httpClientFactory creates a pooled HTTP client for an API key.
+     */
+    public ApiClientServiceImpl(String apiKey, String internalApiUrl,
+            Function<String, HttpClient> httpClientFactory) {
+        this.internalApiClient = new InternalApiClient(httpClientFactory.apply(apiKey));
+        this.internalApiClient.setInternalBasePath(internalApiUrl);
+        this.internalApiClient.setBasePath(internalApiUrl);
     }
 
     @Override
     public InternalApiClient getInternalApiClient() {
-        InternalApiClient internalApiClient = new InternalApiClient(getHttpClient());
-        internalApiClient.setInternalBasePath(internalApiUrl);
-        internalApiClient.setBasePath(internalApiUrl);
-        internalApiClient.getHttpClient().setRequestId(DataMapHolder.getRequestId());
-
         return internalApiClient;
     }
 
-    private HttpClient getHttpClient() {
-        return new ApiKeyHttpClient(apiKey);
-    }
-
 }
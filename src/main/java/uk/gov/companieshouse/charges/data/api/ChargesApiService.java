@@ -5,6 +5,7 @@ import static uk.gov.companieshouse.charges.data.ChargesDataApiApplication.NAMES
 import java.util.function.Supplier;
 import org.springframework.stereotype.Service;
 import uk.gov.companieshouse.api.InternalApiClient;
+import uk.gov.companieshouse.api.chskafka.ChangedResource;
 import uk.gov.companieshouse.api.error.ApiErrorResponseException;
 import uk.gov.companieshouse.api.handler.chskafka.request.PrivateChangedResourcePost;
 import uk.gov.companieshouse.charges.data.exception.ServiceUnavailableException;
@@ -27,25 +28,24 @@ public class ChargesApiService {
     }
 
     public void invokeChsKafkaApi(ResourceChangedRequest resourceChangedRequest) {
-        InternalApiClient internalApiClient = internalApiClientSupplier.get();
-
-        PrivateChangedResourcePost changedResourcePost =
-                internalApiClient.privateChangedResourceHandler().postChangedResource(
-                        RESOURCE_CHANGED_URI, mapper.mapChangedEvent(resourceChangedRequest));
-        try {
-            changedResourcePost.execute();
-        } catch (ApiErrorResponseException ex) {
-            LOGGER.info("Resource changed call failed: %s".formatted(ex.getStatusCode()));
-            throw new ServiceUnavailableException("Error calling resource changed endpoint");
-        }
+        postChangedResource(mapper.mapChangedEvent(resourceChangedRequest));
     }
 
     public void invokeChsKafkaApiDelete(ResourceChangedRequest resourceChangedRequest) {
+        postChangedResource(mapper.mapDeletedEvent(resourceChangedRequest));
+    }
+
+    /**
+     * Send an already mapped resource changed event.
+     *
+     * @param changedResource the event.
+     */
+    public void postChangedResource(ChangedResource changedResource) {
         InternalApiClient internalApiClient = internalApiClientSupplier.get();
 
         PrivateChangedResourcePost changedResourcePost =
                 internalApiClient.privateChangedResourceHandler().postChangedResource(
-                        RESOURCE_CHANGED_URI, mapper.mapDeletedEvent(resourceChangedRequest));
+                        RESOURCE_CHANGED_URI, changedResource);
         try {
             changedResourcePost.execute();
         } catch (ApiErrorResponseException ex) {
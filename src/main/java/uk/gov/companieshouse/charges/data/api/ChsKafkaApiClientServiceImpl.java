@@ -1,14 +1,17 @@
 package uk.gov.companieshouse.charges.data.api;
 
+import java.util.function.Function;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.api.http.HttpClient;
 
 @Component("ChsKafkaApiClientService")
 public class ChsKafkaApiClientServiceImpl extends ApiClientServiceImpl {
 
     public ChsKafkaApiClientServiceImpl(@Value("${chs.kafka.api.key}") String chsApiKey,
-                                        @Value("${chs.kafka.api.endpoint}") String internalApiUrl) {
-        super(chsApiKey, internalApiUrl);
+                                        @Value("${chs.kafka.api.endpoint}") String internalApiUrl,
+                                        Function<String, HttpClient> apiKeyHttpClientFactory) {
+        super(chsApiKey, internalApiUrl, apiKeyHttpClientFactory);
     }
 
 }
@@ -0,0 +1,90 @@
+package uk.gov.companieshouse.charges.data.api;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker guarding calls to a dependency. The circuit opens after a number of consecutive
+ * failed calls and rejects calls until the open duration has passed, after which a single trial
+ * call is let through: its success closes the circuit and its failure opens it again.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Supplier<Instant> instantSupplier;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private boolean trialCallInFlight;
+
+    /**
+     * CircuitBreaker constructor.
+     *
+     * @param failureThreshold the number of consecutive failed calls which opens the circuit.
+     * @param openDuration     how long the circuit stays open before a trial call.
+     * @param instantSupplier  the clock.
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration, Supplier<Instant> instantSupplier) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.instantSupplier = instantSupplier;
+    }
+
+    /**
+     * Ask to make a call. A permitted call must be followed by {@link #onSuccess} or
+     * {@link #onFailure}.
+     *
+     * @return true if the call may be made.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN && !instantSupplier.get().isBefore(openedAt.plus(openDuration))) {
+            state = State.HALF_OPEN;
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialCallInFlight) {
+                    yield false;
+                }
+                trialCallInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    /**
+     * Record a successful call, closing the circuit.
+     */
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialCallInFlight = false;
+    }
+
+    /**
+     * Record a failed call, opening the circuit after enough consecutive failures or when the
+     * trial call fails.
+     */
+    public synchronized void onFailure() {
+        trialCallInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = instantSupplier.get();
+            consecutiveFailures = 0;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
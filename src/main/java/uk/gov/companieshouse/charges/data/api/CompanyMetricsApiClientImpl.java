@@ -1,15 +1,29 @@
 package uk.gov.companieshouse.charges.data.api;
 
+import com.google.api.client.http.HttpTransport;
+import java.time.Duration;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * Client of the Company Metrics API. Its calls are made within the deadline of the charges list
+ * lookup, so the connect and read timeouts of each call are bounded by that deadline and a call
+ * the request has stopped waiting for does not keep its connection and bulkhead permit beyond it.
+ */
 @Component("CompanyMetricsApiClient")
 public class CompanyMetricsApiClientImpl extends ApiClientServiceImpl {
 
     public CompanyMetricsApiClientImpl(
             @Value("${api.company.metrics.key}") String companyMetricsApiKey,
-            @Value("${api.company.metrics.endpoint}") String internalApiUrl) {
-        super(companyMetricsApiKey, internalApiUrl);
+            @Value("${api.company.metrics.endpoint}") String internalApiUrl,
+            HttpTransport internalApiHttpTransport,
+            @Value("${api.http-client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${charges.list.metrics-timeout:2s}") Duration deadline) {
+        super(companyMetricsApiKey, internalApiUrl, apiKey -> new PooledApiKeyHttpClient(internalApiHttpTransport,
+                apiKey, min(connectTimeout, deadline), deadline));
     }
 
+    static Duration min(Duration timeout, Duration deadline) {
+        return timeout.compareTo(deadline) < 0 ? timeout : deadline;
+    }
 }
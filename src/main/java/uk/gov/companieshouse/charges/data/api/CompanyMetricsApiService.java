@@ -2,9 +2,24 @@ package uk.gov.companieshouse.charges.data.api;
 
 import static uk.gov.companieshouse.charges.data.ChargesDataApiApplication.NAMESPACE;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 import uk.gov.companieshouse.api.InternalApiClient;
@@ -13,6 +28,7 @@ import uk.gov.companieshouse.api.handler.exception.URIValidationException;
 import uk.gov.companieshouse.api.handler.metrics.request.PrivateCompanyMetricsGet;
 import uk.gov.companieshouse.api.metrics.MetricsApi;
 import uk.gov.companieshouse.api.model.ApiResponse;
+import uk.gov.companieshouse.charges.data.exception.ServiceUnavailableException;
 import uk.gov.companieshouse.charges.data.logging.DataMapHolder;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.logging.LoggerFactory;
@@ -23,29 +39,173 @@ public class CompanyMetricsApiService {
 
     private static final String GET_COMPANY_METRICS_ENDPOINT = "/company/%s/metrics";
     private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+    static final String CACHE_NAME = "company-metrics";
 
 
     private ApiClientService apiClientService;
 
+    private final AsyncCache<String, Optional<MetricsApi>> cache;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Counter bulkheadRejections;
+    private final Counter circuitOpenRejections;
+
     /**
-     * Invoke Company Metrics API.
+     * Invoke Company Metrics API. Calls are isolated by a bulkhead, which rejects calls beyond the
+     * maximum number in flight rather than queueing them, and by a circuit breaker, which rejects
+     * calls while the API keeps failing. Rejected calls fail with {@link ServiceUnavailableException}.
      */
     @Autowired
-    public CompanyMetricsApiService(@Qualifier("CompanyMetricsApiClient") ApiClientService apiClientService) {
+    public CompanyMetricsApiService(@Qualifier("CompanyMetricsApiClient") ApiClientService apiClientService,
+            MeterRegistry meterRegistry,
+            Supplier<Instant> instantSupplier,
+            @Value("${api.company.metrics.cache.ttl:30s}") Duration cacheTtl,
+            @Value("${api.company.metrics.cache.maximum-size:10000}") long cacheMaximumSize,
+            @Value("${api.company.metrics.bulkhead.max-concurrent-calls:50}") int maxConcurrentCalls,
+            @Value("${api.company.metrics.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${api.company.metrics.circuit-breaker.open-duration:30s}") Duration openDuration) {
         this.apiClientService = apiClientService;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtl)
+                .maximumSize(cacheMaximumSize)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration, instantSupplier);
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("company.metrics.circuit.state", circuitBreaker, breaker -> breaker.getState() == state ? 1 : 0)
+                    .description("Whether the company metrics circuit is in the state")
+                    .tag("state", state.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+        Gauge.builder("company.metrics.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("The number of further company metrics calls which may be made concurrently")
+                .register(meterRegistry);
+        this.bulkheadRejections = rejectionCounter(meterRegistry, "bulkhead_full");
+        this.circuitOpenRejections = rejectionCounter(meterRegistry, "circuit_open");
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("company.metrics.calls.rejected")
+                .description("Company metrics calls rejected without being made")
+                .tag("reason", reason)
+                .register(meterRegistry);
     }
 
     /**
-     * Get company metrics.
+     * Get company metrics, from the cache where present. Concurrent requests for a company which
+     * is not cached share a single call to the Company Metrics API, made on the first requesting
+     * thread. Failed calls are not cached.
      *
      * @param companyNumber company number.
      * @return company metrics.
      */
     public Optional<MetricsApi> getCompanyMetrics(final String companyNumber) {
+        CompletableFuture<Optional<MetricsApi>> loading = new CompletableFuture<>();
+        CompletableFuture<Optional<MetricsApi>> cached = cache.get(companyNumber, (key, executor) -> loading);
+        if (cached == loading) {
+            try {
+                loading.complete(callCompanyMetrics(companyNumber));
+            } catch (RuntimeException ex) {
+                loading.completeExceptionally(ex);
+            }
+        }
+        try {
+            return cached.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    /**
+     * Remove a company's metrics from the cache, so that the next request reads them afresh.
+     *
+     * @param companyNumber company number.
+     */
+    public void evictCompanyMetrics(final String companyNumber) {
+        cache.synchronous().invalidate(companyNumber);
+    }
+
+    /**
+     * The state of the circuit around the Company Metrics API.
+     *
+     * @return the circuit state.
+     */
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * Get company metrics without blocking, calling the API with the given fetcher when they are
+     * not cached. The cache, bulkhead and circuit breaker are shared with
+     * {@link #getCompanyMetrics(String)}.
+     *
+     * @param companyNumber company number.
+     * @param fetcher       the non-blocking call to the API.
+     * @return company metrics.
+     */
+    public CompletableFuture<Optional<MetricsApi>> getCompanyMetricsAsync(final String companyNumber,
+            Function<String, CompletableFuture<Optional<MetricsApi>>> fetcher) {
+        return cache.get(companyNumber, (key, executor) -> {
+            try {
+                acquirePermission();
+            } catch (ServiceUnavailableException ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+            CompletableFuture<Optional<MetricsApi>> call;
+            try {
+                call = fetcher.apply(key);
+            } catch (RuntimeException ex) {
+                call = CompletableFuture.failedFuture(ex);
+            }
+            return call.whenComplete((metrics, ex) -> {
+                bulkhead.release();
+                if (ex == null) {
+                    circuitBreaker.onSuccess();
+                } else {
+                    circuitBreaker.onFailure();
+                }
+            });
+        });
+    }
+
+    private Optional<MetricsApi> callCompanyMetrics(final String companyNumber) {
+        acquirePermission();
+        try {
+            Optional<MetricsApi> metrics = fetchCompanyMetrics(companyNumber);
+            circuitBreaker.onSuccess();
+            return metrics;
+        } catch (RuntimeException ex) {
+            circuitBreaker.onFailure();
+            throw ex;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Take a bulkhead permit and the circuit breaker's permission to call the API. The permit must
+     * be released once the call completes.
+     */
+    private void acquirePermission() {
+        if (!bulkhead.tryAcquire()) {
+            bulkheadRejections.increment();
+            LOGGER.error("Company metrics call rejected, too many calls in flight", DataMapHolder.getLogMap());
+            throw new ServiceUnavailableException("Too many company metrics calls in flight");
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.release();
+            circuitOpenRejections.increment();
+            LOGGER.info("Company metrics call rejected, circuit open", DataMapHolder.getLogMap());
+            throw new ServiceUnavailableException("Company metrics circuit open");
+        }
+    }
+
+    private Optional<MetricsApi> fetchCompanyMetrics(final String companyNumber) {
         LOGGER.info(String.format("Started : getCompanyMetrics for Company Number %s ", companyNumber),
                 DataMapHolder.getLogMap());
         final InternalApiClient internalApiClient = this.apiClientService.getInternalApiClient();
-        internalApiClient.getHttpClient().setRequestId(DataMapHolder.getRequestId());
         PrivateCompanyMetricsGet companyMetrics =
                 internalApiClient.privateCompanyMetricsResourceHandler()
                         .getCompanyMetrics(
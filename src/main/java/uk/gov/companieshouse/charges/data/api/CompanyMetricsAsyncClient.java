@@ -0,0 +1,93 @@
+package uk.gov.companieshouse.charges.data.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import uk.gov.companieshouse.api.metrics.MetricsApi;
+
+/**
+ * Non-blocking client of the Company Metrics API, used by the reactive read endpoints. Calls are
+ * sent without holding a thread while waiting for the response, and each call times out at the
+ * deadline of the charges list lookup.
+ */
+@Component
+@Profile("reactive-reads")
+public class CompanyMetricsAsyncClient {
+
+    private static final String GET_COMPANY_METRICS_ENDPOINT = "%s/company/%s/metrics";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String endpoint;
+    private final String authorization;
+    private final Duration deadline;
+
+    /**
+     * CompanyMetricsAsyncClient constructor.
+     */
+    public CompanyMetricsAsyncClient(ObjectMapper objectMapper,
+            @Value("${api.company.metrics.key}") String companyMetricsApiKey,
+            @Value("${api.company.metrics.endpoint}") String endpoint,
+            @Value("${api.http-client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${charges.list.metrics-timeout:2s}") Duration deadline) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(CompanyMetricsApiClientImpl.min(connectTimeout, deadline))
+                .build();
+        this.objectMapper = objectMapper;
+        this.endpoint = endpoint;
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((companyMetricsApiKey + ":").getBytes(StandardCharsets.UTF_8));
+        this.deadline = deadline;
+    }
+
+    /**
+     * Get a company's metrics. A company without metrics is empty; any other error response fails
+     * the call with a {@link ResponseStatusException}.
+     *
+     * @param companyNumber the company number.
+     * @param requestId     the request id sent with the call.
+     * @return the company metrics.
+     */
+    public CompletableFuture<Optional<MetricsApi>> fetchCompanyMetrics(String companyNumber, String requestId) {
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+                .uri(URI.create(GET_COMPANY_METRICS_ENDPOINT.formatted(endpoint, companyNumber)))
+                .timeout(deadline)
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .header(HttpHeaders.ACCEPT, "application/json")
+                .GET();
+        if (requestId != null) {
+            request.header(PooledApiKeyHttpClient.REQUEST_ID_HEADER, requestId);
+        }
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(this::toMetrics);
+    }
+
+    private Optional<MetricsApi> toMetrics(HttpResponse<byte[]> response) {
+        if (response.statusCode() == 404) {
+            return Optional.empty();
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new ResponseStatusException(response.statusCode(), "Error calling getCompanyMetrics endpoint",
+                    null);
+        }
+        try {
+            return Optional.ofNullable(objectMapper.readValue(response.body(), MetricsApi.class));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
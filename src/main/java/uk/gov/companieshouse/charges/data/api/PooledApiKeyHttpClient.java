@@ -0,0 +1,65 @@
+package uk.gov.companieshouse.charges.data.api;
+
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.HttpTransport;
+import java.time.Duration;
+import uk.gov.companieshouse.api.http.HttpClient;
+import uk.gov.companieshouse.charges.data.logging.DataMapHolder;
+
+/**
+ * API key authenticated client of the internal APIs which sends its requests over a shared,
+ * pooled transport, so that one instance serves every request. The request id sent with each call
+ * is that of the request being handled, taken from its log context when the call is made.
+ */
+public class PooledApiKeyHttpClient implements HttpClient {
+
+    static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    private final HttpTransport httpTransport;
+    private final String apiKey;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+
+    /**
+     * PooledApiKeyHttpClient constructor.
+     *
+     * @param httpTransport  the shared transport.
+     * @param apiKey         the API key.
+     * @param connectTimeout the connect timeout of each call.
+     * @param readTimeout    the read timeout of each call.
+     */
+    public PooledApiKeyHttpClient(HttpTransport httpTransport, String apiKey, Duration connectTimeout,
+            Duration readTimeout) {
+        this.httpTransport = httpTransport;
+        this.apiKey = apiKey;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+    }
+
+    @Override
+    public HttpRequestFactory getHttpRequestFactory() {
+        return httpTransport.createRequestFactory(request -> {
+            request.getHeaders().setBasicAuthentication(apiKey, "");
+            String requestId = getRequestId();
+            if (requestId != null) {
+                request.getHeaders().set(REQUEST_ID_HEADER, requestId);
+            }
+            request.setConnectTimeout((int) connectTimeout.toMillis());
+            request.setReadTimeout((int) readTimeout.toMillis());
+        });
+    }
+
+    @Override
+    public String getRequestId() {
+        return DataMapHolder.getRequestId();
+    }
+
+    /**
+     * Ignored, as the client is shared between requests; the request id is taken from the log
+     * context of the request being handled.
+     */
+    @Override
+    public void setRequestId(String requestId) {
+        // the request id is read from the log context when each call is made
+    }
+}
@@ -6,15 +6,24 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.apache.v2.ApacheHttpTransport;
+import com.mongodb.MongoClientSettings;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import org.bson.codecs.configuration.CodecRegistries;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.mongodb.autoconfigure.MongoClientSettingsBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -24,13 +33,14 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import uk.gov.companieshouse.api.InternalApiClient;
 import uk.gov.companieshouse.api.charges.ScottishAlterationsApi;
 import uk.gov.companieshouse.api.charges.TransactionsLinks;
-import uk.gov.companieshouse.api.http.ApiKeyHttpClient;
+import uk.gov.companieshouse.api.http.HttpClient;
+import uk.gov.companieshouse.charges.data.api.PooledApiKeyHttpClient;
+import uk.gov.companieshouse.charges.data.converter.ChargeApiCodec;
 import uk.gov.companieshouse.charges.data.converter.ChargeApiReadConverter;
 import uk.gov.companieshouse.charges.data.converter.ChargeApiWriteConverter;
 import uk.gov.companieshouse.charges.data.converter.EnumConverters;
 import uk.gov.companieshouse.charges.data.converter.OffsetDateTimeReadConverter;
 import uk.gov.companieshouse.charges.data.converter.OffsetDateTimeWriteConverter;
-import uk.gov.companieshouse.charges.data.logging.DataMapHolder;
 import uk.gov.companieshouse.charges.data.serialization.LocalDateDeSerializer;
 import uk.gov.companieshouse.charges.data.serialization.LocalDateSerializer;
 import uk.gov.companieshouse.charges.data.serialization.LocalDateTimeDeSerializer;
@@ -57,17 +67,43 @@ public class ChargesApplicationConfig implements WebMvcConfigurer {
         return ApiSdkManager.getPrivateSDK();
     }
 
+    /**
+     * Shared, pooled transport of the internal API clients, keeping connections alive between
+     * calls. Idle and expired connections are evicted in the background.
+     *
+     * @return HttpTransport.
+     */
+    @Bean
+    public HttpTransport internalApiHttpTransport(MeterRegistry meterRegistry,
+            @Value("${api.http-client.max-connections:200}") int maxConnections,
+            @Value("${api.http-client.max-connections-per-route:100}") int maxConnectionsPerRoute,
+            @Value("${api.http-client.connection-ttl:5m}") Duration connectionTtl,
+            @Value("${api.http-client.idle-timeout:30s}") Duration idleTimeout,
+            @Value("${api.http-client.pool-wait-timeout:1s}") Duration poolWaitTimeout) {
+        InstrumentedConnectionManager connectionManager = new InstrumentedConnectionManager("internal-api",
+                meterRegistry, maxConnections, maxConnectionsPerRoute, connectionTtl, poolWaitTimeout);
+        return new ApacheHttpTransport(ApacheHttpTransport.newDefaultHttpClientBuilder()
+                .setConnectionManager(connectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .build());
+    }
+
+    @Bean
+    public Function<String, HttpClient> apiKeyHttpClientFactory(HttpTransport internalApiHttpTransport,
+            @Value("${api.http-client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${api.http-client.read-timeout:10s}") Duration readTimeout) {
+        return apiKey -> new PooledApiKeyHttpClient(internalApiHttpTransport, apiKey, connectTimeout, readTimeout);
+    }
+
     @Bean
     public Supplier<InternalApiClient> internalApiClientSupplier(
             @Value("${chs.kafka.api.key}") String apiKey,
-            @Value("${chs.kafka.api.endpoint}") String apiUrl) {
-        return () -> {
-            ApiKeyHttpClient apiKeyHttpClient = new ApiKeyHttpClient(apiKey);
-            apiKeyHttpClient.setRequestId(DataMapHolder.getRequestId());
-            InternalApiClient internalApiClient = new InternalApiClient(apiKeyHttpClient);
-            internalApiClient.setBasePath(apiUrl);
-            return internalApiClient;
-        };
+            @Value("${chs.kafka.api.endpoint}") String apiUrl,
+            Function<String, HttpClient> apiKeyHttpClientFactory) {
+        InternalApiClient internalApiClient = new InternalApiClient(apiKeyHttpClientFactory.apply(apiKey));
+        internalApiClient.setBasePath(apiUrl);
+        return () -> internalApiClient;
     }
 
     @Bean
@@ -75,6 +111,12 @@ public class ChargesApplicationConfig implements WebMvcConfigurer {
         return Instant::now;
     }
 
+    @Bean
+    public BoundedVirtualThreadExecutor chargesListExecutor(
+            @Value("${charges.list.executor.max-concurrency:256}") int maxConcurrency) {
+        return new BoundedVirtualThreadExecutor("charges-list", maxConcurrency);
+    }
+
     @Bean
     @Primary
     public ObjectMapper objectMapper() {
@@ -86,16 +128,31 @@ public class ChargesApplicationConfig implements WebMvcConfigurer {
                 .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
     }
 
+    @Bean
+    public ChargeApiCodec chargeApiCodec() {
+        return new ChargeApiCodec(mongoDbObjectMapper());
+    }
+
+    /**
+     * Registers the charge codec ahead of the driver's default codecs.
+     *
+     * @return MongoClientSettingsBuilderCustomizer.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer chargeApiCodecCustomizer(ChargeApiCodec chargeApiCodec) {
+        return builder -> builder.codecRegistry(CodecRegistries.fromRegistries(
+                CodecRegistries.fromCodecs(chargeApiCodec), MongoClientSettings.getDefaultCodecRegistry()));
+    }
+
     /**
      * mongoCustomConversions.
      *
      * @return MongoCustomConversions.
      */
     @Bean
-    public MongoCustomConversions mongoCustomConversions() {
-        ObjectMapper objectMapper = mongoDbObjectMapper();
-        return new MongoCustomConversions(List.of(new ChargeApiWriteConverter(objectMapper),
-                new ChargeApiReadConverter(objectMapper),new EnumConverters.StringToEnum(),
+    public MongoCustomConversions mongoCustomConversions(ChargeApiCodec chargeApiCodec) {
+        return new MongoCustomConversions(List.of(new ChargeApiWriteConverter(chargeApiCodec),
+                new ChargeApiReadConverter(chargeApiCodec),new EnumConverters.StringToEnum(),
                 new EnumConverters.EnumToString(), new OffsetDateTimeReadConverter(),
                 new OffsetDateTimeWriteConverter()));
     }
@@ -105,7 +162,7 @@ public class ChargesApplicationConfig implements WebMvcConfigurer {
      *
      * @return ObjectMapper.
      */
-    private ObjectMapper mongoDbObjectMapper() {
+    public static ObjectMapper mongoDbObjectMapper() {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         objectMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
@@ -0,0 +1,89 @@
+package uk.gov.companieshouse.charges.data.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+/**
+ * Connection pool shared by the clients of the internal APIs, exposing its utilisation and the
+ * time spent waiting to lease a connection. A lease which would otherwise wait indefinitely is
+ * bounded by the maximum wait, so that a saturated pool fails fast rather than queueing requests.
+ */
+public class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final Timer waitTimer;
+    private final Duration maxWait;
+
+    /**
+     * InstrumentedConnectionManager constructor.
+     *
+     * @param name          the pool name, tagged on its meters.
+     * @param meterRegistry the registry of the pool meters.
+     * @param maxTotal      the maximum number of connections.
+     * @param maxPerRoute   the maximum number of connections to each host.
+     * @param timeToLive    the maximum lifetime of a connection.
+     * @param maxWait       the maximum time to wait to lease a connection.
+     */
+    public InstrumentedConnectionManager(String name, MeterRegistry meterRegistry, int maxTotal, int maxPerRoute,
+            Duration timeToLive, Duration maxWait) {
+        super(timeToLive.toMillis(), TimeUnit.MILLISECONDS);
+        setMaxTotal(maxTotal);
+        setDefaultMaxPerRoute(maxPerRoute);
+        this.maxWait = maxWait;
+        this.waitTimer = Timer.builder("httpcomponents.httpclient.pool.wait")
+                .description("Time spent waiting to lease a connection from the pool")
+                .tag("httpclient", name)
+                .register(meterRegistry);
+        gauge(meterRegistry, name, "httpcomponents.httpclient.pool.total.max", null, PoolStats::getMax);
+        gauge(meterRegistry, name, "httpcomponents.httpclient.pool.total.connections", "leased",
+                PoolStats::getLeased);
+        gauge(meterRegistry, name, "httpcomponents.httpclient.pool.total.connections", "available",
+                PoolStats::getAvailable);
+        gauge(meterRegistry, name, "httpcomponents.httpclient.pool.total.pending", null, PoolStats::getPending);
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        ConnectionRequest connectionRequest = super.requestConnection(route, state);
+        return new ConnectionRequest() {
+
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                long start = System.nanoTime();
+                try {
+                    return timeout > 0 ? connectionRequest.get(timeout, timeUnit)
+                            : connectionRequest.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+                } finally {
+                    waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return connectionRequest.cancel();
+            }
+        };
+    }
+
+    private void gauge(MeterRegistry meterRegistry, String name, String meterName, String state,
+            ToDoubleFunction<PoolStats> value) {
+        Gauge.Builder<InstrumentedConnectionManager> builder =
+                Gauge.builder(meterName, this, manager -> value.applyAsDouble(manager.getTotalStats()))
+                        .tag("httpclient", name);
+        if (state != null) {
+            builder.tag("state", state);
+        }
+        builder.register(meterRegistry);
+    }
+}
@@ -3,21 +3,21 @@ package uk.gov.companieshouse.charges.data.controller;
 import static uk.gov.companieshouse.charges.data.ChargesDataApiApplication.NAMESPACE;
 
 import jakarta.validation.Valid;
+import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
-import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
-import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import uk.gov.companieshouse.api.charges.ChargeApi;
-import uk.gov.companieshouse.api.charges.ChargesApi;
 import uk.gov.companieshouse.api.charges.InternalChargeApi;
 import uk.gov.companieshouse.charges.data.logging.DataMapHolder;
-import uk.gov.companieshouse.charges.data.model.RequestCriteria;
+import uk.gov.companieshouse.charges.data.model.BulkChargeDelta;
+import uk.gov.companieshouse.charges.data.model.BulkChargeOutcome;
+import uk.gov.companieshouse.charges.data.service.BulkChargesService;
 import uk.gov.companieshouse.charges.data.service.ChargesService;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.logging.LoggerFactory;
@@ -28,10 +28,12 @@ public class ChargesController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
     ChargesService chargesService;
+    BulkChargesService bulkChargesService;
 
     @Autowired
-    public ChargesController(final ChargesService chargesService) {
+    public ChargesController(final ChargesService chargesService, final BulkChargesService bulkChargesService) {
         this.chargesService = chargesService;
+        this.bulkChargesService = bulkChargesService;
     }
 
     /**
@@ -49,14 +51,31 @@ public class ChargesController {
             @PathVariable("charge_id") final String chargeId,
             @Valid @RequestBody final InternalChargeApi requestBody
     ) {
-        DataMapHolder.get().companyNumber(companyNumber);
-        DataMapHolder.get().mortgageId(chargeId);
+        DataMapHolder.setCompanyNumber(companyNumber);
+        DataMapHolder.setMortgageId(chargeId);
         LOGGER.info("Upserting company charges", DataMapHolder.getLogMap());
 
         chargesService.upsertCharges(contextId, companyNumber, chargeId, requestBody);
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Bulk PUT request for charges, possibly across companies. Each delta is applied or rejected
+     * on its own, so a stale or invalid delta does not fail the request.
+     *
+     * @param requestBody the charge deltas
+     * @return the outcome of each delta, in the order of the deltas
+     */
+    @PostMapping("/company/charges/internal/bulk")
+    public ResponseEntity<List<BulkChargeOutcome>> saveOrUpdateChargesInBulk(
+            @RequestHeader("x-request-id") final String contextId,
+            @RequestBody final List<BulkChargeDelta> requestBody
+    ) {
+        LOGGER.info("Upserting company charges in bulk", DataMapHolder.getLogMap());
+
+        return ResponseEntity.ok(bulkChargesService.upsertCharges(contextId, requestBody));
+    }
+
     /**
      * Delete a company charge id from company charges.
      *
@@ -67,46 +86,11 @@ public class ChargesController {
     public ResponseEntity<Void> deleteCharge(
             @RequestHeader("x-request-id") String contextId, @PathVariable("company_number") String companyNumber,
             @PathVariable("charge_id") String chargeId, @RequestHeader("X-DELTA-AT") String deltaAt) {
-        DataMapHolder.get().companyNumber(companyNumber);
-        DataMapHolder.get().mortgageId(chargeId);
+        DataMapHolder.setCompanyNumber(companyNumber);
+        DataMapHolder.setMortgageId(chargeId);
         LOGGER.info("Deleting company charge", DataMapHolder.getLogMap());
 
         chargesService.deleteCharge(contextId, companyNumber, chargeId, deltaAt);
         return ResponseEntity.ok().build();
     }
-
-    /**
-     * Retrieve a company charge details using a company number and chargeId.
-     *
-     * @param companyNumber the company number of the company
-     * @param chargeId      the chargeId
-     * @return company charge api
-     */
-    @GetMapping("/company/{company_number}/charges/{charge_id}")
-    public ResponseEntity<ChargeApi> getCompanyCharge(
-            @PathVariable("company_number") final String companyNumber,
-            @PathVariable("charge_id") final String chargeId) {
-        DataMapHolder.get().companyNumber(companyNumber);
-        DataMapHolder.get().mortgageId(chargeId);
-        LOGGER.info("Getting company charge details", DataMapHolder.getLogMap());
-        return ResponseEntity.ok().body(chargesService.getChargeDetails(companyNumber, chargeId));
-    }
-
-    /**
-     * Retrieve a company charges using a company number.
-     *
-     * @param companyNumber the company number of the company
-     * @return company charge api
-     */
-    @GetMapping(value = {"/company/{company_number}/charges"})
-    public ResponseEntity<ChargesApi> getCompanyCharges(
-            @PathVariable("company_number") final String companyNumber,
-            @RequestParam(value = "items_per_page", required = false) final Integer itemsPerPage,
-            @RequestParam(value = "start_index", required = false) final Integer startIndex,
-            @RequestParam(value = "filter", required = false) final String filter) {
-        DataMapHolder.get().companyNumber(companyNumber);
-        LOGGER.info("Getting all charges for company", DataMapHolder.getLogMap());
-        return ResponseEntity.ok().body(chargesService.findCharges(companyNumber,
-                new RequestCriteria().setItemsPerPage(itemsPerPage).setStartIndex(startIndex).setFilter(filter)));
-    }
 }
@@ -0,0 +1,103 @@
+package uk.gov.companieshouse.charges.data.controller;
+
+import static uk.gov.companieshouse.charges.data.ChargesDataApiApplication.NAMESPACE;
+
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import uk.gov.companieshouse.api.charges.ChargeApi;
+import uk.gov.companieshouse.api.charges.ChargesApi;
+import uk.gov.companieshouse.charges.data.logging.DataMapHolder;
+import uk.gov.companieshouse.charges.data.model.RequestCriteria;
+import uk.gov.companieshouse.charges.data.service.ChargesService;
+import uk.gov.companieshouse.charges.data.util.EtagUtils;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * The charge read endpoints, served on the request thread. Replaced by
+ * {@link ReactiveChargesController} when the reactive-reads profile is active.
+ */
+@RestController
+@Profile("!reactive-reads")
+public class ChargesReadController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+    ChargesService chargesService;
+
+    @Autowired
+    public ChargesReadController(final ChargesService chargesService) {
+        this.chargesService = chargesService;
+    }
+
+    /**
+     * Retrieve a company charge details using a company number and chargeId. When the
+     * If-None-Match header matches the charge etag, which is read without the rest of the
+     * charge, 304 Not Modified is returned with no body.
+     *
+     * @param companyNumber the company number of the company
+     * @param chargeId      the chargeId
+     * @param ifNoneMatch   the If-None-Match header, if any
+     * @return company charge api
+     */
+    @GetMapping("/company/{company_number}/charges/{charge_id}")
+    public ResponseEntity<ChargeApi> getCompanyCharge(
+            @PathVariable("company_number") final String companyNumber,
+            @PathVariable("charge_id") final String chargeId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
+        DataMapHolder.setCompanyNumber(companyNumber);
+        DataMapHolder.setMortgageId(chargeId);
+        LOGGER.info("Getting company charge details", DataMapHolder.getLogMap());
+        if (ifNoneMatch != null) {
+            Optional<String> etag = chargesService.getChargeEtag(companyNumber, chargeId);
+            if (etag.isPresent() && EtagUtils.matchesIfNoneMatch(ifNoneMatch, etag.get())) {
+                return ChargesResponses.notModified(etag.get(), DataMapHolder.getLogMap());
+            }
+        }
+        ChargeApi charge = chargesService.getChargeDetails(companyNumber, chargeId);
+        return ChargesResponses.ok(charge, charge.getEtag());
+    }
+
+    /**
+     * Retrieve a company charges using a company number. Pages are addressed either by
+     * start_index or, when a cursor is supplied, by the next_cursor of the previous page. When
+     * the If-None-Match header matches the etag of the requested page, which differs between
+     * page sizes, start indexes, filters and cursors, 304 Not Modified is returned with no body,
+     * where possible without reading the charges.
+     *
+     * @param companyNumber the company number of the company
+     * @param ifNoneMatch   the If-None-Match header, if any
+     * @return company charge api
+     */
+    @GetMapping(value = {"/company/{company_number}/charges"})
+    public ResponseEntity<ChargesApi> getCompanyCharges(
+            @PathVariable("company_number") final String companyNumber,
+            @RequestParam(value = "items_per_page", required = false) final Integer itemsPerPage,
+            @RequestParam(value = "start_index", required = false) final Integer startIndex,
+            @RequestParam(value = "filter", required = false) final String filter,
+            @RequestParam(value = "cursor", required = false) final String cursor,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
+        DataMapHolder.setCompanyNumber(companyNumber);
+        LOGGER.info("Getting all charges for company", DataMapHolder.getLogMap());
+        RequestCriteria requestCriteria = new RequestCriteria().setItemsPerPage(itemsPerPage)
+                .setStartIndex(startIndex).setFilter(filter).setCursor(cursor);
+        if (ifNoneMatch != null) {
+            Optional<String> etag = chargesService.findChargesEtag(companyNumber, requestCriteria);
+            if (etag.isPresent() && EtagUtils.matchesIfNoneMatch(ifNoneMatch, etag.get())) {
+                return ChargesResponses.notModified(etag.get(), DataMapHolder.getLogMap());
+            }
+        }
+        ChargesApi charges = chargesService.findCharges(companyNumber, requestCriteria);
+        if (EtagUtils.matchesIfNoneMatch(ifNoneMatch, charges.getEtag())) {
+            return ChargesResponses.notModified(charges.getEtag(), DataMapHolder.getLogMap());
+        }
+        return ChargesResponses.ok(charges, charges.getEtag());
+    }
+}
@@ -0,0 +1,33 @@
+package uk.gov.companieshouse.charges.data.controller;
+
+import static uk.gov.companieshouse.charges.data.ChargesDataApiApplication.NAMESPACE;
+
+import java.util.Map;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * Responses of the charge read endpoints, carrying the etag of the resource where it has one.
+ */
+final class ChargesResponses {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+
+    private ChargesResponses() {
+    }
+
+    static <T> ResponseEntity<T> ok(T body, String etag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        return builder.body(body);
+    }
+
+    static <T> ResponseEntity<T> notModified(String etag, Map<String, Object> logMap) {
+        LOGGER.info("Resource not modified", logMap);
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+}
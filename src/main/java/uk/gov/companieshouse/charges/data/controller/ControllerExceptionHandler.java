@@ -5,6 +5,7 @@ import static uk.gov.companieshouse.charges.data.ChargesDataApiApplication.NAMES
 
 import java.time.format.DateTimeParseException;
 import java.util.Arrays;
+import java.util.concurrent.RejectedExecutionException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -47,6 +48,14 @@ public class ControllerExceptionHandler {
                 .build();
     }
 
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Void> handleRejectedExecution(RejectedExecutionException ex) {
+        LOGGER.info("No capacity to handle request: %s".formatted(ex.getMessage()));
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .build();
+    }
+
     @ExceptionHandler(value = {BadRequestException.class, DateTimeParseException.class,
             HttpMessageNotReadableException.class, MethodArgumentNotValidException.class})
     public ResponseEntity<Void> handleRequestAndParseError(Exception ex) {
@@ -0,0 +1,104 @@
+package uk.gov.companieshouse.charges.data.controller;
+
+import static uk.gov.companieshouse.charges.data.ChargesDataApiApplication.NAMESPACE;
+
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.api.charges.ChargeApi;
+import uk.gov.companieshouse.api.charges.ChargesApi;
+import uk.gov.companieshouse.charges.data.logging.DataMapHolder;
+import uk.gov.companieshouse.charges.data.model.RequestCriteria;
+import uk.gov.companieshouse.charges.data.service.ReactiveChargesService;
+import uk.gov.companieshouse.charges.data.util.EtagUtils;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * The charge read endpoints of {@link ChargesReadController}, served asynchronously so that no
+ * thread is held while the charges and company metrics are looked up. Active with the
+ * reactive-reads profile.
+ */
+@RestController
+@Profile("reactive-reads")
+public class ReactiveChargesController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+    ReactiveChargesService chargesService;
+
+    @Autowired
+    public ReactiveChargesController(final ReactiveChargesService chargesService) {
+        this.chargesService = chargesService;
+    }
+
+    /**
+     * Retrieve a company charge details using a company number and chargeId, as
+     * {@link ChargesReadController#getCompanyCharge}.
+     *
+     * @param companyNumber the company number of the company
+     * @param chargeId      the chargeId
+     * @param ifNoneMatch   the If-None-Match header, if any
+     * @return company charge api
+     */
+    @GetMapping("/company/{company_number}/charges/{charge_id}")
+    public Mono<ResponseEntity<ChargeApi>> getCompanyCharge(
+            @PathVariable("company_number") final String companyNumber,
+            @PathVariable("charge_id") final String chargeId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
+        DataMapHolder.setCompanyNumber(companyNumber);
+        DataMapHolder.setMortgageId(chargeId);
+        Map<String, Object> logMap = DataMapHolder.getLogMap();
+        LOGGER.info("Getting company charge details", logMap);
+        Mono<ResponseEntity<ChargeApi>> charge = chargesService.getChargeDetails(companyNumber, chargeId)
+                .map(chargeApi -> ChargesResponses.ok(chargeApi, chargeApi.getEtag()));
+        if (ifNoneMatch == null) {
+            return charge;
+        }
+        return chargesService.getChargeEtag(companyNumber, chargeId)
+                .filter(etag -> EtagUtils.matchesIfNoneMatch(ifNoneMatch, etag))
+                .map(etag -> ChargesResponses.<ChargeApi>notModified(etag, logMap))
+                .switchIfEmpty(charge);
+    }
+
+    /**
+     * Retrieve a company charges using a company number, as
+     * {@link ChargesReadController#getCompanyCharges}.
+     *
+     * @param companyNumber the company number of the company
+     * @param ifNoneMatch   the If-None-Match header, if any
+     * @return company charge api
+     */
+    @GetMapping(value = {"/company/{company_number}/charges"})
+    public Mono<ResponseEntity<ChargesApi>> getCompanyCharges(
+            @PathVariable("company_number") final String companyNumber,
+            @RequestParam(value = "items_per_page", required = false) final Integer itemsPerPage,
+            @RequestParam(value = "start_index", required = false) final Integer startIndex,
+            @RequestParam(value = "filter", required = false) final String filter,
+            @RequestParam(value = "cursor", required = false) final String cursor,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
+        DataMapHolder.setCompanyNumber(companyNumber);
+        Map<String, Object> logMap = DataMapHolder.getLogMap();
+        LOGGER.info("Getting all charges for company", logMap);
+        RequestCriteria requestCriteria = new RequestCriteria().setItemsPerPage(itemsPerPage)
+                .setStartIndex(startIndex).setFilter(filter).setCursor(cursor);
+        Mono<ResponseEntity<ChargesApi>> charges = chargesService.findCharges(companyNumber, requestCriteria)
+                .map(chargesApi -> EtagUtils.matchesIfNoneMatch(ifNoneMatch, chargesApi.getEtag())
+                        ? ChargesResponses.notModified(chargesApi.getEtag(), logMap)
+                        : ChargesResponses.ok(chargesApi, chargesApi.getEtag()));
+        if (ifNoneMatch == null) {
+            return charges;
+        }
+        return chargesService.findChargesEtag(companyNumber, requestCriteria)
+                .filter(etag -> EtagUtils.matchesIfNoneMatch(ifNoneMatch, etag))
+                .map(etag -> ChargesResponses.<ChargesApi>notModified(etag, logMap))
+                .switchIfEmpty(charges);
+    }
+}
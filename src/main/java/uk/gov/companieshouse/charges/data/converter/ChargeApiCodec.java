@@ -0,0 +1,49 @@
+package uk.gov.companieshouse.charges.data.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import org.bson.BsonReader;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import uk.gov.companieshouse.api.charges.ChargeApi;
+import uk.gov.companieshouse.charges.data.exception.SerDesException;
+import uk.gov.companieshouse.charges.data.serialization.BsonReaderParser;
+import uk.gov.companieshouse.charges.data.serialization.BsonWriterGenerator;
+
+/**
+ * Codec reading and writing a charge straight from and to BSON through the Mongo DB object mapper,
+ * keeping the stored format of the JSON serializers registered on it.
+ */
+public class ChargeApiCodec implements Codec<ChargeApi> {
+
+    private final ObjectMapper objectMapper;
+
+    public ChargeApiCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, ChargeApi value, EncoderContext encoderContext) {
+        try {
+            objectMapper.writeValue(new BsonWriterGenerator(writer, objectMapper), value);
+        } catch (IOException ex) {
+            throw new SerDesException("Failed to serialise charge", ex);
+        }
+    }
+
+    @Override
+    public ChargeApi decode(BsonReader reader, DecoderContext decoderContext) {
+        try {
+            return objectMapper.readValue(new BsonReaderParser(reader, objectMapper), ChargeApi.class);
+        } catch (IOException ex) {
+            throw new SerDesException("Failed to deserialise charge", ex);
+        }
+    }
+
+    @Override
+    public Class<ChargeApi> getEncoderClass() {
+        return ChargeApi.class;
+    }
+}
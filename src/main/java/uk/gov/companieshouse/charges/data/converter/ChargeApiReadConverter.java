@@ -1,7 +1,11 @@
 package uk.gov.companieshouse.charges.data.converter;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWrapper;
 import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.convert.ReadingConverter;
 import uk.gov.companieshouse.api.charges.ChargeApi;
@@ -9,25 +13,24 @@ import uk.gov.companieshouse.api.charges.ChargeApi;
 @ReadingConverter
 public class ChargeApiReadConverter implements Converter<Document, ChargeApi> {
 
-    private final ObjectMapper objectMapper;
+    private static final DocumentCodec DOCUMENT_CODEC = new DocumentCodec();
 
-    public ChargeApiReadConverter(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+    private final Codec<ChargeApi> chargeApiCodec;
+
+    public ChargeApiReadConverter(Codec<ChargeApi> chargeApiCodec) {
+        this.chargeApiCodec = chargeApiCodec;
     }
 
     /**
-     * Read convertor.
+     * Read convertor, decoding the charge with the charge codec without going through JSON.
      *
      * @param source source Document.
      * @return charge object.
      */
     @Override
     public ChargeApi convert(Document source) {
-        try {
-            return objectMapper.readValue(source.toJson(), ChargeApi.class);
-        } catch (Exception ex) {
-            throw new RuntimeException(ex);
-        }
+        return chargeApiCodec.decode(new BsonDocumentReader(new BsonDocumentWrapper<>(source, DOCUMENT_CODEC)),
+                DecoderContext.builder().build());
     }
 
 }
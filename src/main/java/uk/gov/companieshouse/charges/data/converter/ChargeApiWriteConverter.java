@@ -1,33 +1,29 @@
 package uk.gov.companieshouse.charges.data.converter;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.mongodb.BasicDBObject;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.convert.WritingConverter;
 import uk.gov.companieshouse.api.charges.ChargeApi;
 
 @WritingConverter
-public class ChargeApiWriteConverter implements Converter<ChargeApi, BasicDBObject> {
+public class ChargeApiWriteConverter implements Converter<ChargeApi, RawBsonDocument> {
 
-    private final ObjectMapper objectMapper;
+    private final Codec<ChargeApi> chargeApiCodec;
 
-    public ChargeApiWriteConverter(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+    public ChargeApiWriteConverter(Codec<ChargeApi> chargeApiCodec) {
+        this.chargeApiCodec = chargeApiCodec;
     }
 
     /**
-     * Write convertor.
+     * Write convertor, encoding the charge directly to BSON bytes with the charge codec.
      *
-     * @param source source Document.
-     * @return charge BSON object.
+     * @param source source charge.
+     * @return charge BSON document.
      */
     @Override
-    public BasicDBObject convert(ChargeApi source) {
-        try {
-            return BasicDBObject.parse(objectMapper.writeValueAsString(source));
-        } catch (Exception ex) {
-            throw new RuntimeException(ex);
-        }
+    public RawBsonDocument convert(ChargeApi source) {
+        return new RawBsonDocument(source, chargeApiCodec);
     }
 
 }
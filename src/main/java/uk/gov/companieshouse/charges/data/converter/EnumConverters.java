@@ -1,13 +1,31 @@
 package uk.gov.companieshouse.charges.data.converter;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.converter.GenericConverter;
 import org.springframework.data.convert.ReadingConverter;
 import org.springframework.data.convert.WritingConverter;
 
+/**
+ * Converters between enums and strings. A string is read as the enum constant whose getValue
+ * method returns it, as the generated fromValue methods do, or whose name it is if the enum has no
+ * getValue method; the values of each enum type are looked up once and cached, so reads do not use
+ * reflection. An enum is written as its name, as it always has been, so the stored and queried
+ * form of an enum does not change.
+ */
 public class EnumConverters {
 
+    private static final ClassValue<EnumValues> ENUM_VALUES = new ClassValue<>() {
+        @Override
+        protected EnumValues computeValue(Class<?> type) {
+            return new EnumValues(type);
+        }
+    };
+
     @ReadingConverter
     public static class StringToEnum implements GenericConverter {
 
@@ -18,12 +36,7 @@ public class EnumConverters {
 
         @Override
         public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
-            try {
-                return targetType.getType().getDeclaredMethod("fromValue", String.class)
-                        .invoke(null, source);
-            } catch (Exception ex) {
-                throw new IllegalArgumentException("Unexpected Enum " + targetType);
-            }
+            return source == null ? null : ENUM_VALUES.get(targetType.getType()).toEnum((String) source);
         }
     }
 
@@ -37,11 +50,52 @@ public class EnumConverters {
 
         @Override
         public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+            return source == null ? null : ((Enum<?>) source).name();
+        }
+    }
+
+    /**
+     * The constants of an enum type, indexed by their values.
+     */
+    private static final class EnumValues {
+
+        private final Class<?> type;
+        private final Map<String, Enum<?>> constantsByValue = new HashMap<>();
+
+        private EnumValues(Class<?> type) {
+            if (!type.isEnum()) {
+                throw new IllegalArgumentException("Unexpected Enum " + type);
+            }
+            this.type = type;
+            Method getValue = findGetValue(type);
+            for (Enum<?> constant : (Enum<?>[]) type.getEnumConstants()) {
+                String value = getValue == null ? constant.name() : String.valueOf(invoke(getValue, constant));
+                constantsByValue.put(value, constant);
+            }
+        }
+
+        private Enum<?> toEnum(String value) {
+            Enum<?> constant = constantsByValue.get(value);
+            if (constant == null) {
+                throw new IllegalArgumentException(
+                        String.format("Unexpected value '%s' for Enum %s", value, type.getName()));
+            }
+            return constant;
+        }
+
+        private static Method findGetValue(Class<?> type) {
+            try {
+                return type.getMethod("getValue");
+            } catch (NoSuchMethodException ex) {
+                return null;
+            }
+        }
+
+        private static Object invoke(Method getValue, Enum<?> constant) {
             try {
-                return sourceType.getType().getDeclaredMethod("getValue", (Class<?>) null)
-                        .invoke(source, null);
-            } catch (Exception ex) {
-                return ((Enum<?>) source).name();
+                return getValue.invoke(constant);
+            } catch (IllegalAccessException | InvocationTargetException ex) {
+                throw new IllegalStateException("Failed to read the value of Enum " + constant, ex);
             }
         }
     }
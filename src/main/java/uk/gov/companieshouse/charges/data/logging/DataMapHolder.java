@@ -1,35 +1,111 @@
 package uk.gov.companieshouse.charges.data.logging;
 
 import java.util.Map;
+import java.util.function.Supplier;
 import uk.gov.companieshouse.logging.util.DataMap.Builder;
 
+/**
+ * Holds the logging context of the request being handled by the current thread. A thread only
+ * holds a context between {@link #initialise} and {@link #clear}, or while running a task wrapped
+ * by {@link #withContext}, so that no context is left on pooled threads and none is created on
+ * threads which only log, such as scheduled jobs. This keeps the holder cheap when each request
+ * runs on its own virtual thread. The context is immutable and adding to it replaces the current
+ * thread's context, so tasks sharing a request's context cannot change it for each other.
+ */
 public class DataMapHolder {
 
-    private static final ThreadLocal<Builder> DATAMAP_BUILDER
-            = ThreadLocal.withInitial(() -> new Builder().requestId("uninitialised"));
+    private static final String UNINITIALISED = "uninitialised";
+
+    private static final LogContext UNINITIALISED_CONTEXT = new LogContext(UNINITIALISED, null, null);
+
+    private static final ThreadLocal<LogContext> LOG_CONTEXT = new ThreadLocal<>();
 
     public static void initialise(String requestId) {
-        DATAMAP_BUILDER.get().requestId(requestId);
+        LOG_CONTEXT.set(new LogContext(requestId, null, null));
     }
 
     private DataMapHolder() {
     }
 
     public static void clear() {
-        DATAMAP_BUILDER.remove();
+        LOG_CONTEXT.remove();
+    }
+
+    /**
+     * Add the company number to the current thread's context, if it holds one.
+     *
+     * @param companyNumber the company number.
+     */
+    public static void setCompanyNumber(String companyNumber) {
+        LogContext context = LOG_CONTEXT.get();
+        if (context != null) {
+            LOG_CONTEXT.set(new LogContext(context.requestId(), companyNumber, context.mortgageId()));
+        }
     }
 
-    public static Builder get() {
-        return DATAMAP_BUILDER.get();
+    /**
+     * Add the charge id to the current thread's context, if it holds one.
+     *
+     * @param mortgageId the charge id.
+     */
+    public static void setMortgageId(String mortgageId) {
+        LogContext context = LOG_CONTEXT.get();
+        if (context != null) {
+            LOG_CONTEXT.set(new LogContext(context.requestId(), context.companyNumber(), mortgageId));
+        }
     }
 
     public static Map<String, Object> getLogMap() {
-        return DATAMAP_BUILDER.get()
+        LogContext context = LOG_CONTEXT.get();
+        return (context == null ? UNINITIALISED_CONTEXT : context).toBuilder()
                 .build()
                 .getLogMap();
     }
 
     public static String getRequestId() {
-        return (String) getLogMap().get("request_id");
+        LogContext context = LOG_CONTEXT.get();
+        return context == null ? UNINITIALISED : context.requestId();
+    }
+
+    /**
+     * Wrap a task so that it logs with the calling thread's request context when run on
+     * another thread. The context of the thread running the task is restored afterwards.
+     *
+     * @param task the task.
+     * @return the task wrapped with the current request context.
+     */
+    public static <T> Supplier<T> withContext(Supplier<T> task) {
+        LogContext context = LOG_CONTEXT.get();
+        return () -> {
+            LogContext previous = LOG_CONTEXT.get();
+            set(context);
+            try {
+                return task.get();
+            } finally {
+                set(previous);
+            }
+        };
+    }
+
+    private static void set(LogContext context) {
+        if (context == null) {
+            LOG_CONTEXT.remove();
+        } else {
+            LOG_CONTEXT.set(context);
+        }
+    }
+
+    private record LogContext(String requestId, String companyNumber, String mortgageId) {
+
+        Builder toBuilder() {
+            Builder builder = new Builder().requestId(requestId);
+            if (companyNumber != null) {
+                builder.companyNumber(companyNumber);
+            }
+            if (mortgageId != null) {
+                builder.mortgageId(mortgageId);
+            }
+            return builder;
+        }
     }
 }
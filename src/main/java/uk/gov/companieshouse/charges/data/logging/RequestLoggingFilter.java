@@ -27,15 +27,28 @@ import uk.gov.companieshouse.logging.util.RequestLogger;
 public class RequestLoggingFilter extends OncePerRequestFilter implements RequestLogger {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+    private static final String REQUEST_ID_ATTRIBUTE = RequestLoggingFilter.class.getName() + ".REQUEST_ID";
+
+    /**
+     * Asynchronously handled requests, such as those of the reactive read endpoints, are also
+     * filtered when dispatched to complete, so that their end is logged with the same request id.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
 
     @Override
     protected void doFilterInternal(@Nonnull HttpServletRequest request,
             @Nonnull HttpServletResponse response,
             @Nonnull FilterChain filterChain) throws ServletException, IOException {
-        logStartRequestProcessing(request, LOGGER);
-        DataMapHolder.initialise(Optional
-                .ofNullable(request.getHeader(REQUEST_ID.value()))
-                .orElse(UUID.randomUUID().toString()));
+        if (!isAsyncDispatch(request)) {
+            logStartRequestProcessing(request, LOGGER);
+            request.setAttribute(REQUEST_ID_ATTRIBUTE, Optional
+                    .ofNullable(request.getHeader(REQUEST_ID.value()))
+                    .orElse(UUID.randomUUID().toString()));
+        }
+        DataMapHolder.initialise((String) request.getAttribute(REQUEST_ID_ATTRIBUTE));
         try {
             filterChain.doFilter(request, response);
         } catch (ResponseStatusException ex) {
@@ -46,7 +59,9 @@ public class RequestLoggingFilter extends OncePerRequestFilter implements Reques
             LOGGER.error(ex.getMessage(), ex, DataMapHolder.getLogMap());
             throw ex;
         } finally {
-            logEndRequestProcessing(request, response, LOGGER);
+            if (!isAsyncStarted(request)) {
+                logEndRequestProcessing(request, response, LOGGER);
+            }
             DataMapHolder.clear();
         }
     }
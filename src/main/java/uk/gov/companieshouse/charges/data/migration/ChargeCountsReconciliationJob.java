@@ -0,0 +1,116 @@
+package uk.gov.companieshouse.charges.data.migration;
+
+import static uk.gov.companieshouse.charges.data.ChargesDataApiApplication.NAMESPACE;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.charges.data.model.ChargeCountsDocument;
+import uk.gov.companieshouse.charges.data.repository.ChargesRepository;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * Rebuilds every company's charge counters from the charges collection, correcting any drift
+ * and creating counters for companies which do not yet have them. Counters of companies which no
+ * longer have any charges are removed once the rebuild completes. Counters changed since the run
+ * started, by server time, are left as they are: the change may not be reflected in the counts
+ * of the run, so overwriting it could lose it. They are corrected by the next run.
+ */
+@Component
+@ConditionalOnProperty(name = "mongodb.charges.counts.reconciliation.enabled", havingValue = "true")
+public class ChargeCountsReconciliationJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+
+    private final ChargesRepository chargesRepository;
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+
+    public ChargeCountsReconciliationJob(ChargesRepository chargesRepository, MongoTemplate mongoTemplate,
+            @Value("${mongodb.charges.backfill.batch-size:500}") int batchSize) {
+        this.chargesRepository = chargesRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofVirtual().name("charge-counts-reconciliation").start(this::reconcile);
+    }
+
+    /**
+     * Rebuild the counters of every company.
+     *
+     * @return the number of companies reconciled.
+     */
+    long reconcile() {
+        LOGGER.info("Started : charge counts reconciliation");
+        long reconciled = 0;
+        Date runStart;
+        try {
+            runStart = mongoTemplate.executeCommand("{ hello: 1 }").getDate("localTime");
+        } catch (DataAccessException ex) {
+            LOGGER.error("Error occurred reading server time for charge counts reconciliation", ex);
+            return reconciled;
+        }
+        try (Stream<ChargeCountsDocument> counts = chargesRepository.countAllChargesByStatus()) {
+            Iterator<ChargeCountsDocument> iterator = counts.iterator();
+            while (iterator.hasNext()) {
+                BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, ChargeCountsDocument.class);
+                int batch = 0;
+                while (batch < batchSize && iterator.hasNext()) {
+                    ChargeCountsDocument companyCounts = iterator.next();
+                    bulkOperations.updateOne(Query.query(Criteria.where("_id").is(companyCounts.getId())
+                                    .andOperator(unchangedSince(runStart))),
+                            new Update()
+                                    .set("total_count", companyCounts.getTotalCount())
+                                    .set("outstanding_count", companyCounts.getOutstandingCount())
+                                    .set("satisfied_count", companyCounts.getSatisfiedCount())
+                                    .set("part_satisfied_count", companyCounts.getPartSatisfiedCount())
+                                    .set("reconciled_at", runStart));
+                    bulkOperations.upsert(Query.query(Criteria.where("_id").is(companyCounts.getId())),
+                            new Update()
+                                    .setOnInsert("total_count", companyCounts.getTotalCount())
+                                    .setOnInsert("outstanding_count", companyCounts.getOutstandingCount())
+                                    .setOnInsert("satisfied_count", companyCounts.getSatisfiedCount())
+                                    .setOnInsert("part_satisfied_count", companyCounts.getPartSatisfiedCount())
+                                    .setOnInsert("reconciled_at", runStart));
+                    batch++;
+                }
+                bulkOperations.execute();
+                reconciled += batch;
+            }
+
+            long removed = mongoTemplate.remove(Query.query(Criteria.where("reconciled_at").lt(runStart)
+                            .andOperator(unchangedSince(runStart))),
+                    ChargeCountsDocument.class).getDeletedCount();
+            LOGGER.info(String.format("Finished : charge counts reconciliation, %d companies reconciled, "
+                    + "%d removed", reconciled, removed));
+        } catch (DataAccessException ex) {
+            LOGGER.error(String.format("Error occurred during charge counts reconciliation after %d companies "
+                    + "reconciled", reconciled), ex);
+        }
+        return reconciled;
+    }
+
+    /**
+     * Matches counters which have not been incremented since the given server time.
+     */
+    private static Criteria unchangedSince(Date runStart) {
+        return new Criteria().orOperator(Criteria.where("updated_at").lt(runStart),
+                Criteria.where("updated_at").exists(false));
+    }
+}
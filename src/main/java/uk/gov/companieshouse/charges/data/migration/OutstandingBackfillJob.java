@@ -0,0 +1,96 @@
+package uk.gov.companieshouse.charges.data.migration;
+
+import static uk.gov.companieshouse.charges.data.ChargesDataApiApplication.NAMESPACE;
+
+import java.util.List;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.api.charges.ChargeApi.StatusEnum;
+import uk.gov.companieshouse.charges.data.model.ChargesDocument;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * One-off job which populates the outstanding flag of charges persisted before the flag was
+ * introduced. Only documents without the flag are touched, so the job can safely be re-run or run
+ * on several instances at once. Charges are read in batches in _id order, each batch starting after
+ * the last id of the previous one, so the collection is scanned once.
+ */
+@Component
+@ConditionalOnProperty(name = "mongodb.charges.backfill.outstanding.enabled", havingValue = "true")
+public class OutstandingBackfillJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+
+    private static final List<String> SATISFIED_STATUSES = List.of(StatusEnum.SATISFIED.toString(),
+            StatusEnum.FULLY_SATISFIED.toString());
+
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+
+    public OutstandingBackfillJob(MongoTemplate mongoTemplate,
+            @Value("${mongodb.charges.backfill.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofVirtual().name("outstanding-backfill").start(this::backfill);
+    }
+
+    /**
+     * Populate the outstanding flag of every charge that does not yet have one.
+     *
+     * @return the number of charges updated.
+     */
+    long backfill() {
+        LOGGER.info("Started : outstanding backfill");
+        long updated = 0;
+        try {
+            List<Document> batch;
+            Object lastId = null;
+            do {
+                Criteria criteria = Criteria.where("outstanding").exists(false);
+                if (lastId != null) {
+                    criteria.and("_id").gt(lastId);
+                }
+                Query query = Query.query(criteria).with(Sort.by("_id")).limit(batchSize);
+                query.fields().include("data.status");
+                batch = mongoTemplate.find(query, Document.class,
+                        mongoTemplate.getCollectionName(ChargesDocument.class));
+
+                if (!batch.isEmpty()) {
+                    var bulkOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, ChargesDocument.class);
+                    batch.forEach(document -> bulkOperations.updateOne(
+                            // a charge written since the batch was read already has its flag
+                            Query.query(Criteria.where("_id").is(document.get("_id")).and("outstanding").exists(false)),
+                            Update.update("outstanding", isOutstanding(document))));
+                    updated += bulkOperations.execute().getModifiedCount();
+                    lastId = batch.getLast().get("_id");
+                }
+            } while (batch.size() == batchSize);
+            LOGGER.info(String.format("Finished : outstanding backfill, %d charges updated", updated));
+        } catch (DataAccessException ex) {
+            LOGGER.error(String.format("Error occurred during outstanding backfill after %d charges updated",
+                    updated), ex);
+        }
+        return updated;
+    }
+
+    private static boolean isOutstanding(Document document) {
+        Document data = document.get("data", new Document());
+        return !SATISFIED_STATUSES.contains(data.getString("status"));
+    }
+}
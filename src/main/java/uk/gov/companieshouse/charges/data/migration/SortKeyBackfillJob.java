@@ -0,0 +1,103 @@
+package uk.gov.companieshouse.charges.data.migration;
+
+import static uk.gov.companieshouse.charges.data.ChargesDataApiApplication.NAMESPACE;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.charges.data.model.ChargesDocument;
+import uk.gov.companieshouse.charges.data.util.SortKeyUtils;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * One-off job which populates the sort_key of charges persisted before the key was introduced.
+ * Only documents without a sort_key are touched, so the job can safely be re-run or run on
+ * several instances at once. Charges are read in batches in _id order, each batch starting after
+ * the last id of the previous one, so the collection is scanned once however many charges lack a
+ * sort_key.
+ */
+@Component
+@ConditionalOnProperty(name = "mongodb.charges.backfill.sort-key.enabled", havingValue = "true")
+public class SortKeyBackfillJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+
+    public SortKeyBackfillJob(MongoTemplate mongoTemplate,
+            @Value("${mongodb.charges.backfill.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofVirtual().name("sort-key-backfill").start(this::backfill);
+    }
+
+    /**
+     * Populate the sort_key of every charge that does not yet have one.
+     *
+     * @return the number of charges updated.
+     */
+    long backfill() {
+        LOGGER.info("Started : sort_key backfill");
+        long updated = 0;
+        try {
+            List<Document> batch;
+            Object lastId = null;
+            do {
+                Criteria criteria = Criteria.where("sort_key").exists(false);
+                if (lastId != null) {
+                    criteria.and("_id").gt(lastId);
+                }
+                Query query = Query.query(criteria).with(Sort.by("_id")).limit(batchSize);
+                query.fields().include("data.created_on", "data.delivered_on", "data.charge_number");
+                batch = mongoTemplate.find(query, Document.class,
+                        mongoTemplate.getCollectionName(ChargesDocument.class));
+
+                if (!batch.isEmpty()) {
+                    var bulkOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, ChargesDocument.class);
+                    batch.forEach(document -> bulkOperations.updateOne(
+                            // a charge written since the batch was read already has its sort key
+                            Query.query(Criteria.where("_id").is(document.get("_id")).and("sort_key").exists(false)),
+                            Update.update("sort_key", buildSortKey(document))));
+                    updated += bulkOperations.execute().getModifiedCount();
+                    lastId = batch.getLast().get("_id");
+                }
+            } while (batch.size() == batchSize);
+            LOGGER.info(String.format("Finished : sort_key backfill, %d charges updated", updated));
+        } catch (DataAccessException ex) {
+            LOGGER.error(String.format("Error occurred during sort_key backfill after %d charges updated",
+                    updated), ex);
+        }
+        return updated;
+    }
+
+    private static String buildSortKey(Document document) {
+        Document data = document.get("data", new Document());
+        Number chargeNumber = data.get("charge_number", Number.class);
+        return SortKeyUtils.buildSortKey(toLocalDate(data.getDate("created_on")),
+                toLocalDate(data.getDate("delivered_on")), chargeNumber == null ? null : chargeNumber.intValue());
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date == null ? null : date.toInstant().atZone(ZoneOffset.UTC).toLocalDate();
+    }
+}
@@ -0,0 +1,17 @@
+package uk.gov.companieshouse.charges.data.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import uk.gov.companieshouse.api.charges.InternalChargeApi;
+
+/**
+ * One charge delta of a bulk internal upsert.
+ *
+ * @param companyNumber the company number of the charge.
+ * @param chargeId the charge id.
+ * @param delta the charge delta, as sent to the single charge internal endpoint.
+ */
+public record BulkChargeDelta(
+        @JsonProperty("company_number") String companyNumber,
+        @JsonProperty("charge_id") String chargeId,
+        @JsonProperty("delta") InternalChargeApi delta) {
+}
@@ -0,0 +1,35 @@
+package uk.gov.companieshouse.charges.data.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Outcome of one charge delta of a bulk internal upsert, in the position of the delta.
+ *
+ * @param companyNumber the company number of the charge.
+ * @param chargeId the charge id.
+ * @param outcome whether the delta was applied, identical to the stored charge, written without its
+ *                resource changed event being sent, rejected as stale or rejected as invalid.
+ */
+public record BulkChargeOutcome(
+        @JsonProperty("company_number") String companyNumber,
+        @JsonProperty("charge_id") String chargeId,
+        @JsonProperty("outcome") Outcome outcome) {
+
+    public enum Outcome {
+        @JsonProperty("applied")
+        APPLIED,
+        @JsonProperty("unchanged")
+        UNCHANGED,
+        @JsonProperty("not_notified")
+        NOT_NOTIFIED,
+        @JsonProperty("stale")
+        STALE,
+        @JsonProperty("invalid")
+        INVALID
+    }
+
+    public static BulkChargeOutcome of(BulkChargeDelta delta, Outcome outcome) {
+        return delta == null ? new BulkChargeOutcome(null, null, outcome)
+                : new BulkChargeOutcome(delta.companyNumber(), delta.chargeId(), outcome);
+    }
+}
@@ -0,0 +1,54 @@
+package uk.gov.companieshouse.charges.data.model;
+
+import uk.gov.companieshouse.api.charges.ChargeApi;
+import uk.gov.companieshouse.api.charges.ChargeApi.StatusEnum;
+
+/**
+ * Contribution of charges to a company's counters. Outstanding covers every charge that is not
+ * satisfied or fully satisfied, matching the outstanding filter of the charges list.
+ */
+public record ChargeCounts(int total, int outstanding, int satisfied, int partSatisfied) {
+
+    public static final ChargeCounts NONE = new ChargeCounts(0, 0, 0, 0);
+
+    /**
+     * The counters contributed by a single charge.
+     *
+     * @param chargeApi the charge, or null when the charge does not exist.
+     * @return the counters for the charge.
+     */
+    public static ChargeCounts of(ChargeApi chargeApi) {
+        if (chargeApi == null) {
+            return NONE;
+        }
+        StatusEnum status = chargeApi.getStatus();
+        boolean outstanding = isOutstanding(status);
+        return new ChargeCounts(1, outstanding ? 1 : 0, outstanding ? 0 : 1,
+                StatusEnum.PART_SATISFIED.equals(status) ? 1 : 0);
+    }
+
+    /**
+     * Whether a charge with the status is outstanding, that is neither satisfied nor fully
+     * satisfied. A charge without a status is outstanding.
+     *
+     * @param status the charge status.
+     * @return true if the charge is outstanding.
+     */
+    public static boolean isOutstanding(StatusEnum status) {
+        return !StatusEnum.SATISFIED.equals(status) && !StatusEnum.FULLY_SATISFIED.equals(status);
+    }
+
+    public ChargeCounts plus(ChargeCounts other) {
+        return new ChargeCounts(total + other.total, outstanding + other.outstanding,
+                satisfied + other.satisfied, partSatisfied + other.partSatisfied);
+    }
+
+    public ChargeCounts minus(ChargeCounts other) {
+        return new ChargeCounts(total - other.total, outstanding - other.outstanding,
+                satisfied - other.satisfied, partSatisfied - other.partSatisfied);
+    }
+
+    public boolean isZero() {
+        return NONE.equals(this);
+    }
+}
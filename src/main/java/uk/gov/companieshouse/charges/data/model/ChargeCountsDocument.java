@@ -0,0 +1,82 @@
+package uk.gov.companieshouse.charges.data.model;
+
+import java.time.LocalDateTime;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+@Document(collection = "#{@environment.getProperty('mongodb.charges.counts.collection.name')}")
+public class ChargeCountsDocument {
+
+    @Id
+    private String id;
+
+    @Field(value = "total_count")
+    private int totalCount;
+
+    @Field(value = "outstanding_count")
+    private int outstandingCount;
+
+    @Field(value = "satisfied_count")
+    private int satisfiedCount;
+
+    @Field(value = "part_satisfied_count")
+    private int partSatisfiedCount;
+
+    @Field(value = "reconciled_at")
+    private LocalDateTime reconciledAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public ChargeCountsDocument setId(String id) {
+        this.id = id;
+        return this;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public ChargeCountsDocument setTotalCount(int totalCount) {
+        this.totalCount = totalCount;
+        return this;
+    }
+
+    public int getOutstandingCount() {
+        return outstandingCount;
+    }
+
+    public ChargeCountsDocument setOutstandingCount(int outstandingCount) {
+        this.outstandingCount = outstandingCount;
+        return this;
+    }
+
+    public int getSatisfiedCount() {
+        return satisfiedCount;
+    }
+
+    public ChargeCountsDocument setSatisfiedCount(int satisfiedCount) {
+        this.satisfiedCount = satisfiedCount;
+        return this;
+    }
+
+    public int getPartSatisfiedCount() {
+        return partSatisfiedCount;
+    }
+
+    public ChargeCountsDocument setPartSatisfiedCount(int partSatisfiedCount) {
+        this.partSatisfiedCount = partSatisfiedCount;
+        return this;
+    }
+
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+
+    public ChargeCountsDocument setReconciledAt(LocalDateTime reconciledAt) {
+        this.reconciledAt = reconciledAt;
+        return this;
+    }
+}
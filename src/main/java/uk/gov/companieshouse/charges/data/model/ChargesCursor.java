@@ -0,0 +1,59 @@
+package uk.gov.companieshouse.charges.data.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.apache.commons.lang3.StringUtils;
+import uk.gov.companieshouse.charges.data.exception.BadRequestException;
+import uk.gov.companieshouse.charges.data.exception.ServiceUnavailableException;
+
+/**
+ * Position of the last charge returned on a page, encoded for clients as an opaque string.
+ * Charges are ordered by sort key and then by id, both descending.
+ */
+public record ChargesCursor(String sortKey, String id) {
+
+    private static final String SEPARATOR = ":";
+
+    /**
+     * The position of the given charge. A charge stored before sort keys were introduced has none
+     * until the sort key backfill has run, and no usable position, so it is rejected rather than
+     * encoded into a cursor that matches nothing.
+     *
+     * @param chargesDocument the last charge returned on a page.
+     * @return the cursor of the charge.
+     */
+    public static ChargesCursor of(ChargesDocument chargesDocument) {
+        if (chargesDocument.getSortKey() == null) {
+            throw new ServiceUnavailableException(String.format(
+                    "Charge %s has no sort key, cursor pages are unavailable until it is backfilled",
+                    chargesDocument.getId()));
+        }
+        return new ChargesCursor(chargesDocument.getSortKey(), chargesDocument.getId());
+    }
+
+    /**
+     * Decode a cursor previously produced by {@link #encode()}. Sort keys are numeric, so a
+     * cursor with any other sort key is rejected.
+     *
+     * @param cursor the encoded cursor.
+     * @return the decoded cursor.
+     */
+    public static ChargesCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String sortKey = StringUtils.substringBefore(decoded, SEPARATOR);
+            String id = StringUtils.substringAfter(decoded, SEPARATOR);
+            if (StringUtils.isAnyBlank(sortKey, id) || !StringUtils.isNumeric(sortKey)) {
+                throw new BadRequestException(String.format("Invalid cursor: %s", cursor));
+            }
+            return new ChargesCursor(sortKey, id);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException(String.format("Invalid cursor: %s", cursor));
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((sortKey + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
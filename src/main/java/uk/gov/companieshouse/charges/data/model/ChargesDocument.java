@@ -26,6 +26,17 @@ public class ChargesDocument {
 
     private Updated updated;
 
+    @Field(value = "sort_key")
+    private String sortKey;
+
+    private Boolean outstanding;
+
+    @Field(value = "response_json")
+    private byte[] responseJson;
+
+    @Field(value = "content_hash")
+    private String contentHash;
+
     /**
      * default constructor.
      */
@@ -93,6 +104,42 @@ public class ChargesDocument {
         return this;
     }
 
+    public String getSortKey() {
+        return sortKey;
+    }
+
+    public ChargesDocument setSortKey(String sortKey) {
+        this.sortKey = sortKey;
+        return this;
+    }
+
+    public Boolean getOutstanding() {
+        return outstanding;
+    }
+
+    public ChargesDocument setOutstanding(Boolean outstanding) {
+        this.outstanding = outstanding;
+        return this;
+    }
+
+    public byte[] getResponseJson() {
+        return responseJson;
+    }
+
+    public ChargesDocument setResponseJson(byte[] responseJson) {
+        this.responseJson = responseJson;
+        return this;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public ChargesDocument setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+        return this;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
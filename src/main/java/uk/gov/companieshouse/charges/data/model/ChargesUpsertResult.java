@@ -0,0 +1,43 @@
+package uk.gov.companieshouse.charges.data.model;
+
+import uk.gov.companieshouse.api.charges.ChargeApi;
+
+/**
+ * Outcome of a conditional charge upsert.
+ *
+ * @param outcome whether the charge was inserted, updated, left unchanged or rejected as stale.
+ * @param previousCharge the status of the charge that was replaced, or null unless updated.
+ */
+public record ChargesUpsertResult(Outcome outcome, ChargeApi previousCharge) {
+
+    public enum Outcome {
+        INSERTED,
+        UPDATED,
+        UNCHANGED,
+        STALE
+    }
+
+    public static ChargesUpsertResult inserted() {
+        return new ChargesUpsertResult(Outcome.INSERTED, null);
+    }
+
+    public static ChargesUpsertResult updated(ChargeApi previousCharge) {
+        return new ChargesUpsertResult(Outcome.UPDATED, previousCharge);
+    }
+
+    public static ChargesUpsertResult unchanged() {
+        return new ChargesUpsertResult(Outcome.UNCHANGED, null);
+    }
+
+    public static ChargesUpsertResult stale() {
+        return new ChargesUpsertResult(Outcome.STALE, null);
+    }
+
+    /**
+     * Whether the write changed the content of the charge, so its counts, caches and resource
+     * changed event are due.
+     */
+    public boolean isChanged() {
+        return outcome == Outcome.INSERTED || outcome == Outcome.UPDATED;
+    }
+}
@@ -0,0 +1,42 @@
+package uk.gov.companieshouse.charges.data.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Objects;
+import uk.gov.companieshouse.api.charges.ChargesApi;
+
+/**
+ * Charges list response returned in cursor mode, carrying the cursor for the next page.
+ */
+public class CursorChargesApi extends ChargesApi {
+
+    @JsonProperty("next_cursor")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public CursorChargesApi setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass() || !super.equals(obj)) {
+            return false;
+        }
+        CursorChargesApi that = (CursorChargesApi) obj;
+        return Objects.equals(nextCursor, that.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), nextCursor);
+    }
+}
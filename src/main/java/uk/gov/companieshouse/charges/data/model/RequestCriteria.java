@@ -4,6 +4,7 @@ public class RequestCriteria {
     private Integer itemsPerPage;
     private Integer startIndex;
     private String filter;
+    private String cursor;
 
     public Integer getItemsPerPage() {
         return itemsPerPage;
@@ -31,4 +32,13 @@ public class RequestCriteria {
         this.filter = filter;
         return this;
     }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public RequestCriteria setCursor(String cursor) {
+        this.cursor = cursor;
+        return this;
+    }
 }
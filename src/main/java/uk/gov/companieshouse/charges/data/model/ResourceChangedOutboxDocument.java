@@ -0,0 +1,123 @@
+package uk.gov.companieshouse.charges.data.model;
+
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import uk.gov.companieshouse.api.chskafka.ChangedResource;
+
+/**
+ * A resource changed event waiting to be sent to chs-kafka-api, written in the same transaction
+ * as the charge change it describes. The sequence orders the events of a company, and the request
+ * id is that of the request which queued the event, sent again when the event is dispatched. An
+ * event is marked as failed once it has been parked after its last attempt.
+ */
+@Document(collection = "#{@environment.getProperty('mongodb.charges.outbox.collection.name')}")
+public class ResourceChangedOutboxDocument {
+
+    @Id
+    private String id;
+
+    @Field(value = "company_number")
+    private String companyNumber;
+
+    private long sequence;
+
+    @Field(value = "request_id")
+    private String requestId;
+
+    @Field(value = "changed_resource")
+    private ChangedResource changedResource;
+
+    private int attempts;
+
+    @Field(value = "next_attempt_at")
+    private Instant nextAttemptAt;
+
+    @Field(value = "locked_until")
+    private Instant lockedUntil;
+
+    @Field(value = "failed_at")
+    private Instant failedAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public ResourceChangedOutboxDocument setId(String id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getCompanyNumber() {
+        return companyNumber;
+    }
+
+    public ResourceChangedOutboxDocument setCompanyNumber(String companyNumber) {
+        this.companyNumber = companyNumber;
+        return this;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public ResourceChangedOutboxDocument setSequence(long sequence) {
+        this.sequence = sequence;
+        return this;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public ResourceChangedOutboxDocument setRequestId(String requestId) {
+        this.requestId = requestId;
+        return this;
+    }
+
+    public ChangedResource getChangedResource() {
+        return changedResource;
+    }
+
+    public ResourceChangedOutboxDocument setChangedResource(ChangedResource changedResource) {
+        this.changedResource = changedResource;
+        return this;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public ResourceChangedOutboxDocument setAttempts(int attempts) {
+        this.attempts = attempts;
+        return this;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public ResourceChangedOutboxDocument setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+        return this;
+    }
+
+    public Instant getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public ResourceChangedOutboxDocument setLockedUntil(Instant lockedUntil) {
+        this.lockedUntil = lockedUntil;
+        return this;
+    }
+
+    public Instant getFailedAt() {
+        return failedAt;
+    }
+
+    public ResourceChangedOutboxDocument setFailedAt(Instant failedAt) {
+        this.failedAt = failedAt;
+        return this;
+    }
+}
@@ -0,0 +1,35 @@
+package uk.gov.companieshouse.charges.data.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * The last sequence number given to a company's queued resource changed events, keyed by company
+ * number.
+ */
+@Document(collection = "#{@environment.getProperty('mongodb.charges.outbox.sequences.collection.name')}")
+public class ResourceChangedSequenceDocument {
+
+    @Id
+    private String id;
+
+    private long sequence;
+
+    public String getId() {
+        return id;
+    }
+
+    public ResourceChangedSequenceDocument setId(String id) {
+        this.id = id;
+        return this;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public ResourceChangedSequenceDocument setSequence(long sequence) {
+        this.sequence = sequence;
+        return this;
+    }
+}
@@ -0,0 +1,53 @@
+package uk.gov.companieshouse.charges.data.model;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import uk.gov.companieshouse.api.charges.ChargeApi;
+import uk.gov.companieshouse.charges.data.serialization.StoredChargeApiSerializer;
+
+/**
+ * Charge whose response JSON was rendered when it was stored. It is serialised by writing that
+ * JSON as is; only the etag is populated, so that list etags can still be derived from it.
+ * Jackson 2 writes it with {@link StoredChargeApiSerializer}; Jackson 3, which the web layer uses
+ * and which ignores Jackson 2 databind annotations, writes its raw JSON value instead.
+ */
+@JsonSerialize(using = StoredChargeApiSerializer.class)
+public class StoredChargeApi extends ChargeApi {
+
+    private final byte[] json;
+
+    public StoredChargeApi(byte[] json, String etag) {
+        this.json = json;
+        setEtag(etag);
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    @JsonValue
+    @JsonRawValue
+    public String toJsonString() {
+        return new String(json, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass() || !super.equals(obj)) {
+            return false;
+        }
+        StoredChargeApi that = (StoredChargeApi) obj;
+        return Arrays.equals(json, that.json);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Arrays.hashCode(json);
+    }
+}
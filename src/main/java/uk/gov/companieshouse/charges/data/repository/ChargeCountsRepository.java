@@ -0,0 +1,11 @@
+package uk.gov.companieshouse.charges.data.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+import uk.gov.companieshouse.charges.data.model.ChargeCountsDocument;
+
+@Repository
+public interface ChargeCountsRepository extends MongoRepository<ChargeCountsDocument, String>,
+        ChargeCountsRepositoryCustom {
+
+}
@@ -0,0 +1,27 @@
+package uk.gov.companieshouse.charges.data.repository;
+
+import uk.gov.companieshouse.charges.data.model.ChargeCounts;
+import uk.gov.companieshouse.charges.data.model.ChargeCountsDocument;
+
+public interface ChargeCountsRepositoryCustom {
+
+    /**
+     * Atomically applies the given change to a company's counters, stamping them with the server
+     * time of the change so that a reconciliation started before it does not overwrite it.
+     *
+     * @param companyNumber the company number.
+     * @param delta the change to apply.
+     * @return false when the company has no counters document to update.
+     */
+    boolean incrementCounts(String companyNumber, ChargeCounts delta);
+
+    /**
+     * Atomically inserts a company's counters unless it already has counters, in which case only
+     * their change time is stamped. Either way a reconciliation already running leaves them as
+     * they are.
+     *
+     * @param counts the counters to insert.
+     * @return true if the counters were inserted.
+     */
+    boolean insertCountsIfAbsent(ChargeCountsDocument counts);
+}
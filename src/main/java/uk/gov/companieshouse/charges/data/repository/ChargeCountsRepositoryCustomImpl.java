@@ -0,0 +1,42 @@
+package uk.gov.companieshouse.charges.data.repository;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import uk.gov.companieshouse.charges.data.model.ChargeCounts;
+import uk.gov.companieshouse.charges.data.model.ChargeCountsDocument;
+
+public class ChargeCountsRepositoryCustomImpl implements ChargeCountsRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public ChargeCountsRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public boolean incrementCounts(String companyNumber, ChargeCounts delta) {
+        Update update = new Update()
+                .inc("total_count", delta.total())
+                .inc("outstanding_count", delta.outstanding())
+                .inc("satisfied_count", delta.satisfied())
+                .inc("part_satisfied_count", delta.partSatisfied())
+                .currentDate("updated_at");
+        return mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(companyNumber)), update,
+                ChargeCountsDocument.class).getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean insertCountsIfAbsent(ChargeCountsDocument counts) {
+        Update update = new Update()
+                .setOnInsert("total_count", counts.getTotalCount())
+                .setOnInsert("outstanding_count", counts.getOutstandingCount())
+                .setOnInsert("satisfied_count", counts.getSatisfiedCount())
+                .setOnInsert("part_satisfied_count", counts.getPartSatisfiedCount())
+                .setOnInsert("reconciled_at", counts.getReconciledAt())
+                .currentDate("updated_at");
+        return mongoTemplate.upsert(Query.query(Criteria.where("_id").is(counts.getId())), update,
+                ChargeCountsDocument.class).getUpsertedId() != null;
+    }
+}
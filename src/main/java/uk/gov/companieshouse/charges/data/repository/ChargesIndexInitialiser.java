@@ -0,0 +1,86 @@
+package uk.gov.companieshouse.charges.data.repository;
+
+import static uk.gov.companieshouse.charges.data.ChargesDataApiApplication.NAMESPACE;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.charges.data.model.ChargesDocument;
+import uk.gov.companieshouse.charges.data.model.ResourceChangedOutboxDocument;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * Creates the indexes the charges queries rely on. Index creation is idempotent, so this runs on
+ * every startup in the background and does not hold up the application becoming ready.
+ */
+@Component
+@ConditionalOnProperty(name = "mongodb.charges.indexes.create-on-startup", havingValue = "true",
+        matchIfMissing = true)
+public class ChargesIndexInitialiser {
+
+    public static final String COMPANY_NUMBER_SORT_KEY_INDEX = "company_number_sort_key_id";
+
+    public static final String COMPANY_NUMBER_OUTSTANDING_SORT_KEY_INDEX =
+            "company_number_outstanding_sort_key_id";
+
+    public static final String OUTBOX_COMPANY_NUMBER_INDEX = "company_number_sequence_id";
+
+    static final String SUPERSEDED_COMPANY_NUMBER_SORT_KEY_INDEX = "company_number_sort_key";
+
+    static final String SUPERSEDED_OUTBOX_COMPANY_NUMBER_INDEX = "company_number_id";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+
+    private final MongoTemplate mongoTemplate;
+
+    public ChargesIndexInitialiser(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofVirtual().name("charges-index-initialiser").start(this::createIndexes);
+    }
+
+    void createIndexes() {
+        try {
+            IndexOperations indexOperations = mongoTemplate.indexOps(ChargesDocument.class);
+            indexOperations.createIndex(new Index()
+                    .on("company_number", Sort.Direction.ASC)
+                    .on("sort_key", Sort.Direction.DESC)
+                    .on("_id", Sort.Direction.DESC)
+                    .named(COMPANY_NUMBER_SORT_KEY_INDEX));
+            indexOperations.createIndex(new Index()
+                    .on("company_number", Sort.Direction.ASC)
+                    .on("outstanding", Sort.Direction.ASC)
+                    .on("sort_key", Sort.Direction.DESC)
+                    .on("_id", Sort.Direction.DESC)
+                    .named(COMPANY_NUMBER_OUTSTANDING_SORT_KEY_INDEX));
+            dropIndexIfPresent(indexOperations, SUPERSEDED_COMPANY_NUMBER_SORT_KEY_INDEX);
+            IndexOperations outboxIndexOperations = mongoTemplate.indexOps(ResourceChangedOutboxDocument.class);
+            outboxIndexOperations.createIndex(new Index()
+                    .on("company_number", Sort.Direction.ASC)
+                    .on("sequence", Sort.Direction.ASC)
+                    .on("_id", Sort.Direction.ASC)
+                    .named(OUTBOX_COMPANY_NUMBER_INDEX));
+            dropIndexIfPresent(outboxIndexOperations, SUPERSEDED_OUTBOX_COMPANY_NUMBER_INDEX);
+            LOGGER.info("Charges indexes created successfully");
+        } catch (DataAccessException ex) {
+            LOGGER.error("Error occurred creating charges indexes", ex);
+        }
+    }
+
+    private static void dropIndexIfPresent(IndexOperations indexOperations, String name) {
+        if (indexOperations.getIndexInfo().stream().anyMatch(indexInfo -> name.equals(indexInfo.getName()))) {
+            indexOperations.dropIndex(name);
+            LOGGER.info(String.format("Dropped superseded charges index %s", name));
+        }
+    }
+}
@@ -1,42 +1,203 @@
 package uk.gov.companieshouse.charges.data.repository;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
-import uk.gov.companieshouse.charges.data.model.ChargesAggregate;
+import uk.gov.companieshouse.charges.data.model.ChargeCountsDocument;
 import uk.gov.companieshouse.charges.data.model.ChargesDocument;
 
 @Repository
-public interface ChargesRepository extends MongoRepository<ChargesDocument, String> {
+public interface ChargesRepository extends MongoRepository<ChargesDocument, String>,
+        ChargesRepositoryCustom {
+
+    /**
+     * Matches only outstanding charges, see {@link #OUTSTANDING_MATCH}.
+     */
+    List<Boolean> OUTSTANDING_ONLY = List.of(true);
+
+    /**
+     * Matches every charge, including charges stored before the outstanding flag was
+     * materialised, which have no flag.
+     */
+    List<Boolean> ALL_CHARGES = Collections.unmodifiableList(Arrays.asList(true, false, null));
+
+    /**
+     * Matches charges whose outstanding flag is one of the flags given as the second parameter.
+     * Charges stored before the flag was materialised have none and are matched on their status
+     * instead, so they stay in the outstanding results, and in line with the outstanding count,
+     * until the outstanding backfill has run.
+     */
+    String OUTSTANDING_MATCH = "'$or': [ { 'outstanding': { $in: ?1 } }, "
+            + "{ 'outstanding': { $exists: false }, "
+                + "'data.status': { $nin: [ 'satisfied', 'fully-satisfied' ] } } ]";
+
+    /**
+     * The longest the server runs a charges list query, in line with the default
+     * charges.list.query-timeout, so that a query the request has stopped waiting for does not
+     * keep holding its place on the charges list executor.
+     */
+    long LIST_QUERY_MAX_TIME_MS = 5000;
+
+    String CHARGE_COUNTS_GROUP_STAGE = "{ '$group': { '_id': '$company_number', "
+            + "'total_count': { $sum: 1 }, "
+            + "'outstanding_count': { $sum: "
+                + "{ $cond: [ { $in: [ '$data.status', [ 'satisfied', 'fully-satisfied' ] ] }, 0, 1 ] } }, "
+            + "'satisfied_count': { $sum: "
+                + "{ $cond: [ { $in: [ '$data.status', [ 'satisfied', 'fully-satisfied' ] ] }, 1, 0 ] } }, "
+            + "'part_satisfied_count': { $sum: "
+                + "{ $cond: [ { $eq: [ '$data.status', 'part-satisfied' ] }, 1, 0 ] } } } }";
+
+    /**
+     * Keeps only the etag of charges with a stored response JSON, since the response is served
+     * from that JSON; charges stored without one keep their full data.
+     */
+    String STORED_RESPONSE_PROJECT_STAGE = "{ '$project': { 'company_number': 1, 'sort_key': 1, "
+            + "'response_json': 1, 'data': { $cond: [ { $eq: [ { $type: '$response_json' }, 'binData' ] }, "
+            + "{ 'etag': '$data.etag' }, '$data' ] } } }";
 
     @Query("{'company_number': ?0, '_id': ?1 }")
     Optional<ChargesDocument> findChargeDetails(final String companyNumber, final String chargeId);
 
     /**
-     * Aggregates charges with a specified company number, filters on charge status and sorts by
-     * date and charge number. For each document, sorts by created_on date or delivered_on date
-     * if created_on does not exist. Sorts by charge number as a second criteria.
+     * As {@link #findChargeDetails}, but reads the stored response JSON in place of the data
+     * where the charge has one.
+     */
+    @Aggregation(pipeline = {
+            "{ '$match': { 'company_number': ?0, '_id': ?1 } }",
+            STORED_RESPONSE_PROJECT_STAGE
+            })
+    Optional<ChargesDocument> findChargeResponse(final String companyNumber, final String chargeId);
+
+    /**
+     * Reads only the etag of a charge, to answer conditional requests without loading its data.
+     */
+    @Query(value = "{'company_number': ?0, '_id': ?1 }", fields = "{ 'data.etag': 1 }")
+    Optional<ChargesDocument> findChargeEtag(final String companyNumber, final String chargeId);
+
+    /**
+     * Reads only the delta_at of a charge, to explain why a conditional write matched nothing.
+     */
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'deltaAt': 1 }")
+    Optional<ChargesDocument> findDeltaAtById(final String chargeId);
+
+    /**
+     * Finds charges with a specified company number, filters on the outstanding flag and sorts by
+     * the persisted sort key, which holds the created_on date (or delivered_on date if created_on
+     * does not exist) followed by the charge number, using the id to break ties. Matching and
+     * sorting are both served by the company_number/outstanding/sort_key index, so no in-memory
+     * sort is required and filtered pages do not scan past satisfied charges.
+     * Totals are held separately in the company's charge counts.
      *
      * @param companyNumber The company number to match on.
-     * @param filter The list of charge statuses to filter out.
+     * @param outstanding The outstanding flags to match, see {@link #OUTSTANDING_ONLY} and {@link #ALL_CHARGES}.
      * @param startIndex The start index.
      * @param pageSize The page size to be returned.
      * @return The list of charges documents to be returned.
      */
+    @Meta(maxExecutionTimeMs = LIST_QUERY_MAX_TIME_MS)
+    @Aggregation(pipeline = {
+            "{ '$match': { 'company_number': ?0, " + OUTSTANDING_MATCH + " } }",
+            "{ '$sort': { 'sort_key': -1, '_id': -1 } }",
+            "{ '$skip': ?2 }",
+            "{ '$limit': ?3 }"
+            })
+    List<ChargesDocument> findCharges(final String companyNumber,
+                                      final List<Boolean> outstanding,
+                                      final int startIndex,
+                                      final int pageSize);
+
+    /**
+     * Returns the charges following the given cursor position, ordered as {@link #findCharges}.
+     * The cursor is applied as a range on the company_number/sort_key index, so the cost does
+     * not grow with the position of the page within the company's charges.
+     *
+     * @param companyNumber The company number to match on.
+     * @param outstanding The outstanding flags to match, see {@link #OUTSTANDING_ONLY} and {@link #ALL_CHARGES}.
+     * @param sortKey The sort key of the last charge on the previous page.
+     * @param id The id of the last charge on the previous page.
+     * @param limit The maximum number of charges to return.
+     * @return The list of charges documents to be returned.
+     */
+    @Meta(maxExecutionTimeMs = LIST_QUERY_MAX_TIME_MS)
+    @Aggregation(pipeline = {
+            "{ '$match': { 'company_number': ?0, '$and': [ { " + OUTSTANDING_MATCH + " }, "
+                    + "{ '$or': [ { 'sort_key': { $lt: ?2 } }, { 'sort_key': ?2, '_id': { $lt: ?3 } } ] } ] } }",
+            "{ '$sort': { 'sort_key': -1, '_id': -1 } }",
+            "{ '$limit': ?4 }"
+            })
+    List<ChargesDocument> findChargesAfter(final String companyNumber,
+                                           final List<Boolean> outstanding,
+                                           final String sortKey,
+                                           final String id,
+                                           final int limit);
+
+    /**
+     * As {@link #findCharges}, but reads the stored response JSON in place of the data of each
+     * charge that has one.
+     */
+    @Meta(maxExecutionTimeMs = LIST_QUERY_MAX_TIME_MS)
+    @Aggregation(pipeline = {
+            "{ '$match': { 'company_number': ?0, " + OUTSTANDING_MATCH + " } }",
+            "{ '$sort': { 'sort_key': -1, '_id': -1 } }",
+            "{ '$skip': ?2 }",
+            "{ '$limit': ?3 }",
+            STORED_RESPONSE_PROJECT_STAGE
+            })
+    List<ChargesDocument> findChargeResponses(final String companyNumber,
+                                              final List<Boolean> outstanding,
+                                              final int startIndex,
+                                              final int pageSize);
+
+    /**
+     * As {@link #findChargesAfter}, but reads the stored response JSON in place of the data of
+     * each charge that has one.
+     */
+    @Meta(maxExecutionTimeMs = LIST_QUERY_MAX_TIME_MS)
+    @Aggregation(pipeline = {
+            "{ '$match': { 'company_number': ?0, '$and': [ { " + OUTSTANDING_MATCH + " }, "
+                    + "{ '$or': [ { 'sort_key': { $lt: ?2 } }, { 'sort_key': ?2, '_id': { $lt: ?3 } } ] } ] } }",
+            "{ '$sort': { 'sort_key': -1, '_id': -1 } }",
+            "{ '$limit': ?4 }",
+            STORED_RESPONSE_PROJECT_STAGE
+            })
+    List<ChargesDocument> findChargeResponsesAfter(final String companyNumber,
+                                                   final List<Boolean> outstanding,
+                                                   final String sortKey,
+                                                   final String id,
+                                                   final int limit);
+
+    @Meta(maxExecutionTimeMs = LIST_QUERY_MAX_TIME_MS)
+    @Query(value = "{ 'company_number': ?0, " + OUTSTANDING_MATCH + " }", count = true)
+    long countCharges(final String companyNumber, final List<Boolean> outstanding);
+
+    /**
+     * Counts a company's charges by status, in the shape of its charge counts document.
+     *
+     * @param companyNumber The company number to match on.
+     * @return The charge counts, or empty if the company has no charges.
+     */
+    @Meta(maxExecutionTimeMs = LIST_QUERY_MAX_TIME_MS)
+    @Aggregation(pipeline = {
+            "{ '$match': { 'company_number': ?0 } }",
+            CHARGE_COUNTS_GROUP_STAGE
+            })
+    Optional<ChargeCountsDocument> countChargesByStatus(final String companyNumber);
+
+    /**
+     * Counts the charges of every company by status, in the shape of the charge counts documents.
+     *
+     * @return The charge counts of each company with charges.
+     */
+    @Meta(allowDiskUse = true)
     @Aggregation(pipeline = {
-            "{ '$match': { 'company_number': ?0, 'data.status': { $nin: ?1 } } }",
-            "{ '$addFields': "
-                    + "{ 'sort_date': "
-                        + "{ $ifNull: [ '$data.created_on', '$data.delivered_on' ] } } }",
-            "{ '$sort': { 'sort_date': -1, 'data.charge_number': -1 } }",
-            "{ '$facet': { 'total_charges': [{ '$count': 'count' }], "
-                    + "'charges_documents': [ { '$skip': ?2 }, { '$limit': ?3 } ] }}",
+            CHARGE_COUNTS_GROUP_STAGE
             })
-    ChargesAggregate findCharges(final String companyNumber,
-                                   final List<String> filter,
-                                   final int startIndex,
-                                   final int pageSize);
+    Stream<ChargeCountsDocument> countAllChargesByStatus();
 }
@@ -0,0 +1,58 @@
+package uk.gov.companieshouse.charges.data.repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import uk.gov.companieshouse.charges.data.model.ChargesDocument;
+import uk.gov.companieshouse.charges.data.model.ChargesUpsertResult;
+
+public interface ChargesRepositoryCustom {
+
+    /**
+     * Atomically inserts the charge, or replaces the stored charge when its delta_at is not after
+     * the charge's delta_at. A stored charge whose content hash matches the charge's is not
+     * replaced: only its delta_at and updated are advanced, and it is reported as unchanged.
+     *
+     * @param chargesDocument the charge to write.
+     * @return whether the charge was inserted, updated, unchanged or stale, with the status of any
+     *         updated charge.
+     */
+    ChargesUpsertResult upsertIfNotStale(ChargesDocument chargesDocument);
+
+    /**
+     * As {@link #upsertIfNotStale}, but reads the stored delta_at and content hash first rather than
+     * relying on a failed insert to detect a stale or identical charge, since a failed write aborts
+     * an enclosing transaction.
+     *
+     * @param chargesDocument the charge to write.
+     * @return whether the charge was inserted, updated, unchanged or stale, with the status of any
+     *         updated charge.
+     */
+    ChargesUpsertResult upsertIfNotStaleInTransaction(ChargesDocument chargesDocument);
+
+    /**
+     * Applies many charges in a single unordered bulk write, each inserted or replacing the stored
+     * charge when its delta_at is not after the charge's delta_at. The stored delta_at, status and
+     * content hash of the charges are read first, so that charges known to be stale are not written
+     * and the status of each replaced charge is known. Each write is conditional on the stored charge
+     * still being the one read: a charge missing when read is inserted, and any other is replaced,
+     * or only has its delta_at and updated advanced when its content is identical, only while its
+     * delta_at and content hash are unchanged. A charge whose conditional write fails, or is not
+     * matched, because it was inserted or changed concurrently is then written on its own with
+     * {@link #upsertIfNotStale}, so the result of every charge is that of the write applied. Within
+     * a transaction a concurrent change fails the whole write instead.
+     *
+     * @param chargesDocuments the charges to write, each with a distinct id.
+     * @return the result for each charge, in the order of the charges.
+     */
+    List<ChargesUpsertResult> bulkUpsertIfNotStale(List<ChargesDocument> chargesDocuments);
+
+    /**
+     * Atomically deletes the charge when its delta_at is not after the request's delta_at.
+     *
+     * @param chargeId the charge id.
+     * @param deltaAt the request's delta_at.
+     * @return the deleted charge, or empty if the charge is missing or newer than the request.
+     */
+    Optional<ChargesDocument> deleteIfNotStale(String chargeId, OffsetDateTime deltaAt);
+}
@@ -0,0 +1,218 @@
+package uk.gov.companieshouse.charges.data.repository;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import uk.gov.companieshouse.charges.data.model.ChargesDocument;
+import uk.gov.companieshouse.charges.data.model.ChargesUpsertResult;
+
+public class ChargesRepositoryCustomImpl implements ChargesRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public ChargesRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public ChargesUpsertResult upsertIfNotStale(ChargesDocument chargesDocument) {
+        try {
+            return replaceIfNotStale(chargesDocument, true, true);
+        } catch (DuplicateKeyException ex) {
+            // the upsert tried to insert because the stored charge has the same content or is newer,
+            // or because the charge was inserted concurrently; an identical charge only has its
+            // delta_at advanced, and a plain conditional replace tells the other two apart
+            if (advanceIfUnchanged(chargesDocument)) {
+                return ChargesUpsertResult.unchanged();
+            }
+            return replaceIfNotStale(chargesDocument, false, false);
+        }
+    }
+
+    @Override
+    public ChargesUpsertResult upsertIfNotStaleInTransaction(ChargesDocument chargesDocument) {
+        Query storedQuery = Query.query(Criteria.where("_id").is(chargesDocument.getId()));
+        storedQuery.fields().include("deltaAt", "content_hash");
+        ChargesDocument stored = mongoTemplate.findOne(storedQuery, ChargesDocument.class);
+        if (stored != null && isNewer(stored.getDeltaAt(), chargesDocument.getDeltaAt())) {
+            return ChargesUpsertResult.stale();
+        }
+        if (stored != null && isUnchanged(stored, chargesDocument) && advanceIfUnchanged(chargesDocument)) {
+            return ChargesUpsertResult.unchanged();
+        }
+        return replaceIfNotStale(chargesDocument, true, false);
+    }
+
+    /**
+     * Replace the stored charge unless it is newer. When only a changed charge is to be replaced, a
+     * stored charge with the same content is not matched, so the upsert fails with a duplicate key.
+     */
+    private ChargesUpsertResult replaceIfNotStale(ChargesDocument chargesDocument, boolean upsert,
+            boolean onlyIfChanged) {
+        Criteria criteria = notStaleCriteria(chargesDocument.getId(), chargesDocument.getDeltaAt());
+        if (onlyIfChanged && chargesDocument.getContentHash() != null) {
+            criteria.and("content_hash").ne(chargesDocument.getContentHash());
+        }
+        Query query = Query.query(criteria);
+        query.fields().include("data.status", "content_hash");
+
+        FindAndReplaceOptions options = FindAndReplaceOptions.options();
+        if (upsert) {
+            options.upsert();
+        }
+        ChargesDocument previous = mongoTemplate.findAndReplace(query, chargesDocument, options);
+        if (previous != null) {
+            return isUnchanged(previous, chargesDocument)
+                    ? ChargesUpsertResult.unchanged() : ChargesUpsertResult.updated(previous.getData());
+        }
+        return upsert ? ChargesUpsertResult.inserted() : ChargesUpsertResult.stale();
+    }
+
+    /**
+     * Advance the delta_at and updated of the stored charge, without rewriting it, where it is not
+     * newer and has the same content as the charge.
+     *
+     * @return whether such a charge was stored.
+     */
+    private boolean advanceIfUnchanged(ChargesDocument chargesDocument) {
+        if (chargesDocument.getContentHash() == null) {
+            return false;
+        }
+        return mongoTemplate.updateFirst(Query.query(
+                        notStaleCriteria(chargesDocument.getId(), chargesDocument.getDeltaAt())
+                                .and("content_hash").is(chargesDocument.getContentHash())),
+                advanceUpdate(chargesDocument), ChargesDocument.class).getMatchedCount() == 1;
+    }
+
+    private static Update advanceUpdate(ChargesDocument chargesDocument) {
+        return new Update()
+                .set("deltaAt", chargesDocument.getDeltaAt())
+                .set("updated", chargesDocument.getUpdated());
+    }
+
+    @Override
+    public List<ChargesUpsertResult> bulkUpsertIfNotStale(List<ChargesDocument> chargesDocuments) {
+        Query storedQuery = Query.query(Criteria.where("_id").in(
+                chargesDocuments.stream().map(ChargesDocument::getId).toList()));
+        storedQuery.fields().include("deltaAt", "data.status", "content_hash");
+        Map<String, ChargesDocument> stored = new HashMap<>();
+        mongoTemplate.find(storedQuery, ChargesDocument.class).forEach(doc -> stored.put(doc.getId(), doc));
+
+        ChargesUpsertResult[] results = new ChargesUpsertResult[chargesDocuments.size()];
+        List<Integer> written = new ArrayList<>();
+        List<Integer> advanced = new ArrayList<>();
+        int replaced = 0;
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, ChargesDocument.class);
+        for (int i = 0; i < chargesDocuments.size(); i++) {
+            ChargesDocument chargesDocument = chargesDocuments.get(i);
+            ChargesDocument previous = stored.get(chargesDocument.getId());
+            if (previous == null) {
+                // a charge stored since it was read makes the insert fail with a duplicate key
+                results[i] = ChargesUpsertResult.inserted();
+                bulkOperations.insert(chargesDocument);
+            } else if (isNewer(previous.getDeltaAt(), chargesDocument.getDeltaAt())) {
+                results[i] = ChargesUpsertResult.stale();
+                continue;
+            } else if (isUnchanged(previous, chargesDocument)) {
+                // advances only the charge as read; one changed or deleted since it was read is not
+                // matched, which is detected from the matched count below
+                results[i] = ChargesUpsertResult.unchanged();
+                bulkOperations.updateOne(asRead(previous), advanceUpdate(chargesDocument));
+                advanced.add(i);
+            } else {
+                // replaces only the charge as read, so that the reported status is that of the
+                // replaced charge; a charge changed since it was read makes the upsert fail with a
+                // duplicate key, and a charge deleted since is inserted
+                results[i] = ChargesUpsertResult.updated(previous.getData());
+                bulkOperations.replaceOne(asRead(previous), chargesDocument, FindAndReplaceOptions.options().upsert());
+                replaced++;
+            }
+            written.add(i);
+        }
+        if (written.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        BulkWriteResult writeResult;
+        List<Integer> conflicted = new ArrayList<>();
+        try {
+            writeResult = bulkOperations.execute();
+        } catch (BulkOperationException ex) {
+            for (BulkWriteError error : ex.getErrors()) {
+                if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                    throw ex;
+                }
+                conflicted.add(written.get(error.getIndex()));
+            }
+            writeResult = ex.getResult();
+        }
+        for (BulkWriteUpsert upsert : writeResult.getUpserts()) {
+            results[written.get(upsert.getIndex())] = ChargesUpsertResult.inserted();
+        }
+        // every replace which neither conflicted nor upserted matched, so any shortfall is of the
+        // advances; inserts never match
+        long conflictedReplaces = conflicted.stream().filter(i -> stored.containsKey(
+                chargesDocuments.get(i).getId())).count();
+        long expectedMatches = advanced.size() + replaced - conflictedReplaces - writeResult.getUpserts().size();
+        if (writeResult.getMatchedCount() < expectedMatches) {
+            conflicted.addAll(advanced);
+        }
+        // charges changed since they were read are written one at a time, each with the result of
+        // its own conditional write
+        for (int i : conflicted) {
+            results[i] = upsertIfNotStale(chargesDocuments.get(i));
+        }
+        return Arrays.asList(results);
+    }
+
+    private static Query asRead(ChargesDocument previous) {
+        return Query.query(Criteria.where("_id").is(previous.getId())
+                .and("deltaAt").is(previous.getDeltaAt())
+                .and("content_hash").is(previous.getContentHash()));
+    }
+
+    /**
+     * Whether the stored charge has the same content as the charge written. Since the etag of a
+     * charge is derived from its content, such a charge only needs its delta_at and updated
+     * advanced.
+     */
+    private static boolean isUnchanged(ChargesDocument previous, ChargesDocument chargesDocument) {
+        return chargesDocument.getContentHash() != null
+                && chargesDocument.getContentHash().equals(previous.getContentHash());
+    }
+
+    private static boolean isNewer(OffsetDateTime storedDeltaAt, OffsetDateTime deltaAt) {
+        return storedDeltaAt != null && deltaAt != null && storedDeltaAt.isAfter(deltaAt);
+    }
+
+    @Override
+    public Optional<ChargesDocument> deleteIfNotStale(String chargeId, OffsetDateTime deltaAt) {
+        return Optional.ofNullable(mongoTemplate.findAndRemove(
+                Query.query(notStaleCriteria(chargeId, deltaAt)), ChargesDocument.class));
+    }
+
+    private static Criteria notStaleCriteria(String chargeId, OffsetDateTime deltaAt) {
+        Criteria criteria = Criteria.where("_id").is(chargeId);
+        if (deltaAt != null) {
+            criteria.orOperator(Criteria.where("deltaAt").lte(deltaAt), Criteria.where("deltaAt").is(null));
+        }
+        return criteria;
+    }
+}
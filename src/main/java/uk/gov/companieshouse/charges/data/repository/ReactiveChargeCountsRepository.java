@@ -0,0 +1,13 @@
+package uk.gov.companieshouse.charges.data.repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import uk.gov.companieshouse.charges.data.model.ChargeCountsDocument;
+
+/**
+ * Non-blocking reads of the charge counts, used by the reactive read endpoints.
+ */
+@Repository
+public interface ReactiveChargeCountsRepository extends ReactiveMongoRepository<ChargeCountsDocument, String> {
+
+}
@@ -0,0 +1,59 @@
+package uk.gov.companieshouse.charges.data.repository;
+
+import static uk.gov.companieshouse.charges.data.repository.ChargesRepository.OUTSTANDING_MATCH;
+import static uk.gov.companieshouse.charges.data.repository.ChargesRepository.STORED_RESPONSE_PROJECT_STAGE;
+
+import java.util.List;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.charges.data.model.ChargesDocument;
+
+/**
+ * Non-blocking counterpart of the read queries of {@link ChargesRepository}, used by the reactive
+ * read endpoints. Each query is that of the method of the same name on {@link ChargesRepository}.
+ */
+@Repository
+public interface ReactiveChargesRepository extends ReactiveMongoRepository<ChargesDocument, String> {
+
+    @Query("{'company_number': ?0, '_id': ?1 }")
+    Mono<ChargesDocument> findChargeDetails(final String companyNumber, final String chargeId);
+
+    @Aggregation(pipeline = {
+            "{ '$match': { 'company_number': ?0, '_id': ?1 } }",
+            STORED_RESPONSE_PROJECT_STAGE
+            })
+    Mono<ChargesDocument> findChargeResponse(final String companyNumber, final String chargeId);
+
+    @Query(value = "{'company_number': ?0, '_id': ?1 }", fields = "{ 'data.etag': 1 }")
+    Mono<ChargesDocument> findChargeEtag(final String companyNumber, final String chargeId);
+
+    @Aggregation(pipeline = {
+            "{ '$match': { 'company_number': ?0, " + OUTSTANDING_MATCH + " } }",
+            "{ '$sort': { 'sort_key': -1, '_id': -1 } }",
+            "{ '$skip': ?2 }",
+            "{ '$limit': ?3 }"
+            })
+    Flux<ChargesDocument> findCharges(final String companyNumber,
+                                      final List<Boolean> outstanding,
+                                      final int startIndex,
+                                      final int pageSize);
+
+    @Aggregation(pipeline = {
+            "{ '$match': { 'company_number': ?0, " + OUTSTANDING_MATCH + " } }",
+            "{ '$sort': { 'sort_key': -1, '_id': -1 } }",
+            "{ '$skip': ?2 }",
+            "{ '$limit': ?3 }",
+            STORED_RESPONSE_PROJECT_STAGE
+            })
+    Flux<ChargesDocument> findChargeResponses(final String companyNumber,
+                                              final List<Boolean> outstanding,
+                                              final int startIndex,
+                                              final int pageSize);
+
+    @Query(value = "{ 'company_number': ?0, " + OUTSTANDING_MATCH + " }", count = true)
+    Mono<Long> countCharges(final String companyNumber, final List<Boolean> outstanding);
+}
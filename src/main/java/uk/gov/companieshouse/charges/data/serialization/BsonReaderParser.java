@@ -0,0 +1,328 @@
+package uk.gov.companieshouse.charges.data.serialization;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.core.base.ParserMinimalBase;
+import com.fasterxml.jackson.core.json.JsonReadContext;
+import com.fasterxml.jackson.core.json.PackageVersion;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+import org.bson.BsonBinary;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.codecs.BsonValueCodec;
+import org.bson.codecs.DecoderContext;
+
+/**
+ * Jackson parser that reads one document straight from a {@link BsonReader}, without going
+ * through extended JSON. BSON dates are exposed as embedded {@link Date} values, which the date
+ * deserializers accept alongside the {@code $date} shapes of extended JSON.
+ */
+public class BsonReaderParser extends ParserMinimalBase {
+
+    private static final BsonValueCodec BSON_VALUE_CODEC = new BsonValueCodec();
+
+    private final BsonReader reader;
+    private ObjectCodec codec;
+    private JsonReadContext parsingContext = JsonReadContext.createRootContext(null);
+    private boolean started;
+    private boolean closed;
+    private BsonType pendingType;
+    private String text;
+    private Number number;
+    private Object embedded;
+
+    public BsonReaderParser(BsonReader reader, ObjectCodec codec) {
+        this.reader = reader;
+        this.codec = codec;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        if (closed) {
+            return null;
+        }
+        if (!started) {
+            started = true;
+            reader.readStartDocument();
+            parsingContext = parsingContext.createChildObjectContext(-1, -1);
+            return _currToken = JsonToken.START_OBJECT;
+        }
+        if (parsingContext.inRoot()) {
+            return _currToken = null;
+        }
+        if (pendingType != null) {
+            BsonType type = pendingType;
+            pendingType = null;
+            return _currToken = readValue(type);
+        }
+
+        BsonType type = reader.readBsonType();
+        if (parsingContext.inObject()) {
+            if (type == BsonType.END_OF_DOCUMENT) {
+                reader.readEndDocument();
+                parsingContext = parsingContext.clearAndGetParent();
+                return _currToken = JsonToken.END_OBJECT;
+            }
+            parsingContext.setCurrentName(reader.readName());
+            pendingType = type;
+            return _currToken = JsonToken.FIELD_NAME;
+        }
+        if (type == BsonType.END_OF_DOCUMENT) {
+            reader.readEndArray();
+            parsingContext = parsingContext.clearAndGetParent();
+            return _currToken = JsonToken.END_ARRAY;
+        }
+        return _currToken = readValue(type);
+    }
+
+    private JsonToken readValue(BsonType type) {
+        text = null;
+        number = null;
+        embedded = null;
+        switch (type) {
+            case DOCUMENT -> {
+                reader.readStartDocument();
+                parsingContext = parsingContext.createChildObjectContext(-1, -1);
+                return JsonToken.START_OBJECT;
+            }
+            case ARRAY -> {
+                reader.readStartArray();
+                parsingContext = parsingContext.createChildArrayContext(-1, -1);
+                return JsonToken.START_ARRAY;
+            }
+            case STRING -> {
+                text = reader.readString();
+                return JsonToken.VALUE_STRING;
+            }
+            case SYMBOL -> {
+                text = reader.readSymbol();
+                return JsonToken.VALUE_STRING;
+            }
+            case OBJECT_ID -> {
+                text = reader.readObjectId().toHexString();
+                return JsonToken.VALUE_STRING;
+            }
+            case INT32 -> {
+                number = reader.readInt32();
+                return JsonToken.VALUE_NUMBER_INT;
+            }
+            case INT64 -> {
+                number = reader.readInt64();
+                return JsonToken.VALUE_NUMBER_INT;
+            }
+            case DOUBLE -> {
+                number = reader.readDouble();
+                return JsonToken.VALUE_NUMBER_FLOAT;
+            }
+            case DECIMAL128 -> {
+                number = reader.readDecimal128().bigDecimalValue();
+                return JsonToken.VALUE_NUMBER_FLOAT;
+            }
+            case BOOLEAN -> {
+                return reader.readBoolean() ? JsonToken.VALUE_TRUE : JsonToken.VALUE_FALSE;
+            }
+            case NULL -> {
+                reader.readNull();
+                return JsonToken.VALUE_NULL;
+            }
+            case UNDEFINED -> {
+                reader.readUndefined();
+                return JsonToken.VALUE_NULL;
+            }
+            case DATE_TIME -> {
+                embedded = new Date(reader.readDateTime());
+                return JsonToken.VALUE_EMBEDDED_OBJECT;
+            }
+            default -> {
+                embedded = BSON_VALUE_CODEC.decode(reader, DecoderContext.builder().build());
+                return JsonToken.VALUE_EMBEDDED_OBJECT;
+            }
+        }
+    }
+
+    @Override
+    protected void _handleEOF() {
+        // the reader is positioned by the caller; nothing follows the document
+    }
+
+    @Override
+    public String getCurrentName() {
+        if (_currToken == JsonToken.START_OBJECT || _currToken == JsonToken.START_ARRAY) {
+            JsonReadContext parent = parsingContext.getParent();
+            return parent == null ? null : parent.getCurrentName();
+        }
+        return parsingContext.getCurrentName();
+    }
+
+    @Override
+    public String currentName() {
+        return getCurrentName();
+    }
+
+    @Override
+    public void overrideCurrentName(String name) {
+        try {
+            parsingContext.setCurrentName(name);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public JsonStreamContext getParsingContext() {
+        return parsingContext;
+    }
+
+    @Override
+    public JsonLocation getCurrentLocation() {
+        return JsonLocation.NA;
+    }
+
+    @Override
+    public JsonLocation getTokenLocation() {
+        return JsonLocation.NA;
+    }
+
+    @Override
+    public JsonLocation currentLocation() {
+        return JsonLocation.NA;
+    }
+
+    @Override
+    public JsonLocation currentTokenLocation() {
+        return JsonLocation.NA;
+    }
+
+    @Override
+    public String getText() {
+        if (_currToken == null) {
+            return null;
+        }
+        return switch (_currToken) {
+            case VALUE_STRING -> text;
+            case FIELD_NAME -> parsingContext.getCurrentName();
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> String.valueOf(number);
+            case VALUE_EMBEDDED_OBJECT -> String.valueOf(embedded);
+            default -> _currToken.asString();
+        };
+    }
+
+    @Override
+    public char[] getTextCharacters() {
+        String value = getText();
+        return value == null ? null : value.toCharArray();
+    }
+
+    @Override
+    public boolean hasTextCharacters() {
+        return false;
+    }
+
+    @Override
+    public int getTextLength() {
+        String value = getText();
+        return value == null ? 0 : value.length();
+    }
+
+    @Override
+    public int getTextOffset() {
+        return 0;
+    }
+
+    @Override
+    public byte[] getBinaryValue(Base64Variant variant) throws IOException {
+        if (embedded instanceof BsonBinary binary) {
+            return binary.getData();
+        }
+        _reportError("Current token (" + _currToken + ") is not binary");
+        return null;
+    }
+
+    @Override
+    public Object getEmbeddedObject() {
+        return _currToken == JsonToken.VALUE_EMBEDDED_OBJECT ? embedded : null;
+    }
+
+    @Override
+    public Number getNumberValue() {
+        return number;
+    }
+
+    @Override
+    public NumberType getNumberType() {
+        return switch (number) {
+            case Integer ignored -> NumberType.INT;
+            case Long ignored -> NumberType.LONG;
+            case BigDecimal ignored -> NumberType.BIG_DECIMAL;
+            case null -> null;
+            default -> NumberType.DOUBLE;
+        };
+    }
+
+    @Override
+    public int getIntValue() {
+        return number.intValue();
+    }
+
+    @Override
+    public long getLongValue() {
+        return number.longValue();
+    }
+
+    @Override
+    public BigInteger getBigIntegerValue() {
+        return number instanceof BigDecimal decimal ? decimal.toBigInteger() : BigInteger.valueOf(number.longValue());
+    }
+
+    @Override
+    public float getFloatValue() {
+        return number.floatValue();
+    }
+
+    @Override
+    public double getDoubleValue() {
+        return number.doubleValue();
+    }
+
+    @Override
+    public BigDecimal getDecimalValue() {
+        return switch (number) {
+            case BigDecimal decimal -> decimal;
+            case Integer value -> BigDecimal.valueOf(value);
+            case Long value -> BigDecimal.valueOf(value);
+            default -> BigDecimal.valueOf(number.doubleValue());
+        };
+    }
+
+    @Override
+    public ObjectCodec getCodec() {
+        return codec;
+    }
+
+    @Override
+    public void setCodec(ObjectCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public Version version() {
+        return PackageVersion.VERSION;
+    }
+}
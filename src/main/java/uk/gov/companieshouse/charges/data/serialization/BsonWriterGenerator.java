@@ -0,0 +1,253 @@
+package uk.gov.companieshouse.charges.data.serialization;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.base.GeneratorBase;
+import com.fasterxml.jackson.core.json.JsonWriteContext;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.bson.BsonWriter;
+import org.bson.json.JsonReader;
+
+/**
+ * Jackson generator that writes straight to a {@link BsonWriter}, producing the same BSON that
+ * parsing the generated JSON with {@code BasicDBObject.parse} would, without building the JSON.
+ * Raw {@code ISODate("...")} values written by the date serializers become BSON dates, and any
+ * other raw value is read as extended JSON.
+ */
+public class BsonWriterGenerator extends GeneratorBase {
+
+    private static final Pattern ISO_DATE = Pattern.compile("ISODate\\(\"(.*)\"\\)");
+
+    private final BsonWriter writer;
+
+    public BsonWriterGenerator(BsonWriter writer, ObjectCodec codec) {
+        super(JsonGenerator.Feature.collectDefaults(), codec);
+        this.writer = writer;
+    }
+
+    @Override
+    public void writeStartArray() throws IOException {
+        _verifyValueWrite("start an array");
+        _writeContext = _writeContext.createChildArrayContext();
+        writer.writeStartArray();
+    }
+
+    @Override
+    public void writeEndArray() throws IOException {
+        if (!_writeContext.inArray()) {
+            _reportError("Current context not Array but " + _writeContext.typeDesc());
+        }
+        _writeContext = _writeContext.clearAndGetParent();
+        writer.writeEndArray();
+    }
+
+    @Override
+    public void writeStartObject() throws IOException {
+        _verifyValueWrite("start an object");
+        _writeContext = _writeContext.createChildObjectContext();
+        writer.writeStartDocument();
+    }
+
+    @Override
+    public void writeEndObject() throws IOException {
+        if (!_writeContext.inObject()) {
+            _reportError("Current context not Object but " + _writeContext.typeDesc());
+        }
+        _writeContext = _writeContext.clearAndGetParent();
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public void writeFieldName(String name) throws IOException {
+        if (_writeContext.writeFieldName(name) == JsonWriteContext.STATUS_EXPECT_VALUE) {
+            _reportError("Can not write a field name, expecting a value");
+        }
+        writer.writeName(name);
+    }
+
+    @Override
+    public void writeFieldName(SerializableString name) throws IOException {
+        writeFieldName(name.getValue());
+    }
+
+    @Override
+    public void writeString(String text) throws IOException {
+        if (text == null) {
+            writeNull();
+            return;
+        }
+        _verifyValueWrite("write a string");
+        writer.writeString(text);
+    }
+
+    @Override
+    public void writeString(char[] buffer, int offset, int length) throws IOException {
+        writeString(new String(buffer, offset, length));
+    }
+
+    @Override
+    public void writeRawUTF8String(byte[] buffer, int offset, int length) throws IOException {
+        writeUTF8String(buffer, offset, length);
+    }
+
+    @Override
+    public void writeUTF8String(byte[] buffer, int offset, int length) throws IOException {
+        writeString(new String(buffer, offset, length, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void writeRaw(String text) throws IOException {
+        _reportUnsupportedOperation();
+    }
+
+    @Override
+    public void writeRaw(String text, int offset, int len) throws IOException {
+        _reportUnsupportedOperation();
+    }
+
+    @Override
+    public void writeRaw(char[] text, int offset, int len) throws IOException {
+        _reportUnsupportedOperation();
+    }
+
+    @Override
+    public void writeRaw(char c) throws IOException {
+        _reportUnsupportedOperation();
+    }
+
+    @Override
+    public void writeRawValue(String text) throws IOException {
+        _verifyValueWrite("write raw value");
+        Matcher matcher = ISO_DATE.matcher(text);
+        if (matcher.matches()) {
+            writer.writeDateTime(Instant.parse(matcher.group(1)).toEpochMilli());
+        } else {
+            writer.pipe(new JsonReader(text));
+        }
+    }
+
+    @Override
+    public void writeRawValue(SerializableString text) throws IOException {
+        writeRawValue(text.getValue());
+    }
+
+    @Override
+    public void writeRawValue(String text, int offset, int len) throws IOException {
+        writeRawValue(text.substring(offset, offset + len));
+    }
+
+    @Override
+    public void writeRawValue(char[] text, int offset, int len) throws IOException {
+        writeRawValue(new String(text, offset, len));
+    }
+
+    @Override
+    public void writeBinary(Base64Variant variant, byte[] data, int offset, int len) throws IOException {
+        _reportUnsupportedOperation();
+    }
+
+    @Override
+    public void writeNumber(int value) throws IOException {
+        _verifyValueWrite("write a number");
+        writer.writeInt32(value);
+    }
+
+    @Override
+    public void writeNumber(long value) throws IOException {
+        _verifyValueWrite("write a number");
+        writeIntegral(value);
+    }
+
+    @Override
+    public void writeNumber(BigInteger value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        _verifyValueWrite("write a number");
+        if (value.bitLength() < Long.SIZE) {
+            writeIntegral(value.longValue());
+        } else {
+            writer.writeDouble(value.doubleValue());
+        }
+    }
+
+    @Override
+    public void writeNumber(double value) throws IOException {
+        _verifyValueWrite("write a number");
+        writer.writeDouble(value);
+    }
+
+    @Override
+    public void writeNumber(float value) throws IOException {
+        _verifyValueWrite("write a number");
+        writer.writeDouble(Double.parseDouble(Float.toString(value)));
+    }
+
+    @Override
+    public void writeNumber(BigDecimal value) throws IOException {
+        writeNumber(value == null ? null : value.toString());
+    }
+
+    @Override
+    public void writeNumber(String encodedValue) throws IOException {
+        if (encodedValue == null) {
+            writeNull();
+            return;
+        }
+        _verifyValueWrite("write a number");
+        try {
+            writeIntegral(Long.parseLong(encodedValue));
+        } catch (NumberFormatException ex) {
+            writer.writeDouble(Double.parseDouble(encodedValue));
+        }
+    }
+
+    @Override
+    public void writeBoolean(boolean state) throws IOException {
+        _verifyValueWrite("write a boolean value");
+        writer.writeBoolean(state);
+    }
+
+    @Override
+    public void writeNull() throws IOException {
+        _verifyValueWrite("write a null");
+        writer.writeNull();
+    }
+
+    @Override
+    public void flush() {
+        writer.flush();
+    }
+
+    @Override
+    protected void _releaseBuffers() {
+        // nothing is buffered; the BsonWriter is owned by the caller
+    }
+
+    @Override
+    protected void _verifyValueWrite(String typeMsg) throws IOException {
+        if (_writeContext.writeValue() == JsonWriteContext.STATUS_EXPECT_NAME) {
+            _reportError("Can not " + typeMsg + ", expecting field name");
+        }
+    }
+
+    /**
+     * Write an integral number as parsing it from JSON would: an int32 when it fits, else an int64.
+     */
+    private void writeIntegral(long value) {
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            writer.writeInt32((int) value);
+        } else {
+            writer.writeInt64(value);
+        }
+    }
+}
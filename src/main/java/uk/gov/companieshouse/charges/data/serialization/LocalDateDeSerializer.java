@@ -3,6 +3,7 @@ package uk.gov.companieshouse.charges.data.serialization;
 import static uk.gov.companieshouse.charges.data.serialization.LocalDateTimeDeSerializer.APPLICATION_NAME_SPACE;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -10,6 +11,7 @@ import com.fasterxml.jackson.databind.node.JsonNodeType;
 import java.io.IOException;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.Date;
 import org.apache.commons.lang3.StringUtils;
 import uk.gov.companieshouse.charges.data.logging.DataMapHolder;
@@ -24,6 +26,10 @@ public class LocalDateDeSerializer extends JsonDeserializer<LocalDate> {
     @Override
     public LocalDate deserialize(JsonParser jsonParser,
                                  DeserializationContext deserializationContext) throws IOException {
+        if (jsonParser.currentToken() == JsonToken.VALUE_EMBEDDED_OBJECT
+                && jsonParser.getEmbeddedObject() instanceof Date date) {
+            return LocalDate.ofInstant(date.toInstant(), ZoneOffset.UTC);
+        }
         JsonNode jsonNode = jsonParser.readValueAsTree();
         try {
             if (JsonNodeType.STRING.equals(jsonNode.getNodeType())) {
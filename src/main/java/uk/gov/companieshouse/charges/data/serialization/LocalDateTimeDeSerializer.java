@@ -1,11 +1,14 @@
 package uk.gov.companieshouse.charges.data.serialization;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.Date;
 import uk.gov.companieshouse.charges.data.logging.DataMapHolder;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.logging.LoggerFactory;
@@ -20,6 +23,10 @@ public class LocalDateTimeDeSerializer extends JsonDeserializer<LocalDateTime> {
     public LocalDateTime deserialize(JsonParser jsonParser, DeserializationContext
             deserializationContext) {
         try {
+            if (jsonParser.currentToken() == JsonToken.VALUE_EMBEDDED_OBJECT
+                    && jsonParser.getEmbeddedObject() instanceof Date date) {
+                return LocalDateTime.ofInstant(date.toInstant(), ZoneOffset.UTC);
+            }
             JsonNode jsonNode = jsonParser.readValueAsTree();
             DateTimeFormatter dateTimeFormatter = DateTimeFormatter
                     .ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
@@ -4,22 +4,43 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
-import org.apache.commons.lang3.ObjectUtils;
 
+/**
+ * Serializes an object with its non-empty fields, or as null when none of its fields is set. The
+ * fields of each class are resolved to getters once, and the object is written straight to the
+ * enclosing generator by a shared mapper.
+ */
 public class NotNullFieldObjectSerializer extends JsonSerializer<Object> {
 
+    private static final ObjectMapper FIELD_MAPPER = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_EMPTY)
+            .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<MethodHandle[]> FIELD_GETTERS = new ClassValue<>() {
+        @Override
+        protected MethodHandle[] computeValue(Class<?> type) {
+            return fieldGetters(type);
+        }
+    };
+
     @Override
     public void serialize(Object value, JsonGenerator jsonGenerator,
                           SerializerProvider serializerProvider) throws IOException {
         if (isEmpty(serializerProvider, value)) {
             jsonGenerator.writeNull();
         } else {
-            ObjectMapper objectMapper = new ObjectMapper();
-            objectMapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
-            jsonGenerator.writeRawValue(objectMapper.writeValueAsString(value));
+            FIELD_MAPPER.writeValue(jsonGenerator, value);
         }
     }
 
@@ -28,21 +49,44 @@ public class NotNullFieldObjectSerializer extends JsonSerializer<Object> {
         return !isAnyFieldValueNotNull(value);
     }
 
-    private boolean isAnyFieldValueNotNull(Object value) {
+    private static boolean isAnyFieldValueNotNull(Object value) {
         if (value == null) {
             return false;
         }
 
-        return ObjectUtils.anyNotNull(Arrays.stream(value.getClass().getDeclaredFields())
-                .filter(field -> !field.isSynthetic())
-                .map(field -> {
-                    try {
-                        field.setAccessible(true);
-                        return field.get(value);
-                    } catch (IllegalAccessException ex) {
-                        throw new RuntimeException(ex);
-                    }
-                }).toArray(Object[]::new));
+        for (MethodHandle getter : FIELD_GETTERS.get(value.getClass())) {
+            try {
+                if ((Object) getter.invokeExact(value) != null) {
+                    return true;
+                }
+            } catch (Throwable ex) {
+                throw new IllegalStateException("Failed to read field of " + value.getClass().getName(), ex);
+            }
+        }
+        return false;
+    }
+
+    private static MethodHandle[] fieldGetters(Class<?> type) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            return Arrays.stream(type.getDeclaredFields())
+                    .filter(field -> !field.isSynthetic())
+                    .map(field -> fieldGetter(lookup, field))
+                    .toArray(MethodHandle[]::new);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException("Failed to access fields of " + type.getName(), ex);
+        }
     }
 
+    private static MethodHandle fieldGetter(MethodHandles.Lookup lookup, Field field) {
+        try {
+            MethodHandle getter = lookup.unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                getter = MethodHandles.dropArguments(getter, 0, field.getDeclaringClass());
+            }
+            return getter.asType(GETTER_TYPE);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException("Failed to access field " + field, ex);
+        }
+    }
 }
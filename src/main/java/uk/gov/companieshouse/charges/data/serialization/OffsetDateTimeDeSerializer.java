@@ -1,11 +1,14 @@
 package uk.gov.companieshouse.charges.data.serialization;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.Date;
 import uk.gov.companieshouse.charges.data.logging.DataMapHolder;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.logging.LoggerFactory;
@@ -21,6 +24,10 @@ public class OffsetDateTimeDeSerializer extends JsonDeserializer<OffsetDateTime>
     public OffsetDateTime deserialize(JsonParser jsonParser, DeserializationContext
             deserializationContext) {
         try {
+            if (jsonParser.currentToken() == JsonToken.VALUE_EMBEDDED_OBJECT
+                    && jsonParser.getEmbeddedObject() instanceof Date date) {
+                return OffsetDateTime.ofInstant(date.toInstant(), ZoneOffset.UTC);
+            }
             JsonNode jsonNode = jsonParser.readValueAsTree();
             return OffsetDateTime.parse(jsonNode.get("$date")
                     .textValue(), DateTimeFormatter.ISO_OFFSET_DATE_TIME);
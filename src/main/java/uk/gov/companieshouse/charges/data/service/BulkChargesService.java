@@ -0,0 +1,265 @@
+package uk.gov.companieshouse.charges.data.service;
+
+import static uk.gov.companieshouse.charges.data.ChargesDataApiApplication.NAMESPACE;
+
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.api.charges.InternalChargeApi;
+import uk.gov.companieshouse.charges.data.api.ChargesApiService;
+import uk.gov.companieshouse.charges.data.api.CompanyMetricsApiService;
+import uk.gov.companieshouse.charges.data.exception.BadRequestException;
+import uk.gov.companieshouse.charges.data.exception.ServiceUnavailableException;
+import uk.gov.companieshouse.charges.data.logging.DataMapHolder;
+import uk.gov.companieshouse.charges.data.model.BulkChargeDelta;
+import uk.gov.companieshouse.charges.data.model.BulkChargeOutcome;
+import uk.gov.companieshouse.charges.data.model.BulkChargeOutcome.Outcome;
+import uk.gov.companieshouse.charges.data.model.ChargeCounts;
+import uk.gov.companieshouse.charges.data.model.ChargesDocument;
+import uk.gov.companieshouse.charges.data.model.ChargesUpsertResult;
+import uk.gov.companieshouse.charges.data.model.ResourceChangedRequest;
+import uk.gov.companieshouse.charges.data.repository.ChargesRepository;
+import uk.gov.companieshouse.charges.data.transform.ChargesTransformer;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * Applies batches of charge deltas, possibly across companies, for back-fills and re-syncs. Each
+ * delta is checked for staleness as on the single charge endpoint, but the whole batch is written
+ * in one unordered bulk write and an outcome is returned for each delta rather than failing the
+ * request, including when its resource changed event could not be sent. Deltas identical to the
+ * stored charge only advance its delta_at and emit no event. When the outbox is enabled the
+ * resource changed events of the batch are queued in a single insert, and the charge counts
+ * updated, in the same transaction as the write; otherwise the events are sent after the write,
+ * including those of identical deltas where charges.unchanged-deltas.notify.enabled is set, since
+ * the event of a previous identical delta may have failed.
+ */
+@Service
+public class BulkChargesService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+
+    private final ChargesRepository chargesRepository;
+    private final ChargesTransformer chargesTransformer;
+    private final ChargesApiService chargesApiService;
+    private final CompanyMetricsApiService companyMetricsApiService;
+    private final ChargeCountsService chargeCountsService;
+    private final ChargesPageCache chargesPageCache;
+    private final ResourceChangedOutbox resourceChangedOutbox;
+    private final Validator validator;
+    private final int maximumDeltas;
+    private final boolean notifyUnchangedEnabled;
+
+    public BulkChargesService(ChargesRepository chargesRepository,
+            ChargesTransformer chargesTransformer,
+            ChargesApiService chargesApiService,
+            CompanyMetricsApiService companyMetricsApiService,
+            ChargeCountsService chargeCountsService,
+            ChargesPageCache chargesPageCache,
+            ResourceChangedOutbox resourceChangedOutbox,
+            Validator validator,
+            @Value("${charges.bulk.maximum-deltas:1000}") int maximumDeltas,
+            @Value("${charges.unchanged-deltas.notify.enabled:false}") boolean notifyUnchangedEnabled) {
+        this.chargesRepository = chargesRepository;
+        this.chargesTransformer = chargesTransformer;
+        this.chargesApiService = chargesApiService;
+        this.companyMetricsApiService = companyMetricsApiService;
+        this.chargeCountsService = chargeCountsService;
+        this.chargesPageCache = chargesPageCache;
+        this.resourceChangedOutbox = resourceChangedOutbox;
+        this.validator = validator;
+        this.maximumDeltas = maximumDeltas;
+        this.notifyUnchangedEnabled = notifyUnchangedEnabled;
+    }
+
+    /**
+     * Save or update a batch of charges. A delta without a company number, charge id or valid
+     * body, whose charge id repeats an earlier delta of the batch, or that cannot be transformed,
+     * is invalid and not applied.
+     *
+     * @param contextId the x-request-id.
+     * @param deltas    the charge deltas.
+     * @return the outcome of each delta, in the order of the deltas.
+     */
+    public List<BulkChargeOutcome> upsertCharges(String contextId, List<BulkChargeDelta> deltas) {
+        if (deltas == null || deltas.isEmpty() || deltas.size() > maximumDeltas) {
+            LOGGER.error("Bulk request must contain between 1 and %d deltas".formatted(maximumDeltas),
+                    DataMapHolder.getLogMap());
+            throw new BadRequestException("Bulk request must contain between 1 and %d deltas"
+                    .formatted(maximumDeltas));
+        }
+
+        Outcome[] outcomes = new Outcome[deltas.size()];
+        List<Integer> valid = new ArrayList<>();
+        List<ChargesDocument> chargesDocuments = new ArrayList<>();
+        Set<String> chargeIds = new HashSet<>();
+        for (int i = 0; i < deltas.size(); i++) {
+            BulkChargeDelta delta = deltas.get(i);
+            if (!isValid(delta) || !chargeIds.add(delta.chargeId())) {
+                outcomes[i] = Outcome.INVALID;
+                continue;
+            }
+            ChargesDocument chargesDocument;
+            try {
+                chargesDocument = chargesTransformer.transform(delta.companyNumber(), delta.chargeId(),
+                        delta.delta());
+            } catch (RuntimeException ex) {
+                LOGGER.error("Failed to transform charge delta %s of company %s".formatted(delta.chargeId(),
+                        delta.companyNumber()), ex, DataMapHolder.getLogMap());
+                outcomes[i] = Outcome.INVALID;
+                continue;
+            }
+            valid.add(i);
+            chargesDocuments.add(chargesDocument);
+        }
+
+        try {
+            List<ChargesUpsertResult> results = chargesDocuments.isEmpty() ? List.of()
+                    : write(contextId, deltas, valid, chargesDocuments);
+
+            Set<String> changedCompanies = new LinkedHashSet<>();
+            Map<Integer, ResourceChangedRequest> changedRequests = new LinkedHashMap<>();
+            int applied = 0;
+            for (int i = 0; i < results.size(); i++) {
+                BulkChargeDelta delta = deltas.get(valid.get(i));
+                ChargesUpsertResult result = results.get(i);
+                if (result.outcome() == ChargesUpsertResult.Outcome.STALE) {
+                    outcomes[valid.get(i)] = Outcome.STALE;
+                    continue;
+                }
+                if (result.outcome() == ChargesUpsertResult.Outcome.UNCHANGED) {
+                    outcomes[valid.get(i)] = Outcome.UNCHANGED;
+                    if (notifyUnchangedEnabled) {
+                        changedRequests.put(valid.get(i), changedRequest(contextId, delta));
+                    }
+                    continue;
+                }
+                outcomes[valid.get(i)] = Outcome.APPLIED;
+                applied++;
+                changedCompanies.add(delta.companyNumber());
+                changedRequests.put(valid.get(i), changedRequest(contextId, delta));
+            }
+            evictCaches(changedCompanies);
+            LOGGER.info("Bulk upsert applied %d of %d charge deltas".formatted(applied,
+                    deltas.size()), DataMapHolder.getLogMap());
+
+            if (resourceChangedOutbox.isEnabled()) {
+                LOGGER.info("Resource changed events queued", DataMapHolder.getLogMap());
+            } else {
+                invokeChsKafkaApi(changedRequests, outcomes);
+            }
+        } catch (DataAccessException ex) {
+            LOGGER.error("Error occurred during a DB call for bulk PUT charges", ex, DataMapHolder.getLogMap());
+            throw new ServiceUnavailableException("Error occurred during a DB call for bulk PUT charges");
+        }
+
+        List<BulkChargeOutcome> bulkOutcomes = new ArrayList<>(deltas.size());
+        for (int i = 0; i < deltas.size(); i++) {
+            bulkOutcomes.add(BulkChargeOutcome.of(deltas.get(i), outcomes[i]));
+        }
+        return bulkOutcomes;
+    }
+
+    /**
+     * Send the resource changed event of each written delta. A delta whose event fails is reported
+     * as not notified rather than failing the batch; resubmitting it sends the event again.
+     */
+    private void invokeChsKafkaApi(Map<Integer, ResourceChangedRequest> changedRequests, Outcome[] outcomes) {
+        int failed = 0;
+        for (Map.Entry<Integer, ResourceChangedRequest> changedRequest : changedRequests.entrySet()) {
+            try {
+                chargesApiService.invokeChsKafkaApi(changedRequest.getValue());
+            } catch (ServiceUnavailableException ex) {
+                outcomes[changedRequest.getKey()] = Outcome.NOT_NOTIFIED;
+                failed++;
+            }
+        }
+        if (failed > 0) {
+            LOGGER.error("ChsKafka api CHANGED failed for %d of %d charge deltas".formatted(failed,
+                    changedRequests.size()), DataMapHolder.getLogMap());
+        } else {
+            LOGGER.info("ChsKafka api CHANGED invoked successfully", DataMapHolder.getLogMap());
+        }
+    }
+
+    private List<ChargesUpsertResult> write(String contextId, List<BulkChargeDelta> deltas, List<Integer> valid,
+            List<ChargesDocument> chargesDocuments) {
+        if (!resourceChangedOutbox.isEnabled()) {
+            List<ChargesUpsertResult> results = chargesRepository.bulkUpsertIfNotStale(chargesDocuments);
+            try {
+                recordChanges(deltas, valid, chargesDocuments, results);
+            } catch (RuntimeException ex) {
+                // the charges are written, and a retry of the batch finds nothing left to write
+                Set<String> changedCompanies = new LinkedHashSet<>();
+                for (int i = 0; i < results.size(); i++) {
+                    if (results.get(i).isChanged()) {
+                        changedCompanies.add(deltas.get(valid.get(i)).companyNumber());
+                    }
+                }
+                evictCaches(changedCompanies);
+                throw ex;
+            }
+            return results;
+        }
+        return resourceChangedOutbox.inTransaction(() -> {
+            List<ChargesUpsertResult> results = chargesRepository.bulkUpsertIfNotStale(chargesDocuments);
+            recordChanges(deltas, valid, chargesDocuments, results);
+            List<ResourceChangedRequest> changedRequests = new ArrayList<>();
+            for (int i = 0; i < results.size(); i++) {
+                if (results.get(i).isChanged()) {
+                    changedRequests.add(changedRequest(contextId, deltas.get(valid.get(i))));
+                }
+            }
+            resourceChangedOutbox.enqueueAll(changedRequests);
+            return results;
+        });
+    }
+
+    /**
+     * Record the counter changes of the written charges, summed per company so that each company's
+     * counters take a single update however many of its charges the batch wrote.
+     */
+    private void recordChanges(List<BulkChargeDelta> deltas, List<Integer> valid,
+            List<ChargesDocument> chargesDocuments, List<ChargesUpsertResult> results) {
+        Map<String, ChargeCounts> companyDeltas = new LinkedHashMap<>();
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i).isChanged()) {
+                companyDeltas.merge(deltas.get(valid.get(i)).companyNumber(),
+                        ChargeCounts.of(chargesDocuments.get(i).getData())
+                                .minus(ChargeCounts.of(results.get(i).previousCharge())),
+                        ChargeCounts::plus);
+            }
+        }
+        companyDeltas.forEach(chargeCountsService::recordChanges);
+    }
+
+    private void evictCaches(Set<String> companyNumbers) {
+        companyNumbers.forEach(companyNumber -> {
+            companyMetricsApiService.evictCompanyMetrics(companyNumber);
+            chargesPageCache.invalidate(companyNumber);
+        });
+    }
+
+    private boolean isValid(BulkChargeDelta delta) {
+        InternalChargeApi body = delta == null ? null : delta.delta();
+        return body != null
+                && StringUtils.isNotBlank(delta.companyNumber())
+                && StringUtils.isNotBlank(delta.chargeId())
+                && body.getInternalData() != null
+                && body.getExternalData() != null
+                && validator.validate(body).isEmpty();
+    }
+
+    private static ResourceChangedRequest changedRequest(String contextId, BulkChargeDelta delta) {
+        return new ResourceChangedRequest(contextId, delta.chargeId(), delta.companyNumber(), null, false);
+    }
+}
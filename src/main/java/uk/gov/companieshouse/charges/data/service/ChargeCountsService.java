@@ -0,0 +1,135 @@
+package uk.gov.companieshouse.charges.data.service;
+
+import static uk.gov.companieshouse.charges.data.ChargesDataApiApplication.NAMESPACE;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.api.charges.ChargeApi;
+import uk.gov.companieshouse.charges.data.logging.DataMapHolder;
+import uk.gov.companieshouse.charges.data.model.ChargeCounts;
+import uk.gov.companieshouse.charges.data.model.ChargeCountsDocument;
+import uk.gov.companieshouse.charges.data.repository.ChargeCountsRepository;
+import uk.gov.companieshouse.charges.data.repository.ChargesRepository;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * Maintains the per-company charge counters used to answer list totals without counting charges.
+ * Changes are recorded in the same transaction as the charge write when the outbox is enabled;
+ * otherwise a failure between the two writes is handled by removing the company's counters, so
+ * that its charges are counted until the counters are rebuilt, and any drift left by a crash
+ * between them is corrected by the reconciliation job.
+ */
+@Service
+public class ChargeCountsService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+
+    private final ChargeCountsRepository chargeCountsRepository;
+    private final ChargesRepository chargesRepository;
+
+    public ChargeCountsService(ChargeCountsRepository chargeCountsRepository,
+            ChargesRepository chargesRepository) {
+        this.chargeCountsRepository = chargeCountsRepository;
+        this.chargesRepository = chargesRepository;
+    }
+
+    /**
+     * Apply a charge write to the company's counters, taking any status transition into account.
+     *
+     * @param companyNumber the company number.
+     * @param previous the charge before the write, or null if it did not exist.
+     * @param current the charge after the write, or null if it was deleted.
+     */
+    public void recordChange(String companyNumber, ChargeApi previous, ChargeApi current) {
+        recordChanges(companyNumber, ChargeCounts.of(current).minus(ChargeCounts.of(previous)));
+    }
+
+    /**
+     * Apply the combined counter changes of any number of a company's charge writes in a single
+     * update.
+     *
+     * @param companyNumber the company number.
+     * @param delta the sum of the changes to the company's counters.
+     */
+    public void recordChanges(String companyNumber, ChargeCounts delta) {
+        if (delta.isZero()) {
+            return;
+        }
+        try {
+            if (!chargeCountsRepository.incrementCounts(companyNumber, delta)) {
+                initialiseCounts(companyNumber);
+            }
+        } catch (DataAccessException ex) {
+            LOGGER.error("Error occurred recording charge counts, removing counters for company", ex,
+                    DataMapHolder.getLogMap());
+            try {
+                chargeCountsRepository.deleteById(companyNumber);
+            } catch (DataAccessException removeEx) {
+                LOGGER.error("Error occurred removing charge counts for company", removeEx,
+                        DataMapHolder.getLogMap());
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Count a company's charges from its counters, falling back to counting the charges when the
+     * company has no counters yet.
+     *
+     * @param companyNumber the company number.
+     * @param outstandingFilter the outstanding flags to count, as matched by the charges queries.
+     * @return the number of charges.
+     */
+    public long countCharges(String companyNumber, List<Boolean> outstandingFilter) {
+        Optional<ChargeCountsDocument> counts = chargeCountsRepository.findById(companyNumber);
+        if (counts.isEmpty()) {
+            return chargesRepository.countCharges(companyNumber, outstandingFilter);
+        }
+        return count(counts.get(), outstandingFilter);
+    }
+
+    /**
+     * The number of a company's charges matched by the outstanding flags, taken from its counters.
+     *
+     * @param counts the company's counters.
+     * @param outstandingFilter the outstanding flags to count, as matched by the charges queries.
+     * @return the number of charges.
+     */
+    static long count(ChargeCountsDocument counts, List<Boolean> outstandingFilter) {
+        return ChargesRepository.OUTSTANDING_ONLY.equals(outstandingFilter)
+                ? counts.getOutstandingCount() : counts.getTotalCount();
+    }
+
+    /**
+     * Get a company's counters, counting its charges in a single grouped aggregation when the
+     * company has no counters yet.
+     *
+     * @param companyNumber the company number.
+     * @return the charge counts, all zero if the company has no charges.
+     */
+    public ChargeCountsDocument getCounts(String companyNumber) {
+        return chargeCountsRepository.findById(companyNumber)
+                .or(() -> chargesRepository.countChargesByStatus(companyNumber))
+                .orElseGet(() -> new ChargeCountsDocument().setId(companyNumber));
+    }
+
+    /**
+     * Create a company's counters from its charges. The counters are only inserted if the company
+     * still has none, so that counters created by a concurrent first write of the company are not
+     * overwritten.
+     *
+     * @param companyNumber the company number.
+     */
+    public void initialiseCounts(String companyNumber) {
+        LOGGER.info("Creating charge counts for company", DataMapHolder.getLogMap());
+        ChargeCountsDocument counts = chargesRepository.countChargesByStatus(companyNumber)
+                .orElseGet(() -> new ChargeCountsDocument().setId(companyNumber));
+        if (!chargeCountsRepository.insertCountsIfAbsent(counts.setReconciledAt(LocalDateTime.now()))) {
+            LOGGER.info("Charge counts already created for company", DataMapHolder.getLogMap());
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package uk.gov.companieshouse.charges.data.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.api.charges.ChargesApi;
+import uk.gov.companieshouse.charges.data.model.RequestCriteria;
+
+/**
+ * Cache of rendered charges list pages, held per company so that all of a company's pages are
+ * invalidated together when any of its charges change. The cache is bounded by the number of
+ * charges held across all pages, and entries also expire after a fixed time since the counts
+ * and etag of a page may come from the company metrics API.
+ *
+ * <p>Each invalidation takes the next version of the cache, recorded against the company
+ * invalidated, so a page load in flight is only discarded when its own company was invalidated
+ * after the load started. The versions of companies invalidated less recently than the TTL are
+ * forgotten, raising the version below which every load is discarded, as is invalidating every
+ * company; neither affects a load started since.
+ */
+@Component
+public class ChargesPageCache {
+
+    static final String CACHE_NAME = "charges-pages";
+
+    private volatile boolean enabled;
+    private final Cache<String, CompanyPages> cache;
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong forgottenVersion = new AtomicLong();
+    private final Cache<String, Long> invalidatedVersions;
+
+    public ChargesPageCache(MeterRegistry meterRegistry,
+            @Value("${charges.list.page-cache.enabled:false}") boolean enabled,
+            @Value("${charges.list.page-cache.ttl:30s}") Duration ttl,
+            @Value("${charges.list.page-cache.maximum-charges:100000}") long maximumCharges) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumWeight(maximumCharges)
+                .weigher((String companyNumber, CompanyPages pages) -> pages.weight())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.weighted.size", cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0))
+                        .orElse(0L))
+                .tag("cache", CACHE_NAME)
+                .description("The number of charges held across all cached pages")
+                .register(meterRegistry);
+        this.invalidatedVersions = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumCharges)
+                .evictionListener((String companyNumber, Long invalidatedVersion, RemovalCause cause) ->
+                        forgottenVersion.accumulateAndGet(invalidatedVersion, Math::max))
+                .build();
+    }
+
+    /**
+     * Get a charges page from the cache, loading and caching it when absent. A page loaded while
+     * the company was invalidated is returned but not cached, as it may predate the change.
+     *
+     * @param companyNumber   company number.
+     * @param requestCriteria the page requested.
+     * @param loader          loads the page.
+     * @return the charges page.
+     */
+    public ChargesApi get(String companyNumber, RequestCriteria requestCriteria, Supplier<ChargesApi> loader) {
+        ChargesApi page = getIfPresent(companyNumber, requestCriteria);
+        if (page != null) {
+            return page;
+        }
+        long versionBeforeLoad = version();
+        page = loader.get();
+        put(companyNumber, requestCriteria, page, versionBeforeLoad);
+        return page;
+    }
+
+    /**
+     * Get a charges page from the cache, for callers which load the page themselves, without
+     * blocking, when it is absent.
+     *
+     * @param companyNumber   company number.
+     * @param requestCriteria the page requested.
+     * @return the cached charges page, or null if it is not cached.
+     */
+    public ChargesApi getIfPresent(String companyNumber, RequestCriteria requestCriteria) {
+        if (!enabled) {
+            return null;
+        }
+        CompanyPages pages = cache.getIfPresent(companyNumber);
+        return pages == null ? null : pages.get(PageKey.of(requestCriteria));
+    }
+
+    /**
+     * The current version of the cache, to be taken before a page is loaded and passed to
+     * {@link #put} once it has been.
+     *
+     * @return the version.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Cache a loaded charges page, unless the company was invalidated since the load started.
+     *
+     * @param companyNumber     company number.
+     * @param requestCriteria   the page requested.
+     * @param page              the charges page.
+     * @param versionBeforeLoad the {@link #version} taken before the page was loaded.
+     */
+    public void put(String companyNumber, RequestCriteria requestCriteria, ChargesApi page,
+            long versionBeforeLoad) {
+        if (!enabled) {
+            return;
+        }
+        PageKey pageKey = PageKey.of(requestCriteria);
+        cache.asMap().compute(companyNumber, (key, current) -> {
+            if (invalidatedVersion(key) > versionBeforeLoad) {
+                return current;
+            }
+            return current == null ? CompanyPages.of(pageKey, page) : current.with(pageKey, page);
+        });
+    }
+
+    /**
+     * Remove every cached page of a company.
+     *
+     * @param companyNumber company number.
+     */
+    public void invalidate(String companyNumber) {
+        invalidatedVersions.put(companyNumber, version.incrementAndGet());
+        cache.invalidate(companyNumber);
+    }
+
+    /**
+     * Stop caching pages, for when changes to the charges cannot be followed.
+     */
+    public void disable() {
+        enabled = false;
+        invalidateAll();
+    }
+
+    /**
+     * Remove every cached page, for when the companies which changed are not known.
+     */
+    public void invalidateAll() {
+        forgottenVersion.accumulateAndGet(version.incrementAndGet(), Math::max);
+        invalidatedVersions.invalidateAll();
+        cache.invalidateAll();
+    }
+
+    /**
+     * The version at which a company was last invalidated, read before the version below which
+     * every load is discarded, which is raised as the company's own version is forgotten.
+     */
+    private long invalidatedVersion(String companyNumber) {
+        Long invalidatedVersion = invalidatedVersions.getIfPresent(companyNumber);
+        long forgotten = forgottenVersion.get();
+        return invalidatedVersion == null ? forgotten : Math.max(invalidatedVersion, forgotten);
+    }
+
+    private record PageKey(String filter, Integer startIndex, Integer itemsPerPage, String cursor) {
+
+        static PageKey of(RequestCriteria requestCriteria) {
+            return new PageKey(requestCriteria.getFilter(), requestCriteria.getStartIndex(),
+                    requestCriteria.getItemsPerPage(), requestCriteria.getCursor());
+        }
+    }
+
+    /**
+     * The cached pages of one company, replaced as a whole when a page is added so that its
+     * weight is recalculated.
+     */
+    private record CompanyPages(Map<PageKey, ChargesApi> pages, int weight) {
+
+        static CompanyPages of(PageKey pageKey, ChargesApi page) {
+            return new CompanyPages(Map.of(pageKey, page), weigh(page));
+        }
+
+        ChargesApi get(PageKey pageKey) {
+            return pages.get(pageKey);
+        }
+
+        CompanyPages with(PageKey pageKey, ChargesApi page) {
+            Map<PageKey, ChargesApi> updated = new HashMap<>(pages);
+            ChargesApi replaced = updated.put(pageKey, page);
+            return new CompanyPages(updated, weight + weigh(page) - (replaced == null ? 0 : weigh(replaced)));
+        }
+
+        private static int weigh(ChargesApi page) {
+            return 1 + (page.getItems() == null ? 0 : page.getItems().size());
+        }
+    }
+}
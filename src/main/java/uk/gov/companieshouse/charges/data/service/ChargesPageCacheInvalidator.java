@@ -0,0 +1,141 @@
+package uk.gov.companieshouse.charges.data.service;
+
+import static uk.gov.companieshouse.charges.data.ChargesDataApiApplication.NAMESPACE;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.charges.data.model.ChargesDocument;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * Watches the charges collection and invalidates the cached pages of each company whose charges
+ * change, so that writes made through any instance reach the page cache of every instance.
+ * Inserts and replaces carry the written charge, and updates and deletes carry the pre-image of
+ * the charge; neither needs the charge to be looked up again. Pre-images are enabled on the
+ * collection once, as an operations step (see docs/mongo_change_stream_pre_images.txt), and only
+ * checked here: without them the page cache is disabled, since updates and deletes could not be
+ * attributed to a company. Only a change whose pre-image is not available, such as one made before
+ * pre-images were enabled, clears the whole cache. The cache is also cleared each time the change
+ * stream is opened, so that changes missed while it was not open are never served.
+ */
+@Component
+@ConditionalOnProperty(name = "charges.list.page-cache.enabled", havingValue = "true")
+public class ChargesPageCacheInvalidator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
+    private final MongoTemplate mongoTemplate;
+    private final ChargesPageCache chargesPageCache;
+    private volatile boolean running = true;
+    private volatile MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+
+    public ChargesPageCacheInvalidator(MongoTemplate mongoTemplate, ChargesPageCache chargesPageCache) {
+        this.mongoTemplate = mongoTemplate;
+        this.chargesPageCache = chargesPageCache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofVirtual().name("charges-page-cache-invalidator").start(this::run);
+    }
+
+    /**
+     * Stop watching for changes.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> current = cursor;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    void run() {
+        boolean preImagesChecked = false;
+        while (running) {
+            try {
+                if (!preImagesChecked) {
+                    if (!preImagesEnabled()) {
+                        LOGGER.error("Pre-images of charges are not enabled, disabling the page cache");
+                        chargesPageCache.disable();
+                        return;
+                    }
+                    preImagesChecked = true;
+                }
+                watch();
+            } catch (MongoException ex) {
+                if (!running) {
+                    return;
+                }
+                LOGGER.error("Error occurred watching charges for page cache invalidation", ex);
+                try {
+                    Thread.sleep(RETRY_DELAY);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void watch() {
+        String collectionName = mongoTemplate.getCollectionName(ChargesDocument.class);
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> changes = mongoTemplate
+                .getCollection(collectionName)
+                .watch(List.of(Aggregates.project(Projections.include("operationType", "ns", "documentKey",
+                        "fullDocument.company_number", "fullDocumentBeforeChange.company_number"))))
+                .fullDocument(FullDocument.DEFAULT)
+                .fullDocumentBeforeChange(FullDocumentBeforeChange.WHEN_AVAILABLE)
+                .cursor()) {
+            cursor = changes;
+            chargesPageCache.invalidateAll();
+            LOGGER.info("Watching charges for page cache invalidation");
+            while (running) {
+                onChange(changes.next());
+            }
+        }
+    }
+
+    boolean preImagesEnabled() {
+        Document collection = mongoTemplate.getDb().listCollections()
+                .filter(Filters.eq("name", mongoTemplate.getCollectionName(ChargesDocument.class)))
+                .first();
+        Document preImages = collection == null ? null : collection.get("options", new Document())
+                .get("changeStreamPreAndPostImages", Document.class);
+        return preImages != null && preImages.getBoolean("enabled", false);
+    }
+
+    void onChange(ChangeStreamDocument<Document> change) {
+        String companyNumber = companyNumber(change.getFullDocument());
+        if (companyNumber == null) {
+            companyNumber = companyNumber(change.getFullDocumentBeforeChange());
+        }
+        if (companyNumber == null) {
+            chargesPageCache.invalidateAll();
+        } else {
+            chargesPageCache.invalidate(companyNumber);
+        }
+    }
+
+    private static String companyNumber(Document document) {
+        return document == null ? null : document.getString("company_number");
+    }
+}
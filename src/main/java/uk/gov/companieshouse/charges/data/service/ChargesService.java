@@ -2,11 +2,20 @@ package uk.gov.companieshouse.charges.data.service;
 
 import static uk.gov.companieshouse.charges.data.ChargesDataApiApplication.NAMESPACE;
 
-import java.time.OffsetDateTime;
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import uk.gov.companieshouse.api.charges.ChargeApi;
@@ -21,13 +30,20 @@ import uk.gov.companieshouse.charges.data.exception.ConflictException;
 import uk.gov.companieshouse.charges.data.exception.NotFoundException;
 import uk.gov.companieshouse.charges.data.exception.ServiceUnavailableException;
 import uk.gov.companieshouse.charges.data.logging.DataMapHolder;
+import uk.gov.companieshouse.charges.data.model.ChargeCountsDocument;
 import uk.gov.companieshouse.charges.data.model.ChargesAggregate;
+import uk.gov.companieshouse.charges.data.model.ChargesCursor;
 import uk.gov.companieshouse.charges.data.model.ChargesDocument;
+import uk.gov.companieshouse.charges.data.model.ChargesUpsertResult;
+import uk.gov.companieshouse.charges.data.model.CursorChargesApi;
 import uk.gov.companieshouse.charges.data.model.RequestCriteria;
 import uk.gov.companieshouse.charges.data.model.ResourceChangedRequest;
+import uk.gov.companieshouse.charges.data.model.StoredChargeApi;
+import uk.gov.companieshouse.charges.data.model.TotalCharges;
 import uk.gov.companieshouse.charges.data.repository.ChargesRepository;
 import uk.gov.companieshouse.charges.data.transform.ChargesTransformer;
 import uk.gov.companieshouse.charges.data.util.DateUtils;
+import uk.gov.companieshouse.charges.data.util.EtagUtils;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.logging.LoggerFactory;
 
@@ -35,14 +51,23 @@ import uk.gov.companieshouse.logging.LoggerFactory;
 public class ChargesService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
-    private static final String GET_CHARGE_MESSAGE = "Charge: %s not found for company: %s";
+    static final String GET_CHARGE_MESSAGE = "Charge: %s not found for company: %s";
     private static final String FIND_CHARGES_MESSAGE = "Charges does not exist for company: %s";
 
     private final ChargesApiService chargesApiService;
     private final ChargesTransformer chargesTransformer;
     private final ChargesRepository chargesRepository;
     private final CompanyMetricsApiService companyMetricsApiService;
-
+    private final ChargeCountsService chargeCountsService;
+    private final ChargesPageCache chargesPageCache;
+    private final ResourceChangedOutbox resourceChangedOutbox;
+    private final Executor chargesListExecutor;
+    private final Duration queryTimeout;
+    private final Duration metricsTimeout;
+    private final boolean localCountsEnabled;
+    private final boolean metricsCrossCheckEnabled;
+    private final boolean storedResponsesEnabled;
+    private final boolean notifyUnchangedEnabled;
 
     /**
      * ChargesService constructor.
@@ -52,15 +77,42 @@ public class ChargesService {
     public ChargesService(final ChargesRepository chargesRepository,
             final ChargesTransformer chargesTransformer,
             ChargesApiService chargesApiService,
-            CompanyMetricsApiService companyMetricsApiService) {
+            CompanyMetricsApiService companyMetricsApiService,
+            ChargeCountsService chargeCountsService,
+            ChargesPageCache chargesPageCache,
+            ResourceChangedOutbox resourceChangedOutbox,
+            @Qualifier("chargesListExecutor") Executor chargesListExecutor,
+            @Value("${charges.list.query-timeout:5s}") Duration queryTimeout,
+            @Value("${charges.list.metrics-timeout:2s}") Duration metricsTimeout,
+            @Value("${charges.list.local-counts.enabled:false}") boolean localCountsEnabled,
+            @Value("${charges.list.metrics-cross-check.enabled:false}") boolean metricsCrossCheckEnabled,
+            @Value("${charges.stored-responses.enabled:false}") boolean storedResponsesEnabled,
+            @Value("${charges.unchanged-deltas.notify.enabled:false}") boolean notifyUnchangedEnabled) {
         this.chargesRepository = chargesRepository;
         this.chargesTransformer = chargesTransformer;
         this.chargesApiService = chargesApiService;
         this.companyMetricsApiService = companyMetricsApiService;
+        this.chargeCountsService = chargeCountsService;
+        this.chargesPageCache = chargesPageCache;
+        this.resourceChangedOutbox = resourceChangedOutbox;
+        this.chargesListExecutor = chargesListExecutor;
+        this.queryTimeout = queryTimeout;
+        this.metricsTimeout = metricsTimeout;
+        this.localCountsEnabled = localCountsEnabled;
+        this.metricsCrossCheckEnabled = metricsCrossCheckEnabled;
+        this.storedResponsesEnabled = storedResponsesEnabled;
+        this.notifyUnchangedEnabled = notifyUnchangedEnabled;
     }
 
     /**
-     * Save or Update charges.
+     * Save or Update charges. When the outbox is enabled the resource changed event is queued, and
+     * the company's charge counts updated, in the same transaction as the charge, rather than after
+     * it. A charge
+     * whose content is identical to the stored charge only advances its delta_at, keeping its
+     * etag, counts and cached pages, and emits no resource changed event. Where the outbox is
+     * disabled and the event of a previous identical delta may have failed, sending the event of
+     * identical deltas again can be enabled with charges.unchanged-deltas.notify.enabled; with the
+     * outbox enabled that event was queued with the previous delta, so none is queued.
      *
      * @param companyNumber company number for charge.
      * @param chargeId      charges Id.
@@ -69,29 +121,41 @@ public class ChargesService {
     public void upsertCharges(String contextId, String companyNumber, String chargeId,
             InternalChargeApi requestBody) {
         try {
-            Optional<ChargesDocument> chargesDocumentOptional = chargesRepository.findById(chargeId);
-
-            chargesDocumentOptional.ifPresentOrElse(existingDocument -> {
-                        OffsetDateTime deltaAtFromBodyRequest = requestBody.getInternalData().getDeltaAt();
-                        OffsetDateTime deltaAtFromDb = existingDocument.getDeltaAt();
-
-                        if (deltaAtFromBodyRequest == null
-                                || deltaAtFromDb == null || !deltaAtFromBodyRequest.isBefore(deltaAtFromDb)) {
-                            ChargesDocument charges =
-                                    this.chargesTransformer.transform(companyNumber, chargeId, requestBody);
-
-                            saveAndInvokeChsKafkaApi(contextId, companyNumber, chargeId, charges);
-                            } else {
-                            LOGGER.error("Charge not saved, stale delta received",
-                                    DataMapHolder.getLogMap());
-                            throw new ConflictException("Received stale delta");
-                        }
-                    },
-                    () -> {
-                        ChargesDocument charges =
-                                this.chargesTransformer.transform(companyNumber, chargeId, requestBody);
-                        saveAndInvokeChsKafkaApi(contextId, companyNumber, chargeId, charges);
-                    });
+            ChargesDocument charges = this.chargesTransformer.transform(companyNumber, chargeId, requestBody);
+            ChargesUpsertResult result;
+            if (resourceChangedOutbox.isEnabled()) {
+                result = resourceChangedOutbox.inTransaction(() -> {
+                    ChargesUpsertResult upserted = chargesRepository.upsertIfNotStaleInTransaction(charges);
+                    if (upserted.isChanged()) {
+                        chargeCountsService.recordChange(companyNumber, upserted.previousCharge(),
+                                charges.getData());
+                        resourceChangedOutbox.enqueue(new ResourceChangedRequest(contextId, chargeId,
+                                companyNumber, null, false));
+                    }
+                    return upserted;
+                });
+                if (result.isChanged()) {
+                    evictCaches(companyNumber);
+                }
+            } else {
+                result = chargesRepository.upsertIfNotStale(charges);
+                if (result.isChanged()) {
+                    recordChangeAndEvict(companyNumber, result.previousCharge(), charges.getData());
+                }
+            }
+
+            if (result.outcome() == ChargesUpsertResult.Outcome.STALE) {
+                LOGGER.error("Charge not saved, stale delta received", DataMapHolder.getLogMap());
+                throw new ConflictException("Received stale delta");
+            }
+            if (result.outcome() == ChargesUpsertResult.Outcome.UNCHANGED) {
+                LOGGER.info("Charge unchanged, delta_at advanced", DataMapHolder.getLogMap());
+                if (notifyUnchangedEnabled && !resourceChangedOutbox.isEnabled()) {
+                    invokeChsKafkaApi(contextId, companyNumber, chargeId);
+                }
+                return;
+            }
+            invokeChsKafkaApi(contextId, companyNumber, chargeId);
         } catch (DataAccessException ex) {
             LOGGER.error("Error occurred during a DB call for PUT charges");
             throw new ServiceUnavailableException("Error occurred during a DB call for PUT charges");
@@ -100,7 +164,8 @@ public class ChargesService {
     }
 
     /**
-     * Retrieve a company charge details using a company number and chargeId.
+     * Retrieve a company charge details using a company number and chargeId. When stored
+     * responses are enabled a charge with a stored response JSON is returned as that JSON.
      *
      * @param companyNumber the company number of the company.
      * @param chargeId      the chargeId.
@@ -108,9 +173,10 @@ public class ChargesService {
      */
     public ChargeApi getChargeDetails(final String companyNumber, final String chargeId) {
         try {
-            Optional<ChargesDocument> chargesDocuments =
-                    this.chargesRepository.findChargeDetails(companyNumber, chargeId);
-            return chargesDocuments.map(ChargesDocument::getData).orElseThrow(() -> new NotFoundException(
+            Optional<ChargesDocument> chargesDocuments = storedResponsesEnabled
+                    ? this.chargesRepository.findChargeResponse(companyNumber, chargeId)
+                    : this.chargesRepository.findChargeDetails(companyNumber, chargeId);
+            return chargesDocuments.map(ChargesService::toResponseItem).orElseThrow(() -> new NotFoundException(
                     String.format(GET_CHARGE_MESSAGE, chargeId, companyNumber)));
         } catch (DataAccessException ex) {
             LOGGER.error("Error occurred during a DB call for GET charge", ex);
@@ -119,42 +185,237 @@ public class ChargesService {
     }
 
     /**
-     * Find charges for company number.
+     * Retrieve the etag of a company charge, reading only the etag from the database.
+     *
+     * @param companyNumber the company number of the company.
+     * @param chargeId      the chargeId.
+     * @return the charge etag, or empty if the charge does not exist.
+     */
+    public Optional<String> getChargeEtag(final String companyNumber, final String chargeId) {
+        try {
+            return chargesRepository.findChargeEtag(companyNumber, chargeId)
+                    .map(ChargesDocument::getData)
+                    .map(ChargeApi::getEtag);
+        } catch (DataAccessException ex) {
+            LOGGER.error("Error occurred during a DB call for GET charge etag", ex);
+            throw new ServiceUnavailableException("Error occurred during a DB call for GET charge etag");
+        }
+    }
+
+    /**
+     * Retrieve the etag of a page of a company's charges list where it is known without reading
+     * the charges, which is the case when the etag is derived from that of the (cached) company
+     * metrics and the request. When local counts are enabled the etag depends on the charges on
+     * the page, so none is returned.
+     *
+     * @param companyNumber   company Number.
+     * @param requestCriteria the page, filter and cursor of the request.
+     * @return the charges list etag, or empty if it cannot be known without reading the charges.
+     */
+    public Optional<String> findChargesEtag(final String companyNumber, final RequestCriteria requestCriteria) {
+        if (localCountsEnabled) {
+            return Optional.empty();
+        }
+        return joinMetrics(supplyAsync(() -> companyMetricsApiService.getCompanyMetrics(companyNumber),
+                metricsTimeout)).map(MetricsApi::getEtag)
+                .map(etag -> EtagUtils.buildPageEtag(etag, requestCriteria));
+    }
+
+    /**
+     * Find charges for company number. When the request criteria carries a cursor (an empty
+     * cursor requests the first page) the page is read with a keyset range query and the
+     * response carries the cursor for the following page, otherwise start_index is used. When
+     * local counts are enabled the counts and etag are derived from the company's charge counts
+     * rather than the company metrics API. The page, count and metrics lookups run concurrently,
+     * each with its own timeout. Pages are served from the charges page cache where present.
      *
      * @param companyNumber company Number.
      * @return charges.
      */
     public ChargesApi findCharges(final String companyNumber,
             final RequestCriteria requestCriteria) {
+        return chargesPageCache.get(companyNumber, requestCriteria,
+                () -> loadCharges(companyNumber, requestCriteria));
+    }
+
+    private ChargesApi loadCharges(final String companyNumber, final RequestCriteria requestCriteria) {
         try {
-            List<String> statusFilter = new ArrayList<>();
-            if ("outstanding".equals(requestCriteria.getFilter())) {
-                statusFilter.add(ChargeApi.StatusEnum.SATISFIED.toString());
-                statusFilter.add(ChargeApi.StatusEnum.FULLY_SATISFIED.toString());
-            }
-            ChargesAggregate chargesAggregate =
-                    chargesRepository.findCharges(companyNumber, statusFilter,
-                            Optional.ofNullable(requestCriteria.getStartIndex()).orElse(0),
-                            Math.min(Optional.ofNullable(requestCriteria.getItemsPerPage()).orElse(25), 100));
+            List<Boolean> outstandingFilter = outstandingFilter(requestCriteria);
+            int itemsPerPage = itemsPerPage(requestCriteria);
 
-            Optional<MetricsApi> companyMetrics =
-                    companyMetricsApiService.getCompanyMetrics(companyNumber);
+            ChargesApi chargesApi;
+            Supplier<List<ChargesDocument>> pageQuery;
+            if (requestCriteria.getCursor() == null) {
+                chargesApi = new ChargesApi();
+                int startIndex = Optional.ofNullable(requestCriteria.getStartIndex()).orElse(0);
+                pageQuery = () -> findPage(companyNumber, outstandingFilter, startIndex, itemsPerPage);
+            } else {
+                // decoded before any call is made so that a malformed cursor is rejected up front
+                ChargesCursor chargesCursor = requestCriteria.getCursor().isEmpty() ? null
+                        : ChargesCursor.decode(requestCriteria.getCursor());
+                CursorChargesApi cursorChargesApi = new CursorChargesApi();
+                pageQuery = () -> findChargesAfterCursor(companyNumber, outstandingFilter, chargesCursor,
+                        itemsPerPage, cursorChargesApi);
+                chargesApi = cursorChargesApi;
+            }
+            CompletableFuture<List<ChargesDocument>> chargesDocuments = supplyAsync(pageQuery, queryTimeout);
 
-            if (companyMetrics.isEmpty()) {
-                LOGGER.error("No company metrics data found for company", DataMapHolder.getLogMap());
+            if (localCountsEnabled) {
+                CompletableFuture<ChargeCountsDocument> counts =
+                        supplyAsync(() -> chargeCountsService.getCounts(companyNumber), queryTimeout);
+                return createChargesApi(companyNumber, chargesApi, joinQuery(chargesDocuments),
+                        requestCriteria, joinQuery(counts));
             }
-            return createChargesApi(chargesAggregate, companyMetrics);
+
+            CompletableFuture<Long> totalCount =
+                    supplyAsync(() -> chargeCountsService.countCharges(companyNumber, outstandingFilter),
+                            queryTimeout);
+            CompletableFuture<Optional<MetricsApi>> companyMetrics =
+                    supplyAsync(() -> companyMetricsApiService.getCompanyMetrics(companyNumber), metricsTimeout);
+
+            long count = joinQuery(totalCount);
+            return createChargesPage(chargesApi, joinQuery(chargesDocuments), count, joinMetrics(companyMetrics),
+                    requestCriteria, DataMapHolder.getLogMap());
         } catch (DataAccessException ex) {
             LOGGER.error("Error occurred during a DB call for GET charges", ex);
             throw new ServiceUnavailableException("Error occurred during a DB call for GET charges");
         }
     }
 
-    private ChargesApi createChargesApi(ChargesAggregate chargesAggregate,
+    /**
+     * The outstanding flags matched by the request's filter; the outstanding filter matches only
+     * outstanding charges.
+     */
+    static List<Boolean> outstandingFilter(RequestCriteria requestCriteria) {
+        return "outstanding".equals(requestCriteria.getFilter())
+                ? ChargesRepository.OUTSTANDING_ONLY : ChargesRepository.ALL_CHARGES;
+    }
+
+    /**
+     * The page size of the request, 25 by default and at most 100.
+     */
+    static int itemsPerPage(RequestCriteria requestCriteria) {
+        return Math.min(Optional.ofNullable(requestCriteria.getItemsPerPage()).orElse(25), 100);
+    }
+
+    private List<ChargesDocument> findChargesAfterCursor(String companyNumber, List<Boolean> outstandingFilter,
+            ChargesCursor chargesCursor, int itemsPerPage, CursorChargesApi cursorChargesApi) {
+        // one extra charge is read to tell whether a further page exists
+        List<ChargesDocument> chargesDocuments;
+        if (chargesCursor == null) {
+            chargesDocuments = findPage(companyNumber, outstandingFilter, 0, itemsPerPage + 1);
+        } else {
+            chargesDocuments = storedResponsesEnabled
+                    ? chargesRepository.findChargeResponsesAfter(companyNumber, outstandingFilter,
+                            chargesCursor.sortKey(), chargesCursor.id(), itemsPerPage + 1)
+                    : chargesRepository.findChargesAfter(companyNumber, outstandingFilter,
+                            chargesCursor.sortKey(), chargesCursor.id(), itemsPerPage + 1);
+        }
+
+        if (chargesDocuments.size() > itemsPerPage) {
+            chargesDocuments = chargesDocuments.subList(0, itemsPerPage);
+            cursorChargesApi.setNextCursor(ChargesCursor.of(chargesDocuments.getLast()).encode());
+        }
+        return chargesDocuments;
+    }
+
+    private List<ChargesDocument> findPage(String companyNumber, List<Boolean> outstandingFilter,
+            int startIndex, int pageSize) {
+        return storedResponsesEnabled
+                ? chargesRepository.findChargeResponses(companyNumber, outstandingFilter, startIndex, pageSize)
+                : chargesRepository.findCharges(companyNumber, outstandingFilter, startIndex, pageSize);
+    }
+
+    static ChargeApi toResponseItem(ChargesDocument chargesDocument) {
+        if (chargesDocument.getResponseJson() == null) {
+            return chargesDocument.getData();
+        }
+        return new StoredChargeApi(chargesDocument.getResponseJson(),
+                chargesDocument.getData() == null ? null : chargesDocument.getData().getEtag());
+    }
+
+    /**
+     * Run a lookup on the charges list executor. A lookup the executor has no capacity for fails
+     * as the service being unavailable, as does one which times out.
+     */
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> task, Duration timeout) {
+        try {
+            return CompletableFuture.supplyAsync(DataMapHolder.withContext(task), chargesListExecutor)
+                    .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            LOGGER.error("No capacity for a lookup for GET charges", DataMapHolder.getLogMap());
+            return CompletableFuture.failedFuture(
+                    new ServiceUnavailableException("No capacity for a lookup for GET charges"));
+        }
+    }
+
+    private static <T> T joinQuery(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof TimeoutException) {
+                LOGGER.error("Timed out during a DB call for GET charges", DataMapHolder.getLogMap());
+                throw new ServiceUnavailableException("Timed out during a DB call for GET charges");
+            }
+            throw unwrap(ex);
+        }
+    }
+
+    /**
+     * Join a company metrics lookup. The charges are served without metrics, so with zero counts and
+     * no etag, when the lookup times out or fails, including when it is rejected by the company
+     * metrics bulkhead or circuit breaker.
+     */
+    private static Optional<MetricsApi> joinMetrics(CompletableFuture<Optional<MetricsApi>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof TimeoutException) {
+                LOGGER.error("Timed out calling getCompanyMetrics endpoint", DataMapHolder.getLogMap());
+                return Optional.empty();
+            }
+            if (ex.getCause() instanceof RuntimeException cause) {
+                LOGGER.error("Company metrics unavailable: %s".formatted(cause.getMessage()),
+                        DataMapHolder.getLogMap());
+                return Optional.empty();
+            }
+            throw ex;
+        }
+    }
+
+    private static RuntimeException unwrap(CompletionException ex) {
+        return ex.getCause() instanceof RuntimeException cause ? cause : ex;
+    }
+
+    /**
+     * Assemble a page of charges whose counts are those of the company metrics, and whose etag is
+     * derived from that of the company metrics and the request, shared with
+     * {@link ReactiveChargesService}.
+     *
+     * @param chargesApi       the response to fill in.
+     * @param chargesDocuments the charges on the page.
+     * @param totalCount       the number of charges matched by the filter.
+     * @param metrics          the company metrics, or empty if they could not be read.
+     * @param requestCriteria  the page, filter and cursor of the request.
+     * @param logMap           the log context of the request.
+     * @return the page of charges.
+     */
+    static ChargesApi createChargesPage(ChargesApi chargesApi, List<ChargesDocument> chargesDocuments,
+            long totalCount, Optional<MetricsApi> metrics, RequestCriteria requestCriteria,
+            Map<String, Object> logMap) {
+        if (metrics.isEmpty()) {
+            LOGGER.error("No company metrics data found for company", logMap);
+        }
+        ChargesApi page = createChargesApi(chargesApi,
+                new ChargesAggregate(List.of(new TotalCharges(totalCount)), chargesDocuments), metrics);
+        page.setEtag(EtagUtils.buildPageEtag(page.getEtag(), requestCriteria));
+        return page;
+    }
+
+    static ChargesApi createChargesApi(ChargesApi chargesApi, ChargesAggregate chargesAggregate,
             Optional<MetricsApi> metrics) {
-        var chargesApi = new ChargesApi();
         chargesAggregate.getChargesDocuments().forEach(
-                charge -> chargesApi.addItemsItem(charge.getData()));
+                charge -> chargesApi.addItemsItem(toResponseItem(charge)));
 
         if (chargesAggregate.getTotalCharges().isEmpty()) {
             chargesApi.setTotalCount(0);
@@ -180,20 +441,77 @@ public class ChargesService {
         return chargesApi;
     }
 
-    private int integerDefaultZero(Integer integer) {
+    private ChargesApi createChargesApi(String companyNumber, ChargesApi chargesApi,
+            List<ChargesDocument> chargesDocuments, RequestCriteria requestCriteria, ChargeCountsDocument counts) {
+        chargesDocuments.forEach(charge -> chargesApi.addItemsItem(toResponseItem(charge)));
+
+        chargesApi.setTotalCount(ChargesRepository.OUTSTANDING_ONLY.equals(outstandingFilter(requestCriteria))
+                ? counts.getOutstandingCount() : counts.getTotalCount());
+        chargesApi.setSatisfiedCount(counts.getSatisfiedCount());
+        chargesApi.setPartSatisfiedCount(counts.getPartSatisfiedCount());
+        chargesApi.setUnfilteredCount(counts.getTotalCount());
+        chargesApi.setEtag(EtagUtils.buildPageEtag(EtagUtils.buildListEtag(chargesApi), requestCriteria));
+
+        if (metricsCrossCheckEnabled) {
+            crossCheckCompanyMetrics(companyNumber, counts);
+        }
+        return chargesApi;
+    }
+
+    private void crossCheckCompanyMetrics(String companyNumber, ChargeCountsDocument counts) {
+        try {
+            companyMetricsApiService.getCompanyMetrics(companyNumber)
+                    .map(MetricsApi::getMortgage)
+                    .filter(mortgage -> integerDefaultZero(mortgage.getTotalCount()) != counts.getTotalCount()
+                            || integerDefaultZero(mortgage.getSatisfiedCount()) != counts.getSatisfiedCount()
+                            || integerDefaultZero(mortgage.getPartSatisfiedCount()) != counts.getPartSatisfiedCount())
+                    .ifPresent(mortgage -> LOGGER.info(String.format("Charge counts differ from company metrics; "
+                                    + "local total/satisfied/part satisfied: [%d/%d/%d], metrics: [%s/%s/%s]",
+                            counts.getTotalCount(), counts.getSatisfiedCount(), counts.getPartSatisfiedCount(),
+                            mortgage.getTotalCount(), mortgage.getSatisfiedCount(), mortgage.getPartSatisfiedCount()),
+                            DataMapHolder.getLogMap()));
+        } catch (RuntimeException ex) {
+            LOGGER.error("Error occurred cross-checking charge counts with company metrics", ex,
+                    DataMapHolder.getLogMap());
+        }
+    }
+
+    private static int integerDefaultZero(Integer integer) {
         return integer == null ? 0 : integer;
     }
 
-    private void saveAndInvokeChsKafkaApi(String contextId, String companyNumber,
-            String chargeId, ChargesDocument charges) {
-        chargesRepository.save(charges);
+    /**
+     * Record a charge change written outside a transaction in the company's charge counts. The
+     * company's cached metrics and pages are evicted even when recording the change fails, since
+     * the charge is already written and a retry of the request finds nothing left to write.
+     */
+    private void recordChangeAndEvict(String companyNumber, ChargeApi previousCharge, ChargeApi charge) {
+        try {
+            chargeCountsService.recordChange(companyNumber, previousCharge, charge);
+        } finally {
+            evictCaches(companyNumber);
+        }
+    }
+
+    private void evictCaches(String companyNumber) {
+        companyMetricsApiService.evictCompanyMetrics(companyNumber);
+        chargesPageCache.invalidate(companyNumber);
+    }
+
+    private void invokeChsKafkaApi(String contextId, String companyNumber, String chargeId) {
+        if (resourceChangedOutbox.isEnabled()) {
+            LOGGER.info("Resource changed event queued", DataMapHolder.getLogMap());
+            return;
+        }
         chargesApiService.invokeChsKafkaApi(new ResourceChangedRequest(contextId, chargeId, companyNumber,
                 null, false));
         LOGGER.info("ChsKafka api CHANGED invoked successfully", DataMapHolder.getLogMap());
     }
 
     /**
-     * Delete charge from company mortgages.
+     * Delete charge from company mortgages. When the outbox is enabled the resource changed
+     * event is queued, and the company's charge counts updated, in the same transaction as the
+     * delete, rather than after it.
      *
      * @param contextId the x-request-id.
      * @param chargeId  the charge identifier.
@@ -207,28 +525,38 @@ public class ChargesService {
         }
 
         try {
-            Optional<ChargesDocument> chargesDocumentOptional = chargesRepository.findById(chargeId);
-
-            chargesDocumentOptional.ifPresentOrElse(doc -> {
-                OffsetDateTime existingDeltaAt = doc.getDeltaAt();
-                if (DateUtils.isDeltaStale(requestDeltaAt, existingDeltaAt)) {
-                    LOGGER.error(String.format("Stale delta received; request delta_at: [%s] is not after existing delta_at: [%s]",
-                            requestDeltaAt, existingDeltaAt));
-                    throw new ConflictException("Stale delta received.");
-                }
+            Optional<ChargesDocument> deletedDocument;
+            if (resourceChangedOutbox.isEnabled()) {
+                deletedDocument = resourceChangedOutbox.inTransaction(() -> {
+                    Optional<ChargesDocument> deleted = deleteIfNotStale(chargeId, requestDeltaAt);
+                    deleted.ifPresent(document -> chargeCountsService.recordChange(companyNumber,
+                            document.getData(), null));
+                    resourceChangedOutbox.enqueue(new ResourceChangedRequest(contextId, chargeId, companyNumber,
+                            deleted.map(ChargesDocument::getData).orElse(null), true));
+                    return deleted;
+                });
+                deletedDocument.ifPresent(document -> evictCaches(companyNumber));
+            } else {
+                deletedDocument = deleteIfNotStale(chargeId, requestDeltaAt);
+                deletedDocument.ifPresent(document -> recordChangeAndEvict(companyNumber,
+                        document.getData(), null));
+            }
 
-                chargesRepository.deleteById(chargeId);
+            ChargeApi deletedCharge = null;
+            if (deletedDocument.isPresent()) {
+                deletedCharge = deletedDocument.get().getData();
                 LOGGER.info("Company charge deleted successfully in MongoDB", DataMapHolder.getLogMap());
-
-                chargesApiService.invokeChsKafkaApiDelete(new ResourceChangedRequest(contextId, chargeId,
-                        companyNumber, doc.getData(), true));
-            }, () -> {
+            } else {
                 LOGGER.info(String.format("Company charge doesn't exist in company mortgages "
                         + "with %s header x-request-id %s", chargeId, contextId));
+            }
 
-                chargesApiService.invokeChsKafkaApiDelete(new ResourceChangedRequest(contextId, chargeId,
-                        companyNumber, null, true));
-            });
+            if (resourceChangedOutbox.isEnabled()) {
+                LOGGER.info("Resource changed event queued", DataMapHolder.getLogMap());
+                return;
+            }
+            chargesApiService.invokeChsKafkaApiDelete(new ResourceChangedRequest(contextId, chargeId,
+                    companyNumber, deletedCharge, true));
             LOGGER.info("ChsKafka api DELETED invoked successfully", DataMapHolder.getLogMap());
         } catch (DataAccessException dbException) {
             LOGGER.error("Error occurred during a DB call for delete", DataMapHolder.getLogMap());
@@ -236,4 +564,17 @@ public class ChargesService {
         }
     }
 
+    private Optional<ChargesDocument> deleteIfNotStale(String chargeId, String requestDeltaAt) {
+        Optional<ChargesDocument> deletedDocument =
+                chargesRepository.deleteIfNotStale(chargeId, DateUtils.parseDeltaAt(requestDeltaAt));
+        if (deletedDocument.isEmpty()) {
+            chargesRepository.findDeltaAtById(chargeId).ifPresent(doc -> {
+                LOGGER.error(String.format("Stale delta received; request delta_at: [%s] is not after existing delta_at: [%s]",
+                        requestDeltaAt, doc.getDeltaAt()));
+                throw new ConflictException("Stale delta received.");
+            });
+        }
+        return deletedDocument;
+    }
+
 }
@@ -0,0 +1,210 @@
+package uk.gov.companieshouse.charges.data.service;
+
+import static uk.gov.companieshouse.charges.data.ChargesDataApiApplication.NAMESPACE;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import uk.gov.companieshouse.api.charges.ChargeApi;
+import uk.gov.companieshouse.api.charges.ChargesApi;
+import uk.gov.companieshouse.api.metrics.MetricsApi;
+import uk.gov.companieshouse.charges.data.api.CompanyMetricsApiService;
+import uk.gov.companieshouse.charges.data.api.CompanyMetricsAsyncClient;
+import uk.gov.companieshouse.charges.data.exception.NotFoundException;
+import uk.gov.companieshouse.charges.data.exception.ServiceUnavailableException;
+import uk.gov.companieshouse.charges.data.logging.DataMapHolder;
+import uk.gov.companieshouse.charges.data.model.ChargesDocument;
+import uk.gov.companieshouse.charges.data.model.RequestCriteria;
+import uk.gov.companieshouse.charges.data.repository.ReactiveChargeCountsRepository;
+import uk.gov.companieshouse.charges.data.repository.ReactiveChargesRepository;
+import uk.gov.companieshouse.charges.data.util.EtagUtils;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * Non-blocking implementation of the charge reads of {@link ChargesService}, returning the same
+ * responses. The page, count and company metrics lookups are made concurrently without holding a
+ * thread while they are outstanding, and charges are converted to response items as they are read.
+ * Cursor pages and pages with local counts are served by {@link ChargesService} off the request
+ * thread. Other pages share the charges page cache, and the assembly of the page, with
+ * {@link ChargesService}. The log context is captured when each lookup is assembled, on the
+ * request thread.
+ */
+@Service
+@Profile("reactive-reads")
+public class ReactiveChargesService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+
+    private final ReactiveChargesRepository chargesRepository;
+    private final ReactiveChargeCountsRepository chargeCountsRepository;
+    private final ChargesService chargesService;
+    private final CompanyMetricsApiService companyMetricsApiService;
+    private final CompanyMetricsAsyncClient companyMetricsAsyncClient;
+    private final ChargesPageCache chargesPageCache;
+    private final Executor chargesListExecutor;
+    private final Duration queryTimeout;
+    private final Duration metricsTimeout;
+    private final boolean localCountsEnabled;
+    private final boolean storedResponsesEnabled;
+
+    /**
+     * ReactiveChargesService constructor.
+     */
+    public ReactiveChargesService(ReactiveChargesRepository chargesRepository,
+            ReactiveChargeCountsRepository chargeCountsRepository,
+            ChargesService chargesService,
+            CompanyMetricsApiService companyMetricsApiService,
+            CompanyMetricsAsyncClient companyMetricsAsyncClient,
+            ChargesPageCache chargesPageCache,
+            @Qualifier("chargesListExecutor") Executor chargesListExecutor,
+            @Value("${charges.list.query-timeout:5s}") Duration queryTimeout,
+            @Value("${charges.list.metrics-timeout:2s}") Duration metricsTimeout,
+            @Value("${charges.list.local-counts.enabled:false}") boolean localCountsEnabled,
+            @Value("${charges.stored-responses.enabled:false}") boolean storedResponsesEnabled) {
+        this.chargesRepository = chargesRepository;
+        this.chargeCountsRepository = chargeCountsRepository;
+        this.chargesService = chargesService;
+        this.companyMetricsApiService = companyMetricsApiService;
+        this.companyMetricsAsyncClient = companyMetricsAsyncClient;
+        this.chargesPageCache = chargesPageCache;
+        this.chargesListExecutor = chargesListExecutor;
+        this.queryTimeout = queryTimeout;
+        this.metricsTimeout = metricsTimeout;
+        this.localCountsEnabled = localCountsEnabled;
+        this.storedResponsesEnabled = storedResponsesEnabled;
+    }
+
+    /**
+     * Retrieve a company charge details, as {@link ChargesService#getChargeDetails}.
+     *
+     * @param companyNumber the company number of the company.
+     * @param chargeId      the chargeId.
+     * @return charge details.
+     */
+    public Mono<ChargeApi> getChargeDetails(final String companyNumber, final String chargeId) {
+        Map<String, Object> logMap = DataMapHolder.getLogMap();
+        Mono<ChargesDocument> chargesDocument = storedResponsesEnabled
+                ? chargesRepository.findChargeResponse(companyNumber, chargeId)
+                : chargesRepository.findChargeDetails(companyNumber, chargeId);
+        return chargesDocument
+                .map(ChargesService::toResponseItem)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException(
+                        String.format(ChargesService.GET_CHARGE_MESSAGE, chargeId, companyNumber))))
+                .onErrorMap(DataAccessException.class, ex -> dbError("GET charge", ex, logMap));
+    }
+
+    /**
+     * Retrieve the etag of a company charge, as {@link ChargesService#getChargeEtag}.
+     *
+     * @param companyNumber the company number of the company.
+     * @param chargeId      the chargeId.
+     * @return the charge etag, or empty if the charge does not exist.
+     */
+    public Mono<String> getChargeEtag(final String companyNumber, final String chargeId) {
+        Map<String, Object> logMap = DataMapHolder.getLogMap();
+        return chargesRepository.findChargeEtag(companyNumber, chargeId)
+                .mapNotNull(ChargesDocument::getData)
+                .mapNotNull(ChargeApi::getEtag)
+                .onErrorMap(DataAccessException.class, ex -> dbError("GET charge etag", ex, logMap));
+    }
+
+    /**
+     * Retrieve the etag of a company's charges list where it is known without reading the
+     * charges, as {@link ChargesService#findChargesEtag}.
+     *
+     * @param companyNumber   company Number.
+     * @param requestCriteria the page, filter and cursor of the request.
+     * @return the charges list etag, or empty if it cannot be known without reading the charges.
+     */
+    public Mono<String> findChargesEtag(final String companyNumber, final RequestCriteria requestCriteria) {
+        if (localCountsEnabled) {
+            return Mono.empty();
+        }
+        return companyMetrics(companyNumber, DataMapHolder.getLogMap())
+                .flatMap(metrics -> Mono.justOrEmpty(metrics.map(MetricsApi::getEtag)))
+                .map(etag -> EtagUtils.buildPageEtag(etag, requestCriteria));
+    }
+
+    /**
+     * Find charges for company number, as {@link ChargesService#findCharges}.
+     *
+     * @param companyNumber   company Number.
+     * @param requestCriteria the page, filter and cursor of the request.
+     * @return charges.
+     */
+    public Mono<ChargesApi> findCharges(final String companyNumber, final RequestCriteria requestCriteria) {
+        if (requestCriteria.getCursor() != null || localCountsEnabled) {
+            return Mono.fromSupplier(DataMapHolder.withContext(
+                            () -> chargesService.findCharges(companyNumber, requestCriteria)))
+                    .subscribeOn(Schedulers.fromExecutor(chargesListExecutor));
+        }
+
+        ChargesApi cached = chargesPageCache.getIfPresent(companyNumber, requestCriteria);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        Map<String, Object> logMap = DataMapHolder.getLogMap();
+        List<Boolean> outstandingFilter = ChargesService.outstandingFilter(requestCriteria);
+        int itemsPerPage = ChargesService.itemsPerPage(requestCriteria);
+        int startIndex = Optional.ofNullable(requestCriteria.getStartIndex()).orElse(0);
+        long versionBeforeLoad = chargesPageCache.version();
+
+        Flux<ChargesDocument> page = storedResponsesEnabled
+                ? chargesRepository.findChargeResponses(companyNumber, outstandingFilter, startIndex, itemsPerPage)
+                : chargesRepository.findCharges(companyNumber, outstandingFilter, startIndex, itemsPerPage);
+        Mono<Long> totalCount = chargeCountsRepository.findById(companyNumber)
+                .map(counts -> ChargeCountsService.count(counts, outstandingFilter))
+                .switchIfEmpty(Mono.defer(() -> chargesRepository.countCharges(companyNumber, outstandingFilter)));
+
+        return Mono.zip(page.collectList().timeout(queryTimeout), totalCount.timeout(queryTimeout),
+                        companyMetrics(companyNumber, logMap))
+                .map(results -> ChargesService.createChargesPage(new ChargesApi(), results.getT1(),
+                        results.getT2(), results.getT3(), requestCriteria, logMap))
+                .doOnNext(chargesApi -> chargesPageCache.put(companyNumber, requestCriteria, chargesApi,
+                        versionBeforeLoad))
+                .onErrorMap(TimeoutException.class, ex -> {
+                    LOGGER.error("Timed out during a DB call for GET charges", logMap);
+                    return new ServiceUnavailableException("Timed out during a DB call for GET charges");
+                })
+                .onErrorMap(DataAccessException.class, ex -> dbError("GET charges", ex, logMap));
+    }
+
+    /**
+     * Look up company metrics through the shared cache, bulkhead and circuit breaker. As on the
+     * blocking path the charges are served without metrics when the lookup times out or fails.
+     * The lookup is not cancelled on timeout, since other requests may be waiting on it.
+     */
+    private Mono<Optional<MetricsApi>> companyMetrics(String companyNumber, Map<String, Object> logMap) {
+        String requestId = DataMapHolder.getRequestId();
+        return Mono.fromFuture(() -> companyMetricsApiService.getCompanyMetricsAsync(companyNumber,
+                        number -> companyMetricsAsyncClient.fetchCompanyMetrics(number, requestId)), true)
+                .timeout(metricsTimeout)
+                .onErrorResume(ex -> {
+                    if (ex instanceof TimeoutException) {
+                        LOGGER.error("Timed out calling getCompanyMetrics endpoint", logMap);
+                    } else {
+                        LOGGER.error("Company metrics unavailable: %s".formatted(ex.getMessage()), logMap);
+                    }
+                    return Mono.just(Optional.empty());
+                });
+    }
+
+    private static ServiceUnavailableException dbError(String call, DataAccessException ex,
+            Map<String, Object> logMap) {
+        LOGGER.error("Error occurred during a DB call for %s".formatted(call), ex, logMap);
+        return new ServiceUnavailableException("Error occurred during a DB call for %s".formatted(call));
+    }
+}
@@ -0,0 +1,206 @@
+package uk.gov.companieshouse.charges.data.service;
+
+import static uk.gov.companieshouse.charges.data.ChargesDataApiApplication.NAMESPACE;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.charges.data.api.ChargesApiService;
+import uk.gov.companieshouse.charges.data.logging.DataMapHolder;
+import uk.gov.companieshouse.charges.data.model.ResourceChangedOutboxDocument;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * Sends the resource changed events queued in the outbox to chs-kafka-api, in batches, removing
+ * each event once it has been sent. A company's events are sent in the order of their sequence,
+ * which is the order their transactions committed: each batch holds only the first event of each
+ * company, and only where that event is due, so a failed event holds back its own company's later
+ * events, with exponential backoff, but never takes the place of another company's events. An
+ * event which still fails after the maximum number of attempts is parked: it is marked as failed
+ * and left in the outbox for investigation, and the company's later events are sent. Each event is
+ * leased before it is sent so that instances do not send it at the same time; an event whose
+ * removal fails is sent again, unchanged, once its lease expires. Each event is sent, and logged,
+ * with the request id of the request which queued it.
+ */
+@Component
+@ConditionalOnProperty(name = "chs.kafka.outbox.enabled", havingValue = "true")
+public class ResourceChangedDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+
+    private final MongoTemplate mongoTemplate;
+    private final ChargesApiService chargesApiService;
+    private final Supplier<Instant> instantSupplier;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+    private volatile Thread dispatcherThread;
+
+    public ResourceChangedDispatcher(MongoTemplate mongoTemplate, ChargesApiService chargesApiService,
+            Supplier<Instant> instantSupplier,
+            @Value("${chs.kafka.outbox.batch-size:100}") int batchSize,
+            @Value("${chs.kafka.outbox.poll-interval:1s}") Duration pollInterval,
+            @Value("${chs.kafka.outbox.lease:30s}") Duration lease,
+            @Value("${chs.kafka.outbox.initial-backoff:1s}") Duration initialBackoff,
+            @Value("${chs.kafka.outbox.max-backoff:5m}") Duration maxBackoff,
+            @Value("${chs.kafka.outbox.max-attempts:20}") int maxAttempts) {
+        this.mongoTemplate = mongoTemplate;
+        this.chargesApiService = chargesApiService;
+        this.instantSupplier = instantSupplier;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        dispatcherThread = Thread.ofVirtual().name("resource-changed-dispatcher").start(this::run);
+    }
+
+    /**
+     * Stop sending events.
+     */
+    @PreDestroy
+    public void stop() {
+        Thread thread = dispatcherThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            int dispatched = 0;
+            try {
+                dispatched = dispatchBatch();
+            } catch (DataAccessException ex) {
+                LOGGER.error("Error occurred reading the resource changed outbox", ex);
+            }
+            if (dispatched == 0) {
+                try {
+                    Thread.sleep(pollInterval);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Send the first event of each company, where it is due.
+     *
+     * @return the number of events sent.
+     */
+    int dispatchBatch() {
+        Instant now = instantSupplier.get();
+        int dispatched = 0;
+        for (ResourceChangedOutboxDocument event : findDueHeads(now)) {
+            if (lease(event, now) && dispatch(event, now)) {
+                dispatched++;
+            }
+        }
+        return dispatched;
+    }
+
+    /**
+     * Find the first unparked event of each company, keeping only those which are due, oldest
+     * first. A company whose first event is backing off or leased is left out of the batch
+     * altogether.
+     */
+    private List<ResourceChangedOutboxDocument> findDueHeads(Instant now) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("failed_at").exists(false)),
+                Aggregation.sort(Sort.by("company_number", "sequence", "_id")),
+                Aggregation.group("company_number").first(Aggregation.ROOT).as("head"),
+                Aggregation.replaceRoot("head"),
+                Aggregation.match(Criteria.where("next_attempt_at").lte(now).and("locked_until").lte(now)),
+                context -> new Document("$sort", new Document("_id", 1)),
+                Aggregation.limit(batchSize))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        return mongoTemplate.aggregate(aggregation,
+                mongoTemplate.getCollectionName(ResourceChangedOutboxDocument.class),
+                ResourceChangedOutboxDocument.class).getMappedResults();
+    }
+
+    private boolean lease(ResourceChangedOutboxDocument event, Instant now) {
+        return mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(event.getId()).and("locked_until").lte(now)),
+                Update.update("locked_until", now.plus(lease)),
+                ResourceChangedOutboxDocument.class).getModifiedCount() == 1;
+    }
+
+    private boolean dispatch(ResourceChangedOutboxDocument event, Instant now) {
+        DataMapHolder.initialise(event.getRequestId());
+        try {
+            return send(event, now);
+        } finally {
+            DataMapHolder.clear();
+        }
+    }
+
+    private boolean send(ResourceChangedOutboxDocument event, Instant now) {
+        try {
+            chargesApiService.postChangedResource(event.getChangedResource());
+        } catch (RuntimeException ex) {
+            int attempts = event.getAttempts() + 1;
+            if (attempts >= maxAttempts) {
+                park(event, attempts, now, ex);
+                return false;
+            }
+            Instant nextAttemptAt = now.plus(backoff(attempts));
+            LOGGER.error(String.format("Error occurred sending resource changed event for company %s, "
+                    + "attempt %d, retrying at %s", event.getCompanyNumber(), attempts, nextAttemptAt), ex,
+                    DataMapHolder.getLogMap());
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(event.getId())),
+                    new Update()
+                            .set("attempts", attempts)
+                            .set("next_attempt_at", nextAttemptAt)
+                            .set("locked_until", Instant.EPOCH),
+                    ResourceChangedOutboxDocument.class);
+            return false;
+        }
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(event.getId())), ResourceChangedOutboxDocument.class);
+        LOGGER.info(String.format("Resource changed event sent for company %s", event.getCompanyNumber()),
+                DataMapHolder.getLogMap());
+        return true;
+    }
+
+    private void park(ResourceChangedOutboxDocument event, int attempts, Instant now, RuntimeException ex) {
+        LOGGER.error(String.format("Resource changed event for company %s failed after %d attempts, parking "
+                + "event %s", event.getCompanyNumber(), attempts, event.getId()), ex, DataMapHolder.getLogMap());
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(event.getId())),
+                new Update()
+                        .set("attempts", attempts)
+                        .set("failed_at", now)
+                        .set("locked_until", Instant.EPOCH),
+                ResourceChangedOutboxDocument.class);
+    }
+
+    Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
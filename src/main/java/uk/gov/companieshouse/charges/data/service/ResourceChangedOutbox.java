@@ -0,0 +1,198 @@
+package uk.gov.companieshouse.charges.data.service;
+
+import static uk.gov.companieshouse.charges.data.ChargesDataApiApplication.NAMESPACE;
+
+import com.mongodb.MongoException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.companieshouse.charges.data.logging.DataMapHolder;
+import uk.gov.companieshouse.charges.data.model.ResourceChangedOutboxDocument;
+import uk.gov.companieshouse.charges.data.model.ResourceChangedRequest;
+import uk.gov.companieshouse.charges.data.model.ResourceChangedSequenceDocument;
+import uk.gov.companieshouse.charges.data.transform.ResourceChangedRequestMapper;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * Queues resource changed events in the outbox collection, in the same transaction as the charge
+ * change they describe, for {@link ResourceChangedDispatcher} to send to chs-kafka-api. The event
+ * is mapped when it is queued, so a redelivered event is identical to the first delivery. Each
+ * event takes the next number of its company's sequence, incremented in the same transaction, so
+ * a company's events are numbered in the order their transactions commit: a concurrent transaction
+ * queueing an event for the same company conflicts on the sequence rather than committing out of
+ * order. Mongo aborts the conflicting transaction with a transient transaction error, so the whole
+ * transaction is run again, and a commit whose result is unknown is committed again, each up to
+ * the configured number of attempts.
+ */
+@Component
+public class ResourceChangedOutbox {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+
+    private final MongoTemplate mongoTemplate;
+    private final ResourceChangedRequestMapper mapper;
+    private final Supplier<Instant> instantSupplier;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int transactionAttempts;
+
+    @Autowired
+    public ResourceChangedOutbox(MongoTemplate mongoTemplate, MongoDatabaseFactory mongoDatabaseFactory,
+            ResourceChangedRequestMapper mapper, Supplier<Instant> instantSupplier,
+            @Value("${chs.kafka.outbox.enabled:false}") boolean enabled,
+            @Value("${chs.kafka.outbox.transaction-attempts:3}") int transactionAttempts) {
+        this(mongoTemplate, mapper, instantSupplier, new TransactionTemplate(
+                new RetryingCommitTransactionManager(mongoDatabaseFactory, transactionAttempts)),
+                enabled, transactionAttempts);
+    }
+
+    ResourceChangedOutbox(MongoTemplate mongoTemplate, ResourceChangedRequestMapper mapper,
+            Supplier<Instant> instantSupplier, TransactionTemplate transactionTemplate, boolean enabled,
+            int transactionAttempts) {
+        this.mongoTemplate = mongoTemplate;
+        this.mapper = mapper;
+        this.instantSupplier = instantSupplier;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.transactionAttempts = transactionAttempts;
+    }
+
+    /**
+     * Whether resource changed events are queued in the outbox rather than sent on the request.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Run a charge change and the queueing of its event in one transaction. The action is run
+     * again, in a new transaction, when the transaction fails with a transient transaction error,
+     * such as a write conflict with a concurrent change to the same company, so it must only
+     * change the database.
+     *
+     * @param action the charge change.
+     * @return the result of the action.
+     */
+    public <T> T inTransaction(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (RuntimeException ex) {
+                if (attempt >= transactionAttempts
+                        || !hasErrorLabel(ex, MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+                    throw ex;
+                }
+                LOGGER.info(String.format("Transient transaction error on attempt %d, retrying", attempt),
+                        DataMapHolder.getLogMap());
+            }
+        }
+    }
+
+    /**
+     * Queue a resource changed event.
+     *
+     * @param request the resource changed request.
+     */
+    public void enqueue(ResourceChangedRequest request) {
+        mongoTemplate.insert(toDocument(request, nextSequence(request.companyNumber(), 1)));
+    }
+
+    /**
+     * Queue many resource changed events in a single insert, in the order given.
+     *
+     * @param requests the resource changed requests.
+     */
+    public void enqueueAll(List<ResourceChangedRequest> requests) {
+        if (requests.isEmpty()) {
+            return;
+        }
+        // reserve each company's numbers at once, then number its events in the order given
+        Map<String, Long> nextSequences = new LinkedHashMap<>();
+        requests.forEach(request -> nextSequences.merge(request.companyNumber(), 1L, Long::sum));
+        nextSequences.replaceAll(this::nextSequence);
+        List<ResourceChangedOutboxDocument> documents = new ArrayList<>(requests.size());
+        for (ResourceChangedRequest request : requests) {
+            long sequence = nextSequences.merge(request.companyNumber(), 1L, Long::sum) - 1;
+            documents.add(toDocument(request, sequence));
+        }
+        mongoTemplate.insertAll(documents);
+    }
+
+    /**
+     * Reserve the next numbers of a company's sequence.
+     *
+     * @return the first of the numbers reserved.
+     */
+    private long nextSequence(String companyNumber, long count) {
+        ResourceChangedSequenceDocument sequence = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(companyNumber)),
+                new Update().inc("sequence", count),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                ResourceChangedSequenceDocument.class);
+        return sequence.getSequence() - count + 1;
+    }
+
+    private ResourceChangedOutboxDocument toDocument(ResourceChangedRequest request, long sequence) {
+        return new ResourceChangedOutboxDocument()
+                .setCompanyNumber(request.companyNumber())
+                .setSequence(sequence)
+                .setRequestId(DataMapHolder.getRequestId())
+                .setChangedResource(Boolean.TRUE.equals(request.isDelete())
+                        ? mapper.mapDeletedEvent(request) : mapper.mapChangedEvent(request))
+                .setNextAttemptAt(instantSupplier.get())
+                .setLockedUntil(Instant.EPOCH);
+    }
+
+    private static boolean hasErrorLabel(Throwable ex, String label) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongoException && mongoException.hasErrorLabel(label)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Commits again while the result of the commit is unknown, since committing a transaction
+     * which has already committed succeeds.
+     */
+    private static final class RetryingCommitTransactionManager extends MongoTransactionManager {
+
+        private final int attempts;
+
+        RetryingCommitTransactionManager(MongoDatabaseFactory mongoDatabaseFactory, int attempts) {
+            super(mongoDatabaseFactory);
+            this.attempts = attempts;
+        }
+
+        @Override
+        protected void doCommit(MongoTransactionObject transactionObject) throws Exception {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    transactionObject.commitTransaction();
+                    return;
+                } catch (MongoException ex) {
+                    if (attempt >= attempts
+                            || !ex.hasErrorLabel(MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL)) {
+                        throw ex;
+                    }
+                }
+            }
+        }
+    }
+}
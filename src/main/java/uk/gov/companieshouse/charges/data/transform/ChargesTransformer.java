@@ -2,14 +2,22 @@ package uk.gov.companieshouse.charges.data.transform;
 
 import static uk.gov.companieshouse.charges.data.ChargesDataApiApplication.NAMESPACE;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import uk.gov.companieshouse.GenerateEtagUtil;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
 import uk.gov.companieshouse.api.charges.InternalChargeApi;
+import uk.gov.companieshouse.charges.data.exception.SerDesException;
 import uk.gov.companieshouse.charges.data.logging.DataMapHolder;
+import uk.gov.companieshouse.charges.data.model.ChargeCounts;
 import uk.gov.companieshouse.charges.data.model.ChargesDocument;
 import uk.gov.companieshouse.charges.data.model.ChargesDocument.Updated;
+import uk.gov.companieshouse.charges.data.util.EtagUtils;
+import uk.gov.companieshouse.charges.data.util.SortKeyUtils;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.logging.LoggerFactory;
 
@@ -20,8 +28,27 @@ public class ChargesTransformer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
 
+    private final ObjectMapper objectMapper;
+    private final JsonMapper responseJsonMapper;
+    private final boolean storedResponsesEnabled;
+
+    /**
+     * ChargesTransformer constructor. When stored responses are enabled the response JSON of each
+     * charge is rendered with the JSON mapper of the web layer and stored alongside its data, so
+     * that serving it is byte for byte the same as serialising the charge.
+     */
+    public ChargesTransformer(ObjectMapper objectMapper, JsonMapper responseJsonMapper,
+            @Value("${charges.stored-responses.enabled:false}") boolean storedResponsesEnabled) {
+        this.objectMapper = objectMapper;
+        this.responseJsonMapper = responseJsonMapper;
+        this.storedResponsesEnabled = storedResponsesEnabled;
+    }
+
     /**
-     * Transform the incoming model to wrapper to be used to store in DB collection.
+     * Transform the incoming model to wrapper to be used to store in DB collection. The content
+     * hash and the etag of the charge are both taken from its content without an etag, so that
+     * identical charges have identical hashes and etags, and replacing a charge with an identical
+     * one leaves its etag as it was.
      *
      * @param companyNumber company number.
      * @param requestBody   incoming request.
@@ -34,14 +61,32 @@ public class ChargesTransformer {
         String by = requestBody.getInternalData().getUpdatedBy();
         OffsetDateTime deltaAt = requestBody.getInternalData().getDeltaAt();
         var externalData = requestBody.getExternalData();
-        externalData.setEtag(GenerateEtagUtil.generateEtag());
+        externalData.setEtag(null);
+        byte[] content;
+        try {
+            content = objectMapper.writeValueAsBytes(externalData);
+        } catch (JsonProcessingException ex) {
+            throw new SerDesException("Failed to render charge content hash", ex);
+        }
+        String contentHash = EtagUtils.buildContentHash(content);
+        externalData.setEtag(EtagUtils.buildContentEtag(content));
         final Updated updated =
                 new Updated().setAt(LocalDateTime.now()).setType(type).setBy(by);
         var chargesDocument = new ChargesDocument().setId(chargeId)
                 .setCompanyNumber(companyNumber)
                 .setData(externalData)
                 .setDeltaAt(deltaAt)
-                .setUpdated(updated);
+                .setUpdated(updated)
+                .setSortKey(SortKeyUtils.buildSortKey(externalData))
+                .setOutstanding(ChargeCounts.isOutstanding(externalData.getStatus()))
+                .setContentHash(contentHash);
+        if (storedResponsesEnabled) {
+            try {
+                chargesDocument.setResponseJson(responseJsonMapper.writeValueAsBytes(externalData));
+            } catch (JacksonException ex) {
+                throw new SerDesException("Failed to render charge response JSON", ex);
+            }
+        }
         LOGGER.debug("Transformation complete successfully", DataMapHolder.getLogMap());
         return chargesDocument;
     }
@@ -1,6 +1,5 @@
 package uk.gov.companieshouse.charges.data.transform;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.Instant;
 import java.util.function.Supplier;
@@ -34,11 +33,9 @@ public class ResourceChangedRequestMapper {
     public ChangedResource mapDeletedEvent(ResourceChangedRequest request) {
         ChangedResource changedResource = buildChangedResource(DELETED, request);
         try {
-            Object dataAsObject = objectMapper.readValue(
-                    objectMapper.writeValueAsString(request.data()), Object.class
-            );
-            changedResource.setDeletedData(dataAsObject);
-        } catch (JsonProcessingException ex) {
+            // converted to a map tree through a token buffer, without rendering the charge as a string
+            changedResource.setDeletedData(objectMapper.convertValue(request.data(), Object.class));
+        } catch (IllegalArgumentException ex) {
             throw new SerDesException("Failed to serialise/deserialise data", ex);
         }
         return changedResource;
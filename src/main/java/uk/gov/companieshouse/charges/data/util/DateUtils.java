@@ -56,6 +56,15 @@ public class DateUtils {
         return publishedAtDateTimeFormatter.format(now.atZone(ZoneOffset.UTC));
     }
 
+    /**
+     * Parse a delta_at in the yyyyMMddHHmmssSSSSSS format used by delete requests.
+     * @param deltaAt delta_at as string.
+     * @return delta_at in UTC.
+     */
+    public static OffsetDateTime parseDeltaAt(final String deltaAt) {
+        return OffsetDateTime.parse(deltaAt, FORMATTER);
+    }
+
     public static boolean isDeltaStale(final String requestDeltaAt, final String existingDeltaAt) {
         return StringUtils.isNotBlank(existingDeltaAt) && OffsetDateTime.parse(requestDeltaAt, FORMATTER)
                 .isBefore(OffsetDateTime.parse(existingDeltaAt, FORMATTER));
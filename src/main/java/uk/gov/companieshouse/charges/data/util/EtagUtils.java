@@ -0,0 +1,125 @@
+package uk.gov.companieshouse.charges.data.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import uk.gov.companieshouse.api.charges.ChargeApi;
+import uk.gov.companieshouse.api.charges.ChargesApi;
+import uk.gov.companieshouse.charges.data.model.RequestCriteria;
+
+public class EtagUtils {
+
+    static final String ETAG_ALGORITHM = "SHA-1";
+    static final String CONTENT_HASH_ALGORITHM = "SHA-256";
+
+    private EtagUtils() {
+    }
+
+    /**
+     * Build a deterministic etag for a charges list from its counts and the etags of its items,
+     * so the etag changes whenever any charge on the page or any of the company's counts change.
+     * @param chargesApi the charges list, with counts and items populated.
+     * @return etag as a lower case hex string.
+     */
+    public static String buildListEtag(ChargesApi chargesApi) {
+        MessageDigest digest = newDigest();
+        update(digest, chargesApi.getTotalCount());
+        update(digest, chargesApi.getUnfilteredCount());
+        update(digest, chargesApi.getSatisfiedCount());
+        update(digest, chargesApi.getPartSatisfiedCount());
+        if (chargesApi.getItems() != null) {
+            for (ChargeApi charge : chargesApi.getItems()) {
+                update(digest, charge == null ? null : charge.getEtag());
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Build the etag of a page of a charges list from the etag of the list and the page, filter
+     * and cursor requested, so that a page never shares its etag with another page, or with the
+     * same page requested with a different page size, filter or cursor.
+     * @param listEtag the etag of the list, may be null.
+     * @param requestCriteria the page, filter and cursor of the request.
+     * @return etag as a lower case hex string, or null if the list has no etag.
+     */
+    public static String buildPageEtag(String listEtag, RequestCriteria requestCriteria) {
+        if (listEtag == null) {
+            return null;
+        }
+        MessageDigest digest = newDigest();
+        update(digest, listEtag);
+        update(digest, requestCriteria.getItemsPerPage());
+        update(digest, requestCriteria.getStartIndex());
+        update(digest, requestCriteria.getFilter());
+        update(digest, requestCriteria.getCursor());
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Whether an If-None-Match header matches the given etag, using weak comparison: entity tags
+     * may be quoted or weak, several may be listed, and {@code *} matches any etag.
+     * @param ifNoneMatch the If-None-Match header value, may be null.
+     * @param etag the current etag of the resource, may be null.
+     * @return true if a response for the etag need not be sent.
+     */
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.strip();
+            if ("*".equals(candidate)) {
+                return true;
+            }
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.length() >= 2 && candidate.startsWith("\"") && candidate.endsWith("\"")) {
+                candidate = candidate.substring(1, candidate.length() - 1);
+            }
+            if (candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Build a hash of rendered content, used to tell whether an incoming charge differs from the
+     * stored charge without comparing the charges themselves.
+     * @param content the rendered content.
+     * @return hash as a lower case hex string.
+     */
+    public static String buildContentHash(byte[] content) {
+        return HexFormat.of().formatHex(newDigest(CONTENT_HASH_ALGORITHM).digest(content));
+    }
+
+    /**
+     * Build the etag of a charge from its rendered content, so that a charge keeps its etag for as
+     * long as its content is unchanged.
+     * @param content the rendered content, without an etag.
+     * @return etag as a lower case hex string.
+     */
+    public static String buildContentEtag(byte[] content) {
+        return HexFormat.of().formatHex(newDigest().digest(content));
+    }
+
+    private static void update(MessageDigest digest, Object value) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest newDigest() {
+        return newDigest(ETAG_ALGORITHM);
+    }
+
+    private static MessageDigest newDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(algorithm + " is not available", ex);
+        }
+    }
+}
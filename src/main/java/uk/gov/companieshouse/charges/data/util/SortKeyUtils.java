@@ -0,0 +1,39 @@
+package uk.gov.companieshouse.charges.data.util;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import uk.gov.companieshouse.api.charges.ChargeApi;
+
+public class SortKeyUtils {
+
+    static final DateTimeFormatter SORT_DATE_FORMATTER = DateTimeFormatter.BASIC_ISO_DATE;
+
+    static final String MISSING_SORT_DATE = "00000000";
+
+    private SortKeyUtils() {
+    }
+
+    /**
+     * Build the persisted sort key for a charge.
+     * @param chargeApi the charge data.
+     * @return sort key, ordered lexicographically in the same way as the list endpoint.
+     */
+    public static String buildSortKey(ChargeApi chargeApi) {
+        return buildSortKey(chargeApi.getCreatedOn(), chargeApi.getDeliveredOn(), chargeApi.getChargeNumber());
+    }
+
+    /**
+     * Build the persisted sort key from created_on, falling back to delivered_on, followed by
+     * the zero padded charge number. Charges without either date sort after all dated charges.
+     * @param createdOn the created on date.
+     * @param deliveredOn the delivered on date.
+     * @param chargeNumber the charge number.
+     * @return sort key.
+     */
+    public static String buildSortKey(LocalDate createdOn, LocalDate deliveredOn, Integer chargeNumber) {
+        LocalDate sortDate = createdOn != null ? createdOn : deliveredOn;
+        return String.format("%s%010d",
+                sortDate == null ? MISSING_SORT_DATE : sortDate.format(SORT_DATE_FORMATTER),
+                chargeNumber == null ? 0 : chargeNumber);
+    }
+}
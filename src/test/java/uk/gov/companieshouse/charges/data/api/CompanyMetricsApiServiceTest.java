@@ -6,10 +6,21 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -18,9 +29,9 @@ import uk.gov.companieshouse.api.error.ApiErrorResponseException;
 import uk.gov.companieshouse.api.handler.exception.URIValidationException;
 import uk.gov.companieshouse.api.handler.metrics.PrivateCompanyMetricsResourceHandler;
 import uk.gov.companieshouse.api.handler.metrics.request.PrivateCompanyMetricsGet;
-import uk.gov.companieshouse.api.http.HttpClient;
 import uk.gov.companieshouse.api.metrics.MetricsApi;
 import uk.gov.companieshouse.api.model.ApiResponse;
+import uk.gov.companieshouse.charges.data.exception.ServiceUnavailableException;
 
 @ExtendWith(MockitoExtension.class)
 class CompanyMetricsApiServiceTest {
@@ -31,9 +42,6 @@ class CompanyMetricsApiServiceTest {
     @Mock
     private InternalApiClient internalApiClient;
 
-    @Mock
-    private HttpClient httpClient;
-
     @Mock
     private PrivateCompanyMetricsResourceHandler privateCompanyMetricsResourceHandler;
 
@@ -43,15 +51,24 @@ class CompanyMetricsApiServiceTest {
     @Mock
     private ApiResponse<MetricsApi> response;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2024-01-01T00:00:00Z"));
+
     private CompanyMetricsApiService companyMetricsApiService;
 
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        companyMetricsApiService = new CompanyMetricsApiService(apiClientService, meterRegistry, now::get,
+                Duration.ofMinutes(1), 100, 1, 2, Duration.ofSeconds(30));
+    }
+
     @Test
     void should_invoke_company_metrics_endpoint_successfully()
             throws ApiErrorResponseException, URIValidationException {
 
         when(apiClientService.getInternalApiClient()).thenReturn(internalApiClient);
-        when(internalApiClient.getHttpClient()).thenReturn(httpClient);
         when(internalApiClient.privateCompanyMetricsResourceHandler()).thenReturn(
                 privateCompanyMetricsResourceHandler);
         when(privateCompanyMetricsResourceHandler.getCompanyMetrics(Mockito.any())).thenReturn(
@@ -71,7 +88,6 @@ class CompanyMetricsApiServiceTest {
             throws ApiErrorResponseException, URIValidationException {
 
         when(apiClientService.getInternalApiClient()).thenReturn(internalApiClient);
-        when(internalApiClient.getHttpClient()).thenReturn(httpClient);
         when(internalApiClient.privateCompanyMetricsResourceHandler()).thenReturn(
                 privateCompanyMetricsResourceHandler);
         when(privateCompanyMetricsResourceHandler.getCompanyMetrics(Mockito.any())).thenReturn(
@@ -82,4 +98,173 @@ class CompanyMetricsApiServiceTest {
         verify(privateCompanyMetricsResourceHandler, times(1)).getCompanyMetrics(Mockito.any());
         verify(privateCompanyMetricsGet, times(1)).execute();
     }
+
+    @Test
+    void should_return_cached_company_metrics_on_subsequent_calls()
+            throws ApiErrorResponseException, URIValidationException {
+        trainMocks();
+        when(privateCompanyMetricsGet.execute()).thenReturn(response);
+        MetricsApi metricsApi = new MetricsApi();
+        when(response.getData()).thenReturn(metricsApi);
+
+        Optional<MetricsApi> first = companyMetricsApiService.getCompanyMetrics("00006400");
+        Optional<MetricsApi> second = companyMetricsApiService.getCompanyMetrics("00006400");
+
+        assertThat(first).containsSame(metricsApi);
+        assertThat(second).containsSame(metricsApi);
+        verify(privateCompanyMetricsGet, times(1)).execute();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CompanyMetricsApiService.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CompanyMetricsApiService.CACHE_NAME)
+                .tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_reload_company_metrics_after_eviction() throws ApiErrorResponseException, URIValidationException {
+        trainMocks();
+        when(privateCompanyMetricsGet.execute()).thenReturn(response);
+
+        companyMetricsApiService.getCompanyMetrics("00006400");
+        companyMetricsApiService.evictCompanyMetrics("00006400");
+        companyMetricsApiService.getCompanyMetrics("00006400");
+
+        verify(privateCompanyMetricsGet, times(2)).execute();
+    }
+
+    @Test
+    void should_not_cache_failed_company_metrics_calls() throws ApiErrorResponseException, URIValidationException {
+        trainMocks();
+        when(privateCompanyMetricsGet.execute()).thenThrow(ApiErrorResponseException.class).thenReturn(response);
+
+        assertThrows(IllegalArgumentException.class, () -> companyMetricsApiService.getCompanyMetrics("00006400"));
+        companyMetricsApiService.getCompanyMetrics("00006400");
+
+        verify(privateCompanyMetricsGet, times(2)).execute();
+    }
+
+    @Test
+    void should_share_one_call_between_concurrent_requests_for_same_company() throws Exception {
+        trainMocks();
+        CountDownLatch callStarted = new CountDownLatch(1);
+        CountDownLatch releaseCall = new CountDownLatch(1);
+        when(privateCompanyMetricsGet.execute()).thenAnswer(invocation -> {
+            callStarted.countDown();
+            releaseCall.await(5, TimeUnit.SECONDS);
+            return response;
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Optional<MetricsApi>> first =
+                    executor.submit(() -> companyMetricsApiService.getCompanyMetrics("00006400"));
+            assertThat(callStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<Optional<MetricsApi>> second =
+                    executor.submit(() -> companyMetricsApiService.getCompanyMetrics("00006400"));
+            releaseCall.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEmpty();
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEmpty();
+        }
+        verify(privateCompanyMetricsGet, times(1)).execute();
+    }
+
+    @Test
+    void should_reject_calls_without_calling_api_while_circuit_open()
+            throws ApiErrorResponseException, URIValidationException {
+        trainMocks();
+        when(privateCompanyMetricsGet.execute()).thenThrow(ApiErrorResponseException.class);
+
+        assertThrows(IllegalArgumentException.class, () -> companyMetricsApiService.getCompanyMetrics("00006400"));
+        assertThrows(IllegalArgumentException.class, () -> companyMetricsApiService.getCompanyMetrics("00006400"));
+        assertThrows(ServiceUnavailableException.class,
+                () -> companyMetricsApiService.getCompanyMetrics("00006400"));
+
+        assertThat(companyMetricsApiService.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        verify(privateCompanyMetricsGet, times(2)).execute();
+        assertThat(meterRegistry.get("company.metrics.calls.rejected").tag("reason", "circuit_open")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("company.metrics.circuit.state").tag("state", "open")
+                .gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void should_close_circuit_when_trial_call_succeeds_after_open_duration()
+            throws ApiErrorResponseException, URIValidationException {
+        trainMocks();
+        when(privateCompanyMetricsGet.execute()).thenThrow(ApiErrorResponseException.class)
+                .thenThrow(ApiErrorResponseException.class)
+                .thenReturn(response);
+
+        assertThrows(IllegalArgumentException.class, () -> companyMetricsApiService.getCompanyMetrics("00006400"));
+        assertThrows(IllegalArgumentException.class, () -> companyMetricsApiService.getCompanyMetrics("00006400"));
+        now.set(now.get().plusSeconds(30));
+        companyMetricsApiService.getCompanyMetrics("00006400");
+
+        assertThat(companyMetricsApiService.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        verify(privateCompanyMetricsGet, times(3)).execute();
+    }
+
+    @Test
+    void should_reject_calls_beyond_bulkhead_without_waiting() throws Exception {
+        trainMocks();
+        CountDownLatch callStarted = new CountDownLatch(1);
+        CountDownLatch releaseCall = new CountDownLatch(1);
+        when(privateCompanyMetricsGet.execute()).thenAnswer(invocation -> {
+            callStarted.countDown();
+            releaseCall.await(5, TimeUnit.SECONDS);
+            return response;
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Optional<MetricsApi>> first =
+                    executor.submit(() -> companyMetricsApiService.getCompanyMetrics("00006400"));
+            assertThat(callStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThrows(ServiceUnavailableException.class,
+                    () -> companyMetricsApiService.getCompanyMetrics("00006401"));
+            releaseCall.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEmpty();
+        }
+        verify(privateCompanyMetricsGet, times(1)).execute();
+        assertThat(meterRegistry.get("company.metrics.calls.rejected").tag("reason", "bulkhead_full")
+                .counter().count()).isEqualTo(1);
+        assertThat(companyMetricsApiService.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void should_cache_company_metrics_fetched_without_blocking() {
+        MetricsApi metricsApi = new MetricsApi();
+        AtomicInteger calls = new AtomicInteger();
+
+        Optional<MetricsApi> first = companyMetricsApiService.getCompanyMetricsAsync("00006400", companyNumber -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(Optional.of(metricsApi));
+        }).join();
+        Optional<MetricsApi> second = companyMetricsApiService.getCompanyMetrics("00006400");
+
+        assertThat(first).containsSame(metricsApi);
+        assertThat(second).containsSame(metricsApi);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void should_open_circuit_when_calls_fetched_without_blocking_fail() {
+        for (int i = 0; i < 2; i++) {
+            CompletableFuture<Optional<MetricsApi>> failed = companyMetricsApiService.getCompanyMetricsAsync(
+                    "00006400", companyNumber -> CompletableFuture.failedFuture(new IllegalStateException()));
+            assertThat(failed).isCompletedExceptionally();
+        }
+
+        assertThat(companyMetricsApiService.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(companyMetricsApiService.getCompanyMetricsAsync("00006400",
+                companyNumber -> CompletableFuture.completedFuture(Optional.empty())))
+                .isCompletedExceptionally();
+    }
+
+    private void trainMocks() throws ApiErrorResponseException, URIValidationException {
+        when(apiClientService.getInternalApiClient()).thenReturn(internalApiClient);
+        when(internalApiClient.privateCompanyMetricsResourceHandler()).thenReturn(
+                privateCompanyMetricsResourceHandler);
+        when(privateCompanyMetricsResourceHandler.getCompanyMetrics(Mockito.any())).thenReturn(
+                privateCompanyMetricsGet);
+    }
 }
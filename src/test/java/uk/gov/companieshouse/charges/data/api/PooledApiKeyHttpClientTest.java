@@ -0,0 +1,43 @@
+package uk.gov.companieshouse.charges.data.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.testing.http.MockHttpTransport;
+import java.io.IOException;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.charges.data.logging.DataMapHolder;
+
+class PooledApiKeyHttpClientTest {
+
+    private final PooledApiKeyHttpClient httpClient = new PooledApiKeyHttpClient(new MockHttpTransport(),
+            "apiKey", Duration.ofSeconds(2), Duration.ofSeconds(10));
+
+    @AfterEach
+    void tearDown() {
+        DataMapHolder.clear();
+    }
+
+    @Test
+    void requestsCarryApiKeyTimeoutsAndCurrentRequestId() throws IOException {
+        // given
+        DataMapHolder.initialise("first-request");
+        HttpRequest first = httpClient.getHttpRequestFactory().buildGetRequest(new GenericUrl("http://localhost"));
+        DataMapHolder.initialise("second-request");
+
+        // when
+        HttpRequest second = httpClient.getHttpRequestFactory().buildGetRequest(new GenericUrl("http://localhost"));
+
+        // then
+        assertThat(first.getHeaders().getAuthorization()).startsWith("Basic ");
+        assertThat(first.getHeaders().getFirstHeaderStringValue(PooledApiKeyHttpClient.REQUEST_ID_HEADER))
+                .isEqualTo("first-request");
+        assertThat(second.getHeaders().getFirstHeaderStringValue(PooledApiKeyHttpClient.REQUEST_ID_HEADER))
+                .isEqualTo("second-request");
+        assertThat(second.getConnectTimeout()).isEqualTo(2000);
+        assertThat(second.getReadTimeout()).isEqualTo(10000);
+    }
+}
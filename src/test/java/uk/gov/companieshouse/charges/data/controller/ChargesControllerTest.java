@@ -1,16 +1,23 @@
 package uk.gov.companieshouse.charges.data.controller;
 
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -21,7 +28,9 @@ import com.google.gson.GsonBuilder;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -40,6 +49,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.util.FileCopyUtils;
+import uk.gov.companieshouse.api.charges.ChargeApi;
 import uk.gov.companieshouse.api.charges.ChargesApi;
 import uk.gov.companieshouse.api.charges.InternalChargeApi;
 import uk.gov.companieshouse.charges.data.config.WebSecurityConfig;
@@ -47,14 +57,17 @@ import uk.gov.companieshouse.charges.data.exception.BadRequestException;
 import uk.gov.companieshouse.charges.data.exception.ConflictException;
 import uk.gov.companieshouse.charges.data.exception.NotFoundException;
 import uk.gov.companieshouse.charges.data.exception.ServiceUnavailableException;
+import uk.gov.companieshouse.charges.data.model.BulkChargeOutcome;
 import uk.gov.companieshouse.charges.data.model.ChargesDocument;
 import uk.gov.companieshouse.charges.data.model.ChargesDocument.Updated;
+import uk.gov.companieshouse.charges.data.service.BulkChargesService;
 import uk.gov.companieshouse.charges.data.service.ChargesService;
 import uk.gov.companieshouse.charges.data.transform.ChargesTransformer;
 
 @ExtendWith(SpringExtension.class)
-@WebMvcTest(controllers = ChargesController.class)
-@ContextConfiguration(classes = {ChargesController.class, ControllerExceptionHandler.class})
+@WebMvcTest(controllers = {ChargesController.class, ChargesReadController.class})
+@ContextConfiguration(classes = {ChargesController.class, ChargesReadController.class,
+        ControllerExceptionHandler.class})
 @Import({WebSecurityConfig.class})
 class ChargesControllerTest {
 
@@ -67,6 +80,7 @@ class ChargesControllerTest {
     private static final String CHARGES_GET_URL = String.format("/company/%s/charges", COMPANY_NUMBER);
     private static final String CHARGES_DELETE_URL = String.format("/company/%s/charge/%s/internal",
             COMPANY_NUMBER, CHARGE_ID);
+    private static final String CHARGES_BULK_URL = "/company/charges/internal/bulk";
     private static final String X_REQUEST_ID = "123";
     private static final String DELTA_AT = "20241205123045999999";
 
@@ -86,6 +100,9 @@ class ChargesControllerTest {
     @MockitoBean
     private ChargesService chargesService;
 
+    @MockitoBean
+    private BulkChargesService bulkChargesService;
+
     @InjectMocks
     private ChargesController chargesController;
 
@@ -243,6 +260,23 @@ class ChargesControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @DisplayName("GET company charges request passes the cursor to the service")
+    void getChargesRequestWithCursor() throws Exception {
+        ChargesApi charge = new ChargesApi();
+        doReturn(charge).when(chargesService).findCharges(anyString(), any());
+        mockMvc.perform(get(CHARGES_GET_URL)
+                        .queryParam("cursor", "abc")
+                        .contentType(APPLICATION_JSON)
+                        .header("x-request-id", X_REQUEST_ID)
+                        .header("ERIC-Identity" , "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "KEY")
+                        .header("ERIC-Authorised-Key-Privileges", "internal-app"))
+                .andExpect(status().isOk());
+
+        verify(chargesService).findCharges(eq(COMPANY_NUMBER), argThat(criteria -> "abc".equals(criteria.getCursor())));
+    }
+
     @Test
     @DisplayName("GET company charges request returns 503 Service Unavailable when Mongo errors")
     void getChargesRequest503Error() throws Exception {
@@ -399,6 +433,72 @@ class ChargesControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("GET single charge returns 304 Not Modified without loading the charge when the etag matches")
+    void getChargeNotModified() throws Exception {
+        when(chargesService.getChargeEtag(COMPANY_NUMBER, CHARGE_ID)).thenReturn(Optional.of("etag"));
+        mockMvc.perform(get(CHARGE_DETAILS_GET_URL)
+                        .header("x-request-id", X_REQUEST_ID)
+                        .header("ERIC-Identity" , "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "KEY")
+                        .header("ERIC-Authorised-Key-Privileges", "internal-app")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"etag\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"etag\""))
+                .andExpect(content().string(""));
+
+        verify(chargesService, never()).getChargeDetails(any(), any());
+    }
+
+    @Test
+    @DisplayName("GET single charge returns the charge and its etag when the etag does not match")
+    void getChargeModified() throws Exception {
+        when(chargesService.getChargeEtag(COMPANY_NUMBER, CHARGE_ID)).thenReturn(Optional.of("etag"));
+        when(chargesService.getChargeDetails(COMPANY_NUMBER, CHARGE_ID)).thenReturn(new ChargeApi().etag("etag"));
+        mockMvc.perform(get(CHARGE_DETAILS_GET_URL)
+                        .header("x-request-id", X_REQUEST_ID)
+                        .header("ERIC-Identity" , "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "KEY")
+                        .header("ERIC-Authorised-Key-Privileges", "internal-app")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"old-etag\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"etag\""));
+    }
+
+    @Test
+    @DisplayName("GET company charges returns 304 Not Modified without reading charges when the metrics etag matches")
+    void getChargesNotModifiedFromMetricsEtag() throws Exception {
+        when(chargesService.findChargesEtag(eq(COMPANY_NUMBER), any())).thenReturn(Optional.of("etag"));
+        mockMvc.perform(get(CHARGES_GET_URL)
+                        .header("x-request-id", X_REQUEST_ID)
+                        .header("ERIC-Identity" , "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "KEY")
+                        .header("ERIC-Authorised-Key-Privileges", "internal-app")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"etag\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(chargesService, never()).findCharges(any(), any());
+    }
+
+    @Test
+    @DisplayName("GET company charges returns 304 Not Modified when the list etag matches")
+    void getChargesNotModified() throws Exception {
+        var charges = new ChargesApi();
+        charges.setEtag("etag");
+        when(chargesService.findChargesEtag(eq(COMPANY_NUMBER), any())).thenReturn(Optional.empty());
+        when(chargesService.findCharges(any(), any())).thenReturn(charges);
+        mockMvc.perform(get(CHARGES_GET_URL)
+                        .header("x-request-id", X_REQUEST_ID)
+                        .header("ERIC-Identity" , "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "KEY")
+                        .header("ERIC-Authorised-Key-Privileges", "internal-app")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"etag\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"etag\""))
+                .andExpect(content().string(""));
+    }
+
     @Test
     @DisplayName("Retrieve company charges for a given company number")
     void getCharges() throws Exception {
@@ -425,6 +525,44 @@ class ChargesControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("Charges bulk request returns the outcome of each delta")
+    void callChargesBulkRequest() throws Exception {
+        // given
+        when(bulkChargesService.upsertCharges(eq(X_REQUEST_ID), any())).thenReturn(List.of(
+                new BulkChargeOutcome(COMPANY_NUMBER, CHARGE_ID, BulkChargeOutcome.Outcome.APPLIED),
+                new BulkChargeOutcome(COMPANY_NUMBER, "18588521", BulkChargeOutcome.Outcome.STALE)));
+
+        // when
+        ResultActions result = mockMvc.perform(post(CHARGES_BULK_URL)
+                .contentType(APPLICATION_JSON)
+                .header("x-request-id", X_REQUEST_ID)
+                .header("ERIC-Identity" , "SOME_IDENTITY")
+                .header("ERIC-Identity-Type", "KEY")
+                .header("ERIC-Authorised-Key-Privileges", "internal-app")
+                .content("[{\"company_number\":\"%s\",\"charge_id\":\"%s\",\"delta\":{}}]"
+                        .formatted(COMPANY_NUMBER, CHARGE_ID)));
+
+        // then
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].charge_id").value(CHARGE_ID))
+                .andExpect(jsonPath("$[0].outcome").value("applied"))
+                .andExpect(jsonPath("$[1].outcome").value("stale"));
+    }
+
+    @Test
+    @DisplayName("Charges bulk request without internal-app privileges is forbidden")
+    void callChargesBulkRequestWithoutPrivileges() throws Exception {
+        mockMvc.perform(post(CHARGES_BULK_URL)
+                        .contentType(APPLICATION_JSON)
+                        .header("x-request-id", X_REQUEST_ID)
+                        .header("ERIC-Identity" , "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "KEY")
+                        .content("[]"))
+                .andExpect(status().isForbidden());
+        verify(bulkChargesService, never()).upsertCharges(anyString(), any());
+    }
+
     @Test
     @DisplayName("Company Charges DELETE request")
     void callChargeDeleteRequest() throws Exception {
@@ -0,0 +1,180 @@
+package uk.gov.companieshouse.charges.data.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import tools.jackson.databind.json.JsonMapper;
+import uk.gov.companieshouse.api.charges.ChargeApi;
+import uk.gov.companieshouse.api.charges.ChargesApi;
+import uk.gov.companieshouse.api.charges.InternalChargeApi;
+import uk.gov.companieshouse.charges.data.config.WebSecurityConfig;
+import uk.gov.companieshouse.charges.data.model.ChargesDocument;
+import uk.gov.companieshouse.charges.data.model.StoredChargeApi;
+import uk.gov.companieshouse.charges.data.service.ChargesService;
+import uk.gov.companieshouse.charges.data.transform.ChargesTransformer;
+
+/**
+ * Charges served from their stored response JSON must be indistinguishable from charges
+ * serialised by the web layer.
+ */
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(controllers = ChargesReadController.class)
+@ContextConfiguration(classes = {ChargesReadController.class, ControllerExceptionHandler.class})
+@Import({WebSecurityConfig.class})
+class StoredResponsesControllerTest {
+
+    private static final String COMPANY_NUMBER = "02588581";
+    private static final String CHARGE_ID = "18588520";
+    private static final String CHARGE_DETAILS_GET_URL = String.format("/company/%s/charges/%s",
+            COMPANY_NUMBER, CHARGE_ID);
+    private static final String CHARGES_GET_URL = String.format("/company/%s/charges", COMPANY_NUMBER);
+    private static final String LIST_ETAG = "list-etag";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @MockitoBean
+    private ChargesService chargesService;
+
+    @Value("file:src/test/resources/charges-api-request-data.json")
+    private Resource resourceFile;
+
+    private ChargeApi charge;
+    private StoredChargeApi storedCharge;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        InternalChargeApi request = new ObjectMapper().registerModule(new JavaTimeModule())
+                .readValue(resourceFile.getInputStream(), InternalChargeApi.class);
+        ChargesDocument document = new ChargesTransformer(new ObjectMapper().registerModule(new JavaTimeModule()),
+                jsonMapper, true).transform(COMPANY_NUMBER, CHARGE_ID, request);
+        charge = document.getData();
+        storedCharge = new StoredChargeApi(document.getResponseJson(), charge.getEtag());
+    }
+
+    @Test
+    void chargeIsServedIdenticallyWithAndWithoutStoredResponses() throws Exception {
+        // given
+        when(chargesService.getChargeDetails(COMPANY_NUMBER, CHARGE_ID)).thenReturn(charge);
+        MvcResult expected = mockMvc.perform(withHeaders(get(CHARGE_DETAILS_GET_URL)))
+                .andExpect(status().isOk())
+                .andReturn();
+        when(chargesService.getChargeDetails(COMPANY_NUMBER, CHARGE_ID)).thenReturn(storedCharge);
+
+        // when
+        MvcResult actual = mockMvc.perform(withHeaders(get(CHARGE_DETAILS_GET_URL)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        assertThat(actual.getResponse().getContentAsByteArray())
+                .isNotEmpty()
+                .isEqualTo(expected.getResponse().getContentAsByteArray());
+        assertThat(actual.getResponse().getContentType()).isEqualTo(expected.getResponse().getContentType());
+        assertThat(actual.getResponse().getHeader(HttpHeaders.ETAG))
+                .isEqualTo(expected.getResponse().getHeader(HttpHeaders.ETAG))
+                .isEqualTo("\"" + charge.getEtag() + "\"");
+    }
+
+    @Test
+    void chargesAreServedIdenticallyWithAndWithoutStoredResponses() throws Exception {
+        // given
+        when(chargesService.findCharges(eq(COMPANY_NUMBER), any())).thenReturn(charges(charge));
+        MvcResult expected = mockMvc.perform(withHeaders(get(CHARGES_GET_URL)))
+                .andExpect(status().isOk())
+                .andReturn();
+        when(chargesService.findCharges(eq(COMPANY_NUMBER), any())).thenReturn(charges(storedCharge));
+
+        // when
+        MvcResult actual = mockMvc.perform(withHeaders(get(CHARGES_GET_URL)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        assertThat(actual.getResponse().getContentAsByteArray())
+                .isNotEmpty()
+                .isEqualTo(expected.getResponse().getContentAsByteArray());
+        assertThat(actual.getResponse().getHeader(HttpHeaders.ETAG))
+                .isEqualTo(expected.getResponse().getHeader(HttpHeaders.ETAG))
+                .isEqualTo("\"" + LIST_ETAG + "\"");
+    }
+
+    @Test
+    void storedChargeIsNotModifiedWhenIfNoneMatchMatchesItsEtag() throws Exception {
+        // given
+        when(chargesService.getChargeDetails(COMPANY_NUMBER, CHARGE_ID)).thenReturn(storedCharge);
+        when(chargesService.getChargeEtag(COMPANY_NUMBER, CHARGE_ID)).thenReturn(Optional.of(charge.getEtag()));
+        String etag = mockMvc.perform(withHeaders(get(CHARGE_DETAILS_GET_URL)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        // then
+        mockMvc.perform(withHeaders(get(CHARGE_DETAILS_GET_URL)).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void storedChargesAreNotModifiedWhenIfNoneMatchMatchesTheirEtag() throws Exception {
+        // given
+        when(chargesService.findChargesEtag(eq(COMPANY_NUMBER), any())).thenReturn(Optional.empty());
+        when(chargesService.findCharges(eq(COMPANY_NUMBER), any())).thenReturn(charges(storedCharge));
+
+        // when
+        // then
+        mockMvc.perform(withHeaders(get(CHARGES_GET_URL))
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + LIST_ETAG + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + LIST_ETAG + "\""))
+                .andExpect(content().string(""));
+    }
+
+    private static ChargesApi charges(ChargeApi item) {
+        ChargesApi chargesApi = new ChargesApi();
+        chargesApi.setEtag(LIST_ETAG);
+        chargesApi.setTotalCount(1);
+        chargesApi.setUnfilteredCount(1);
+        chargesApi.setSatisfiedCount(0);
+        chargesApi.setPartSatisfiedCount(0);
+        chargesApi.setItems(List.of(item));
+        return chargesApi;
+    }
+
+    private static MockHttpServletRequestBuilder withHeaders(MockHttpServletRequestBuilder request) {
+        return request.header("x-request-id", "123")
+                .header("ERIC-Identity", "SOME_IDENTITY")
+                .header("ERIC-Identity-Type", "KEY")
+                .header("ERIC-Authorised-Key-Privileges", "internal-app");
+    }
+}
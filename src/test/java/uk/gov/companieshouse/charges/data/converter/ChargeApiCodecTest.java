@@ -0,0 +1,93 @@
+package uk.gov.companieshouse.charges.data.converter;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mongodb.BasicDBObject;
+import com.mongodb.MongoClientSettings;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonWriter;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.api.charges.ChargeApi;
+import uk.gov.companieshouse.api.charges.InternalChargeApi;
+import uk.gov.companieshouse.api.charges.ScottishAlterationsApi;
+import uk.gov.companieshouse.charges.data.config.ChargesApplicationConfig;
+
+class ChargeApiCodecTest {
+
+    private final ObjectMapper mongoDbObjectMapper = ChargesApplicationConfig.mongoDbObjectMapper();
+    private final ChargeApiCodec chargeApiCodec = new ChargeApiCodec(mongoDbObjectMapper);
+
+    private ChargeApi chargeApi;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        try (InputStream inputStream = getClass().getResourceAsStream("/charges-api-request-data.json")) {
+            chargeApi = mapper.readValue(inputStream, InternalChargeApi.class).getExternalData();
+        }
+    }
+
+    @Test
+    void shouldEncodeSameBytesAsJsonRoundTrip() throws IOException {
+        assertArrayEquals(encodeWithJsonRoundTrip(chargeApi), encodeWithCodec(chargeApi));
+    }
+
+    @Test
+    void shouldEncodeSameBytesAsJsonRoundTripForBlankAndEmptyValues() throws IOException {
+        chargeApi.setEtag(" ");
+        chargeApi.setScottishAlterations(new ScottishAlterationsApi());
+
+        assertArrayEquals(encodeWithJsonRoundTrip(chargeApi), encodeWithCodec(chargeApi));
+    }
+
+    @Test
+    void shouldEncodeSameBytesAsJsonRoundTripForEmptyCharge() throws IOException {
+        assertArrayEquals(encodeWithJsonRoundTrip(new ChargeApi()), encodeWithCodec(new ChargeApi()));
+    }
+
+    @Test
+    void shouldDecodeEncodedCharge() {
+        BsonDocument document = new BsonDocument();
+        chargeApiCodec.encode(new BsonDocumentWriter(document), chargeApi,
+                EncoderContext.builder().build());
+
+        ChargeApi actual = chargeApiCodec.decode(new BsonDocumentReader(document),
+                DecoderContext.builder().build());
+
+        assertEquals(chargeApi.getChargeCode(), actual.getChargeCode());
+        assertEquals(chargeApi.getCreatedOn(), actual.getCreatedOn());
+        assertEquals(chargeApi.getTransactions().size(), actual.getTransactions().size());
+    }
+
+    private byte[] encodeWithCodec(ChargeApi charge) {
+        return encode(writer -> chargeApiCodec.encode(writer, charge, EncoderContext.builder().build()));
+    }
+
+    private byte[] encodeWithJsonRoundTrip(ChargeApi charge) throws IOException {
+        BasicDBObject dbObject = BasicDBObject.parse(mongoDbObjectMapper.writeValueAsString(charge));
+        return encode(writer -> MongoClientSettings.getDefaultCodecRegistry().get(BasicDBObject.class)
+                .encode(writer, dbObject, EncoderContext.builder().build()));
+    }
+
+    private static byte[] encode(Consumer<BsonWriter> encoder) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        encoder.accept(new BsonBinaryWriter(buffer));
+        return buffer.toByteArray();
+    }
+}
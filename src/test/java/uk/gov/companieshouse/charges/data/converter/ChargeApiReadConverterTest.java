@@ -1,35 +1,96 @@
 package uk.gov.companieshouse.charges.data.converter;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Date;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.companieshouse.api.charges.ChargeApi;
+import uk.gov.companieshouse.api.charges.InternalChargeApi;
+import uk.gov.companieshouse.charges.data.config.ChargesApplicationConfig;
+import uk.gov.companieshouse.charges.data.exception.SerDesException;
 
 @ExtendWith(MockitoExtension.class)
 class ChargeApiReadConverterTest {
 
+    private final ObjectMapper mongoDbObjectMapper = ChargesApplicationConfig.mongoDbObjectMapper();
+
     @Mock
-    private ObjectMapper objectMapper;
+    private ChargeApiCodec chargeApiCodec;
 
     private ChargeApiReadConverter readConverter;
 
     @BeforeEach
     void setUp() {
-        readConverter = new ChargeApiReadConverter(objectMapper);
+        readConverter = new ChargeApiReadConverter(chargeApiCodec);
     }
 
     @Test
-    void testReadException() throws Exception {
-        when(objectMapper.readValue("", ChargeApi.class))
-                .thenThrow(new IllegalArgumentException("test"));
+    void testReadException() {
+        when(chargeApiCodec.decode(any(), any())).thenThrow(new SerDesException("test", null));
 
         assertThrows(RuntimeException.class, () -> readConverter.convert(new Document()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testReadMatchesJsonRoundTrip() throws IOException {
+        // given
+        Document document = storedDocument(requestCharge());
+        ChargeApiReadConverter converter = new ChargeApiReadConverter(new ChargeApiCodec(mongoDbObjectMapper));
+
+        // when
+        ChargeApi actual = converter.convert(document);
+
+        // then
+        assertEquals(mongoDbObjectMapper.readValue(document.toJson(), ChargeApi.class), actual);
+    }
+
+    @Test
+    void testReadNativeDates() {
+        // given
+        Document document = new Document("created_on", Date.from(Instant.parse("2014-08-04T00:00:00Z")))
+                .append("charge_number", 1)
+                .append("status", "outstanding");
+        ChargeApiReadConverter converter = new ChargeApiReadConverter(new ChargeApiCodec(mongoDbObjectMapper));
+
+        // when
+        ChargeApi actual = converter.convert(document);
+
+        // then
+        assertEquals(LocalDate.of(2014, 8, 4), actual.getCreatedOn());
+        assertEquals(1, actual.getChargeNumber());
+        assertEquals(ChargeApi.StatusEnum.OUTSTANDING, actual.getStatus());
+    }
+
+    private Document storedDocument(ChargeApi chargeApi) {
+        RawBsonDocument raw = new RawBsonDocument(chargeApi, new ChargeApiCodec(mongoDbObjectMapper));
+        return new DocumentCodec().decode(raw.asBsonReader(), DecoderContext.builder().build());
+    }
+
+    private static ChargeApi requestCharge() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        try (InputStream inputStream = ChargeApiReadConverterTest.class
+                .getResourceAsStream("/charges-api-request-data.json")) {
+            return mapper.readValue(inputStream, InternalChargeApi.class).getExternalData();
+        }
+    }
+}
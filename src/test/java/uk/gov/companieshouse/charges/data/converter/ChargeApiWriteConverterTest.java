@@ -1,35 +1,49 @@
 package uk.gov.companieshouse.charges.data.converter;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.doThrow;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.BsonString;
+import org.bson.RawBsonDocument;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.companieshouse.api.charges.ChargeApi;
+import uk.gov.companieshouse.charges.data.config.ChargesApplicationConfig;
+import uk.gov.companieshouse.charges.data.exception.SerDesException;
 
 @ExtendWith(MockitoExtension.class)
 class ChargeApiWriteConverterTest {
 
     @Mock
-    private ObjectMapper objectMapper;
+    private ChargeApiCodec chargeApiCodec;
 
     private ChargeApiWriteConverter writeConverter;
 
     @BeforeEach
     void setUp() {
-        writeConverter = new ChargeApiWriteConverter(objectMapper);
+        writeConverter = new ChargeApiWriteConverter(chargeApiCodec);
     }
 
     @Test
-    void testReadException() throws Exception {
-        when(objectMapper.writeValueAsString(any()))
-                .thenThrow(new IllegalArgumentException("test"));
+    void testWriteException() {
+        doThrow(new SerDesException("test", null)).when(chargeApiCodec).encode(any(), any(), any());
 
         assertThrows(RuntimeException.class, () -> writeConverter.convert(new ChargeApi()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testWriteEncodesChargeWithCodec() {
+        ChargeApi chargeApi = new ChargeApi();
+        chargeApi.setChargeCode("NI6224000001");
+
+        RawBsonDocument actual = new ChargeApiWriteConverter(
+                new ChargeApiCodec(ChargesApplicationConfig.mongoDbObjectMapper())).convert(chargeApi);
+
+        assertEquals(new BsonString("NI6224000001"), actual.get("charge_code"));
+    }
+}
@@ -1,24 +1,21 @@
 package uk.gov.companieshouse.charges.data.converter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.Mockito.when;
 import static uk.gov.companieshouse.api.charges.ClassificationApi.TypeEnum.CHARGE_DESCRIPTION;
 
 import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.converter.GenericConverter;
+import uk.gov.companieshouse.api.charges.ChargeApi.StatusEnum;
+import uk.gov.companieshouse.api.charges.ClassificationApi;
 
-@ExtendWith(MockitoExtension.class)
 class EnumConvertersTest {
 
-    @Mock
-    private TypeDescriptor typeDescriptor;
+    private static final TypeDescriptor STRING_TYPE = TypeDescriptor.valueOf(String.class);
 
     private EnumConverters.StringToEnum stringToEnum;
     private EnumConverters.EnumToString enumToString;
@@ -35,12 +32,53 @@ class EnumConvertersTest {
         assertEquals(Set.of(new GenericConverter.ConvertiblePair(Enum.class, String.class)), enumToString.getConvertibleTypes());
     }
 
+    @Test
+    void testConvertToName() {
+        assertEquals("FULLY_SATISFIED", enumToString.convert(StatusEnum.FULLY_SATISFIED,
+                TypeDescriptor.valueOf(StatusEnum.class), STRING_TYPE));
+        assertEquals("CHARGE_DESCRIPTION", enumToString.convert(CHARGE_DESCRIPTION,
+                TypeDescriptor.valueOf(ClassificationApi.TypeEnum.class), STRING_TYPE));
+    }
+
+    @Test
+    void testConvertFromStoredValue() {
+        assertEquals(StatusEnum.FULLY_SATISFIED, stringToEnum.convert("fully-satisfied", STRING_TYPE,
+                TypeDescriptor.valueOf(StatusEnum.class)));
+        assertEquals(CHARGE_DESCRIPTION, stringToEnum.convert("charge-description", STRING_TYPE,
+                TypeDescriptor.valueOf(ClassificationApi.TypeEnum.class)));
+    }
+
+    @Test
+    void testConvertEnumWithoutValueUsesName() {
+        TypeDescriptor enumType = TypeDescriptor.valueOf(NamedEnum.class);
+
+        assertEquals("SECOND", enumToString.convert(NamedEnum.SECOND, enumType, STRING_TYPE));
+        assertEquals(NamedEnum.SECOND, stringToEnum.convert("SECOND", STRING_TYPE, enumType));
+    }
+
+    @Test
+    void testConvertNull() {
+        TypeDescriptor enumType = TypeDescriptor.valueOf(StatusEnum.class);
+
+        assertNull(stringToEnum.convert(null, STRING_TYPE, enumType));
+        assertNull(enumToString.convert(null, enumType, STRING_TYPE));
+    }
+
     @Test
     void testConvertException() {
-        when(typeDescriptor.getType()).thenThrow(new IllegalArgumentException());
+        TypeDescriptor enumType = TypeDescriptor.valueOf(StatusEnum.class);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> stringToEnum.convert("unknown", STRING_TYPE, enumType));
+        assertEquals("Unexpected value 'unknown' for Enum " + StatusEnum.class.getName(), exception.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> stringToEnum.convert("fully-satisfied", STRING_TYPE, STRING_TYPE));
+        assertEquals("CHARGE_DESCRIPTION", enumToString.convert(CHARGE_DESCRIPTION, STRING_TYPE,
+                STRING_TYPE));
+    }
 
-        assertThrows(IllegalArgumentException.class, () -> stringToEnum.convert(null, typeDescriptor, typeDescriptor));
-        assertEquals("CHARGE_DESCRIPTION", enumToString.convert(CHARGE_DESCRIPTION, typeDescriptor,
-                typeDescriptor));
+    private enum NamedEnum {
+        FIRST,
+        SECOND
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,97 @@
+package uk.gov.companieshouse.charges.data.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class DataMapHolderTest {
+
+    @AfterEach
+    void tearDown() {
+        DataMapHolder.clear();
+    }
+
+    @Test
+    void getLogMapWithoutContextIsUninitialised() {
+        assertThat(DataMapHolder.getRequestId()).isEqualTo("uninitialised");
+    }
+
+    @Test
+    void initialiseReplacesPreviousContext() {
+        // given
+        DataMapHolder.initialise("first-request");
+        DataMapHolder.setCompanyNumber("NI622400");
+
+        // when
+        DataMapHolder.initialise("second-request");
+
+        // then
+        assertThat(DataMapHolder.getLogMap())
+                .containsEntry("request_id", "second-request")
+                .doesNotContainValue("NI622400");
+    }
+
+    @Test
+    void withContextRunsTaskWithCallersContextAndLeavesNoneBehind() throws InterruptedException {
+        // given
+        DataMapHolder.initialise("request-id");
+        AtomicReference<String> requestId = new AtomicReference<>();
+        AtomicReference<String> requestIdAfterTask = new AtomicReference<>();
+
+        // when
+        Supplier<Object> task = DataMapHolder.withContext(() -> {
+            requestId.set(DataMapHolder.getRequestId());
+            return null;
+        });
+        Thread.ofVirtual().start(() -> {
+            task.get();
+            requestIdAfterTask.set(DataMapHolder.getRequestId());
+        }).join();
+
+        // then
+        assertThat(requestId).hasValue("request-id");
+        assertThat(requestIdAfterTask).hasValue("uninitialised");
+    }
+
+    @Test
+    void setCompanyNumberWithoutContextCreatesNone() {
+        // when
+        DataMapHolder.setCompanyNumber("NI622400");
+
+        // then
+        assertThat(DataMapHolder.getLogMap())
+                .containsEntry("request_id", "uninitialised")
+                .doesNotContainValue("NI622400");
+    }
+
+    @Test
+    void withContextTasksDoNotChangeEachOthersContext() throws InterruptedException {
+        // given
+        DataMapHolder.initialise("request-id");
+        DataMapHolder.setCompanyNumber("NI622400");
+        AtomicReference<Map<String, Object>> otherLogMap = new AtomicReference<>();
+        Supplier<Object> changingTask = DataMapHolder.withContext(() -> {
+            DataMapHolder.setMortgageId("charge-id");
+            return null;
+        });
+        Supplier<Object> otherTask = DataMapHolder.withContext(() -> {
+            otherLogMap.set(DataMapHolder.getLogMap());
+            return null;
+        });
+
+        // when
+        Thread.ofVirtual().start(changingTask::get).join();
+        Thread.ofVirtual().start(otherTask::get).join();
+
+        // then
+        assertThat(otherLogMap.get())
+                .containsEntry("request_id", "request-id")
+                .containsValue("NI622400")
+                .doesNotContainValue("charge-id");
+        assertThat(DataMapHolder.getLogMap()).doesNotContainValue("charge-id");
+    }
+}
@@ -1,18 +1,26 @@
 package uk.gov.companieshouse.charges.data.serialization;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.verify;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import java.io.IOException;
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.api.charges.ChargeApi;
 import uk.gov.companieshouse.api.charges.ScottishAlterationsApi;
+import uk.gov.companieshouse.api.charges.TransactionsLinks;
+import uk.gov.companieshouse.charges.data.config.ChargesApplicationConfig;
+import uk.gov.companieshouse.charges.data.converter.ChargeApiCodec;
 
 @ExtendWith(MockitoExtension.class)
 class NotNullFieldObjectSerializerTest {
@@ -23,19 +31,52 @@ class NotNullFieldObjectSerializerTest {
     private JsonGenerator jsonGenerator;
 
     private NotNullFieldObjectSerializer apiSerializer;
+    private ObjectMapper objectMapper;
 
     @BeforeEach
     void setUp() {
         apiSerializer = new NotNullFieldObjectSerializer();
+        objectMapper = ChargesApplicationConfig.mongoDbObjectMapper();
     }
 
     @Test
     void testSerialiseScottishAlterationsApiObject() throws IOException {
         ScottishAlterationsApi alterationsApi = new ScottishAlterationsApi();
         alterationsApi.setDescription("test");
-        apiSerializer.serialize(alterationsApi, jsonGenerator, serializerProvider);
 
-        verify(jsonGenerator).writeRawValue("{\"description\":\"test\"}");
+        assertEquals("{\"description\":\"test\"}", objectMapper.writeValueAsString(alterationsApi));
+    }
+
+    @Test
+    void testSerialiseTransactionsLinksObject() throws IOException {
+        TransactionsLinks links = objectMapper.readValue(
+                "{\"filing\":\"/company/04796390/filing-history/1\",\"insolvency_case\":\" \"}",
+                TransactionsLinks.class);
+
+        assertEquals("{\"filing\":\"/company/04796390/filing-history/1\",\"insolvency_case\":\" \"}",
+                objectMapper.writeValueAsString(links));
+    }
+
+    @Test
+    void testSerialiseScottishAlterationsApiObjectToBson() {
+        ScottishAlterationsApi alterationsApi = new ScottishAlterationsApi();
+        alterationsApi.setDescription("test");
+        alterationsApi.setHasAlterationsToProhibitions(true);
+        ChargeApi chargeApi = new ChargeApi();
+        chargeApi.setScottishAlterations(alterationsApi);
+
+        BsonDocument actual = new RawBsonDocument(chargeApi, new ChargeApiCodec(objectMapper))
+                .getDocument("scottish_alterations");
+
+        assertEquals("test", actual.getString("description").getValue());
+        assertTrue(actual.getBoolean("has_alterations_to_prohibitions").getValue());
+    }
+
+    @Test
+    void testSerialiseEmptyObjectAsNull() throws IOException {
+        apiSerializer.serialize(new ScottishAlterationsApi(), jsonGenerator, serializerProvider);
+
+        verify(jsonGenerator).writeNull();
     }
 
     @Test
@@ -55,4 +96,4 @@ class NotNullFieldObjectSerializerTest {
         assertFalse(apiSerializer.isEmpty(serializerProvider, alterationsApi));
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package uk.gov.companieshouse.charges.data.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+import uk.gov.companieshouse.charges.data.model.StoredChargeApi;
+
+class StoredChargeApiSerializerTest {
+
+    private static final String JSON = "{\"charge_code\":\"SCé\",\"charge_number\":2}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void writesStoredJsonAsBytes() throws JsonProcessingException {
+        // when
+        byte[] actual = objectMapper.writeValueAsBytes(List.of(charge(JSON), charge(JSON)));
+
+        // then
+        assertThat(new String(actual, StandardCharsets.UTF_8)).isEqualTo("[" + JSON + "," + JSON + "]");
+    }
+
+    @Test
+    void writesStoredJsonAsString() throws JsonProcessingException {
+        // when
+        String actual = objectMapper.writeValueAsString(List.of(charge(JSON)));
+
+        // then
+        assertThat(actual).isEqualTo("[" + JSON + "]");
+    }
+
+    @Test
+    void writesStoredJsonLargerThanOutputBuffer() throws JsonProcessingException {
+        // given
+        String json = "{\"description\":\"" + "x".repeat(20000) + "\"}";
+
+        // when
+        byte[] actual = objectMapper.writeValueAsBytes(List.of(charge(JSON), charge(json)));
+
+        // then
+        assertThat(new String(actual, StandardCharsets.UTF_8)).isEqualTo("[" + JSON + "," + json + "]");
+    }
+
+    @Test
+    void writesStoredJsonWithJackson3() {
+        // when
+        byte[] actual = new JsonMapper().writeValueAsBytes(List.of(charge(JSON), charge(JSON)));
+
+        // then
+        assertThat(new String(actual, StandardCharsets.UTF_8)).isEqualTo("[" + JSON + "," + JSON + "]");
+    }
+
+    private static StoredChargeApi charge(String json) {
+        return new StoredChargeApi(json.getBytes(StandardCharsets.UTF_8), "etag");
+    }
+}
@@ -0,0 +1,357 @@
+package uk.gov.companieshouse.charges.data.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import jakarta.validation.Validator;
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import uk.gov.companieshouse.api.charges.ChargeApi;
+import uk.gov.companieshouse.api.charges.InternalChargeApi;
+import uk.gov.companieshouse.api.charges.InternalData;
+import uk.gov.companieshouse.charges.data.api.ChargesApiService;
+import uk.gov.companieshouse.charges.data.api.CompanyMetricsApiService;
+import uk.gov.companieshouse.charges.data.exception.BadRequestException;
+import uk.gov.companieshouse.charges.data.exception.SerDesException;
+import uk.gov.companieshouse.charges.data.exception.ServiceUnavailableException;
+import uk.gov.companieshouse.charges.data.model.BulkChargeDelta;
+import uk.gov.companieshouse.charges.data.model.BulkChargeOutcome;
+import uk.gov.companieshouse.charges.data.model.BulkChargeOutcome.Outcome;
+import uk.gov.companieshouse.charges.data.model.ChargeCounts;
+import uk.gov.companieshouse.charges.data.model.ChargesDocument;
+import uk.gov.companieshouse.charges.data.model.ChargesUpsertResult;
+import uk.gov.companieshouse.charges.data.model.ResourceChangedRequest;
+import uk.gov.companieshouse.charges.data.repository.ChargesRepository;
+import uk.gov.companieshouse.charges.data.transform.ChargesTransformer;
+
+@ExtendWith(MockitoExtension.class)
+class BulkChargesServiceTest {
+
+    private static final String CONTEXT_ID = "context-id";
+    private static final String COMPANY_NUMBER = "NI622400";
+    private static final String OTHER_COMPANY_NUMBER = "02588581";
+
+    @Mock
+    private ChargesRepository chargesRepository;
+
+    @Mock
+    private ChargesTransformer chargesTransformer;
+
+    @Mock
+    private ChargesApiService chargesApiService;
+
+    @Mock
+    private CompanyMetricsApiService companyMetricsApiService;
+
+    @Mock
+    private ChargeCountsService chargeCountsService;
+
+    @Mock
+    private ChargesPageCache chargesPageCache;
+
+    @Mock
+    private ResourceChangedOutbox resourceChangedOutbox;
+
+    @Mock
+    private Validator validator;
+
+    private BulkChargesService bulkChargesService;
+
+    @BeforeEach
+    void setUp() {
+        bulkChargesService = new BulkChargesService(chargesRepository, chargesTransformer, chargesApiService,
+                companyMetricsApiService, chargeCountsService, chargesPageCache, resourceChangedOutbox, validator,
+                3, false);
+    }
+
+    @Test
+    void upsertChargesReturnsOutcomeOfEachDelta() {
+        // given
+        BulkChargeDelta applied = delta(COMPANY_NUMBER, "1");
+        BulkChargeDelta stale = delta(OTHER_COMPANY_NUMBER, "2");
+        BulkChargeDelta missingChargeId = delta(COMPANY_NUMBER, null);
+        ChargesDocument appliedDocument = document(applied);
+        ChargesDocument staleDocument = document(stale);
+        ChargeApi previous = new ChargeApi();
+        previous.setStatus(ChargeApi.StatusEnum.OUTSTANDING);
+
+        when(validator.validate(any(InternalChargeApi.class))).thenReturn(Collections.emptySet());
+        when(chargesTransformer.transform(COMPANY_NUMBER, "1", applied.delta())).thenReturn(appliedDocument);
+        when(chargesTransformer.transform(OTHER_COMPANY_NUMBER, "2", stale.delta())).thenReturn(staleDocument);
+        when(chargesRepository.bulkUpsertIfNotStale(List.of(appliedDocument, staleDocument)))
+                .thenReturn(List.of(ChargesUpsertResult.updated(previous), ChargesUpsertResult.stale()));
+
+        // when
+        List<BulkChargeOutcome> actual = bulkChargesService.upsertCharges(CONTEXT_ID,
+                List.of(applied, stale, missingChargeId));
+
+        // then
+        assertThat(actual).extracting(BulkChargeOutcome::outcome)
+                .containsExactly(Outcome.APPLIED, Outcome.STALE, Outcome.INVALID);
+        verify(chargeCountsService).recordChanges(COMPANY_NUMBER, new ChargeCounts(0, -1, 1, 0));
+        verify(companyMetricsApiService).evictCompanyMetrics(COMPANY_NUMBER);
+        verify(chargesPageCache).invalidate(COMPANY_NUMBER);
+        verify(chargesApiService).invokeChsKafkaApi(new ResourceChangedRequest(CONTEXT_ID, "1", COMPANY_NUMBER,
+                null, false));
+        verify(chargesApiService, times(1)).invokeChsKafkaApi(any());
+    }
+
+    @Test
+    void upsertChargesDoesNotNotifyUnchangedDeltaOrRecordChange() {
+        // given
+        BulkChargeDelta unchanged = delta(COMPANY_NUMBER, "1");
+        ChargesDocument unchangedDocument = document(unchanged);
+
+        when(validator.validate(any(InternalChargeApi.class))).thenReturn(Collections.emptySet());
+        when(chargesTransformer.transform(COMPANY_NUMBER, "1", unchanged.delta())).thenReturn(unchangedDocument);
+        when(chargesRepository.bulkUpsertIfNotStale(List.of(unchangedDocument)))
+                .thenReturn(List.of(ChargesUpsertResult.unchanged()));
+
+        // when
+        List<BulkChargeOutcome> actual = bulkChargesService.upsertCharges(CONTEXT_ID, List.of(unchanged));
+
+        // then
+        assertThat(actual).extracting(BulkChargeOutcome::outcome).containsExactly(Outcome.UNCHANGED);
+        verifyNoInteractions(chargeCountsService);
+        verifyNoInteractions(chargesPageCache);
+        verifyNoInteractions(chargesApiService);
+    }
+
+    @Test
+    void upsertChargesNotifiesUnchangedDeltaWhenNotifyingUnchangedDeltas() {
+        // given
+        bulkChargesService = new BulkChargesService(chargesRepository, chargesTransformer, chargesApiService,
+                companyMetricsApiService, chargeCountsService, chargesPageCache, resourceChangedOutbox, validator,
+                3, true);
+        BulkChargeDelta unchanged = delta(COMPANY_NUMBER, "1");
+        ChargesDocument unchangedDocument = document(unchanged);
+
+        when(validator.validate(any(InternalChargeApi.class))).thenReturn(Collections.emptySet());
+        when(chargesTransformer.transform(COMPANY_NUMBER, "1", unchanged.delta())).thenReturn(unchangedDocument);
+        when(chargesRepository.bulkUpsertIfNotStale(List.of(unchangedDocument)))
+                .thenReturn(List.of(ChargesUpsertResult.unchanged()));
+
+        // when
+        List<BulkChargeOutcome> actual = bulkChargesService.upsertCharges(CONTEXT_ID, List.of(unchanged));
+
+        // then
+        assertThat(actual).extracting(BulkChargeOutcome::outcome).containsExactly(Outcome.UNCHANGED);
+        verifyNoInteractions(chargeCountsService);
+        verify(chargesApiService).invokeChsKafkaApi(new ResourceChangedRequest(CONTEXT_ID, "1", COMPANY_NUMBER,
+                null, false));
+    }
+
+    @Test
+    void upsertChargesReportsDeltaWhoseEventFailsAsNotNotified() {
+        // given
+        BulkChargeDelta failed = delta(COMPANY_NUMBER, "1");
+        BulkChargeDelta notified = delta(OTHER_COMPANY_NUMBER, "2");
+        ChargesDocument failedDocument = document(failed);
+        ChargesDocument notifiedDocument = document(notified);
+        ResourceChangedRequest failedRequest = new ResourceChangedRequest(CONTEXT_ID, "1", COMPANY_NUMBER,
+                null, false);
+
+        when(validator.validate(any(InternalChargeApi.class))).thenReturn(Collections.emptySet());
+        when(chargesTransformer.transform(COMPANY_NUMBER, "1", failed.delta())).thenReturn(failedDocument);
+        when(chargesTransformer.transform(OTHER_COMPANY_NUMBER, "2", notified.delta())).thenReturn(notifiedDocument);
+        when(chargesRepository.bulkUpsertIfNotStale(List.of(failedDocument, notifiedDocument)))
+                .thenReturn(List.of(ChargesUpsertResult.inserted(), ChargesUpsertResult.inserted()));
+        doThrow(ServiceUnavailableException.class).when(chargesApiService).invokeChsKafkaApi(failedRequest);
+
+        // when
+        List<BulkChargeOutcome> actual = bulkChargesService.upsertCharges(CONTEXT_ID, List.of(failed, notified));
+
+        // then
+        assertThat(actual).extracting(BulkChargeOutcome::outcome)
+                .containsExactly(Outcome.NOT_NOTIFIED, Outcome.APPLIED);
+        verify(chargesApiService).invokeChsKafkaApi(new ResourceChangedRequest(CONTEXT_ID, "2",
+                OTHER_COMPANY_NUMBER, null, false));
+    }
+
+    @Test
+    void upsertChargesRejectsRepeatedChargeIdAsInvalid() {
+        // given
+        BulkChargeDelta first = delta(COMPANY_NUMBER, "1");
+        BulkChargeDelta repeated = delta(COMPANY_NUMBER, "1");
+        ChargesDocument firstDocument = document(first);
+
+        when(validator.validate(any(InternalChargeApi.class))).thenReturn(Collections.emptySet());
+        when(chargesTransformer.transform(COMPANY_NUMBER, "1", first.delta())).thenReturn(firstDocument);
+        when(chargesRepository.bulkUpsertIfNotStale(List.of(firstDocument)))
+                .thenReturn(List.of(ChargesUpsertResult.inserted()));
+
+        // when
+        List<BulkChargeOutcome> actual = bulkChargesService.upsertCharges(CONTEXT_ID, List.of(first, repeated));
+
+        // then
+        assertThat(actual).extracting(BulkChargeOutcome::outcome)
+                .containsExactly(Outcome.APPLIED, Outcome.INVALID);
+    }
+
+    @Test
+    void upsertChargesQueuesEventsInOneInsertWhenOutboxEnabled() {
+        // given
+        BulkChargeDelta first = delta(COMPANY_NUMBER, "1");
+        BulkChargeDelta second = delta(OTHER_COMPANY_NUMBER, "2");
+        ChargesDocument firstDocument = document(first);
+        ChargesDocument secondDocument = document(second);
+
+        when(validator.validate(any(InternalChargeApi.class))).thenReturn(Collections.emptySet());
+        when(chargesTransformer.transform(COMPANY_NUMBER, "1", first.delta())).thenReturn(firstDocument);
+        when(chargesTransformer.transform(OTHER_COMPANY_NUMBER, "2", second.delta())).thenReturn(secondDocument);
+        when(resourceChangedOutbox.isEnabled()).thenReturn(true);
+        when(resourceChangedOutbox.inTransaction(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        when(chargesRepository.bulkUpsertIfNotStale(List.of(firstDocument, secondDocument)))
+                .thenReturn(List.of(ChargesUpsertResult.inserted(), ChargesUpsertResult.inserted()));
+
+        // when
+        bulkChargesService.upsertCharges(CONTEXT_ID, List.of(first, second));
+
+        // then
+        verify(resourceChangedOutbox).enqueueAll(List.of(
+                new ResourceChangedRequest(CONTEXT_ID, "1", COMPANY_NUMBER, null, false),
+                new ResourceChangedRequest(CONTEXT_ID, "2", OTHER_COMPANY_NUMBER, null, false)));
+        verifyNoInteractions(chargesApiService);
+    }
+
+    @Test
+    void upsertChargesRejectsBatchLargerThanMaximum() {
+        // given
+        List<BulkChargeDelta> deltas = List.of(delta(COMPANY_NUMBER, "1"), delta(COMPANY_NUMBER, "2"),
+                delta(COMPANY_NUMBER, "3"), delta(COMPANY_NUMBER, "4"));
+
+        // when
+        assertThrows(BadRequestException.class, () -> bulkChargesService.upsertCharges(CONTEXT_ID, deltas));
+
+        // then
+        verifyNoInteractions(chargesRepository);
+    }
+
+    @Test
+    void upsertChargesThrowsServiceUnavailableWhenWriteFails() {
+        // given
+        BulkChargeDelta delta = delta(COMPANY_NUMBER, "1");
+        ChargesDocument chargesDocument = document(delta);
+
+        when(validator.validate(any(InternalChargeApi.class))).thenReturn(Collections.emptySet());
+        when(chargesTransformer.transform(COMPANY_NUMBER, "1", delta.delta())).thenReturn(chargesDocument);
+        when(chargesRepository.bulkUpsertIfNotStale(any()))
+                .thenThrow(new DataAccessResourceFailureException("..."));
+
+        // when
+        List<BulkChargeDelta> deltas = List.of(delta);
+        assertThrows(ServiceUnavailableException.class, () -> bulkChargesService.upsertCharges(CONTEXT_ID, deltas));
+
+        // then
+        verifyNoInteractions(chargesApiService);
+    }
+
+    @Test
+    void upsertChargesEvictsCachesOfWrittenChargesWhenRecordingChangesFails() {
+        // given
+        BulkChargeDelta delta = delta(COMPANY_NUMBER, "1");
+        ChargesDocument chargesDocument = document(delta);
+
+        when(validator.validate(any(InternalChargeApi.class))).thenReturn(Collections.emptySet());
+        when(chargesTransformer.transform(COMPANY_NUMBER, "1", delta.delta())).thenReturn(chargesDocument);
+        when(chargesRepository.bulkUpsertIfNotStale(List.of(chargesDocument)))
+                .thenReturn(List.of(ChargesUpsertResult.inserted()));
+        doThrow(new DataAccessResourceFailureException("...")).when(chargeCountsService)
+                .recordChanges(COMPANY_NUMBER, new ChargeCounts(1, 0, 1, 0));
+
+        // when
+        List<BulkChargeDelta> deltas = List.of(delta);
+        assertThrows(ServiceUnavailableException.class, () -> bulkChargesService.upsertCharges(CONTEXT_ID, deltas));
+
+        // then
+        verify(companyMetricsApiService).evictCompanyMetrics(COMPANY_NUMBER);
+        verify(chargesPageCache).invalidate(COMPANY_NUMBER);
+        verifyNoInteractions(chargesApiService);
+    }
+
+    @Test
+    void upsertChargesRecordsCountChangesOncePerCompany() {
+        // given
+        BulkChargeDelta first = delta(COMPANY_NUMBER, "1");
+        BulkChargeDelta second = delta(COMPANY_NUMBER, "2");
+        BulkChargeDelta other = delta(OTHER_COMPANY_NUMBER, "3");
+        ChargesDocument firstDocument = document(first);
+        ChargesDocument secondDocument = document(second);
+        ChargesDocument otherDocument = document(other);
+        ChargeApi previous = new ChargeApi();
+        previous.setStatus(ChargeApi.StatusEnum.OUTSTANDING);
+
+        when(validator.validate(any(InternalChargeApi.class))).thenReturn(Collections.emptySet());
+        when(chargesTransformer.transform(COMPANY_NUMBER, "1", first.delta())).thenReturn(firstDocument);
+        when(chargesTransformer.transform(COMPANY_NUMBER, "2", second.delta())).thenReturn(secondDocument);
+        when(chargesTransformer.transform(OTHER_COMPANY_NUMBER, "3", other.delta())).thenReturn(otherDocument);
+        when(chargesRepository.bulkUpsertIfNotStale(List.of(firstDocument, secondDocument, otherDocument)))
+                .thenReturn(List.of(ChargesUpsertResult.inserted(), ChargesUpsertResult.updated(previous),
+                        ChargesUpsertResult.inserted()));
+
+        // when
+        bulkChargesService.upsertCharges(CONTEXT_ID, List.of(first, second, other));
+
+        // then
+        verify(chargeCountsService).recordChanges(COMPANY_NUMBER, new ChargeCounts(1, -1, 2, 0));
+        verify(chargeCountsService).recordChanges(OTHER_COMPANY_NUMBER, new ChargeCounts(1, 0, 1, 0));
+        verify(chargeCountsService, times(2)).recordChanges(any(), any());
+    }
+
+    @Test
+    void upsertChargesReportsDeltaThatCannotBeTransformedAsInvalid() {
+        // given
+        BulkChargeDelta broken = delta(COMPANY_NUMBER, "1");
+        BulkChargeDelta applied = delta(COMPANY_NUMBER, "2");
+        ChargesDocument appliedDocument = document(applied);
+
+        when(validator.validate(any(InternalChargeApi.class))).thenReturn(Collections.emptySet());
+        when(chargesTransformer.transform(COMPANY_NUMBER, "1", broken.delta()))
+                .thenThrow(new SerDesException("Failed to render charge content hash", null));
+        when(chargesTransformer.transform(COMPANY_NUMBER, "2", applied.delta())).thenReturn(appliedDocument);
+        when(chargesRepository.bulkUpsertIfNotStale(List.of(appliedDocument)))
+                .thenReturn(List.of(ChargesUpsertResult.inserted()));
+
+        // when
+        List<BulkChargeOutcome> actual = bulkChargesService.upsertCharges(CONTEXT_ID, List.of(broken, applied));
+
+        // then
+        assertThat(actual).extracting(BulkChargeOutcome::outcome)
+                .containsExactly(Outcome.INVALID, Outcome.APPLIED);
+        verify(chargesApiService).invokeChsKafkaApi(new ResourceChangedRequest(CONTEXT_ID, "2", COMPANY_NUMBER,
+                null, false));
+    }
+
+    private static BulkChargeDelta delta(String companyNumber, String chargeId) {
+        ChargeApi externalData = new ChargeApi();
+        externalData.setStatus(ChargeApi.StatusEnum.SATISFIED);
+        InternalData internalData = new InternalData();
+        internalData.setDeltaAt(OffsetDateTime.parse("2023-11-06T15:30:00Z"));
+        InternalChargeApi internalChargeApi = new InternalChargeApi();
+        internalChargeApi.setExternalData(externalData);
+        internalChargeApi.setInternalData(internalData);
+        return new BulkChargeDelta(companyNumber, chargeId, internalChargeApi);
+    }
+
+    private static ChargesDocument document(BulkChargeDelta delta) {
+        return new ChargesDocument()
+                .setId(delta.chargeId())
+                .setCompanyNumber(delta.companyNumber())
+                .setData(delta.delta().getExternalData());
+    }
+}
@@ -0,0 +1,216 @@
+package uk.gov.companieshouse.charges.data.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.companieshouse.charges.data.repository.ChargesRepository.ALL_CHARGES;
+import static uk.gov.companieshouse.charges.data.repository.ChargesRepository.OUTSTANDING_ONLY;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.function.Executable;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import uk.gov.companieshouse.api.charges.ChargeApi;
+import uk.gov.companieshouse.api.charges.ChargeApi.StatusEnum;
+import uk.gov.companieshouse.charges.data.model.ChargeCounts;
+import uk.gov.companieshouse.charges.data.model.ChargeCountsDocument;
+import uk.gov.companieshouse.charges.data.repository.ChargeCountsRepository;
+import uk.gov.companieshouse.charges.data.repository.ChargesRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ChargeCountsServiceTest {
+
+    private static final String COMPANY_NUMBER = "NI622400";
+    
+    @Mock
+    private ChargeCountsRepository chargeCountsRepository;
+
+    @Mock
+    private ChargesRepository chargesRepository;
+
+    @InjectMocks
+    private ChargeCountsService chargeCountsService;
+
+    @Test
+    void recordChangeIncrementsCountersForNewCharge() {
+        // given
+        when(chargeCountsRepository.incrementCounts(any(), any())).thenReturn(true);
+
+        // when
+        chargeCountsService.recordChange(COMPANY_NUMBER, null, charge(StatusEnum.OUTSTANDING));
+
+        // then
+        verify(chargeCountsRepository).incrementCounts(COMPANY_NUMBER, new ChargeCounts(1, 1, 0, 0));
+        verifyNoInteractions(chargesRepository);
+    }
+
+    @Test
+    void recordChangeMovesChargeBetweenStatusCounters() {
+        // given
+        when(chargeCountsRepository.incrementCounts(any(), any())).thenReturn(true);
+
+        // when
+        chargeCountsService.recordChange(COMPANY_NUMBER, charge(StatusEnum.PART_SATISFIED),
+                charge(StatusEnum.FULLY_SATISFIED));
+
+        // then
+        verify(chargeCountsRepository).incrementCounts(COMPANY_NUMBER, new ChargeCounts(0, -1, 1, -1));
+    }
+
+    @Test
+    void recordChangeDecrementsCountersForDeletedCharge() {
+        // given
+        when(chargeCountsRepository.incrementCounts(any(), any())).thenReturn(true);
+
+        // when
+        chargeCountsService.recordChange(COMPANY_NUMBER, charge(StatusEnum.SATISFIED), null);
+
+        // then
+        verify(chargeCountsRepository).incrementCounts(COMPANY_NUMBER, new ChargeCounts(-1, 0, -1, 0));
+    }
+
+    @Test
+    void recordChangeSkipsUpdateWhenStatusUnchanged() {
+        // when
+        chargeCountsService.recordChange(COMPANY_NUMBER, charge(StatusEnum.OUTSTANDING),
+                charge(StatusEnum.OUTSTANDING));
+
+        // then
+        verifyNoInteractions(chargeCountsRepository);
+        verifyNoInteractions(chargesRepository);
+    }
+
+    @Test
+    void recordChangesAppliesCombinedChangesInOneUpdate() {
+        // given
+        when(chargeCountsRepository.incrementCounts(any(), any())).thenReturn(true);
+        ChargeCounts delta = ChargeCounts.of(charge(StatusEnum.OUTSTANDING))
+                .plus(ChargeCounts.of(charge(StatusEnum.SATISFIED)));
+
+        // when
+        chargeCountsService.recordChanges(COMPANY_NUMBER, delta);
+
+        // then
+        verify(chargeCountsRepository).incrementCounts(COMPANY_NUMBER, new ChargeCounts(2, 1, 1, 0));
+        verifyNoInteractions(chargesRepository);
+    }
+
+    @Test
+    void recordChangeCreatesCountersWhenCompanyHasNone() {
+        // given
+        when(chargeCountsRepository.incrementCounts(any(), any())).thenReturn(false);
+        when(chargesRepository.countChargesByStatus(COMPANY_NUMBER)).thenReturn(Optional.of(
+                new ChargeCountsDocument().setId(COMPANY_NUMBER).setTotalCount(3).setOutstandingCount(2)));
+        when(chargeCountsRepository.insertCountsIfAbsent(any())).thenReturn(true);
+
+        // when
+        chargeCountsService.recordChange(COMPANY_NUMBER, null, charge(StatusEnum.OUTSTANDING));
+
+        // then
+        ArgumentCaptor<ChargeCountsDocument> captor = ArgumentCaptor.forClass(ChargeCountsDocument.class);
+        verify(chargeCountsRepository).insertCountsIfAbsent(captor.capture());
+        assertThat(captor.getValue().getId()).isEqualTo(COMPANY_NUMBER);
+        assertThat(captor.getValue().getTotalCount()).isEqualTo(3);
+        assertThat(captor.getValue().getOutstandingCount()).isEqualTo(2);
+        assertThat(captor.getValue().getReconciledAt()).isNotNull();
+    }
+
+    @Test
+    void recordChangeRemovesCountersWhenIncrementFails() {
+        // given
+        DataAccessResourceFailureException failure = new DataAccessResourceFailureException("error");
+        when(chargeCountsRepository.incrementCounts(any(), any())).thenThrow(failure);
+
+        // when
+        Executable actual = () -> chargeCountsService.recordChange(COMPANY_NUMBER, null,
+                charge(StatusEnum.OUTSTANDING));
+
+        // then
+        assertThat(assertThrows(DataAccessResourceFailureException.class, actual)).isSameAs(failure);
+        verify(chargeCountsRepository).deleteById(COMPANY_NUMBER);
+    }
+
+    @Test
+    void initialiseCountsInsertsEmptyCountersWhenCompanyHasNoCharges() {
+        // given
+        when(chargesRepository.countChargesByStatus(COMPANY_NUMBER)).thenReturn(Optional.empty());
+        when(chargeCountsRepository.insertCountsIfAbsent(any())).thenReturn(false);
+
+        // when
+        chargeCountsService.initialiseCounts(COMPANY_NUMBER);
+
+        // then
+        ArgumentCaptor<ChargeCountsDocument> captor = ArgumentCaptor.forClass(ChargeCountsDocument.class);
+        verify(chargeCountsRepository).insertCountsIfAbsent(captor.capture());
+        assertThat(captor.getValue().getId()).isEqualTo(COMPANY_NUMBER);
+        assertThat(captor.getValue().getTotalCount()).isZero();
+    }
+
+    @Test
+    void countChargesReadsCounters() {
+        // given
+        when(chargeCountsRepository.findById(COMPANY_NUMBER)).thenReturn(Optional.of(
+                new ChargeCountsDocument().setTotalCount(5).setOutstandingCount(2)));
+
+        // when / then
+        assertThat(chargeCountsService.countCharges(COMPANY_NUMBER, ALL_CHARGES)).isEqualTo(5);
+        assertThat(chargeCountsService.countCharges(COMPANY_NUMBER, OUTSTANDING_ONLY)).isEqualTo(2);
+        verifyNoInteractions(chargesRepository);
+    }
+
+    @Test
+    void countChargesFallsBackToCountingChargesWithoutCounters() {
+        // given
+        when(chargeCountsRepository.findById(COMPANY_NUMBER)).thenReturn(Optional.empty());
+        when(chargesRepository.countCharges(COMPANY_NUMBER, OUTSTANDING_ONLY)).thenReturn(4L);
+
+        // when
+        long actual = chargeCountsService.countCharges(COMPANY_NUMBER, OUTSTANDING_ONLY);
+
+        // then
+        assertThat(actual).isEqualTo(4);
+    }
+
+    @Test
+    void getCountsAggregatesChargesWithoutCounters() {
+        // given
+        when(chargeCountsRepository.findById(COMPANY_NUMBER)).thenReturn(Optional.empty());
+        when(chargesRepository.countChargesByStatus(COMPANY_NUMBER)).thenReturn(Optional.of(
+                new ChargeCountsDocument().setId(COMPANY_NUMBER).setTotalCount(3).setSatisfiedCount(1)));
+
+        // when
+        ChargeCountsDocument actual = chargeCountsService.getCounts(COMPANY_NUMBER);
+
+        // then
+        assertThat(actual.getTotalCount()).isEqualTo(3);
+        assertThat(actual.getSatisfiedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getCountsReturnsZeroCountsForCompanyWithoutCharges() {
+        // given
+        when(chargeCountsRepository.findById(COMPANY_NUMBER)).thenReturn(Optional.empty());
+        when(chargesRepository.countChargesByStatus(COMPANY_NUMBER)).thenReturn(Optional.empty());
+
+        // when
+        ChargeCountsDocument actual = chargeCountsService.getCounts(COMPANY_NUMBER);
+
+        // then
+        assertThat(actual.getId()).isEqualTo(COMPANY_NUMBER);
+        assertThat(actual.getTotalCount()).isZero();
+    }
+
+    private static ChargeApi charge(StatusEnum status) {
+        ChargeApi chargeApi = new ChargeApi();
+        chargeApi.setStatus(status);
+        return chargeApi;
+    }
+}
@@ -0,0 +1,120 @@
+package uk.gov.companieshouse.charges.data.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.client.ListCollectionsIterable;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import uk.gov.companieshouse.charges.data.model.ChargesDocument;
+
+@ExtendWith(MockitoExtension.class)
+class ChargesPageCacheInvalidatorTest {
+
+    private static final String COMPANY_NUMBER = "NI622400";
+    private static final String COLLECTION_NAME = "company_mortgages";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ChargesPageCache chargesPageCache;
+
+    @Mock
+    private ChangeStreamDocument<Document> change;
+
+    @Mock
+    private MongoDatabase database;
+
+    @Mock
+    private ListCollectionsIterable<Document> collections;
+
+    private ChargesPageCacheInvalidator chargesPageCacheInvalidator;
+
+    @BeforeEach
+    void setUp() {
+        chargesPageCacheInvalidator = new ChargesPageCacheInvalidator(mongoTemplate, chargesPageCache);
+    }
+
+    @Test
+    void onChangeInvalidatesCompanyOfWrittenCharge() {
+        // given
+        when(change.getFullDocument()).thenReturn(new Document("company_number", COMPANY_NUMBER));
+
+        // when
+        chargesPageCacheInvalidator.onChange(change);
+
+        // then
+        verify(chargesPageCache).invalidate(COMPANY_NUMBER);
+        verifyNoMoreInteractions(chargesPageCache);
+    }
+
+    @Test
+    void onChangeInvalidatesCompanyOfDeletedChargeFromPreImage() {
+        // given
+        when(change.getFullDocumentBeforeChange()).thenReturn(new Document("company_number", COMPANY_NUMBER));
+
+        // when
+        chargesPageCacheInvalidator.onChange(change);
+
+        // then
+        verify(chargesPageCache).invalidate(COMPANY_NUMBER);
+        verifyNoMoreInteractions(chargesPageCache);
+    }
+
+    @Test
+    void onChangeInvalidatesAllWithoutPreImage() {
+        // when
+        chargesPageCacheInvalidator.onChange(change);
+
+        // then
+        verify(chargesPageCache).invalidateAll();
+        verifyNoMoreInteractions(chargesPageCache);
+    }
+
+    @Test
+    void preImagesEnabledReadsCollectionOptions() {
+        // given
+        givenCollectionOptions(new Document("changeStreamPreAndPostImages", new Document("enabled", true)));
+
+        // when
+        boolean actual = chargesPageCacheInvalidator.preImagesEnabled();
+
+        // then
+        assertThat(actual).isTrue();
+    }
+
+    @Test
+    void runDisablesPageCacheWithoutPreImages() {
+        // given
+        givenCollectionOptions(new Document());
+
+        // when
+        chargesPageCacheInvalidator.run();
+
+        // then
+        verify(chargesPageCache).disable();
+        verifyNoMoreInteractions(chargesPageCache);
+        verify(mongoTemplate).getDb();
+        verify(mongoTemplate).getCollectionName(ChargesDocument.class);
+        verifyNoMoreInteractions(mongoTemplate);
+    }
+
+    private void givenCollectionOptions(Document options) {
+        when(mongoTemplate.getCollectionName(ChargesDocument.class)).thenReturn(COLLECTION_NAME);
+        when(mongoTemplate.getDb()).thenReturn(database);
+        when(database.listCollections()).thenReturn(collections);
+        when(collections.filter(any())).thenReturn(collections);
+        when(collections.first()).thenReturn(new Document("name", COLLECTION_NAME).append("options", options));
+    }
+}
@@ -0,0 +1,164 @@
+package uk.gov.companieshouse.charges.data.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.api.charges.ChargeApi;
+import uk.gov.companieshouse.api.charges.ChargesApi;
+import uk.gov.companieshouse.charges.data.model.RequestCriteria;
+
+class ChargesPageCacheTest {
+
+    private static final String COMPANY_NUMBER = "NI622400";
+    private static final String OTHER_COMPANY_NUMBER = "02588581";
+
+    private SimpleMeterRegistry meterRegistry;
+    private ChargesPageCache chargesPageCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        chargesPageCache = new ChargesPageCache(meterRegistry, true, Duration.ofMinutes(1), 100);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void getLoadsPageOnceForSameCriteria() {
+        // when
+        ChargesApi first = chargesPageCache.get(COMPANY_NUMBER, criteria(0), loader(2));
+        ChargesApi second = chargesPageCache.get(COMPANY_NUMBER, criteria(0), loader(2));
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", ChargesPageCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void getLoadsEachPageOfCompany() {
+        // when
+        chargesPageCache.get(COMPANY_NUMBER, criteria(0), loader(2));
+        chargesPageCache.get(COMPANY_NUMBER, criteria(2), loader(2));
+        chargesPageCache.get(COMPANY_NUMBER, criteria(2), loader(2));
+
+        // then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidateRemovesOnlyPagesOfCompany() {
+        // given
+        chargesPageCache.get(COMPANY_NUMBER, criteria(0), loader(1));
+        chargesPageCache.get(OTHER_COMPANY_NUMBER, criteria(0), loader(1));
+
+        // when
+        chargesPageCache.invalidate(COMPANY_NUMBER);
+        chargesPageCache.get(COMPANY_NUMBER, criteria(0), loader(1));
+        chargesPageCache.get(OTHER_COMPANY_NUMBER, criteria(0), loader(1));
+
+        // then
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void getDoesNotCachePageLoadedWhileInvalidated() {
+        // when
+        chargesPageCache.get(COMPANY_NUMBER, criteria(0), () -> {
+            chargesPageCache.invalidate(COMPANY_NUMBER);
+            return loader(1).get();
+        });
+        chargesPageCache.get(COMPANY_NUMBER, criteria(0), loader(1));
+
+        // then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void getCachesPageLoadedWhileOtherCompanyInvalidated() {
+        // when
+        chargesPageCache.get(COMPANY_NUMBER, criteria(0), () -> {
+            chargesPageCache.invalidate(OTHER_COMPANY_NUMBER);
+            return loader(1).get();
+        });
+        chargesPageCache.get(COMPANY_NUMBER, criteria(0), loader(1));
+
+        // then
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void getDoesNotCachePageLoadedWhileAllInvalidated() {
+        // when
+        chargesPageCache.get(COMPANY_NUMBER, criteria(0), () -> {
+            chargesPageCache.invalidateAll();
+            return loader(1).get();
+        });
+        chargesPageCache.get(COMPANY_NUMBER, criteria(0), loader(1));
+
+        // then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void putCachesPageLoadedAfterCompanyInvalidated() {
+        // given
+        chargesPageCache.invalidate(COMPANY_NUMBER);
+        long versionBeforeLoad = chargesPageCache.version();
+        ChargesApi page = loader(1).get();
+
+        // when
+        chargesPageCache.put(COMPANY_NUMBER, criteria(0), page, versionBeforeLoad);
+
+        // then
+        assertThat(chargesPageCache.getIfPresent(COMPANY_NUMBER, criteria(0))).isSameAs(page);
+    }
+
+    @Test
+    void disableRemovesPagesAndStopsCaching() {
+        // given
+        chargesPageCache.get(COMPANY_NUMBER, criteria(0), loader(1));
+
+        // when
+        chargesPageCache.disable();
+        chargesPageCache.get(COMPANY_NUMBER, criteria(0), loader(1));
+        chargesPageCache.get(COMPANY_NUMBER, criteria(0), loader(1));
+
+        // then
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void getAlwaysLoadsWhenDisabled() {
+        // given
+        chargesPageCache = new ChargesPageCache(new SimpleMeterRegistry(), false, Duration.ofMinutes(1), 100);
+
+        // when
+        chargesPageCache.get(COMPANY_NUMBER, criteria(0), loader(1));
+        chargesPageCache.get(COMPANY_NUMBER, criteria(0), loader(1));
+
+        // then
+        assertThat(loads).hasValue(2);
+    }
+
+    private Supplier<ChargesApi> loader(int items) {
+        return () -> {
+            loads.incrementAndGet();
+            ChargesApi chargesApi = new ChargesApi();
+            for (int i = 0; i < items; i++) {
+                chargesApi.addItemsItem(new ChargeApi());
+            }
+            return chargesApi;
+        };
+    }
+
+    private static RequestCriteria criteria(int startIndex) {
+        return new RequestCriteria().setStartIndex(startIndex).setItemsPerPage(2);
+    }
+}
@@ -11,6 +11,7 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -18,18 +19,26 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.companieshouse.api.charges.ChargeApi.AssetsCeasedReleasedEnum.PART_PROPERTY_RELEASED;
 import static uk.gov.companieshouse.api.charges.ChargeApi.StatusEnum.PART_SATISFIED;
+import static uk.gov.companieshouse.charges.data.repository.ChargesRepository.ALL_CHARGES;
+import static uk.gov.companieshouse.charges.data.repository.ChargesRepository.OUTSTANDING_ONLY;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -41,7 +50,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.io.Resource;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.util.FileCopyUtils;
+import org.springframework.web.server.ResponseStatusException;
 import uk.gov.companieshouse.api.charges.ChargeApi;
 import uk.gov.companieshouse.api.charges.ChargeLink;
 import uk.gov.companieshouse.api.charges.ChargesApi;
@@ -57,17 +69,24 @@ import uk.gov.companieshouse.api.charges.TransactionsApi;
 import uk.gov.companieshouse.api.metrics.MetricsApi;
 import uk.gov.companieshouse.charges.data.api.ChargesApiService;
 import uk.gov.companieshouse.charges.data.api.CompanyMetricsApiService;
+import uk.gov.companieshouse.charges.data.config.BoundedVirtualThreadExecutor;
 import uk.gov.companieshouse.charges.data.exception.BadRequestException;
 import uk.gov.companieshouse.charges.data.exception.ConflictException;
 import uk.gov.companieshouse.charges.data.exception.NotFoundException;
 import uk.gov.companieshouse.charges.data.exception.ServiceUnavailableException;
-import uk.gov.companieshouse.charges.data.model.ChargesAggregate;
+import uk.gov.companieshouse.charges.data.logging.DataMapHolder;
+import uk.gov.companieshouse.charges.data.model.ChargeCountsDocument;
+import uk.gov.companieshouse.charges.data.model.ChargesCursor;
 import uk.gov.companieshouse.charges.data.model.ChargesDocument;
+import uk.gov.companieshouse.charges.data.model.ChargesUpsertResult;
+import uk.gov.companieshouse.charges.data.model.CursorChargesApi;
 import uk.gov.companieshouse.charges.data.model.RequestCriteria;
 import uk.gov.companieshouse.charges.data.model.ResourceChangedRequest;
-import uk.gov.companieshouse.charges.data.model.TotalCharges;
+import uk.gov.companieshouse.charges.data.model.StoredChargeApi;
 import uk.gov.companieshouse.charges.data.repository.ChargesRepository;
 import uk.gov.companieshouse.charges.data.transform.ChargesTransformer;
+import uk.gov.companieshouse.charges.data.util.DateUtils;
+import uk.gov.companieshouse.charges.data.util.EtagUtils;
 
 @SpringBootTest
 @ExtendWith(MockitoExtension.class)
@@ -77,6 +96,7 @@ class ChargesServiceTest {
     private static final String CHARGE_ID = "123456789";
     private static final String COMPANY_NUMBER = "NI622400";
     private static final String DELTA_AT = "20241205123045999999";
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
     private static final OffsetDateTime DELTA_AT_OFFSET = OffsetDateTime.of(2023, 1, 1,
             0,0,0,0, ZoneOffset.UTC);
 
@@ -104,7 +124,13 @@ class ChargesServiceTest {
     private ChargesTransformer chargesTransformer;
 
     @Mock
-    private ChargesAggregate chargesAggregate;
+    private ChargeCountsService chargeCountsService;
+
+    @Mock
+    private ChargesPageCache chargesPageCache;
+
+    @Mock
+    private ResourceChangedOutbox resourceChangedOutbox;
 
     @Mock
     private ChargesDocument document;
@@ -114,8 +140,7 @@ class ChargesServiceTest {
      */
     @BeforeEach
     public void resetMocks() {
-        chargesService = new ChargesService(chargesRepository,
-                chargesTransformer, chargesApiService, companyMetricsApiService);
+        chargesService = createChargesService(Runnable::run, TIMEOUT, false, false);
     }
 
    @Test
@@ -142,9 +167,8 @@ class ChargesServiceTest {
 
         // then
         assertThrows(ServiceUnavailableException.class, actual);
-        verify(chargesRepository).findCharges(COMPANY_NUMBER, List.of("satisfied", "fully-satisfied"),
+        verify(chargesRepository).findCharges(COMPANY_NUMBER, OUTSTANDING_ONLY,
                 0, 1);
-        verifyNoInteractions(companyMetricsApiService);
     }
 
 
@@ -160,7 +184,7 @@ class ChargesServiceTest {
         assertThat(charges.getPartSatisfiedCount()).isEqualTo(2);
         assertThat(charges.getUnfilteredCount()).isEqualTo(14);
         verify(chargesRepository).findCharges(COMPANY_NUMBER,
-                Arrays.asList(ChargeApi.StatusEnum.SATISFIED.toString(), ChargeApi.StatusEnum.FULLY_SATISFIED.toString()), 0, 1);
+                OUTSTANDING_ONLY, 0, 1);
     }
 
     @Test
@@ -175,7 +199,7 @@ class ChargesServiceTest {
         assertThat(charges.getPartSatisfiedCount()).isEqualTo(2);
         assertThat(charges.getUnfilteredCount()).isEqualTo(14);
         verify(chargesRepository).findCharges(COMPANY_NUMBER,
-                Arrays.asList(ChargeApi.StatusEnum.SATISFIED.toString(), ChargeApi.StatusEnum.FULLY_SATISFIED.toString()), 0, 25);
+                OUTSTANDING_ONLY, 0, 25);
     }
 
     @Test
@@ -189,7 +213,7 @@ class ChargesServiceTest {
         assertThat(charges.getSatisfiedCount()).isEqualTo(1);
         assertThat(charges.getPartSatisfiedCount()).isEqualTo(2);
         assertThat(charges.getUnfilteredCount()).isEqualTo(14);
-        verify(chargesRepository).findCharges(COMPANY_NUMBER, Collections.emptyList(), 0, 1);
+        verify(chargesRepository).findCharges(COMPANY_NUMBER, ALL_CHARGES, 0, 1);
     }
 
     @Test
@@ -202,20 +226,20 @@ class ChargesServiceTest {
         assertThat(charges.getSatisfiedCount()).isEqualTo(1);
         assertThat(charges.getPartSatisfiedCount()).isEqualTo(2);
         assertThat(charges.getUnfilteredCount()).isEqualTo(14);
-        verify(chargesRepository).findCharges(COMPANY_NUMBER, Collections.emptyList(), 0, 25);
+        verify(chargesRepository).findCharges(COMPANY_NUMBER, ALL_CHARGES, 0, 25);
     }
 
     @Test
     void findChargesWithPageSizeAboveLimit() throws IOException {
         trainMocks();
         chargesService.findCharges(COMPANY_NUMBER, new RequestCriteria().setItemsPerPage(101).setStartIndex(0));
-        verify(chargesRepository).findCharges(COMPANY_NUMBER, Collections.emptyList(), 0, 100);
+        verify(chargesRepository).findCharges(COMPANY_NUMBER, ALL_CHARGES, 0, 100);
     }
 
     @Test
     void findChargesWithFilterNoResults() throws IOException {
         when(chargesRepository.findCharges(eq(COMPANY_NUMBER), any(), anyInt(), anyInt()))
-                .thenReturn(new ChargesAggregate());
+                .thenReturn(emptyList());
         when(companyMetricsApiService.getCompanyMetrics(COMPANY_NUMBER))
                 .thenReturn(Optional.ofNullable(createMetrics()));
 
@@ -224,26 +248,25 @@ class ChargesServiceTest {
         assertNotNull(chargeApi);
         assertEquals(0, chargeApi.getTotalCount());
         verify(chargesRepository).findCharges(COMPANY_NUMBER,
-                Arrays.asList(ChargeApi.StatusEnum.SATISFIED.toString(), ChargeApi.StatusEnum.FULLY_SATISFIED.toString()), 0, 25);
+                OUTSTANDING_ONLY, 0, 25);
     }
 
     @Test
     void findChargesWithNoResults() throws IOException {
         when(chargesRepository.findCharges(eq(COMPANY_NUMBER), any(), anyInt(), anyInt()))
-                .thenReturn(new ChargesAggregate());
+                .thenReturn(emptyList());
         when(companyMetricsApiService.getCompanyMetrics(COMPANY_NUMBER))
                 .thenReturn(Optional.ofNullable(createMetrics()));
         ChargesApi chargeApi = chargesService.findCharges(COMPANY_NUMBER, new RequestCriteria());
         assertNotNull(chargeApi);
         assertEquals(0, chargeApi.getTotalCount());
-        verify(chargesRepository).findCharges(COMPANY_NUMBER, emptyList(), 0, 25);
+        verify(chargesRepository).findCharges(COMPANY_NUMBER, ALL_CHARGES, 0, 25);
     }
 
     @Test
      void empty_charges_when_repository_returns_empty_result() {
-        when(chargesRepository.findCharges(anyString(), any(), anyInt(), anyInt())).thenReturn(chargesAggregate);
-        when(chargesAggregate.getChargesDocuments()).thenReturn(singletonList(document));
-        when(chargesAggregate.getTotalCharges()).thenReturn(singletonList(new TotalCharges(0L)));
+        when(chargesRepository.findCharges(anyString(), any(), anyInt(), anyInt())).thenReturn(singletonList(document));
+        when(chargeCountsService.countCharges(COMPANY_NUMBER, ALL_CHARGES)).thenReturn(0L);
         ChargesApi charges = chargesService.findCharges(COMPANY_NUMBER, new RequestCriteria());
         assertNotNull(charges);
         assertThat(charges.getTotalCount()).isZero();
@@ -253,9 +276,8 @@ class ChargesServiceTest {
 
     @Test
      void empty_charges_when_company_metrics_returns_no_result() {
-        when(chargesRepository.findCharges(anyString(), any(), anyInt(), anyInt())).thenReturn(chargesAggregate);
-        when(chargesAggregate.getChargesDocuments()).thenReturn(singletonList(document));
-        when(chargesAggregate.getTotalCharges()).thenReturn(singletonList(new TotalCharges(1L)));
+        when(chargesRepository.findCharges(anyString(), any(), anyInt(), anyInt())).thenReturn(singletonList(document));
+        when(chargeCountsService.countCharges(COMPANY_NUMBER, ALL_CHARGES)).thenReturn(1L);
         ChargesApi charges = chargesService.findCharges(COMPANY_NUMBER,
                 new RequestCriteria().setItemsPerPage(1).setStartIndex(0));
         assertNotNull(charges);
@@ -266,6 +288,274 @@ class ChargesServiceTest {
         assertEquals(charges.getItems().size(), charges.getTotalCount());
     }
 
+    @Test
+    void findChargesFirstPageInCursorModeReturnsNextCursor() throws IOException {
+        // given
+        ChargesDocument first = new ChargesDocument().setId("first").setSortKey("201807100000000001")
+                .setData(populateCharge());
+        ChargesDocument second = new ChargesDocument().setId("second").setSortKey("201707100000000002")
+                .setData(populateCharge());
+        when(chargesRepository.findCharges(COMPANY_NUMBER, ALL_CHARGES, 0, 2))
+                .thenReturn(new ArrayList<>(List.of(first, second)));
+        when(chargeCountsService.countCharges(COMPANY_NUMBER, ALL_CHARGES)).thenReturn(5L);
+        when(companyMetricsApiService.getCompanyMetrics(COMPANY_NUMBER))
+                .thenReturn(Optional.ofNullable(createMetrics()));
+
+        // when
+        ChargesApi charges = chargesService.findCharges(COMPANY_NUMBER,
+                new RequestCriteria().setItemsPerPage(1).setCursor(""));
+
+        // then
+        assertThat(charges).isInstanceOf(CursorChargesApi.class);
+        assertThat(charges.getItems()).hasSize(1);
+        assertThat(charges.getTotalCount()).isEqualTo(5);
+        assertThat(((CursorChargesApi) charges).getNextCursor())
+                .isEqualTo(new ChargesCursor("201807100000000001", "first").encode());
+        verify(chargesRepository, times(0)).findChargesAfter(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void findChargesAfterCursorReadsFromCursorPosition() {
+        // given
+        ChargesDocument last = new ChargesDocument().setId("last").setSortKey("201707100000000002")
+                .setData(populateCharge());
+        when(chargesRepository.findChargesAfter(COMPANY_NUMBER, OUTSTANDING_ONLY,
+                "201807100000000001", "first", 26)).thenReturn(List.of(last));
+        when(chargeCountsService.countCharges(any(), any())).thenReturn(2L);
+
+        // when
+        ChargesApi charges = chargesService.findCharges(COMPANY_NUMBER, new RequestCriteria()
+                .setFilter("outstanding")
+                .setCursor(new ChargesCursor("201807100000000001", "first").encode()));
+
+        // then
+        assertThat(charges.getItems()).hasSize(1);
+        assertThat(charges.getTotalCount()).isEqualTo(2);
+        assertThat(((CursorChargesApi) charges).getNextCursor()).isNull();
+    }
+
+    @Test
+    void findChargesWithInvalidCursorThrowsBadRequest() {
+        // when
+        Executable actual = () -> chargesService.findCharges(COMPANY_NUMBER,
+                new RequestCriteria().setCursor("not-a-cursor"));
+
+        // then
+        assertThrows(BadRequestException.class, actual);
+        verifyNoInteractions(chargesRepository);
+        verifyNoInteractions(companyMetricsApiService);
+    }
+
+    @Test
+    void findChargesWithCursorWithoutSortKeyThrowsBadRequest() {
+        // given
+        String cursor = new ChargesCursor(null, "first").encode();
+
+        // when
+        Executable actual = () -> chargesService.findCharges(COMPANY_NUMBER,
+                new RequestCriteria().setCursor(cursor));
+
+        // then
+        assertThrows(BadRequestException.class, actual);
+        verifyNoInteractions(chargesRepository);
+    }
+
+    @Test
+    void findChargesInCursorModeThrowsServiceUnavailableWhenPageEndsWithoutSortKey() {
+        // given
+        ChargesDocument first = new ChargesDocument().setId("first").setData(populateCharge());
+        ChargesDocument second = new ChargesDocument().setId("second").setData(populateCharge());
+        when(chargesRepository.findCharges(COMPANY_NUMBER, ALL_CHARGES, 0, 2))
+                .thenReturn(new ArrayList<>(List.of(first, second)));
+
+        // when
+        Executable actual = () -> chargesService.findCharges(COMPANY_NUMBER,
+                new RequestCriteria().setItemsPerPage(1).setCursor(""));
+
+        // then
+        assertThrows(ServiceUnavailableException.class, actual);
+    }
+
+    @Test
+    void findChargesThrowsServiceUnavailableWhenExecutorHasNoCapacity() {
+        // given
+        chargesService = createChargesService(task -> {
+            throw new RejectedExecutionException("No capacity to run task");
+        }, TIMEOUT, false, false);
+
+        // when
+        Executable actual = () -> chargesService.findCharges(COMPANY_NUMBER, new RequestCriteria());
+
+        // then
+        assertThrows(ServiceUnavailableException.class, actual);
+        verifyNoInteractions(chargesRepository);
+    }
+
+    @Test
+    void findChargesRunsQueryAndCompanyMetricsConcurrently() throws IOException {
+        // given
+        try (BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test", 4)) {
+            chargesService = createChargesService(executor, TIMEOUT, false, false);
+            CountDownLatch bothStarted = new CountDownLatch(2);
+            List<ChargesDocument> charges = singletonList(createCharges());
+            Optional<MetricsApi> metrics = Optional.ofNullable(createMetrics());
+            when(chargesRepository.findCharges(eq(COMPANY_NUMBER), any(), anyInt(), anyInt())).thenAnswer(invocation -> {
+                bothStarted.countDown();
+                return bothStarted.await(5, TimeUnit.SECONDS) ? charges : emptyList();
+            });
+            when(companyMetricsApiService.getCompanyMetrics(COMPANY_NUMBER)).thenAnswer(invocation -> {
+                bothStarted.countDown();
+                return bothStarted.await(5, TimeUnit.SECONDS) ? metrics : Optional.empty();
+            });
+
+            // when
+            ChargesApi actual = chargesService.findCharges(COMPANY_NUMBER, new RequestCriteria());
+
+            // then
+            assertThat(actual.getItems()).hasSize(1);
+            assertThat(actual.getUnfilteredCount()).isEqualTo(14);
+        }
+    }
+
+    @Test
+    void findChargesCarriesRequestContextToCompanyMetricsLookup() {
+        // given
+        try (BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test", 4)) {
+            chargesService = createChargesService(executor, TIMEOUT, false, false);
+            DataMapHolder.initialise("request-context-id");
+            AtomicReference<String> requestId = new AtomicReference<>();
+            when(chargesRepository.findCharges(eq(COMPANY_NUMBER), any(), anyInt(), anyInt())).thenReturn(emptyList());
+            when(companyMetricsApiService.getCompanyMetrics(COMPANY_NUMBER)).thenAnswer(invocation -> {
+                requestId.set(DataMapHolder.getRequestId());
+                return Optional.empty();
+            });
+
+            // when
+            chargesService.findCharges(COMPANY_NUMBER, new RequestCriteria());
+
+            // then
+            assertThat(requestId.get()).isEqualTo("request-context-id");
+        } finally {
+            DataMapHolder.clear();
+        }
+    }
+
+    @Test
+    void findChargesReturnsChargesWithoutMetricsWhenCompanyMetricsTimesOut() throws IOException {
+        // given
+        try (BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test", 4)) {
+            chargesService = createChargesService(executor, Duration.ofMillis(50), false, false);
+            when(chargesRepository.findCharges(eq(COMPANY_NUMBER), any(), anyInt(), anyInt()))
+                    .thenReturn(singletonList(createCharges()));
+            when(chargeCountsService.countCharges(eq(COMPANY_NUMBER), any())).thenReturn(1L);
+            when(companyMetricsApiService.getCompanyMetrics(COMPANY_NUMBER)).thenAnswer(invocation -> {
+                Thread.sleep(1000);
+                return Optional.ofNullable(createMetrics());
+            });
+
+            // when
+            ChargesApi actual = chargesService.findCharges(COMPANY_NUMBER, new RequestCriteria());
+
+            // then
+            assertThat(actual.getItems()).hasSize(1);
+            assertThat(actual.getTotalCount()).isEqualTo(1);
+            assertThat(actual.getUnfilteredCount()).isZero();
+            assertThat(actual.getEtag()).isNull();
+        }
+    }
+
+    @Test
+    void findChargesReturnsChargesWithoutMetricsWhenCompanyMetricsUnavailable() {
+        // given
+        when(chargesRepository.findCharges(eq(COMPANY_NUMBER), any(), anyInt(), anyInt()))
+                .thenReturn(singletonList(createCharges()));
+        when(chargeCountsService.countCharges(eq(COMPANY_NUMBER), any())).thenReturn(1L);
+        when(companyMetricsApiService.getCompanyMetrics(COMPANY_NUMBER))
+                .thenThrow(new ServiceUnavailableException("Company metrics circuit open"));
+
+        // when
+        ChargesApi actual = chargesService.findCharges(COMPANY_NUMBER, new RequestCriteria());
+
+        // then
+        assertThat(actual.getItems()).hasSize(1);
+        assertThat(actual.getUnfilteredCount()).isZero();
+        assertThat(actual.getEtag()).isNull();
+    }
+
+    @Test
+    void findChargesThrowsServiceUnavailableWhenQueryTimesOut() {
+        // given
+        try (BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test", 4)) {
+            chargesService = createChargesService(executor, Duration.ofMillis(50), false, false);
+            when(chargesRepository.findCharges(eq(COMPANY_NUMBER), any(), anyInt(), anyInt())).thenAnswer(invocation -> {
+                Thread.sleep(1000);
+                return emptyList();
+            });
+
+            // when
+            Executable actual = () -> chargesService.findCharges(COMPANY_NUMBER, new RequestCriteria());
+
+            // then
+            assertThrows(ServiceUnavailableException.class, actual);
+        }
+    }
+
+    @Test
+    void findChargesWithLocalCountsDoesNotCallCompanyMetrics() throws IOException {
+        // given
+        chargesService = createChargesService(Runnable::run, TIMEOUT, true, false);
+        when(chargesRepository.findCharges(COMPANY_NUMBER, ALL_CHARGES, 0, 25))
+                .thenReturn(singletonList(createCharges()));
+        when(chargeCountsService.getCounts(COMPANY_NUMBER)).thenReturn(createCounts());
+
+        // when
+        ChargesApi charges = chargesService.findCharges(COMPANY_NUMBER, new RequestCriteria());
+
+        // then
+        assertThat(charges.getItems()).hasSize(1);
+        assertThat(charges.getTotalCount()).isEqualTo(14);
+        assertThat(charges.getSatisfiedCount()).isEqualTo(1);
+        assertThat(charges.getPartSatisfiedCount()).isEqualTo(2);
+        assertThat(charges.getUnfilteredCount()).isEqualTo(14);
+        assertThat(charges.getEtag()).isEqualTo(
+                EtagUtils.buildPageEtag(EtagUtils.buildListEtag(charges), new RequestCriteria()));
+        verifyNoInteractions(companyMetricsApiService);
+        verify(chargeCountsService, times(0)).countCharges(any(), any());
+    }
+
+    @Test
+    void findChargesWithLocalCountsAndFilterUsesOutstandingCount() {
+        // given
+        chargesService = createChargesService(Runnable::run, TIMEOUT, true, false);
+        when(chargesRepository.findCharges(eq(COMPANY_NUMBER), any(), anyInt(), anyInt())).thenReturn(emptyList());
+        when(chargeCountsService.getCounts(COMPANY_NUMBER)).thenReturn(createCounts());
+
+        // when
+        ChargesApi charges = chargesService.findCharges(COMPANY_NUMBER, new RequestCriteria().setFilter("outstanding"));
+
+        // then
+        assertThat(charges.getTotalCount()).isEqualTo(13);
+        assertThat(charges.getUnfilteredCount()).isEqualTo(14);
+        verifyNoInteractions(companyMetricsApiService);
+    }
+
+    @Test
+    void findChargesWithLocalCountsIgnoresCompanyMetricsCrossCheckFailure() {
+        // given
+        chargesService = createChargesService(Runnable::run, TIMEOUT, true, true);
+        when(chargesRepository.findCharges(eq(COMPANY_NUMBER), any(), anyInt(), anyInt())).thenReturn(emptyList());
+        when(chargeCountsService.getCounts(COMPANY_NUMBER)).thenReturn(createCounts());
+        when(companyMetricsApiService.getCompanyMetrics(COMPANY_NUMBER))
+                .thenThrow(new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        // when
+        ChargesApi charges = chargesService.findCharges(COMPANY_NUMBER, new RequestCriteria());
+
+        // then
+        assertThat(charges.getTotalCount()).isEqualTo(14);
+        verify(companyMetricsApiService).getCompanyMetrics(COMPANY_NUMBER);
+    }
+
     @Test
     void testGetChargeSuccessfully() {
         // given
@@ -281,6 +571,99 @@ class ChargesServiceTest {
         verify(chargesRepository).findChargeDetails(COMPANY_NUMBER, CHARGE_ID);
     }
 
+    @Test
+    void testGetChargeReturnsStoredResponse() {
+        // given
+        chargesService = createChargesService(Runnable::run, TIMEOUT, false, false, true);
+        byte[] responseJson = "{\"charge_number\":1}".getBytes(StandardCharsets.UTF_8);
+        when(chargesRepository.findChargeResponse(any(), any())).thenReturn(Optional.of(new ChargesDocument()
+                .setId(CHARGE_ID).setData(new ChargeApi().etag("etag")).setResponseJson(responseJson)));
+
+        // when
+        ChargeApi actual = chargesService.getChargeDetails(COMPANY_NUMBER, CHARGE_ID);
+
+        // then
+        assertThat(actual).isEqualTo(new StoredChargeApi(responseJson, "etag"));
+        verify(chargesRepository).findChargeResponse(COMPANY_NUMBER, CHARGE_ID);
+        verify(chargesRepository, times(0)).findChargeDetails(any(), any());
+    }
+
+    @Test
+    void testGetChargeWithoutStoredResponseReturnsData() {
+        // given
+        chargesService = createChargesService(Runnable::run, TIMEOUT, false, false, true);
+        when(chargesRepository.findChargeResponse(any(), any()))
+                .thenReturn(populateChargesDocument(CHARGE_ID, populateCharge(), DELTA_AT_OFFSET));
+
+        // when
+        ChargeApi actual = chargesService.getChargeDetails(COMPANY_NUMBER, CHARGE_ID);
+
+        // then
+        assertEquals(populateCharge(), actual);
+    }
+
+    @Test
+    void findChargesWithStoredResponsesSplicesStoredItems() throws IOException {
+        // given
+        chargesService = createChargesService(Runnable::run, TIMEOUT, true, false, true);
+        byte[] responseJson = "{\"charge_number\":1}".getBytes(StandardCharsets.UTF_8);
+        when(chargesRepository.findChargeResponses(COMPANY_NUMBER, ALL_CHARGES, 0, 25))
+                .thenReturn(List.of(new ChargesDocument().setId(CHARGE_ID)
+                        .setData(new ChargeApi().etag("etag")).setResponseJson(responseJson)));
+        when(chargeCountsService.getCounts(COMPANY_NUMBER)).thenReturn(createCounts());
+
+        // when
+        ChargesApi charges = chargesService.findCharges(COMPANY_NUMBER, new RequestCriteria());
+
+        // then
+        assertThat(charges.getItems()).containsExactly(new StoredChargeApi(responseJson, "etag"));
+        assertThat(new ObjectMapper().writeValueAsString(charges)).contains("\"items\":[{\"charge_number\":1}]");
+        verify(chargesRepository, times(0)).findCharges(any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getChargeEtagReadsEtagProjection() {
+        // given
+        when(chargesRepository.findChargeEtag(COMPANY_NUMBER, CHARGE_ID))
+                .thenReturn(Optional.of(new ChargesDocument().setData(new ChargeApi().etag("etag"))));
+
+        // when
+        Optional<String> actual = chargesService.getChargeEtag(COMPANY_NUMBER, CHARGE_ID);
+
+        // then
+        assertThat(actual).contains("etag");
+        verify(chargesRepository, times(0)).findChargeDetails(any(), any());
+    }
+
+    @Test
+    void findChargesEtagReturnsPageEtagOfCompanyMetricsEtag() {
+        // given
+        MetricsApi metrics = new MetricsApi();
+        metrics.setEtag("etag");
+        when(companyMetricsApiService.getCompanyMetrics(COMPANY_NUMBER)).thenReturn(Optional.of(metrics));
+        RequestCriteria requestCriteria = new RequestCriteria().setItemsPerPage(10).setStartIndex(20);
+
+        // when
+        Optional<String> actual = chargesService.findChargesEtag(COMPANY_NUMBER, requestCriteria);
+
+        // then
+        assertThat(actual).contains(EtagUtils.buildPageEtag("etag", requestCriteria));
+        verifyNoInteractions(chargesRepository);
+    }
+
+    @Test
+    void findChargesEtagWithLocalCountsReturnsEmpty() {
+        // given
+        chargesService = createChargesService(Runnable::run, TIMEOUT, true, false);
+
+        // when
+        Optional<String> actual = chargesService.findChargesEtag(COMPANY_NUMBER, new RequestCriteria());
+
+        // then
+        assertThat(actual).isEmpty();
+        verifyNoInteractions(companyMetricsApiService);
+    }
+
     @Test
     void testGetChargeNotFound() {
         // given
@@ -311,53 +694,75 @@ class ChargesServiceTest {
     @Test
     void delete_charge_id_and_check_it_does_not_exist_in_database() {
         // given
-        when(chargesRepository.findById(CHARGE_ID)).thenReturn(populateChargesDocument(CHARGE_ID,
-                populateCharge(), DELTA_AT_OFFSET));
+        when(chargesRepository.deleteIfNotStale(CHARGE_ID, DateUtils.parseDeltaAt(DELTA_AT))).thenReturn(
+                populateChargesDocument(CHARGE_ID, populateCharge(), DELTA_AT_OFFSET));
 
         // when
         chargesService.deleteCharge(CONTEXT_ID, COMPANY_NUMBER, CHARGE_ID, DELTA_AT);
 
         // then
-        verify(chargesRepository, times(1)).findById(CHARGE_ID);
-        verify(chargesRepository, times(1)).deleteById(any());
+        verify(chargesRepository).deleteIfNotStale(CHARGE_ID, DateUtils.parseDeltaAt(DELTA_AT));
+        verifyNoMoreInteractions(chargesRepository);
+        verify(chargeCountsService).recordChange(COMPANY_NUMBER, populateCharge(), null);
+        verify(companyMetricsApiService).evictCompanyMetrics(COMPANY_NUMBER);
+        verify(chargesPageCache).invalidate(COMPANY_NUMBER);
         verify(chargesApiService, times(1)).invokeChsKafkaApiDelete(new ResourceChangedRequest(
                 CONTEXT_ID, CHARGE_ID, COMPANY_NUMBER, populateCharge(), true));
     }
 
     @Test
-    void when_connection_issue_in_db_on_delete_then_throw_service_internal_exception() {
+    void delete_charge_evicts_caches_when_recording_change_fails() {
         // given
-        when(chargesRepository.findById(CHARGE_ID)).thenReturn(
+        when(chargesRepository.deleteIfNotStale(CHARGE_ID, DateUtils.parseDeltaAt(DELTA_AT))).thenReturn(
                 populateChargesDocument(CHARGE_ID, populateCharge(), DELTA_AT_OFFSET));
+        doThrow(new DataAccessResourceFailureException("counts")).when(chargeCountsService)
+                .recordChange(COMPANY_NUMBER, populateCharge(), null);
+
+        // when
+        Executable actual = () -> chargesService.deleteCharge(CONTEXT_ID, COMPANY_NUMBER, CHARGE_ID, DELTA_AT);
+
+        // then
+        assertThrows(ServiceUnavailableException.class, actual);
+        verify(companyMetricsApiService).evictCompanyMetrics(COMPANY_NUMBER);
+        verify(chargesPageCache).invalidate(COMPANY_NUMBER);
+        verifyNoInteractions(chargesApiService);
+    }
 
-        doThrow(ServiceUnavailableException.class).when(chargesRepository).deleteById(any());
+    @Test
+    void when_connection_issue_in_db_on_delete_then_throw_service_unavailable_exception() {
+        // given
+        when(chargesRepository.deleteIfNotStale(any(), any())).thenThrow(
+                new DataAccessResourceFailureException("error"));
 
         // when
         Executable actual = () -> chargesService.deleteCharge(CONTEXT_ID, COMPANY_NUMBER, CHARGE_ID, DELTA_AT);
 
         // then
         assertThrows(ServiceUnavailableException.class, actual);
-        verify(chargesRepository, times(1)).findById(CHARGE_ID);
-        verify(chargesRepository, times(1)).deleteById(CHARGE_ID);
+        verify(chargesRepository, times(1)).deleteIfNotStale(any(), any());
+        verifyNoInteractions(chargeCountsService);
+        verifyNoInteractions(chargesApiService);
     }
 
     @Test
-    void when_connection_issue_in_db_on_find_in_delete_then_throw_service_unavailable_exception() {
+    void when_connection_issue_in_db_on_probe_in_delete_then_throw_service_unavailable_exception() {
         // given
-        doThrow(ServiceUnavailableException.class).when(chargesRepository).findById(any());
+        when(chargesRepository.deleteIfNotStale(any(), any())).thenReturn(Optional.empty());
+        doThrow(ServiceUnavailableException.class).when(chargesRepository).findDeltaAtById(any());
 
         // when
         Executable actual = () -> chargesService.deleteCharge(CONTEXT_ID, COMPANY_NUMBER, CHARGE_ID, DELTA_AT);
 
         // then
         assertThrows(ServiceUnavailableException.class, actual);
-        verify(chargesRepository, times(1)).findById(CHARGE_ID);
+        verify(chargesRepository, times(1)).findDeltaAtById(CHARGE_ID);
+        verifyNoInteractions(chargesApiService);
     }
 
     @Test
     void when_charge_id_exist_ani_invoke_chs_kafka_api_un_successfully_invoked_then_delete_charge() {
         // given
-        when(chargesRepository.findById(CHARGE_ID)).thenReturn(
+        when(chargesRepository.deleteIfNotStale(any(), any())).thenReturn(
                 populateChargesDocument(CHARGE_ID, populateCharge(), DELTA_AT_OFFSET));
 
         doThrow(ServiceUnavailableException.class).when(chargesApiService).invokeChsKafkaApiDelete(any());
@@ -367,8 +772,8 @@ class ChargesServiceTest {
 
         // then
         assertThrows(ServiceUnavailableException.class, actual);
-        verify(chargesRepository, times(1)).findById(CHARGE_ID);
-        verify(chargesRepository, times(1)).deleteById(CHARGE_ID);
+        verify(chargesRepository, times(1)).deleteIfNotStale(any(), any());
+        verifyNoMoreInteractions(chargesRepository);
         verify(chargesApiService, times(1)).
                 invokeChsKafkaApiDelete(new ResourceChangedRequest(CONTEXT_ID, CHARGE_ID, COMPANY_NUMBER,
                         populateCharge(), true));
@@ -390,7 +795,8 @@ class ChargesServiceTest {
     @Test
     void testDeleteChargeThrowsConflictExceptionWhenDeltaAtIsStale() {
         // given
-        when(chargesRepository.findById(any())).thenReturn(populateChargesDocument(CHARGE_ID, populateCharge(),
+        when(chargesRepository.deleteIfNotStale(any(), any())).thenReturn(Optional.empty());
+        when(chargesRepository.findDeltaAtById(any())).thenReturn(populateChargesDocument(CHARGE_ID, null,
                 OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0,
                         ZoneOffset.UTC)));
 
@@ -399,20 +805,25 @@ class ChargesServiceTest {
 
         // then
         assertThrows(ConflictException.class, actual);
-        verify(chargesRepository).findById(CHARGE_ID);
+        verify(chargesRepository).deleteIfNotStale(CHARGE_ID, DateUtils.parseDeltaAt(DELTA_AT));
+        verify(chargesRepository).findDeltaAtById(CHARGE_ID);
+        verifyNoInteractions(chargeCountsService);
         verifyNoInteractions(chargesApiService);
     }
 
     @Test
     void testDeleteChargeProcessesEvenWhenDocumentDoesNotExist() {
         // given
-        when(chargesRepository.findById(any())).thenReturn(Optional.empty());
+        when(chargesRepository.deleteIfNotStale(any(), any())).thenReturn(Optional.empty());
+        when(chargesRepository.findDeltaAtById(any())).thenReturn(Optional.empty());
 
         // when
         chargesService.deleteCharge(CONTEXT_ID, COMPANY_NUMBER, CHARGE_ID, DELTA_AT);
 
         // then
-        verify(chargesRepository).findById(CHARGE_ID);
+        verify(chargesRepository).deleteIfNotStale(CHARGE_ID, DateUtils.parseDeltaAt(DELTA_AT));
+        verify(chargesRepository).findDeltaAtById(CHARGE_ID);
+        verifyNoInteractions(chargeCountsService);
         verify(chargesApiService) .invokeChsKafkaApiDelete(new ResourceChangedRequest(CONTEXT_ID, CHARGE_ID,
                 COMPANY_NUMBER, null, true));
     }
@@ -426,19 +837,188 @@ class ChargesServiceTest {
 
         when(chargesTransformer.transform(any(), any(), any(InternalChargeApi.class))).thenReturn(
                 chargesDocument);
-        when(chargesRepository.findById(any())).thenReturn(Optional.empty());
+        when(chargesRepository.upsertIfNotStale(any())).thenReturn(ChargesUpsertResult.inserted());
 
         // when
         chargesService.upsertCharges(CONTEXT_ID, COMPANY_NUMBER,
                 CHARGE_ID, buildInternalCharges(OffsetDateTime.parse("2023-11-06T15:30:00.000000Z")));
 
         // then
-        verify(chargesRepository).save(chargesDocument);
+        verify(chargesRepository).upsertIfNotStale(chargesDocument);
         verifyNoMoreInteractions(chargesRepository);
+        verify(chargeCountsService).recordChange(COMPANY_NUMBER, null, null);
+        verify(companyMetricsApiService).evictCompanyMetrics(COMPANY_NUMBER);
+        verify(chargesPageCache).invalidate(COMPANY_NUMBER);
         verify(chargesApiService).invokeChsKafkaApi(new ResourceChangedRequest(CONTEXT_ID, CHARGE_ID, COMPANY_NUMBER,
                         null, false));
     }
 
+    @Test
+    void testInsertChargeEvictsCachesWhenRecordingChangeFails() {
+        // given
+        ChargesDocument chargesDocument = new ChargesDocument()
+                .setId(CHARGE_ID)
+                .setCompanyNumber(COMPANY_NUMBER);
+
+        when(chargesTransformer.transform(any(), any(), any(InternalChargeApi.class))).thenReturn(
+                chargesDocument);
+        when(chargesRepository.upsertIfNotStale(any())).thenReturn(ChargesUpsertResult.inserted());
+        doThrow(new DataAccessResourceFailureException("counts")).when(chargeCountsService)
+                .recordChange(COMPANY_NUMBER, null, null);
+
+        // when
+        Executable actual = () -> chargesService.upsertCharges(CONTEXT_ID, COMPANY_NUMBER,
+                CHARGE_ID, buildInternalCharges(OffsetDateTime.parse("2023-11-06T15:30:00.000000Z")));
+
+        // then
+        assertThrows(ServiceUnavailableException.class, actual);
+        verify(companyMetricsApiService).evictCompanyMetrics(COMPANY_NUMBER);
+        verify(chargesPageCache).invalidate(COMPANY_NUMBER);
+        verifyNoInteractions(chargesApiService);
+    }
+
+    @Test
+    void testUnchangedChargeDoesNotInvokeChsKafkaAPIOrRecordChange() {
+        // given
+        ChargesDocument chargesDocument = new ChargesDocument()
+                .setId(CHARGE_ID)
+                .setCompanyNumber(COMPANY_NUMBER)
+                .setContentHash("hash");
+
+        when(chargesTransformer.transform(any(), any(), any(InternalChargeApi.class))).thenReturn(
+                chargesDocument);
+        when(chargesRepository.upsertIfNotStale(any())).thenReturn(ChargesUpsertResult.unchanged());
+
+        // when
+        chargesService.upsertCharges(CONTEXT_ID, COMPANY_NUMBER,
+                CHARGE_ID, buildInternalCharges(OffsetDateTime.parse("2023-11-06T15:30:00.000000Z")));
+
+        // then
+        verify(chargesRepository).upsertIfNotStale(chargesDocument);
+        verifyNoMoreInteractions(chargesRepository);
+        verifyNoInteractions(chargeCountsService);
+        verifyNoInteractions(chargesPageCache);
+        verifyNoInteractions(chargesApiService);
+    }
+
+    @Test
+    void testUnchangedChargeInvokesChsKafkaAPIWhenNotifyingUnchangedDeltas() {
+        // given
+        chargesService = new ChargesService(chargesRepository, chargesTransformer, chargesApiService,
+                companyMetricsApiService, chargeCountsService, chargesPageCache, resourceChangedOutbox,
+                Runnable::run, TIMEOUT, TIMEOUT, false, false, false, true);
+        ChargesDocument chargesDocument = new ChargesDocument()
+                .setId(CHARGE_ID)
+                .setCompanyNumber(COMPANY_NUMBER)
+                .setContentHash("hash");
+
+        when(chargesTransformer.transform(any(), any(), any(InternalChargeApi.class))).thenReturn(
+                chargesDocument);
+        when(chargesRepository.upsertIfNotStale(any())).thenReturn(ChargesUpsertResult.unchanged());
+
+        // when
+        chargesService.upsertCharges(CONTEXT_ID, COMPANY_NUMBER,
+                CHARGE_ID, buildInternalCharges(OffsetDateTime.parse("2023-11-06T15:30:00.000000Z")));
+
+        // then
+        verifyNoInteractions(chargeCountsService);
+        verifyNoInteractions(chargesPageCache);
+        verify(chargesApiService).invokeChsKafkaApi(new ResourceChangedRequest(CONTEXT_ID, CHARGE_ID, COMPANY_NUMBER,
+                null, false));
+    }
+
+    @Test
+    void testUnchangedChargeIsNotQueuedWhenOutboxEnabled() {
+        // given
+        ChargesDocument chargesDocument = new ChargesDocument()
+                .setId(CHARGE_ID)
+                .setCompanyNumber(COMPANY_NUMBER)
+                .setContentHash("hash");
+
+        when(chargesTransformer.transform(any(), any(), any(InternalChargeApi.class))).thenReturn(
+                chargesDocument);
+        when(resourceChangedOutbox.isEnabled()).thenReturn(true);
+        when(resourceChangedOutbox.inTransaction(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        when(chargesRepository.upsertIfNotStaleInTransaction(any())).thenReturn(ChargesUpsertResult.unchanged());
+
+        // when
+        chargesService.upsertCharges(CONTEXT_ID, COMPANY_NUMBER,
+                CHARGE_ID, buildInternalCharges(OffsetDateTime.parse("2023-11-06T15:30:00.000000Z")));
+
+        // then
+        verify(resourceChangedOutbox, times(0)).enqueue(any());
+        verifyNoInteractions(chargeCountsService);
+        verifyNoInteractions(chargesPageCache);
+        verifyNoInteractions(chargesApiService);
+    }
+
+    @Test
+    void testInsertChargeQueuesResourceChangedEventWhenOutboxEnabled() {
+        // given
+        ChargesDocument chargesDocument = new ChargesDocument()
+                .setId(CHARGE_ID)
+                .setCompanyNumber("1234");
+
+        when(chargesTransformer.transform(any(), any(), any(InternalChargeApi.class))).thenReturn(
+                chargesDocument);
+        when(resourceChangedOutbox.isEnabled()).thenReturn(true);
+        when(resourceChangedOutbox.inTransaction(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        when(chargesRepository.upsertIfNotStaleInTransaction(any())).thenReturn(ChargesUpsertResult.inserted());
+
+        // when
+        chargesService.upsertCharges(CONTEXT_ID, COMPANY_NUMBER,
+                CHARGE_ID, buildInternalCharges(OffsetDateTime.parse("2023-11-06T15:30:00.000000Z")));
+
+        // then
+        verify(chargesRepository).upsertIfNotStaleInTransaction(chargesDocument);
+        verifyNoMoreInteractions(chargesRepository);
+        verify(resourceChangedOutbox).enqueue(new ResourceChangedRequest(CONTEXT_ID, CHARGE_ID, COMPANY_NUMBER,
+                null, false));
+        verify(chargeCountsService).recordChange(COMPANY_NUMBER, null, null);
+        verifyNoInteractions(chargesApiService);
+    }
+
+    @Test
+    void testStaleChargeIsNotQueuedWhenOutboxEnabled() {
+        // given
+        when(chargesTransformer.transform(any(), any(), any(InternalChargeApi.class))).thenReturn(
+                new ChargesDocument().setId(CHARGE_ID));
+        when(resourceChangedOutbox.isEnabled()).thenReturn(true);
+        when(resourceChangedOutbox.inTransaction(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        when(chargesRepository.upsertIfNotStaleInTransaction(any())).thenReturn(ChargesUpsertResult.stale());
+
+        // when
+        Executable executable = () -> chargesService.upsertCharges(CONTEXT_ID, COMPANY_NUMBER,
+                CHARGE_ID, buildInternalCharges(OffsetDateTime.parse("2023-11-06T15:30:00.000000Z")));
+
+        // then
+        assertThrows(ConflictException.class, executable);
+        verify(resourceChangedOutbox, times(0)).enqueue(any());
+        verifyNoInteractions(chargesApiService);
+    }
+
+    @Test
+    void testDeleteChargeQueuesResourceChangedEventWhenOutboxEnabled() {
+        // given
+        when(resourceChangedOutbox.isEnabled()).thenReturn(true);
+        when(resourceChangedOutbox.inTransaction(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        when(chargesRepository.deleteIfNotStale(CHARGE_ID, DateUtils.parseDeltaAt(DELTA_AT))).thenReturn(
+                populateChargesDocument(CHARGE_ID, populateCharge(), DELTA_AT_OFFSET));
+
+        // when
+        chargesService.deleteCharge(CONTEXT_ID, COMPANY_NUMBER, CHARGE_ID, DELTA_AT);
+
+        // then
+        verify(resourceChangedOutbox).enqueue(new ResourceChangedRequest(
+                CONTEXT_ID, CHARGE_ID, COMPANY_NUMBER, populateCharge(), true));
+        verify(chargeCountsService).recordChange(COMPANY_NUMBER, populateCharge(), null);
+        verifyNoInteractions(chargesApiService);
+    }
+
     @Test
     void testUpdateChargeSavesAndInvokesChsKafkaAPISuccessfully() {
         // given
@@ -446,21 +1026,18 @@ class ChargesServiceTest {
                 .setCompanyNumber("012345678")
                 .setDeltaAt(OffsetDateTime.parse("2023-11-06T16:30:00.000000Z"));
 
-        ChargesDocument existingDocument = new ChargesDocument().setId(CHARGE_ID)
-                .setCompanyNumber(COMPANY_NUMBER)
-                .setDeltaAt(OffsetDateTime.parse("2023-11-06T12:00:00.000000Z"));
-
         when(chargesTransformer.transform(any(), any(), any(InternalChargeApi.class))).thenReturn(
                 deltaChargesDocument);
-        when(chargesRepository.findById(any())).thenReturn(Optional.of(existingDocument));
+        when(chargesRepository.upsertIfNotStale(any())).thenReturn(ChargesUpsertResult.updated(populateCharge()));
 
         // when
         chargesService.upsertCharges("contextId", "012345678",
                 "chargesIdDELTA", buildInternalCharges(OffsetDateTime.parse("2023-11-06T15:30:00.000000Z")));
 
         // then
-        verify(chargesRepository).save(deltaChargesDocument);
+        verify(chargesRepository).upsertIfNotStale(deltaChargesDocument);
         verifyNoMoreInteractions(chargesRepository);
+        verify(chargeCountsService).recordChange("012345678", populateCharge(), null);
         verify(chargesApiService).invokeChsKafkaApi(new ResourceChangedRequest("contextId",
                 "chargesIdDELTA", "012345678", null, false));
     }
@@ -474,7 +1051,7 @@ class ChargesServiceTest {
 
         when(chargesTransformer.transform(any(), any(), any(InternalChargeApi.class))).thenReturn(
                 chargesDocument);
-        when(chargesRepository.findById(any())).thenReturn(Optional.empty());
+        when(chargesRepository.upsertIfNotStale(any())).thenReturn(ChargesUpsertResult.inserted());
         doThrow(ServiceUnavailableException.class).when(chargesApiService).invokeChsKafkaApi(any());
 
         // when
@@ -483,16 +1060,22 @@ class ChargesServiceTest {
 
         // then
         assertThrows(ServiceUnavailableException.class, executable);
-        verify(chargesRepository).save(chargesDocument);
+        verify(chargesRepository).upsertIfNotStale(chargesDocument);
         verifyNoMoreInteractions(chargesRepository);
         verify(chargesApiService).invokeChsKafkaApi(new ResourceChangedRequest(CONTEXT_ID, CHARGE_ID, COMPANY_NUMBER,
                         null, false));
     }
 
     @Test
-    void testInsertChargeFailsWhenFindByIdErrors() {
+    void testInsertChargeFailsWhenMongoUpsertErrors() {
         // given
-        when(chargesRepository.findById(any())).thenThrow(ServiceUnavailableException.class);
+        ChargesDocument chargesDocument = new ChargesDocument()
+                .setId(CHARGE_ID)
+                .setCompanyNumber("1234");
+
+        when(chargesTransformer.transform(any(), any(), any(InternalChargeApi.class))).thenReturn(
+                chargesDocument);
+        when(chargesRepository.upsertIfNotStale(any())).thenThrow(ServiceUnavailableException.class);
 
         // when
         Executable executable = () -> chargesService.upsertCharges(CONTEXT_ID, COMPANY_NUMBER,
@@ -500,20 +1083,18 @@ class ChargesServiceTest {
 
         // then
         assertThrows(ServiceUnavailableException.class, executable);
-        verify(chargesRepository).findById(CHARGE_ID);
+        verify(chargesRepository).upsertIfNotStale(chargesDocument);
         verifyNoMoreInteractions(chargesRepository);
+        verifyNoInteractions(chargeCountsService);
         verifyNoInteractions(chargesApiService);
     }
 
     @Test
-    void testInsertChargeFailsWhenMongoSaveErrors() {
+    void testInsertChargeThrowsServiceUnavailableWhenMongoIsUnavailable() {
         // given
-        ChargesDocument chargesDocument = new ChargesDocument()
-                .setId(CHARGE_ID)
-                .setCompanyNumber("1234");
-
-        when(chargesRepository.findById(any())).thenReturn(Optional.of(chargesDocument));
-        when(chargesRepository.save(any())).thenThrow(ServiceUnavailableException.class);
+        when(chargesTransformer.transform(any(), any(), any(InternalChargeApi.class))).thenReturn(
+                new ChargesDocument().setId(CHARGE_ID));
+        when(chargesRepository.upsertIfNotStale(any())).thenThrow(new DataAccessResourceFailureException("error"));
 
         // when
         Executable executable = () -> chargesService.upsertCharges(CONTEXT_ID, COMPANY_NUMBER,
@@ -521,8 +1102,8 @@ class ChargesServiceTest {
 
         // then
         assertThrows(ServiceUnavailableException.class, executable);
-        verify(chargesRepository, times(1)).findById(CHARGE_ID);
-        verify(chargesRepository).save(any());
+        verifyNoInteractions(chargeCountsService);
+        verifyNoInteractions(companyMetricsApiService);
         verifyNoInteractions(chargesApiService);
     }
 
@@ -533,13 +1114,9 @@ class ChargesServiceTest {
                 .setCompanyNumber("012345678")
                 .setDeltaAt(OffsetDateTime.parse("2023-11-06T16:30:00.000000Z"));
 
-        ChargesDocument existingDocument = new ChargesDocument().setId(CHARGE_ID)
-                .setCompanyNumber(COMPANY_NUMBER)
-                .setDeltaAt(OffsetDateTime.parse("2023-11-06T12:00:00.000000Z"));
-
         when(chargesTransformer.transform(any(), any(), any(InternalChargeApi.class))).thenReturn(
                 deltaChargesDocument);
-        when(chargesRepository.findById(any())).thenReturn(Optional.of(existingDocument));
+        when(chargesRepository.upsertIfNotStale(any())).thenReturn(ChargesUpsertResult.updated(null));
         doThrow(ServiceUnavailableException.class).when(chargesApiService).invokeChsKafkaApi(any());
 
         // when
@@ -548,38 +1125,12 @@ class ChargesServiceTest {
 
         // then
         assertThrows(ServiceUnavailableException.class, executable);
-        verify(chargesRepository).save(deltaChargesDocument);
+        verify(chargesRepository).upsertIfNotStale(deltaChargesDocument);
         verifyNoMoreInteractions(chargesRepository);
         verify(chargesApiService, times(0)).invokeChsKafkaApi(
                 new ResourceChangedRequest(CONTEXT_ID, CHARGE_ID, COMPANY_NUMBER, null, false));
     }
 
-    @Test
-    void testUpdateChargesWhenDeltaAtIsTheSameAsTheTimestampWithinMongoDB () {
-        // given
-        ChargesDocument deltaChargesDocument = new ChargesDocument().setId("chargeIdDELTA")
-                .setCompanyNumber("012345678")
-                .setDeltaAt(OffsetDateTime.parse("2023-11-06T15:30:00.000000Z"));
-
-        ChargesDocument existingDocument = new ChargesDocument().setId(CHARGE_ID)
-                .setCompanyNumber(COMPANY_NUMBER)
-                .setDeltaAt(OffsetDateTime.parse("2023-11-06T15:30:00.000000Z"));
-
-        when(chargesTransformer.transform(any(), any(), any(InternalChargeApi.class))).thenReturn(
-                deltaChargesDocument);
-        when(chargesRepository.findById(any())).thenReturn(Optional.of(existingDocument));
-
-        // when
-        chargesService.upsertCharges("contextId", "012345678",
-                "chargeIdDELTA", buildInternalCharges(OffsetDateTime.parse("2023-11-06T15:30:00.000000Z")));
-
-        // then
-        verify(chargesRepository).save(deltaChargesDocument);
-        verify(chargesApiService).invokeChsKafkaApi(new ResourceChangedRequest("contextId",
-                "chargeIdDELTA", "012345678", null, false));
-        verifyNoMoreInteractions(chargesRepository);
-    }
-
     @Test
     void testUpdateChargesThrowsConflictExceptionWhenStaleDeltaIsGiven() {
         // given
@@ -587,11 +1138,9 @@ class ChargesServiceTest {
                 .setCompanyNumber("012345678")
                 .setDeltaAt(OffsetDateTime.parse("2023-11-05T15:30:00.000000Z"));
 
-        ChargesDocument existingDocument = new ChargesDocument().setId(CHARGE_ID)
-                .setCompanyNumber(COMPANY_NUMBER)
-                .setDeltaAt(OffsetDateTime.parse("2023-11-06T15:30:00.000000Z"));
-
-        when(chargesRepository.findById(any())).thenReturn(Optional.of(existingDocument));
+        when(chargesTransformer.transform(any(), any(), any(InternalChargeApi.class))).thenReturn(
+                deltaChargesDocument);
+        when(chargesRepository.upsertIfNotStale(any())).thenReturn(ChargesUpsertResult.stale());
 
         // when
         Executable actual = () -> chargesService.upsertCharges("contextId", "012345678",
@@ -599,7 +1148,9 @@ class ChargesServiceTest {
 
         // then
         assertThrows(ConflictException.class, actual);
-        verify(chargesRepository, times(0)).save(deltaChargesDocument);
+        verify(chargesRepository).upsertIfNotStale(deltaChargesDocument);
+        verifyNoMoreInteractions(chargesRepository);
+        verifyNoInteractions(chargeCountsService);
         verifyNoInteractions(chargesApiService);
     }
 
@@ -626,6 +1177,29 @@ class ChargesServiceTest {
         return mongoCustomConversions.convertValue(chargesBson, ChargesDocument.class);
     }
 
+    private ChargesService createChargesService(Executor executor, Duration timeout, boolean localCountsEnabled,
+            boolean metricsCrossCheckEnabled) {
+        return createChargesService(executor, timeout, localCountsEnabled, metricsCrossCheckEnabled, false);
+    }
+
+    private ChargesService createChargesService(Executor executor, Duration timeout, boolean localCountsEnabled,
+            boolean metricsCrossCheckEnabled, boolean storedResponsesEnabled) {
+        lenient().when(chargesPageCache.get(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<ChargesApi>>getArgument(2).get());
+        return new ChargesService(chargesRepository, chargesTransformer, chargesApiService,
+                companyMetricsApiService, chargeCountsService, chargesPageCache, resourceChangedOutbox, executor, timeout, timeout,
+                localCountsEnabled, metricsCrossCheckEnabled, storedResponsesEnabled, false);
+    }
+
+    private ChargeCountsDocument createCounts() {
+        return new ChargeCountsDocument()
+                .setId(COMPANY_NUMBER)
+                .setTotalCount(14)
+                .setOutstandingCount(13)
+                .setSatisfiedCount(1)
+                .setPartSatisfiedCount(2);
+    }
+
     private MetricsApi createMetrics() throws IOException {
         Document chargesBson = readData(metricsFile);
         return mongoCustomConversions.convertValue(chargesBson, MetricsApi.class);
@@ -639,7 +1213,8 @@ class ChargesServiceTest {
 
     private void trainMocks() throws IOException {
         when(chargesRepository.findCharges(eq(COMPANY_NUMBER), any(), anyInt(), anyInt()))
-                .thenReturn(new ChargesAggregate(singletonList(new TotalCharges(1L)), singletonList(createCharges())));
+                .thenReturn(singletonList(createCharges()));
+        when(chargeCountsService.countCharges(eq(COMPANY_NUMBER), any())).thenReturn(1L);
         when(companyMetricsApiService.getCompanyMetrics(COMPANY_NUMBER))
                 .thenReturn(Optional.ofNullable(createMetrics()));
     }
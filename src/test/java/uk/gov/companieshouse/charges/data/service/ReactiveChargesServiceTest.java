@@ -0,0 +1,239 @@
+package uk.gov.companieshouse.charges.data.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.companieshouse.charges.data.repository.ChargesRepository.ALL_CHARGES;
+import static uk.gov.companieshouse.charges.data.repository.ChargesRepository.OUTSTANDING_ONLY;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.api.charges.ChargeApi;
+import uk.gov.companieshouse.api.charges.ChargesApi;
+import uk.gov.companieshouse.api.metrics.MetricsApi;
+import uk.gov.companieshouse.api.metrics.MortgageApi;
+import uk.gov.companieshouse.charges.data.api.CompanyMetricsApiService;
+import uk.gov.companieshouse.charges.data.api.CompanyMetricsAsyncClient;
+import uk.gov.companieshouse.charges.data.exception.NotFoundException;
+import uk.gov.companieshouse.charges.data.exception.ServiceUnavailableException;
+import uk.gov.companieshouse.charges.data.model.ChargeCountsDocument;
+import uk.gov.companieshouse.charges.data.model.ChargesDocument;
+import uk.gov.companieshouse.charges.data.model.RequestCriteria;
+import uk.gov.companieshouse.charges.data.repository.ReactiveChargeCountsRepository;
+import uk.gov.companieshouse.charges.data.repository.ReactiveChargesRepository;
+import uk.gov.companieshouse.charges.data.util.EtagUtils;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveChargesServiceTest {
+
+    private static final String COMPANY_NUMBER = "NI622400";
+    private static final String CHARGE_ID = "1";
+
+    @Mock
+    private ReactiveChargesRepository chargesRepository;
+
+    @Mock
+    private ReactiveChargeCountsRepository chargeCountsRepository;
+
+    @Mock
+    private ChargesService chargesService;
+
+    @Mock
+    private CompanyMetricsApiService companyMetricsApiService;
+
+    @Mock
+    private CompanyMetricsAsyncClient companyMetricsAsyncClient;
+
+    @Mock
+    private ChargesPageCache chargesPageCache;
+
+    private ReactiveChargesService reactiveChargesService;
+
+    @BeforeEach
+    void setUp() {
+        reactiveChargesService = createService(false);
+    }
+
+    @Test
+    void findChargesReturnsPageWithCountsAndMetrics() {
+        // given
+        when(chargesRepository.findCharges(COMPANY_NUMBER, ALL_CHARGES, 0, 25))
+                .thenReturn(Flux.just(document("1"), document("2")));
+        when(chargeCountsRepository.findById(COMPANY_NUMBER)).thenReturn(Mono.empty());
+        when(chargesRepository.countCharges(COMPANY_NUMBER, ALL_CHARGES)).thenReturn(Mono.just(2L));
+        when(companyMetricsApiService.getCompanyMetricsAsync(eq(COMPANY_NUMBER), any()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(metrics())));
+
+        RequestCriteria requestCriteria = new RequestCriteria();
+        when(chargesPageCache.version()).thenReturn(7L);
+
+        // when
+        ChargesApi actual = reactiveChargesService.findCharges(COMPANY_NUMBER, requestCriteria).block();
+
+        // then
+        assertThat(actual.getItems()).extracting(ChargeApi::getId).containsExactly("1", "2");
+        assertThat(actual.getTotalCount()).isEqualTo(2);
+        assertThat(actual.getSatisfiedCount()).isEqualTo(1);
+        assertThat(actual.getUnfilteredCount()).isEqualTo(3);
+        assertThat(actual.getEtag()).isEqualTo(EtagUtils.buildPageEtag("metrics-etag", requestCriteria));
+        verify(chargesPageCache).put(COMPANY_NUMBER, requestCriteria, actual, 7L);
+    }
+
+    @Test
+    void findChargesServesPageFromPageCache() {
+        // given
+        RequestCriteria requestCriteria = new RequestCriteria();
+        ChargesApi expected = new ChargesApi();
+        when(chargesPageCache.getIfPresent(COMPANY_NUMBER, requestCriteria)).thenReturn(expected);
+
+        // when
+        ChargesApi actual = reactiveChargesService.findCharges(COMPANY_NUMBER, requestCriteria).block();
+
+        // then
+        assertThat(actual).isSameAs(expected);
+        verifyNoInteractions(chargesRepository);
+        verifyNoInteractions(companyMetricsApiService);
+    }
+
+    @Test
+    void findChargesAppliesOutstandingFilterAndPageSizeCap() {
+        // given
+        when(chargesRepository.findCharges(COMPANY_NUMBER, OUTSTANDING_ONLY, 5, 100)).thenReturn(Flux.empty());
+        when(chargeCountsRepository.findById(COMPANY_NUMBER)).thenReturn(Mono.just(new ChargeCountsDocument()
+                .setId(COMPANY_NUMBER).setTotalCount(3).setOutstandingCount(2)));
+        when(companyMetricsApiService.getCompanyMetricsAsync(eq(COMPANY_NUMBER), any()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        // when
+        ChargesApi actual = reactiveChargesService.findCharges(COMPANY_NUMBER,
+                new RequestCriteria().setFilter("outstanding").setStartIndex(5).setItemsPerPage(500)).block();
+
+        // then
+        assertThat(actual.getTotalCount()).isEqualTo(2);
+        assertThat(actual.getEtag()).isNull();
+    }
+
+    @Test
+    void findChargesReturnsChargesWithoutMetricsWhenCompanyMetricsUnavailable() {
+        // given
+        when(chargesRepository.findCharges(COMPANY_NUMBER, ALL_CHARGES, 0, 25)).thenReturn(Flux.just(document("1")));
+        when(chargeCountsRepository.findById(COMPANY_NUMBER)).thenReturn(Mono.empty());
+        when(chargesRepository.countCharges(COMPANY_NUMBER, ALL_CHARGES)).thenReturn(Mono.just(1L));
+        when(companyMetricsApiService.getCompanyMetricsAsync(eq(COMPANY_NUMBER), any()))
+                .thenReturn(CompletableFuture.failedFuture(new ServiceUnavailableException("circuit open")));
+
+        // when
+        ChargesApi actual = reactiveChargesService.findCharges(COMPANY_NUMBER, new RequestCriteria()).block();
+
+        // then
+        assertThat(actual.getItems()).hasSize(1);
+        assertThat(actual.getUnfilteredCount()).isZero();
+        assertThat(actual.getEtag()).isNull();
+    }
+
+    @Test
+    void findChargesThrowsServiceUnavailableWhenQueryFails() {
+        // given
+        when(chargesRepository.findCharges(COMPANY_NUMBER, ALL_CHARGES, 0, 25))
+                .thenReturn(Flux.error(new DataAccessResourceFailureException("...")));
+        when(chargeCountsRepository.findById(COMPANY_NUMBER)).thenReturn(Mono.never());
+        lenient().when(companyMetricsApiService.getCompanyMetricsAsync(eq(COMPANY_NUMBER), any()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        // when
+        Mono<ChargesApi> actual = reactiveChargesService.findCharges(COMPANY_NUMBER, new RequestCriteria());
+
+        // then
+        assertThrows(ServiceUnavailableException.class, actual::block);
+    }
+
+    @Test
+    void findChargesWithCursorIsServedByChargesService() {
+        // given
+        RequestCriteria requestCriteria = new RequestCriteria().setCursor("");
+        ChargesApi expected = new ChargesApi();
+        when(chargesService.findCharges(COMPANY_NUMBER, requestCriteria)).thenReturn(expected);
+
+        // when
+        ChargesApi actual = reactiveChargesService.findCharges(COMPANY_NUMBER, requestCriteria).block();
+
+        // then
+        assertThat(actual).isSameAs(expected);
+        verifyNoInteractions(chargesRepository);
+    }
+
+    @Test
+    void getChargeDetailsReturnsCharge() {
+        // given
+        when(chargesRepository.findChargeDetails(COMPANY_NUMBER, CHARGE_ID))
+                .thenReturn(Mono.just(document(CHARGE_ID)));
+
+        // when
+        ChargeApi actual = reactiveChargesService.getChargeDetails(COMPANY_NUMBER, CHARGE_ID).block();
+
+        // then
+        assertThat(actual.getId()).isEqualTo(CHARGE_ID);
+    }
+
+    @Test
+    void getChargeDetailsThrowsNotFoundWhenChargeDoesNotExist() {
+        // given
+        when(chargesRepository.findChargeDetails(COMPANY_NUMBER, CHARGE_ID)).thenReturn(Mono.empty());
+
+        // when
+        Mono<ChargeApi> actual = reactiveChargesService.getChargeDetails(COMPANY_NUMBER, CHARGE_ID);
+
+        // then
+        assertThrows(NotFoundException.class, actual::block);
+    }
+
+    @Test
+    void getChargeDetailsReadsStoredResponseWhenEnabled() {
+        // given
+        reactiveChargesService = createService(true);
+        when(chargesRepository.findChargeResponse(COMPANY_NUMBER, CHARGE_ID))
+                .thenReturn(Mono.just(document(CHARGE_ID)));
+
+        // when
+        reactiveChargesService.getChargeDetails(COMPANY_NUMBER, CHARGE_ID).block();
+
+        // then
+        verify(chargesRepository).findChargeResponse(COMPANY_NUMBER, CHARGE_ID);
+    }
+
+    private ReactiveChargesService createService(boolean storedResponsesEnabled) {
+        return new ReactiveChargesService(chargesRepository, chargeCountsRepository, chargesService,
+                companyMetricsApiService, companyMetricsAsyncClient, chargesPageCache, Runnable::run, Duration.ofSeconds(5),
+                Duration.ofSeconds(2), false, storedResponsesEnabled);
+    }
+
+    private static ChargesDocument document(String id) {
+        ChargeApi chargeApi = new ChargeApi();
+        chargeApi.setId(id);
+        return new ChargesDocument().setId(id).setCompanyNumber(COMPANY_NUMBER).setData(chargeApi);
+    }
+
+    private static MetricsApi metrics() {
+        MortgageApi mortgage = new MortgageApi();
+        mortgage.setTotalCount(3);
+        mortgage.setSatisfiedCount(1);
+        MetricsApi metrics = new MetricsApi();
+        metrics.setEtag("metrics-etag");
+        metrics.setMortgage(mortgage);
+        return metrics;
+    }
+}
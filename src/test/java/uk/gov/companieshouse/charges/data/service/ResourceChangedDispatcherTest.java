@@ -0,0 +1,208 @@
+package uk.gov.companieshouse.charges.data.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.client.result.UpdateResult;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import uk.gov.companieshouse.api.chskafka.ChangedResource;
+import uk.gov.companieshouse.charges.data.api.ChargesApiService;
+import uk.gov.companieshouse.charges.data.exception.ServiceUnavailableException;
+import uk.gov.companieshouse.charges.data.logging.DataMapHolder;
+import uk.gov.companieshouse.charges.data.model.ResourceChangedOutboxDocument;
+
+@ExtendWith(MockitoExtension.class)
+class ResourceChangedDispatcherTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+    private static final String COMPANY_NUMBER = "NI622400";
+    private static final String OTHER_COMPANY_NUMBER = "00006400";
+    private static final String OUTBOX_COLLECTION = "company_mortgages_outbox";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ChargesApiService chargesApiService;
+
+    private ResourceChangedDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new ResourceChangedDispatcher(mongoTemplate, chargesApiService, () -> NOW, 100,
+                Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofSeconds(1), Duration.ofMinutes(5), 3);
+    }
+
+    @Test
+    void dispatchBatchSendsAndRemovesEvents() {
+        // given
+        ResourceChangedOutboxDocument event = event("1");
+        givenHeads(event);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ResourceChangedOutboxDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        // when
+        int actual = dispatcher.dispatchBatch();
+
+        // then
+        assertThat(actual).isEqualTo(1);
+        verify(chargesApiService).postChangedResource(event.getChangedResource());
+        verify(mongoTemplate).remove(any(Query.class), eq(ResourceChangedOutboxDocument.class));
+    }
+
+    @Test
+    void dispatchBatchSendsEventWithRequestIdOfQueueingRequest() {
+        // given
+        ResourceChangedOutboxDocument event = event("1").setRequestId("request-id");
+        AtomicReference<String> requestId = new AtomicReference<>();
+        givenHeads(event);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ResourceChangedOutboxDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        doAnswer(invocation -> {
+            requestId.set(DataMapHolder.getRequestId());
+            return null;
+        }).when(chargesApiService).postChangedResource(any());
+
+        // when
+        dispatcher.dispatchBatch();
+
+        // then
+        assertThat(requestId).hasValue("request-id");
+        assertThat(DataMapHolder.getRequestId()).isEqualTo("uninitialised");
+    }
+
+    @Test
+    void dispatchBatchSelectsFirstDueUnparkedEventOfEachCompany() {
+        // given
+        givenHeads();
+
+        // when
+        int actual = dispatcher.dispatchBatch();
+
+        // then
+        assertThat(actual).isZero();
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq(OUTBOX_COLLECTION),
+                eq(ResourceChangedOutboxDocument.class));
+        List<Document> pipeline = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        assertThat(pipeline).extracting(stage -> stage.keySet().iterator().next())
+                .containsExactly("$match", "$sort", "$group", "$replaceRoot", "$match", "$sort", "$limit");
+        assertThat(pipeline.get(0).get("$match", Document.class)).containsKey("failed_at");
+        assertThat(pipeline.get(1).get("$sort", Document.class).keySet())
+                .containsExactly("company_number", "sequence", "_id");
+        assertThat(pipeline.get(2).get("$group", Document.class)).containsEntry("_id", "$company_number");
+        // due-ness is checked on each company's first event, after grouping
+        assertThat(pipeline.get(4).get("$match", Document.class))
+                .containsKeys("next_attempt_at", "locked_until");
+        assertThat(pipeline.get(6)).containsEntry("$limit", 100L);
+        verify(chargesApiService, times(0)).postChangedResource(any());
+    }
+
+    @Test
+    void dispatchBatchSendsOtherCompaniesEventsWhenOneCompanysFirstEventFails() {
+        // given
+        ResourceChangedOutboxDocument failing = event("1").setSequence(1);
+        ResourceChangedOutboxDocument other = event("2").setCompanyNumber(OTHER_COMPANY_NUMBER).setSequence(1);
+        givenHeads(failing, other);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ResourceChangedOutboxDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        doThrow(ServiceUnavailableException.class).doNothing().when(chargesApiService).postChangedResource(any());
+
+        // when
+        int actual = dispatcher.dispatchBatch();
+
+        // then
+        assertThat(actual).isEqualTo(1);
+        verify(chargesApiService).postChangedResource(other.getChangedResource());
+        verify(mongoTemplate, times(1)).remove(any(Query.class), eq(ResourceChangedOutboxDocument.class));
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(3)).updateFirst(any(Query.class), updates.capture(),
+                eq(ResourceChangedOutboxDocument.class));
+        assertThat(updates.getAllValues().get(1).getUpdateObject().get("$set", Document.class))
+                .containsEntry("attempts", 1)
+                .containsEntry("next_attempt_at", NOW.plusSeconds(1))
+                .doesNotContainKey("failed_at");
+    }
+
+    @Test
+    void dispatchBatchParksEventAfterMaximumAttempts() {
+        // given
+        ResourceChangedOutboxDocument event = event("1").setAttempts(2);
+        givenHeads(event);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ResourceChangedOutboxDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        doThrow(ServiceUnavailableException.class).when(chargesApiService).postChangedResource(any());
+
+        // when
+        int actual = dispatcher.dispatchBatch();
+
+        // then
+        assertThat(actual).isZero();
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateFirst(any(Query.class), updates.capture(),
+                eq(ResourceChangedOutboxDocument.class));
+        assertThat(updates.getValue().getUpdateObject().get("$set", Document.class))
+                .containsEntry("attempts", 3)
+                .containsEntry("failed_at", NOW);
+        verify(mongoTemplate, times(0)).remove(any(Query.class), eq(ResourceChangedOutboxDocument.class));
+    }
+
+    @Test
+    void dispatchBatchSkipsEventLeasedByAnotherInstance() {
+        // given
+        givenHeads(event("1"));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ResourceChangedOutboxDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        // when
+        int actual = dispatcher.dispatchBatch();
+
+        // then
+        assertThat(actual).isZero();
+        verify(chargesApiService, times(0)).postChangedResource(any());
+    }
+
+    @Test
+    void backoffDoublesUpToMaximum() {
+        assertThat(dispatcher.backoff(1)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(dispatcher.backoff(4)).isEqualTo(Duration.ofSeconds(8));
+        assertThat(dispatcher.backoff(40)).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    private void givenHeads(ResourceChangedOutboxDocument... events) {
+        when(mongoTemplate.getCollectionName(ResourceChangedOutboxDocument.class)).thenReturn(OUTBOX_COLLECTION);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(OUTBOX_COLLECTION),
+                eq(ResourceChangedOutboxDocument.class)))
+                .thenReturn(new AggregationResults<>(List.of(events), new Document()));
+    }
+
+    private static ResourceChangedOutboxDocument event(String id) {
+        return new ResourceChangedOutboxDocument()
+                .setId(id)
+                .setCompanyNumber(COMPANY_NUMBER)
+                .setChangedResource(new ChangedResource().contextId("context-" + id))
+                .setNextAttemptAt(NOW)
+                .setLockedUntil(Instant.EPOCH);
+    }
+}
@@ -0,0 +1,98 @@
+package uk.gov.companieshouse.charges.data.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.MongoException;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.function.Executable;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.companieshouse.charges.data.transform.ResourceChangedRequestMapper;
+
+@ExtendWith(MockitoExtension.class)
+class ResourceChangedOutboxTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ResourceChangedRequestMapper mapper;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ResourceChangedOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        outbox = new ResourceChangedOutbox(mongoTemplate, mapper, Instant::now, transactionTemplate, true, 3);
+    }
+
+    @Test
+    void inTransactionRunsActionAgainAfterWriteConflict() {
+        // given
+        AtomicInteger runs = new AtomicInteger();
+        when(transactionTemplate.execute(any()))
+                .thenThrow(writeConflict())
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0)
+                        .doInTransaction(mock(TransactionStatus.class)));
+
+        // when
+        Integer actual = outbox.inTransaction(runs::incrementAndGet);
+
+        // then
+        assertThat(actual).isEqualTo(1);
+        assertThat(runs).hasValue(1);
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void inTransactionGivesUpAfterConfiguredAttempts() {
+        // given
+        UncategorizedMongoDbException conflict = writeConflict();
+        when(transactionTemplate.execute(any())).thenThrow(conflict);
+
+        // when
+        Executable actual = () -> outbox.inTransaction(() -> 1);
+
+        // then
+        UncategorizedMongoDbException exception = assertThrows(UncategorizedMongoDbException.class, actual);
+        assertThat(exception).isSameAs(conflict);
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+
+    @Test
+    void inTransactionDoesNotRetryNonTransientError() {
+        // given
+        when(transactionTemplate.execute(any())).thenThrow(
+                new UncategorizedMongoDbException("error", new MongoException(2, "BadValue")));
+
+        // when
+        Executable actual = () -> outbox.inTransaction(() -> 1);
+
+        // then
+        assertThrows(UncategorizedMongoDbException.class, actual);
+        verify(transactionTemplate).execute(any());
+    }
+
+    private static UncategorizedMongoDbException writeConflict() {
+        MongoException conflict = new MongoException(112, "WriteConflict");
+        conflict.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+        return new UncategorizedMongoDbException("Write conflict", conflict);
+    }
+}
@@ -1,12 +1,19 @@
 package uk.gov.companieshouse.charges.data.transform;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import org.junit.Before;
 import org.junit.Test;
+import tools.jackson.databind.json.JsonMapper;
 import uk.gov.companieshouse.api.charges.ChargeApi;
 import uk.gov.companieshouse.api.charges.InternalChargeApi;
 import uk.gov.companieshouse.api.charges.InternalData;
@@ -17,7 +24,8 @@ public class ChargesTransformerTest {
 
     @Before
     public void init() {
-        this.chargesTransformer = new ChargesTransformer();
+        this.chargesTransformer = new ChargesTransformer(new ObjectMapper().registerModule(new JavaTimeModule()),
+                new JsonMapper(), false);
     }
 
     @Test
@@ -27,7 +35,7 @@ public class ChargesTransformerTest {
         InternalChargeApi requestBody = new InternalChargeApi();
         var internalData = new InternalData();
         internalData.setDeltaAt(OffsetDateTime.now(ZoneOffset.UTC));
-        var externalData = new ChargeApi();
+        var externalData = new ChargeApi().createdOn(LocalDate.of(2017, 7, 10)).chargeNumber(2);
         requestBody.setInternalData(internalData);
         requestBody.setExternalData(externalData);
         var result = this.chargesTransformer.transform(companyNumber, chargeId, requestBody);
@@ -42,6 +50,51 @@ public class ChargesTransformerTest {
         assertEquals(result.getDeltaAt(), internalData.getDeltaAt());
         assertNotNull(result.getUpdated());
         assertEquals(result.getUpdated().getBy(), internalData.getUpdatedBy());
+        assertEquals("201707100000000002", result.getSortKey());
+        assertEquals(Boolean.TRUE, result.getOutstanding());
+        assertNull(result.getResponseJson());
+    }
+
+    @Test
+    public void shouldMarkSatisfiedChargesAsNotOutstanding() {
+        InternalChargeApi satisfied = request(2);
+        satisfied.getExternalData().setStatus(ChargeApi.StatusEnum.FULLY_SATISFIED);
+        InternalChargeApi partSatisfied = request(3);
+        partSatisfied.getExternalData().setStatus(ChargeApi.StatusEnum.PART_SATISFIED);
+        assertEquals(Boolean.FALSE,
+                chargesTransformer.transform("companyNumber", "chargeId", satisfied).getOutstanding());
+        assertEquals(Boolean.TRUE,
+                chargesTransformer.transform("companyNumber", "chargeId", partSatisfied).getOutstanding());
+    }
+
+    @Test
+    public void shouldStoreResponseJsonWhenStoredResponsesEnabled() {
+        JsonMapper responseJsonMapper = new JsonMapper();
+        InternalChargeApi requestBody = new InternalChargeApi();
+        requestBody.setInternalData(new InternalData());
+        requestBody.setExternalData(new ChargeApi().chargeNumber(2));
+        var result = new ChargesTransformer(new ObjectMapper(), responseJsonMapper, true)
+                .transform("companyNumber", "chargeId", requestBody);
+        assertArrayEquals(responseJsonMapper.writeValueAsBytes(result.getData()), result.getResponseJson());
+    }
+
+    @Test
+    public void shouldHashAndTagIdenticalContentIdentically() {
+        var first = chargesTransformer.transform("companyNumber", "chargeId", request(2));
+        var identical = chargesTransformer.transform("companyNumber", "chargeId", request(2));
+        var different = chargesTransformer.transform("companyNumber", "chargeId", request(3));
+        assertNotNull(first.getContentHash());
+        assertEquals(first.getContentHash(), identical.getContentHash());
+        assertEquals(first.getData().getEtag(), identical.getData().getEtag());
+        assertNotEquals(first.getContentHash(), different.getContentHash());
+        assertNotEquals(first.getData().getEtag(), different.getData().getEtag());
+    }
+
+    private static InternalChargeApi request(int chargeNumber) {
+        InternalChargeApi requestBody = new InternalChargeApi();
+        requestBody.setInternalData(new InternalData());
+        requestBody.setExternalData(new ChargeApi().createdOn(LocalDate.of(2017, 7, 10)).chargeNumber(chargeNumber));
+        return requestBody;
     }
 
 }
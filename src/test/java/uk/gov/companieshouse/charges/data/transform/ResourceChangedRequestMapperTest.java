@@ -3,12 +3,10 @@ package uk.gov.companieshouse.charges.data.transform;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -25,6 +23,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.companieshouse.api.charges.ChargeApi;
 import uk.gov.companieshouse.api.chskafka.ChangedResource;
 import uk.gov.companieshouse.api.chskafka.ChangedResourceEvent;
+import uk.gov.companieshouse.charges.data.config.ChargesApplicationConfig;
 import uk.gov.companieshouse.charges.data.exception.SerDesException;
 import uk.gov.companieshouse.charges.data.model.ResourceChangedRequest;
 import uk.gov.companieshouse.charges.data.util.DateUtils;
@@ -75,43 +74,43 @@ class ResourceChangedRequestMapperTest {
 
     @ParameterizedTest
     @MethodSource("resourceChangedScenarios")
-    void shouldMapDeletedEvent(ResourceChangedTestArgument argument) throws Exception {
+    void shouldMapDeletedEvent(ResourceChangedTestArgument argument) {
         // given
         when(instantSupplier.get()).thenReturn(UPDATED_AT);
-        String serialisedData = "serialisedData";
-        when(objectMapper.writeValueAsString(any())).thenReturn(serialisedData);
-        when(objectMapper.readValue(anyString(), eq(Object.class))).thenReturn(argument.changedResource().getDeletedData());
+        when(objectMapper.convertValue(any(), eq(Object.class))).thenReturn(argument.changedResource().getDeletedData());
 
         // when
         ChangedResource actual = mapper.mapDeletedEvent(argument.request());
 
         // then
         assertEquals(argument.changedResource(), actual);
-        verify(objectMapper).writeValueAsString(argument.request().data());
-        verify(objectMapper).readValue(serialisedData, Object.class);
+        verify(objectMapper).convertValue(argument.request().data(), Object.class);
     }
 
     @Test
-    void testMapperThrowsSerDesExceptionIfObjectMapperWriteFails() throws Exception {
+    void shouldMapDeletedDataSameAsStringRoundTrip() throws Exception {
         // given
+        ObjectMapper realObjectMapper = new ChargesApplicationConfig().objectMapper();
+        ChargeApi chargeApi = realObjectMapper.readValue("{\"charge_number\":2,\"status\":\"fully-satisfied\","
+                + "\"created_on\":\"2017-07-10\",\"transactions\":[{\"filing_type\":\"create-charge-with-deed\","
+                + "\"delivered_on\":\"2017-07-11\"}]}", ChargeApi.class);
         when(instantSupplier.get()).thenReturn(UPDATED_AT);
-        when(objectMapper.writeValueAsString(any())).thenThrow(JsonProcessingException.class);
 
         // when
-        Executable actual = () -> mapper.mapDeletedEvent(
-                new ResourceChangedRequest(EXPECTED_CONTEXT_ID, CHARGE_ID, COMPANY_NUMBER,
-                        null, true));
+        ChangedResource actual = new ResourceChangedRequestMapper(instantSupplier, realObjectMapper)
+                .mapDeletedEvent(new ResourceChangedRequest(EXPECTED_CONTEXT_ID, CHARGE_ID, COMPANY_NUMBER,
+                        chargeApi, true));
 
         // then
-        assertThrows(SerDesException.class, actual);
+        assertEquals(realObjectMapper.readValue(realObjectMapper.writeValueAsString(chargeApi), Object.class),
+                actual.getDeletedData());
     }
 
     @Test
-    void testMapperThrowsSerDesExceptionIfObjectMapperReadFails() throws Exception {
+    void testMapperThrowsSerDesExceptionIfObjectMapperConversionFails() {
         // given
         when(instantSupplier.get()).thenReturn(UPDATED_AT);
-        when(objectMapper.writeValueAsString(any())).thenReturn("deletedDataAsString");
-        when(objectMapper.readValue(anyString(), eq(Object.class))).thenThrow(JsonProcessingException.class);
+        when(objectMapper.convertValue(any(), eq(Object.class))).thenThrow(IllegalArgumentException.class);
 
         // when
         Executable actual = () -> mapper.mapDeletedEvent(
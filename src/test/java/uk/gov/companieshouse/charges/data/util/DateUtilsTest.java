@@ -6,6 +6,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import org.junit.jupiter.api.Test;
 
 class DateUtilsTest {
@@ -41,4 +43,11 @@ class DateUtilsTest {
         // then
         assertEquals(expected, actual);
     }
+
+    @Test
+    void shouldParseDeltaAtInUtc() {
+        OffsetDateTime expected = OffsetDateTime.of(2024, 12, 5, 12, 30, 45, 999_999_000, ZoneOffset.UTC);
+
+        assertEquals(expected, DateUtils.parseDeltaAt("20241205123045999999"));
+    }
 }
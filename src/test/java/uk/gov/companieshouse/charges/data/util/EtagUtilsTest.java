@@ -0,0 +1,98 @@
+package uk.gov.companieshouse.charges.data.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.api.charges.ChargeApi;
+import uk.gov.companieshouse.api.charges.ChargesApi;
+import uk.gov.companieshouse.charges.data.model.RequestCriteria;
+
+class EtagUtilsTest {
+
+    @Test
+    void shouldBuildSameEtagForSameList() {
+        assertEquals(EtagUtils.buildListEtag(chargesApi("etag-1")), EtagUtils.buildListEtag(chargesApi("etag-1")));
+    }
+
+    @Test
+    void shouldBuildHexEtag() {
+        assertThat(EtagUtils.buildListEtag(chargesApi("etag-1"))).matches("[0-9a-f]{40}");
+    }
+
+    @Test
+    void shouldChangeEtagWhenChargeChanges() {
+        assertNotEquals(EtagUtils.buildListEtag(chargesApi("etag-1")), EtagUtils.buildListEtag(chargesApi("etag-2")));
+    }
+
+    @Test
+    void shouldChangeEtagWhenCountsChange() {
+        ChargesApi chargesApi = chargesApi("etag-1");
+        String etag = EtagUtils.buildListEtag(chargesApi);
+        chargesApi.setSatisfiedCount(2);
+
+        assertNotEquals(etag, EtagUtils.buildListEtag(chargesApi));
+    }
+
+    @Test
+    void shouldBuildDifferentPageEtagForEachPageOfList() {
+        String etag = EtagUtils.buildPageEtag("etag-1", new RequestCriteria());
+
+        assertThat(etag).matches("[0-9a-f]{40}");
+        assertEquals(etag, EtagUtils.buildPageEtag("etag-1", new RequestCriteria()));
+        assertNotEquals(etag, EtagUtils.buildPageEtag("etag-2", new RequestCriteria()));
+        assertNotEquals(etag, EtagUtils.buildPageEtag("etag-1", new RequestCriteria().setItemsPerPage(10)));
+        assertNotEquals(etag, EtagUtils.buildPageEtag("etag-1", new RequestCriteria().setStartIndex(25)));
+        assertNotEquals(etag, EtagUtils.buildPageEtag("etag-1", new RequestCriteria().setFilter("outstanding")));
+        assertNotEquals(etag, EtagUtils.buildPageEtag("etag-1", new RequestCriteria().setCursor("")));
+        assertNotEquals(EtagUtils.buildPageEtag("etag-1", new RequestCriteria().setItemsPerPage(1)),
+                EtagUtils.buildPageEtag("etag-1", new RequestCriteria().setStartIndex(1)));
+    }
+
+    @Test
+    void shouldBuildNoPageEtagForListWithoutEtag() {
+        assertThat(EtagUtils.buildPageEtag(null, new RequestCriteria())).isNull();
+    }
+
+    @Test
+    void shouldBuildSameHexEtagForSameContent() {
+        byte[] content = "{\"charge_number\":2}".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(EtagUtils.buildContentEtag(content)).matches("[0-9a-f]{40}");
+        assertEquals(EtagUtils.buildContentEtag(content), EtagUtils.buildContentEtag(content.clone()));
+        assertNotEquals(EtagUtils.buildContentEtag(content),
+                EtagUtils.buildContentEtag("{\"charge_number\":3}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void shouldMatchIfNoneMatchHeader() {
+        assertTrue(EtagUtils.matchesIfNoneMatch("etag-1", "etag-1"));
+        assertTrue(EtagUtils.matchesIfNoneMatch("\"etag-1\"", "etag-1"));
+        assertTrue(EtagUtils.matchesIfNoneMatch("W/\"etag-1\"", "etag-1"));
+        assertTrue(EtagUtils.matchesIfNoneMatch("\"etag-0\", \"etag-1\"", "etag-1"));
+        assertTrue(EtagUtils.matchesIfNoneMatch("*", "etag-1"));
+    }
+
+    @Test
+    void shouldNotMatchIfNoneMatchHeader() {
+        assertFalse(EtagUtils.matchesIfNoneMatch("\"etag-2\"", "etag-1"));
+        assertFalse(EtagUtils.matchesIfNoneMatch(null, "etag-1"));
+        assertFalse(EtagUtils.matchesIfNoneMatch("*", null));
+    }
+
+    private static ChargesApi chargesApi(String chargeEtag) {
+        ChargesApi chargesApi = new ChargesApi();
+        chargesApi.setTotalCount(1);
+        chargesApi.setUnfilteredCount(1);
+        chargesApi.setSatisfiedCount(1);
+        chargesApi.setPartSatisfiedCount(0);
+        ChargeApi chargeApi = new ChargeApi();
+        chargeApi.setEtag(chargeEtag);
+        chargesApi.addItemsItem(chargeApi);
+        return chargesApi;
+    }
+}
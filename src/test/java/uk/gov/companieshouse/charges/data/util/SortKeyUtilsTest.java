@@ -0,0 +1,44 @@
+package uk.gov.companieshouse.charges.data.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.api.charges.ChargeApi;
+
+class SortKeyUtilsTest {
+
+    @Test
+    void shouldBuildSortKeyFromCreatedOnAndChargeNumber() {
+        ChargeApi chargeApi = new ChargeApi()
+                .createdOn(LocalDate.of(2017, 7, 10))
+                .deliveredOn(LocalDate.of(2017, 8, 1))
+                .chargeNumber(12);
+
+        assertEquals("201707100000000012", SortKeyUtils.buildSortKey(chargeApi));
+    }
+
+    @Test
+    void shouldFallBackToDeliveredOnWhenCreatedOnIsMissing() {
+        assertEquals("201708010000000003",
+                SortKeyUtils.buildSortKey(null, LocalDate.of(2017, 8, 1), 3));
+    }
+
+    @Test
+    void shouldSortUndatedChargesLast() {
+        String undated = SortKeyUtils.buildSortKey(null, null, 99);
+        String dated = SortKeyUtils.buildSortKey(LocalDate.of(1900, 1, 1), null, 1);
+
+        assertEquals("000000000000000099", undated);
+        assertThat(undated).isLessThan(dated);
+    }
+
+    @Test
+    void shouldOrderByChargeNumberWhenDatesMatch() {
+        String chargeTwo = SortKeyUtils.buildSortKey(LocalDate.of(2017, 7, 10), null, 2);
+        String chargeTen = SortKeyUtils.buildSortKey(LocalDate.of(2017, 7, 10), null, 10);
+
+        assertThat(chargeTen).isGreaterThan(chargeTwo);
+    }
+}